@@ -0,0 +1,39 @@
+package com.s406.livon.domain.goodsChat.broker;
+
+/**
+ * /sub/chat/goods/** 구독자에게 메시지를 전달하는 브로커 추상화
+ * - LOCAL : 현재 노드의 SimpleBroker 로만 전달
+ * - REDIS : Redis Pub/Sub 을 통해 모든 노드의 SimpleBroker 로 전달
+ */
+public interface GoodsChatBroadcaster {
+
+    String ROOM_DESTINATION_PREFIX = "/sub/chat/goods/";
+    String PRESENCE_DESTINATION_SUFFIX = "/presence";
+    String READ_DESTINATION_SUFFIX = "/read";
+    String TYPING_DESTINATION_SUFFIX = "/typing";
+
+    void send(String destination, Object payload);
+
+    default void sendToRoom(Long roomId, Object payload) {
+        send(roomDestination(roomId), payload);
+    }
+
+    static String roomDestination(Long roomId) {
+        return ROOM_DESTINATION_PREFIX + roomId;
+    }
+
+    // 접속 상태 변경 이벤트 구독 주소 : /sub/chat/goods/{roomId}/presence
+    static String presenceDestination(Long roomId) {
+        return roomDestination(roomId) + PRESENCE_DESTINATION_SUFFIX;
+    }
+
+    // 읽음 확인 이벤트 구독 주소 : /sub/chat/goods/{roomId}/read
+    static String readDestination(Long roomId) {
+        return roomDestination(roomId) + READ_DESTINATION_SUFFIX;
+    }
+
+    // 입력 중 이벤트 구독 주소 : /sub/chat/goods/{roomId}/typing
+    static String typingDestination(Long roomId) {
+        return roomDestination(roomId) + TYPING_DESTINATION_SUFFIX;
+    }
+}
@@ -0,0 +1,24 @@
+package com.s406.livon.domain.goodsChat.broker;
+
+import com.s406.livon.domain.goodsChat.wire.GoodsChatWireFormatNegotiator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+
+/**
+ * 단일 노드용 브로커 - 기존 enableSimpleBroker 동작과 동일
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "goods-chat.broker", name = "mode", havingValue = "local", matchIfMissing = true)
+public class LocalGoodsChatBroadcaster implements GoodsChatBroadcaster {
+
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final GoodsChatWireFormatNegotiator wireFormatNegotiator;
+
+    @Override
+    public void send(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload, wireFormatNegotiator.binaryAlternativeOf(payload));
+    }
+}
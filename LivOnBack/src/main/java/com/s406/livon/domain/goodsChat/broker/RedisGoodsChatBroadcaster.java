@@ -0,0 +1,75 @@
+package com.s406.livon.domain.goodsChat.broker;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatMessageResponse;
+import com.s406.livon.domain.goodsChat.wire.GoodsChatWireFormatNegotiator;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.core.MessagePostProcessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * 멀티 노드용 브로커
+ * 1. send() 는 메시지를 Redis 채널로만 발행합니다. (로컬 브로커로 직접 보내지 않음)
+ * 2. 모든 노드(발행한 노드 포함)가 채널을 구독하고, 수신한 메시지를 각자의 SimpleBroker 로 전달합니다.
+ * 따라서 어느 노드에 연결된 세션이든 같은 방의 메시지를 정확히 한 번 받습니다.
+ * Redis 로는 JSON payload 만 전달하고, 바이너리 세션이 있는 노드만 수신 시 한 번 인코딩합니다. (GoodsChatWireFormatNegotiator)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "goods-chat.broker", name = "mode", havingValue = "redis")
+public class RedisGoodsChatBroadcaster implements GoodsChatBroadcaster, MessageListener {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final GoodsChatProperties goodsChatProperties;
+    private final GoodsChatWireFormatNegotiator wireFormatNegotiator;
+
+    @Override
+    public void send(String destination, Object payload) {
+        String envelope;
+        try {
+            envelope = objectMapper.writeValueAsString(new Envelope(destination, objectMapper.valueToTree(payload),
+                    wireFormatNegotiator.supportsBinary(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("채팅 브로드캐스트 메시지 직렬화에 실패했습니다.", e);
+        }
+        stringRedisTemplate.convertAndSend(goodsChatProperties.getBroker().getChannel(), envelope);
+    }
+
+    // Redis 채널 수신 -> 현재 노드의 SimpleBroker 로 전달
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Envelope envelope = objectMapper.readValue(message.getBody(), Envelope.class);
+            messagingTemplate.convertAndSend(envelope.destination(), envelope.payload(), binaryAlternative(envelope));
+        } catch (IOException e) {
+            log.error("채팅 브로드캐스트 메시지 역직렬화 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    // 바이너리로 보낼 수 있는 payload 는 GoodsChatMessageResponse 뿐이므로 JSON 에서 다시 읽어 인코딩
+    private MessagePostProcessor binaryAlternative(Envelope envelope) throws IOException {
+        if (!envelope.binary() || !wireFormatNegotiator.hasBinarySessions()) {
+            return null;
+        }
+        return wireFormatNegotiator.binaryAlternativeOf(
+                objectMapper.treeToValue(envelope.payload(), GoodsChatMessageResponse.class));
+    }
+
+    // binary : 바이너리 세션에 인코딩해서 보낼 수 있는 payload 인지
+    record Envelope(String destination, JsonNode payload, boolean binary) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.s406.livon.domain.goodsChat.codec;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * GoodsChatMessageBucket payload 코덱
+ *
+ * v1 레이아웃
+ * [version:1] + deflate([count:int]([length:int][GoodsChatMessageCodec 메시지])*)
+ *
+ * 메시지는 GoodsChatMessageCodec 으로 직렬화한 뒤 bucket 단위로 한 번에 압축합니다.
+ * (같은 채팅방 메시지는 발신자 / 메시지 형식이 반복되어 메시지별 압축보다 압축률이 높음)
+ */
+public final class GoodsChatMessageBucketCodec {
+
+    public static final byte VERSION = 1;
+
+    private GoodsChatMessageBucketCodec() {
+    }
+
+    public static byte[] encode(List<GoodsChatMessage> messages) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(VERSION);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            out.writeInt(messages.size());
+            for (GoodsChatMessage message : messages) {
+                byte[] encoded = GoodsChatMessageCodec.encode(message);
+                out.writeInt(encoded.length);
+                out.write(encoded);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    // 순번 오름차순으로 저장된 메시지를 그대로 반환
+    public static List<GoodsChatMessage> decode(Long chatRoomId, byte[] payload) {
+        if (payload.length == 0 || payload[0] != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 채팅 bucket 코덱 버전입니다: "
+                    + (payload.length == 0 ? "empty" : payload[0]));
+        }
+        try (DataInputStream in = new DataInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(payload, 1, payload.length - 1)))) {
+            int count = in.readInt();
+            List<GoodsChatMessage> messages = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] encoded = new byte[in.readInt()];
+                in.readFully(encoded);
+                messages.add(GoodsChatMessageCodec.decode(chatRoomId, encoded));
+            }
+            return messages;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
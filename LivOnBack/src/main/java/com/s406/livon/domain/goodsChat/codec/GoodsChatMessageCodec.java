@@ -0,0 +1,201 @@
+package com.s406.livon.domain.goodsChat.codec;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.entity.MessageType;
+import com.s406.livon.domain.user.enums.Role;
+import org.bson.types.ObjectId;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * GoodsChatMessage 바이너리 코덱 (Redis 캐시 payload 용)
+ *
+ * v1 레이아웃
+ * [version:1][flags:1]
+ * [id: ObjectId 12 bytes | varint 길이 + UTF-8]  (FLAG_OBJECT_ID | FLAG_STRING_ID)
+ * [seq: varlong]                                 (FLAG_SEQ)
+ * [userId: 16 bytes]                             (FLAG_USER_ID)
+ * [sentAt: varlong epochSecond(UTC) + varint nano] (FLAG_SENT_AT)
+ * [role: 1 byte ordinal]                         (FLAG_ROLE)
+ * [messageType: 1 byte ordinal]                  (FLAG_MESSAGE_TYPE)
+ * [content: varint 길이 + UTF-8]                 (FLAG_CONTENT)
+ *
+ * chatRoomId 는 Redis 키에 포함되어 있으므로 저장하지 않고 복원 시 전달받습니다.
+ * enum 은 ordinal 로 저장하므로 Role / MessageType 에 상수를 추가할 때는 반드시 마지막에 추가해야 합니다.
+ * 레이아웃이 바뀌면 VERSION 을 올리고 이전 버전 decode 를 유지합니다.
+ */
+public final class GoodsChatMessageCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final int FLAG_OBJECT_ID = 1;
+    private static final int FLAG_STRING_ID = 1 << 1;
+    private static final int FLAG_SEQ = 1 << 2;
+    private static final int FLAG_USER_ID = 1 << 3;
+    private static final int FLAG_SENT_AT = 1 << 4;
+    private static final int FLAG_ROLE = 1 << 5;
+    private static final int FLAG_MESSAGE_TYPE = 1 << 6;
+    private static final int FLAG_CONTENT = 1 << 7;
+
+    private static final Role[] ROLES = Role.values();
+    private static final MessageType[] MESSAGE_TYPES = MessageType.values();
+
+    private GoodsChatMessageCodec() {
+    }
+
+    public static byte[] encode(GoodsChatMessage message) {
+        String id = message.getId();
+        boolean objectId = id != null && ObjectId.isValid(id);
+        byte[] stringId = id != null && !objectId ? id.getBytes(StandardCharsets.UTF_8) : null;
+        byte[] content = message.getContent() != null ? message.getContent().getBytes(StandardCharsets.UTF_8) : null;
+
+        int flags = 0;
+        int maxSize = 2;
+        if (objectId) {
+            flags |= FLAG_OBJECT_ID;
+            maxSize += 12;
+        } else if (stringId != null) {
+            flags |= FLAG_STRING_ID;
+            maxSize += 5 + stringId.length;
+        }
+        if (message.getSeq() != null) {
+            flags |= FLAG_SEQ;
+            maxSize += 10;
+        }
+        if (message.getUserId() != null) {
+            flags |= FLAG_USER_ID;
+            maxSize += 16;
+        }
+        if (message.getSentAt() != null) {
+            flags |= FLAG_SENT_AT;
+            maxSize += 10 + 5;
+        }
+        if (message.getRole() != null) {
+            flags |= FLAG_ROLE;
+            maxSize += 1;
+        }
+        if (message.getMessageType() != null) {
+            flags |= FLAG_MESSAGE_TYPE;
+            maxSize += 1;
+        }
+        if (content != null) {
+            flags |= FLAG_CONTENT;
+            maxSize += 5 + content.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(maxSize);
+        buffer.put(VERSION);
+        buffer.put((byte) flags);
+        if (objectId) {
+            buffer.put(new ObjectId(id).toByteArray());
+        } else if (stringId != null) {
+            writeBytes(buffer, stringId);
+        }
+        if (message.getSeq() != null) {
+            writeVarLong(buffer, message.getSeq());
+        }
+        if (message.getUserId() != null) {
+            buffer.putLong(message.getUserId().getMostSignificantBits());
+            buffer.putLong(message.getUserId().getLeastSignificantBits());
+        }
+        if (message.getSentAt() != null) {
+            writeVarLong(buffer, zigZag(message.getSentAt().toEpochSecond(ZoneOffset.UTC)));
+            writeVarLong(buffer, message.getSentAt().getNano());
+        }
+        if (message.getRole() != null) {
+            buffer.put((byte) message.getRole().ordinal());
+        }
+        if (message.getMessageType() != null) {
+            buffer.put((byte) message.getMessageType().ordinal());
+        }
+        if (content != null) {
+            writeBytes(buffer, content);
+        }
+
+        return buffer.position() == maxSize ? buffer.array() : Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    public static GoodsChatMessage decode(Long chatRoomId, byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 채팅 메시지 코덱 버전입니다: " + version);
+        }
+        int flags = buffer.get() & 0xFF;
+
+        GoodsChatMessage.GoodsChatMessageBuilder builder = GoodsChatMessage.builder().chatRoomId(chatRoomId);
+        if ((flags & FLAG_OBJECT_ID) != 0) {
+            byte[] objectId = new byte[12];
+            buffer.get(objectId);
+            builder.id(new ObjectId(objectId).toHexString());
+        } else if ((flags & FLAG_STRING_ID) != 0) {
+            builder.id(readString(buffer));
+        }
+        if ((flags & FLAG_SEQ) != 0) {
+            builder.seq(readVarLong(buffer));
+        }
+        if ((flags & FLAG_USER_ID) != 0) {
+            builder.userId(new UUID(buffer.getLong(), buffer.getLong()));
+        }
+        if ((flags & FLAG_SENT_AT) != 0) {
+            long epochSecond = unZigZag(readVarLong(buffer));
+            int nano = (int) readVarLong(buffer);
+            builder.sentAt(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC));
+        }
+        if ((flags & FLAG_ROLE) != 0) {
+            builder.role(ROLES[buffer.get()]);
+        }
+        if ((flags & FLAG_MESSAGE_TYPE) != 0) {
+            builder.messageType(MESSAGE_TYPES[buffer.get()]);
+        }
+        if ((flags & FLAG_CONTENT) != 0) {
+            builder.content(readString(buffer));
+        }
+        return builder.build();
+    }
+
+    static void writeBytes(ByteBuffer buffer, byte[] bytes) {
+        writeVarLong(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    static String readString(ByteBuffer buffer) {
+        int length = (int) readVarLong(buffer);
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    static void writeVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,192 @@
+package com.s406.livon.domain.goodsChat.codec;
+
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatMessageResponse;
+import org.bson.types.ObjectId;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static com.s406.livon.domain.goodsChat.codec.GoodsChatMessageCodec.readString;
+import static com.s406.livon.domain.goodsChat.codec.GoodsChatMessageCodec.readVarLong;
+import static com.s406.livon.domain.goodsChat.codec.GoodsChatMessageCodec.unZigZag;
+import static com.s406.livon.domain.goodsChat.codec.GoodsChatMessageCodec.writeBytes;
+import static com.s406.livon.domain.goodsChat.codec.GoodsChatMessageCodec.writeVarLong;
+import static com.s406.livon.domain.goodsChat.codec.GoodsChatMessageCodec.zigZag;
+
+/**
+ * GoodsChatMessageResponse 바이너리 코덱 (STOMP MESSAGE 프레임 payload 용)
+ *
+ * v1 레이아웃
+ * [version:1][flags:2, big-endian]
+ * [chatMessageId: ObjectId 12 bytes | varint 길이 + UTF-8] (FLAG_OBJECT_ID | FLAG_STRING_ID)
+ * [roomId: varlong]                                       (FLAG_ROOM_ID)
+ * [seq: varlong]                                          (FLAG_SEQ)
+ * [senderId: 16 bytes]                                    (FLAG_SENDER_ID)
+ * [sentAt: varlong zigzag epochSecond + varint nano]      (FLAG_SENT_AT)
+ * [senderNickname, senderRole, message, messageType, senderImageUrl: varint 길이 + UTF-8] (각 FLAG)
+ *
+ * sentAt 은 JSON 과 같은 LocalDateTime 값을 시간대 변환 없이 UTC epoch 로 옮긴 값입니다.
+ * 클라이언트가 JSON 과 같은 필드를 복원할 수 있도록 role / messageType 은 문자열 그대로 저장합니다.
+ * 레이아웃이 바뀌면 VERSION 을 올리고 이전 버전 decode 를 유지합니다.
+ */
+public final class GoodsChatMessageResponseCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final int FLAG_OBJECT_ID = 1;
+    private static final int FLAG_STRING_ID = 1 << 1;
+    private static final int FLAG_ROOM_ID = 1 << 2;
+    private static final int FLAG_SEQ = 1 << 3;
+    private static final int FLAG_SENDER_ID = 1 << 4;
+    private static final int FLAG_SENT_AT = 1 << 5;
+    private static final int FLAG_SENDER_NICKNAME = 1 << 6;
+    private static final int FLAG_SENDER_ROLE = 1 << 7;
+    private static final int FLAG_MESSAGE = 1 << 8;
+    private static final int FLAG_MESSAGE_TYPE = 1 << 9;
+    private static final int FLAG_SENDER_IMAGE_URL = 1 << 10;
+
+    private GoodsChatMessageResponseCodec() {
+    }
+
+    public static byte[] encode(GoodsChatMessageResponse response) {
+        String id = response.getChatMessageId();
+        boolean objectId = id != null && ObjectId.isValid(id);
+        byte[] stringId = id != null && !objectId ? utf8(id) : null;
+        byte[] nickname = utf8(response.getSenderNickname());
+        byte[] role = utf8(response.getSenderRole());
+        byte[] message = utf8(response.getMessage());
+        byte[] messageType = utf8(response.getMessageType());
+        byte[] imageUrl = utf8(response.getSenderImageUrl());
+
+        int flags = 0;
+        int maxSize = 3;
+        if (objectId) {
+            flags |= FLAG_OBJECT_ID;
+            maxSize += 12;
+        } else if (stringId != null) {
+            flags |= FLAG_STRING_ID;
+            maxSize += 5 + stringId.length;
+        }
+        if (response.getRoomId() != null) {
+            flags |= FLAG_ROOM_ID;
+            maxSize += 10;
+        }
+        if (response.getSeq() != null) {
+            flags |= FLAG_SEQ;
+            maxSize += 10;
+        }
+        if (response.getSenderId() != null) {
+            flags |= FLAG_SENDER_ID;
+            maxSize += 16;
+        }
+        if (response.getSentAt() != null) {
+            flags |= FLAG_SENT_AT;
+            maxSize += 10 + 5;
+        }
+        flags |= stringFlag(nickname, FLAG_SENDER_NICKNAME) | stringFlag(role, FLAG_SENDER_ROLE)
+                | stringFlag(message, FLAG_MESSAGE) | stringFlag(messageType, FLAG_MESSAGE_TYPE)
+                | stringFlag(imageUrl, FLAG_SENDER_IMAGE_URL);
+        maxSize += stringSize(nickname) + stringSize(role) + stringSize(message) + stringSize(messageType)
+                + stringSize(imageUrl);
+
+        ByteBuffer buffer = ByteBuffer.allocate(maxSize);
+        buffer.put(VERSION);
+        buffer.putShort((short) flags);
+        if (objectId) {
+            buffer.put(new ObjectId(id).toByteArray());
+        } else if (stringId != null) {
+            writeBytes(buffer, stringId);
+        }
+        if (response.getRoomId() != null) {
+            writeVarLong(buffer, response.getRoomId());
+        }
+        if (response.getSeq() != null) {
+            writeVarLong(buffer, response.getSeq());
+        }
+        if (response.getSenderId() != null) {
+            buffer.putLong(response.getSenderId().getMostSignificantBits());
+            buffer.putLong(response.getSenderId().getLeastSignificantBits());
+        }
+        if (response.getSentAt() != null) {
+            writeVarLong(buffer, zigZag(response.getSentAt().toEpochSecond(ZoneOffset.UTC)));
+            writeVarLong(buffer, response.getSentAt().getNano());
+        }
+        writeOptional(buffer, nickname);
+        writeOptional(buffer, role);
+        writeOptional(buffer, message);
+        writeOptional(buffer, messageType);
+        writeOptional(buffer, imageUrl);
+
+        return buffer.position() == maxSize ? buffer.array() : Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    public static GoodsChatMessageResponse decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 채팅 메시지 전송 코덱 버전입니다: " + version);
+        }
+        int flags = buffer.getShort() & 0xFFFF;
+
+        GoodsChatMessageResponse.GoodsChatMessageResponseBuilder builder = GoodsChatMessageResponse.builder();
+        if ((flags & FLAG_OBJECT_ID) != 0) {
+            byte[] objectId = new byte[12];
+            buffer.get(objectId);
+            builder.chatMessageId(new ObjectId(objectId).toHexString());
+        } else if ((flags & FLAG_STRING_ID) != 0) {
+            builder.chatMessageId(readString(buffer));
+        }
+        if ((flags & FLAG_ROOM_ID) != 0) {
+            builder.roomId(readVarLong(buffer));
+        }
+        if ((flags & FLAG_SEQ) != 0) {
+            builder.seq(readVarLong(buffer));
+        }
+        if ((flags & FLAG_SENDER_ID) != 0) {
+            builder.senderId(new UUID(buffer.getLong(), buffer.getLong()));
+        }
+        if ((flags & FLAG_SENT_AT) != 0) {
+            long epochSecond = unZigZag(readVarLong(buffer));
+            int nano = (int) readVarLong(buffer);
+            builder.sentAt(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC));
+        }
+        if ((flags & FLAG_SENDER_NICKNAME) != 0) {
+            builder.senderNickname(readString(buffer));
+        }
+        if ((flags & FLAG_SENDER_ROLE) != 0) {
+            builder.senderRole(readString(buffer));
+        }
+        if ((flags & FLAG_MESSAGE) != 0) {
+            builder.message(readString(buffer));
+        }
+        if ((flags & FLAG_MESSAGE_TYPE) != 0) {
+            builder.messageType(readString(buffer));
+        }
+        if ((flags & FLAG_SENDER_IMAGE_URL) != 0) {
+            builder.senderImageUrl(readString(buffer));
+        }
+        return builder.build();
+    }
+
+    private static int stringFlag(byte[] value, int flag) {
+        return value != null ? flag : 0;
+    }
+
+    private static int stringSize(byte[] value) {
+        return value != null ? 5 + value.length : 0;
+    }
+
+    private static void writeOptional(ByteBuffer buffer, byte[] value) {
+        if (value != null) {
+            writeBytes(buffer, value);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+}
@@ -2,12 +2,26 @@ package com.s406.livon.domain.goodsChat.controller;
 
 
 import com.s406.livon.domain.goodsChat.dto.request.GoodsChatMessageRequest;
+import com.s406.livon.domain.goodsChat.dto.request.GoodsChatReadRequest;
+import com.s406.livon.domain.goodsChat.dto.request.GoodsChatTypingRequest;
+import com.s406.livon.domain.goodsChat.inbound.GoodsChatClientErrorSender;
 import com.s406.livon.domain.goodsChat.service.GoodsChatMessageService;
+import com.s406.livon.domain.goodsChat.service.GoodsChatReadService;
+import com.s406.livon.domain.goodsChat.service.GoodsChatSequencer;
+import com.s406.livon.domain.goodsChat.service.GoodsChatTypingService;
 import com.s406.livon.domain.user.entity.User;
+import com.s406.livon.global.error.exception.GeneralException;
+import com.s406.livon.global.error.handler.ChatHandler;
+import com.s406.livon.global.web.response.ApiResponse;
+import com.s406.livon.global.web.response.code.status.ErrorStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 
@@ -17,11 +31,55 @@ import org.springframework.stereotype.Controller;
 public class GoodsChatMessageController {
 
     private final GoodsChatMessageService goodsChatMessageService;
+    private final GoodsChatSequencer goodsChatSequencer;
+    private final GoodsChatReadService goodsChatReadService;
+    private final GoodsChatTypingService goodsChatTypingService;
+    private final GoodsChatClientErrorSender clientErrorSender;
 
     @MessageMapping("/chat/goods/message")
-    public void handleMessage(Authentication authentication, @Payload GoodsChatMessageRequest message) {
+    public void handleMessage(Authentication authentication, @Payload GoodsChatMessageRequest message,
+                              @Header(SimpMessageHeaderAccessor.SESSION_ID_HEADER) String sessionId) {
 
+        if (message.getRoomId() == null) {
+            throw new ChatHandler(ErrorStatus.CHAT_REQUEST_INVALID);
+        }
         User sender = (User) authentication.getPrincipal();
-        goodsChatMessageService.sendMessage(message,sender);
+        // 같은 채팅방의 메시지는 하나의 lane 에서 순서대로 저장 / 캐시 / 전송 (lane 에서 실패하면 요청한 세션에 알림)
+        goodsChatSequencer.submit(message.getRoomId(), () -> goodsChatMessageService.sendMessage(message, sender),
+                failure -> clientErrorSender.send(sessionId, failure));
+    }
+
+    // 읽음 처리 : seq 번 메시지까지 읽음 (/sub/chat/goods/{roomId}/read 로 읽음 확인 전송)
+    @MessageMapping("/chat/goods/read")
+    public void handleRead(Authentication authentication, @Payload GoodsChatReadRequest request) {
+
+        if (request.getRoomId() == null || request.getSeq() == null) {
+            throw new ChatHandler(ErrorStatus.CHAT_REQUEST_INVALID);
+        }
+        User reader = (User) authentication.getPrincipal();
+        goodsChatReadService.markRead(reader.getId(), request.getRoomId(), request.getSeq());
+    }
+
+    // 입력 중 표시 : 저장 없이 /sub/chat/goods/{roomId}/typing 로만 전달 (sequencer 를 거치지 않음)
+    @MessageMapping("/chat/goods/typing")
+    public void handleTyping(Authentication authentication, @Payload GoodsChatTypingRequest request) {
+
+        if (request.getRoomId() == null) {
+            throw new ChatHandler(ErrorStatus.CHAT_REQUEST_INVALID);
+        }
+        User typist = (User) authentication.getPrincipal();
+        goodsChatTypingService.typing(typist.getId(), request.getRoomId(), request.isTyping());
+    }
+
+    // @MessageMapping 처리 중 예외(요청 검증, lane 대기열 초과 등)는 요청한 세션의 /user/queue/errors 로 전달
+    @MessageExceptionHandler
+    @SendToUser(destinations = GoodsChatClientErrorSender.ERROR_DESTINATION, broadcast = false)
+    public ApiResponse<Object> handleException(Exception e) {
+        if (e instanceof GeneralException) {
+            log.warn("채팅 요청 처리 실패: {}", e.getMessage());
+        } else {
+            log.error("채팅 요청 처리 실패: {}", e.getMessage(), e);
+        }
+        return GoodsChatClientErrorSender.toResponse(e);
     }
 }
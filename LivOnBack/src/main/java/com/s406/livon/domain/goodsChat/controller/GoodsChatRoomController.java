@@ -2,10 +2,14 @@ package com.s406.livon.domain.goodsChat.controller;
 
 
 import com.s406.livon.domain.goodsChat.dto.response.GoodsChatMessageResponse;
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatMessageSyncResponse;
 import com.s406.livon.domain.goodsChat.dto.response.GoodsChatRoomResponse;
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatRoomSummaryResponse;
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatSearchResponse;
 import com.s406.livon.domain.goodsChat.service.GoodsChatService;
 import com.s406.livon.domain.user.entity.User;
 import com.s406.livon.global.web.response.ApiResponse;
+import com.s406.livon.global.web.response.code.status.SuccessStatus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -35,23 +39,91 @@ public class GoodsChatRoomController {
     }
 
 
+    /**
+     * 참여 중인 채팅방 목록 (최근 메시지, 안 읽은 메시지 수 포함, 최근 메시지 순)
+     * @param user
+     * @return
+     */
+    @GetMapping("/rooms")
+    public ResponseEntity<ApiResponse<List<GoodsChatRoomSummaryResponse>>> getGoodsChatRooms(@AuthenticationPrincipal User user) {
+        List<GoodsChatRoomSummaryResponse> response = goodsChatService.getGoodsChatRooms(user.getId());
+        return ResponseEntity.ok(ApiResponse.onSuccess(response));
+    }
+
+    /**
+     * 참여 중인 채팅방의 메시지 검색 (최신순)
+     * @param user
+     * @param keyword 검색어 (두 글자 이상인 단어 포함)
+     * @param chatRoomId 검색할 채팅방 ID, 없으면 참여 중인 모든 채팅방
+     * @param cursor 이전 페이지의 nextCursor
+     * @param size 페이지 크기
+     * @return
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<GoodsChatSearchResponse>> searchGoodsChatMessages(
+            @AuthenticationPrincipal User user,
+            @RequestParam String keyword,
+            @RequestParam(required = false) Long chatRoomId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        GoodsChatSearchResponse response = goodsChatService.searchMessages(user.getId(), keyword, chatRoomId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.onSuccess(response));
+    }
+
     /**
      * 채팅방 채팅내용 보기
      * @param chatRoomId
      * @param user
-     * @param lastSentAt
+     * @param lastSeq 이전 페이지의 마지막(가장 오래된) 메시지 순번, 이 순번보다 작은 메시지를 조회
+     * @param lastSentAt (deprecated) 구버전 클라이언트용 시간 커서, lastSeq 가 없을 때만 사용
      * @return
      */
     @GetMapping("/{chatRoomId}/message")
     public ResponseEntity<ApiResponse<List<GoodsChatMessageResponse>>> getGoodsChatRoomMessages(
             @PathVariable Long chatRoomId,
             @AuthenticationPrincipal User user,
+            @RequestParam(required = false) Long lastSeq,
             @RequestParam(required = false) LocalDateTime lastSentAt
     ) {
-        List<GoodsChatMessageResponse> response = goodsChatService.getChatRoomMessages(chatRoomId, user.getId(), lastSentAt);
+        List<GoodsChatMessageResponse> response = goodsChatService.getChatRoomMessages(chatRoomId, user.getId(), lastSeq, lastSentAt);
         return ResponseEntity.ok(ApiResponse.onSuccess(response));
     }
 
+    /**
+     * 재연결 시 놓친 메시지 동기화 (afterSeq 이후 메시지를 오름차순으로 조회)
+     * @param chatRoomId
+     * @param user
+     * @param afterSeq 클라이언트가 마지막으로 받은 메시지 순번
+     * @param size 최대 조회 개수 (최대 200)
+     * @return
+     */
+    @GetMapping("/{chatRoomId}/message/since")
+    public ResponseEntity<ApiResponse<GoodsChatMessageSyncResponse>> getGoodsChatRoomMessagesSince(
+            @PathVariable Long chatRoomId,
+            @AuthenticationPrincipal User user,
+            @RequestParam long afterSeq,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        GoodsChatMessageSyncResponse response = goodsChatService.getChatRoomMessagesSince(chatRoomId, user.getId(), afterSeq, size);
+        return ResponseEntity.ok(ApiResponse.onSuccess(response));
+    }
+
+    /**
+     * 채팅방 삭제 (상담 코치만 가능, 메시지 내역은 백그라운드에서 나누어 삭제)
+     * @param chatRoomId
+     * @param user
+     * @return
+     */
+    @DeleteMapping("/{chatRoomId}")
+    public ResponseEntity<ApiResponse<Void>> deleteGoodsChatRoom(
+            @PathVariable Long chatRoomId,
+            @AuthenticationPrincipal User user
+    ) {
+        goodsChatService.deleteChatRoom(chatRoomId, user.getId());
+        return ResponseEntity.ok(ApiResponse.of(SuccessStatus.DELETE_SUCCESS, null));
+    }
+
     // Todo 채팅방 안 유저 정보
 
     @GetMapping("/{chatRoomId}/users/connection")
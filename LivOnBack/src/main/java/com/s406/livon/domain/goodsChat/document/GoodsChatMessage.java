@@ -14,12 +14,14 @@ import java.util.List;
 import java.util.UUID;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @Document(collection = "goods_chat_message")
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 @CompoundIndexes({
-        @CompoundIndex(name = "idx_chat_room_id_sent_at", def = "{ 'chat_room_id': 1, 'sent_at': -1 }")
+        @CompoundIndex(name = "idx_chat_room_id_sent_at", def = "{ 'chat_room_id': 1, 'sent_at': -1 }"),
+        @CompoundIndex(name = "idx_chat_room_id_seq", def = "{ 'chat_room_id': 1, 'seq': -1 }"),
+        @CompoundIndex(name = "idx_chat_room_id_ngrams_id", def = "{ 'chat_room_id': 1, 'ngrams': 1, '_id': -1 }")
 })
 public class GoodsChatMessage {
 
@@ -29,6 +31,10 @@ public class GoodsChatMessage {
     @Field(name = "chat_room_id")
     private Long chatRoomId;
 
+    // 채팅방 내 서버 발급 순번 (Redis INCR)
+    @Field(name = "seq")
+    private Long seq;
+
     @Field(name = "user_id")
     private UUID userId;
 
@@ -44,4 +50,8 @@ public class GoodsChatMessage {
     @Field(name = "message_type")
     private MessageType messageType;
 
+    // 검색용 bigram (저장 시 GoodsChatMessageNgramCallback 에서 생성, 캐시 / 응답에는 포함하지 않음)
+    @Field(name = "ngrams")
+    private List<String> ngrams;
+
 }
@@ -0,0 +1,51 @@
+package com.s406.livon.domain.goodsChat.document;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+/**
+ * 오래된 채팅방의 메시지를 순번 구간 단위로 압축해 저장하는 bucket
+ * - 한 bucket 에 연속된 순번의 메시지를 최대 bucketSize 건까지 저장 (payload 는 GoodsChatMessageBucketCodec 으로 압축)
+ * - 메시지 건수가 아니라 bucket 건수만큼만 인덱스가 커짐
+ * - 같은 채팅방에서 bucket 에 있는 메시지의 순번은 goods_chat_message 에 남아있는 메시지의 순번보다 항상 작음
+ */
+@Getter
+@Builder
+@Document(collection = "goods_chat_message_bucket")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@CompoundIndexes({
+        @CompoundIndex(name = "idx_chat_room_id_last_seq", def = "{ 'chat_room_id': 1, 'last_seq': -1 }")
+})
+public class GoodsChatMessageBucket {
+
+    @Id
+    private String id;
+
+    @Field(name = "chat_room_id")
+    private Long chatRoomId;
+
+    @Field(name = "first_seq")
+    private Long firstSeq;
+
+    @Field(name = "last_seq")
+    private Long lastSeq;
+
+    @Field(name = "first_sent_at")
+    private LocalDateTime firstSentAt;
+
+    @Field(name = "last_sent_at")
+    private LocalDateTime lastSentAt;
+
+    @Field(name = "count")
+    private Integer count;
+
+    @Field(name = "payload")
+    private byte[] payload;
+}
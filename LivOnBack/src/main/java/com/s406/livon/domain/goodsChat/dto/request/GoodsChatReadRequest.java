@@ -0,0 +1,11 @@
+package com.s406.livon.domain.goodsChat.dto.request;
+
+import lombok.Getter;
+
+// /pub/chat/goods/read : seq 번 메시지까지 읽음
+@Getter
+public class GoodsChatReadRequest {
+
+    private Long roomId;
+    private Long seq;
+}
@@ -0,0 +1,11 @@
+package com.s406.livon.domain.goodsChat.dto.request;
+
+import lombok.Getter;
+
+// /pub/chat/goods/typing : 입력 중(typing=true) / 입력 중지(typing=false)
+@Getter
+public class GoodsChatTypingRequest {
+
+    private Long roomId;
+    private boolean typing;
+}
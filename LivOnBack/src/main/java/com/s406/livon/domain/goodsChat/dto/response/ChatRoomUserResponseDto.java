@@ -27,4 +27,12 @@ public class ChatRoomUserResponseDto {
                 .userImage(user.getProfileImage())
                 .build();
     }
+
+    public static ChatRoomUserResponseDto of(GoodsChatUserSummary summary){
+        return ChatRoomUserResponseDto.builder()
+                .userId(summary.getId())
+                .nickname(summary.getNickname())
+                .userImage(summary.getProfileImage())
+                .build();
+    }
     }
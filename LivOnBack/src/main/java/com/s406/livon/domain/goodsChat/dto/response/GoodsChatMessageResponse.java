@@ -7,17 +7,20 @@ import com.s406.livon.domain.user.entity.User;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.jackson.Jacksonized;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Getter
 @Builder
+@Jacksonized
 @RequiredArgsConstructor
 public class GoodsChatMessageResponse {
 
     private final String chatMessageId;
     private final Long roomId;
+    private final Long seq;
     private final UUID senderId;
     private final String senderNickname;
     private final String senderRole;
@@ -30,6 +33,7 @@ public class GoodsChatMessageResponse {
         return GoodsChatMessageResponse.builder()
                 .chatMessageId(chatMessage.getId())
                 .roomId(chatMessage.getChatRoomId())
+                .seq(chatMessage.getSeq())
                 .senderId(sender.getId())
                 .senderNickname(sender.getNickname())
                 .senderRole(sender.getRoles().isEmpty() ? null : sender.getRoles().get(0).getRoleName())
@@ -39,4 +43,19 @@ public class GoodsChatMessageResponse {
                 .sentAt(chatMessage.getSentAt())
                 .build();
     }
+
+    public static GoodsChatMessageResponse of(GoodsChatMessage chatMessage, GoodsChatUserSummary sender) {
+        return GoodsChatMessageResponse.builder()
+                .chatMessageId(chatMessage.getId())
+                .roomId(chatMessage.getChatRoomId())
+                .seq(chatMessage.getSeq())
+                .senderId(sender.getId())
+                .senderNickname(sender.getNickname())
+                .senderRole(sender.getRole() == null ? null : sender.getRole().getRoleName())
+                .senderImageUrl(sender.getProfileImage())
+                .message(chatMessage.getContent())
+                .messageType(chatMessage.getMessageType().getValue())
+                .sentAt(chatMessage.getSentAt())
+                .build();
+    }
 }
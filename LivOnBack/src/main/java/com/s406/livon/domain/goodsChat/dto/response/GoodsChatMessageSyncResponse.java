@@ -0,0 +1,25 @@
+package com.s406.livon.domain.goodsChat.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 재연결 시 누락 메시지 동기화 응답
+ * - messages : afterSeq 이후 메시지 (순번 오름차순)
+ * - gap      : afterSeq 가 Redis 캐시 구간보다 오래되어 DB 에서 조회한 경우 true (캐시 구간 안의 빈 순번은 해당하지 않음)
+ * - hasMore  : latestSeq 까지 아직 받지 못한 메시지가 남아있는 경우 true (마지막 seq 로 다시 요청)
+ * - latestSeq: 조회 시점의 채팅방 최신 순번
+ */
+@Getter
+@Builder
+@RequiredArgsConstructor
+public class GoodsChatMessageSyncResponse {
+
+    private final List<GoodsChatMessageResponse> messages;
+    private final boolean gap;
+    private final boolean hasMore;
+    private final long latestSeq;
+}
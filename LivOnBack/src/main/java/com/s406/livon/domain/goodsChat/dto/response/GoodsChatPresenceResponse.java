@@ -0,0 +1,32 @@
+package com.s406.livon.domain.goodsChat.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// /sub/chat/goods/{roomId}/presence 로 전달되는 접속 상태 변경 이벤트
+@Getter
+@Builder
+public class GoodsChatPresenceResponse {
+
+    private final Long chatRoomId;
+    private final UUID userId;
+    private final Status status;
+    private final LocalDateTime occurredAt;
+
+    public enum Status {
+        ONLINE,
+        OFFLINE
+    }
+
+    public static GoodsChatPresenceResponse of(Long chatRoomId, UUID userId, Status status) {
+        return GoodsChatPresenceResponse.builder()
+                .chatRoomId(chatRoomId)
+                .userId(userId)
+                .status(status)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.s406.livon.domain.goodsChat.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// /sub/chat/goods/{roomId}/read 로 전달되는 읽음 확인 이벤트
+@Getter
+@Builder
+public class GoodsChatReadResponse {
+
+    private final Long chatRoomId;
+    private final UUID userId;
+    private final long lastReadSeq;
+    private final LocalDateTime readAt;
+
+    public static GoodsChatReadResponse of(Long chatRoomId, UUID userId, long lastReadSeq) {
+        return GoodsChatReadResponse.builder()
+                .chatRoomId(chatRoomId)
+                .userId(userId)
+                .lastReadSeq(lastReadSeq)
+                .readAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -1,38 +1,40 @@
-//package com.s406.livon.domain.goodsChat.dto.response;
-//
-//import com.example.mate.domain.goods.entity.GoodsPost;
-//import com.example.mate.domain.goodsChat.entity.GoodsChatRoom;
-//import com.example.mate.domain.member.entity.Member;
-//import lombok.Builder;
-//import lombok.Getter;
-//import lombok.RequiredArgsConstructor;
-//
-//import java.time.LocalDateTime;
-//
-//@Getter
-//@Builder
-//@RequiredArgsConstructor
-//public class GoodsChatRoomSummaryResponse {
-//
-//    private final Long chatRoomId;
-//    private final String opponentNickname;
-//    private final String lastChatContent;
-//    private final LocalDateTime lastChatSentAt;
-//    private final String placeName;
-//    private final String goodsMainImageUrl;
-//    private final String opponentImageUrl;
-//
-//    public static GoodsChatRoomSummaryResponse of(GoodsChatRoom chatRoom, Member opponent) {
-//        GoodsPost goodsPost = chatRoom.getGoodsPost();
-//
-//        return GoodsChatRoomSummaryResponse.builder()
-//                .chatRoomId(chatRoom.getId())
-//                .opponentNickname(opponent.getNickname())
-//                .lastChatContent(chatRoom.getLastChatContent())
-//                .lastChatSentAt(chatRoom.getLastChatSentAt())
-//                .placeName(goodsPost.getLocation().getPlaceName())
-//                .goodsMainImageUrl(goodsPost.getMainImageUrl())
-//                .opponentImageUrl(opponent.getImageUrl())
-//                .build();
-//    }
-//}
+package com.s406.livon.domain.goodsChat.dto.response;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.entity.GoodsChatRoom;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅 목록(inbox) 항목
+ * - lastSeq     : 채팅방 최신 메시지 순번
+ * - unreadCount : 읽음 위치 이후 메시지 수
+ */
+@Getter
+@Builder
+@RequiredArgsConstructor
+public class GoodsChatRoomSummaryResponse {
+
+    private final Long chatRoomId;
+    private final Long consultationId;
+    private final String lastChatContent;
+    private final LocalDateTime lastChatSentAt;
+    private final long lastSeq;
+    private final long unreadCount;
+
+    // 최근 메시지를 찾지 못하면 채팅방에 반영된 최근 메시지 미리보기 사용
+    public static GoodsChatRoomSummaryResponse of(GoodsChatRoom chatRoom, GoodsChatMessage lastMessage,
+                                                  long lastSeq, long unreadCount) {
+        return GoodsChatRoomSummaryResponse.builder()
+                .chatRoomId(chatRoom.getId())
+                .consultationId(chatRoom.getConsultation().getId())
+                .lastChatContent(lastMessage != null ? lastMessage.getContent() : chatRoom.getLastChatContent())
+                .lastChatSentAt(lastMessage != null ? lastMessage.getSentAt() : chatRoom.getLastChatSentAt())
+                .lastSeq(lastSeq)
+                .unreadCount(unreadCount)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.s406.livon.domain.goodsChat.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 채팅 메시지 검색 응답
+ * - messages   : 검색어를 포함하는 메시지 (최신순)
+ * - nextCursor : 다음 페이지 요청 시 cursor 로 전달 (마지막 페이지면 null)
+ */
+@Getter
+@Builder
+@RequiredArgsConstructor
+public class GoodsChatSearchResponse {
+
+    private final List<GoodsChatMessageResponse> messages;
+    private final String nextCursor;
+}
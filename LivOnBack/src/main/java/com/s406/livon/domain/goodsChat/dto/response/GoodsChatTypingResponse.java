@@ -0,0 +1,24 @@
+package com.s406.livon.domain.goodsChat.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+// /sub/chat/goods/{roomId}/typing 로 전달되는 입력 중 이벤트 (저장하지 않음)
+@Getter
+@Builder
+public class GoodsChatTypingResponse {
+
+    private final Long chatRoomId;
+    private final UUID userId;
+    private final boolean typing;
+
+    public static GoodsChatTypingResponse of(Long chatRoomId, UUID userId, boolean typing) {
+        return GoodsChatTypingResponse.builder()
+                .chatRoomId(chatRoomId)
+                .userId(userId)
+                .typing(typing)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.s406.livon.domain.goodsChat.dto.response;
+
+import com.s406.livon.domain.user.enums.Role;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+// 채팅 화면에 필요한 사용자 정보 (GoodsChatUserSummaryCache 캐싱 대상)
+@Getter
+@Builder
+@RequiredArgsConstructor
+public class GoodsChatUserSummary {
+
+    private final UUID id;
+    private final String nickname;
+    private final String profileImage;
+    private final Role role;
+}
@@ -0,0 +1,17 @@
+package com.s406.livon.domain.goodsChat.entity;
+
+/**
+ * 채팅방 삭제 작업 단계 (순서대로 진행, 각 단계는 여러 번 실행되어도 안전)
+ */
+public enum GoodsChatDeletionPhase {
+    MESSAGES,   // goods_chat_message
+    BUCKETS,    // goods_chat_message_bucket
+    REDIS,      // 캐시 / 순번 / 접속자 / 읽음 위치 키
+    PARTS,      // goods_chat_part
+    ROOM,       // goods_chat_room
+    COMPLETED;
+
+    public GoodsChatDeletionPhase next() {
+        return this == COMPLETED ? COMPLETED : values()[ordinal() + 1];
+    }
+}
@@ -0,0 +1,51 @@
+package com.s406.livon.domain.goodsChat.entity;
+
+import com.s406.livon.global.util.BaseTime;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅방 삭제 작업 체크포인트
+ * 단계(phase)와 삭제한 건수를 배치마다 저장하므로 노드가 중간에 종료되어도 마지막 단계부터 이어서 삭제합니다.
+ */
+@Entity
+@Table(name = "goods_chat_deletion_task")
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class GoodsChatDeletionTask extends BaseTime {
+
+    @Id
+    @Column(name = "chat_room_id")
+    private Long chatRoomId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "phase", nullable = false)
+    @Builder.Default
+    private GoodsChatDeletionPhase phase = GoodsChatDeletionPhase.MESSAGES;
+
+    @Column(name = "deleted_count", nullable = false)
+    @Builder.Default
+    private Long deletedCount = 0L;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public void addDeleted(long count) {
+        this.deletedCount += count;
+    }
+
+    public void advance() {
+        this.phase = phase.next();
+        if (phase == GoodsChatDeletionPhase.COMPLETED) {
+            this.completedAt = LocalDateTime.now();
+        }
+    }
+
+    public boolean isCompleted() {
+        return phase == GoodsChatDeletionPhase.COMPLETED;
+    }
+}
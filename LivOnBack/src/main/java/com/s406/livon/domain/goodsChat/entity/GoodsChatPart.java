@@ -1,6 +1,7 @@
 package com.s406.livon.domain.goodsChat.entity;
 
 
+import com.s406.livon.domain.goodsChat.event.GoodsChatPartEntityListener;
 import com.s406.livon.domain.user.entity.User;
 import com.s406.livon.domain.user.enums.Role;
 import jakarta.persistence.*;
@@ -8,6 +9,7 @@ import lombok.*;
 
 
 @Entity
+@EntityListeners(GoodsChatPartEntityListener.class)
 @IdClass(GoodsChatPartId.class)
 @Table(name = "goods_chat_part")
 @Getter
@@ -33,6 +35,11 @@ public class GoodsChatPart {
     @Builder.Default
     private Boolean isActive = true;
 
+    // 마지막으로 읽은 메시지 순번 (Redis 읽음 위치를 GoodsChatReadCursorPersister 가 주기적으로 반영)
+    @Column(name = "last_read_seq", nullable = false)
+    @Builder.Default
+    private Long lastReadSeq = 0L;
+
     public boolean leaveAndCheckRoomStatus() {
         if (!goodsChatRoom.isRoomActive()) {
             return true;
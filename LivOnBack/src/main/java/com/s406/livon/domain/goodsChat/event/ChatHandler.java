@@ -1,13 +1,20 @@
 package com.s406.livon.domain.goodsChat.event;
 
 
-import com.s406.livon.domain.goodsChat.repository.GoodsChatPartRepository;
+import com.s406.livon.domain.goodsChat.broker.GoodsChatBroadcaster;
+import com.s406.livon.domain.goodsChat.inbound.GoodsChatClientErrorSender;
+import com.s406.livon.domain.goodsChat.presence.GoodsChatPresenceRegistry;
+import com.s406.livon.domain.goodsChat.presence.GoodsChatPresenceService;
+import com.s406.livon.domain.goodsChat.service.GoodsChatCacheWarmer;
+import com.s406.livon.domain.goodsChat.service.GoodsChatMembershipCache;
 import com.s406.livon.domain.user.entity.User;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
 import com.s406.livon.global.error.handler.TokenHandler;
 import com.s406.livon.global.security.jwt.JwtTokenProvider;
 import com.s406.livon.global.web.response.code.ErrorReasonDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.messaging.Message;
@@ -21,8 +28,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 @Order(Ordered.HIGHEST_PRECEDENCE + 99)
 @RequiredArgsConstructor
@@ -31,28 +36,26 @@ import java.util.stream.Collectors;
 public class ChatHandler implements ChannelInterceptor {
 
     private final JwtTokenProvider tokenProvider;
-    private final GoodsChatPartRepository goodsChatPartRepository;
-
-    private final Map<String, UUID> userBySessionId = new ConcurrentHashMap<>();
-    private final Map<Long, Set<String>> sessionsByRoomId = new ConcurrentHashMap<>();
-
-    public Set<UUID> getConnectedUsers(Long roomId) {
-        // 1. 채팅방에 구독 중인 세션 ID 목록을 가져옵니다.
-        Set<String> sessionIds = sessionsByRoomId.getOrDefault(roomId, Collections.emptySet());
-
-        // 2. 세션 ID 목록을 실제 사용자 ID(UUID) 목록으로 변환합니다.
-        return sessionIds.stream()
-                .map(userBySessionId::get) // 세션ID -> 유저ID
-                .filter(Objects::nonNull)    // DISCONNECT 처리 중인 유저 제외
-                .collect(Collectors.toSet());
-    }
+    private final GoodsChatMembershipCache membershipCache;
+    private final GoodsChatPresenceRegistry presenceRegistry;
+    private final GoodsChatCacheWarmer cacheWarmer;
+    private final GoodsChatProperties goodsChatProperties;
+    // 브로커(SimpMessagingTemplate) -> WebSocketConfig -> ChatHandler 순환 참조를 피하기 위해 지연 조회
+    private final ObjectProvider<GoodsChatPresenceService> presenceServiceProvider;
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
 
         StompHeaderAccessor accessor =
                 MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
 
+        // heart-beat 를 포함한 모든 수신 프레임에서 세션의 마지막 수신 시각 갱신
+        if (accessor.getSessionId() != null) {
+            presenceRegistry.touch(accessor.getSessionId());
+        }
         //todo : 구독하는 것도 예외처리 이 채팅방으 구독 할 수 있는가?
 
 
@@ -99,7 +102,11 @@ public class ChatHandler implements ChannelInterceptor {
                 accessor.setUser(auth);
                 String sessionId = accessor.getSessionId();
                 UUID userId = ((User) auth.getPrincipal()).getId();
-                userBySessionId.put(sessionId, userId);
+                // 클라이언트가 heart-beat 를 보내지 않으면(0,0) 마지막 수신 시각으로 끊김을 판단할 수 없음
+                long[] clientHeartbeat = accessor.getHeartbeat();
+                boolean heartbeat = clientHeartbeat[0] > 0
+                        && !goodsChatProperties.getPresence().getHeartbeatInterval().isZero();
+                presenceRegistry.connect(sessionId, userId, heartbeat);
                 log.info("STOMP CONNECT: 세션 등록. SessionID: {}, UserID: {}", sessionId, userId);
 
             }
@@ -134,12 +141,17 @@ public class ChatHandler implements ChannelInterceptor {
                 String destination = accessor.getDestination();
                 if (destination == null) { /* ... */ }
 
+                // 자신의 세션으로만 전달되는 에러 응답 구독은 채팅방 권한 검사 없이 허용
+                if (GoodsChatClientErrorSender.USER_ERROR_DESTINATION.equals(destination)) {
+                    return message;
+                }
+
                 // (3) 목적지에서 채팅방 ID 추출
                 Long roomId = parseRoomIdFromDestination(destination);
 
                 // ★ 4. 권한 검사 (가장 중요) ★
-                // GoodsChatPart 테이블을 조회하여 이 사용자가 이 채팅방의 참여자인지 확인
-                boolean isParticipant = goodsChatPartRepository.existsByUserIdAndGoodsChatRoomId(user.getId(), roomId);
+                // GoodsChatPart 참여 여부 캐시를 통해 이 사용자가 이 채팅방의 참여자인지 확인
+                boolean isParticipant = membershipCache.isMember(roomId, user.getId());
 
                 // (5) 참여자가 아닐 경우 접근 거부
                 if (!isParticipant) {
@@ -148,9 +160,11 @@ public class ChatHandler implements ChannelInterceptor {
                 }
 
                 String sessionId = accessor.getSessionId();
-                sessionsByRoomId.computeIfAbsent(roomId, k -> ConcurrentHashMap.newKeySet()).add(sessionId);
-
-
+                boolean firstLocalSubscription = presenceServiceProvider.getObject().subscribe(sessionId, roomId, user.getId());
+                if (firstLocalSubscription) {
+                    // 이 노드에서 방이 처음 열리면 첫 페이지 조회 전에 캐시를 미리 채움
+                    cacheWarmer.warmUp(roomId);
+                }
 
                 log.info("STOMP SUBSCRIBE 승인: User {} -> Room {}", user.getId(), roomId);
 
@@ -164,14 +178,11 @@ public class ChatHandler implements ChannelInterceptor {
                 return message;
             }
 
-            // (1) userBySessionId 맵에서 사용자 제거
-            UUID userId = userBySessionId.remove(sessionId);
-
-            if (userId != null) {
-                log.info("STOMP DISCONNECT: 세션 종료. SessionID: {}, UserID: {}", sessionId, userId);
+            // 역색인을 통해 이 세션이 구독한 방에서만 제거 (비어있는 방은 함께 제거)
+            GoodsChatPresenceRegistry.SessionPresence presence = presenceServiceProvider.getObject().disconnect(sessionId);
 
-                // (2) sessionsByRoomId 맵을 순회하며 이 세션을 모든 방에서 제거
-                sessionsByRoomId.values().forEach(sessions -> sessions.remove(sessionId));
+            if (presence != null) {
+                log.info("STOMP DISCONNECT: 세션 종료. SessionID: {}, UserID: {}", sessionId, presence.getUserId());
             } else {
                 log.debug("STOMP DISCONNECT: 추적되지 않는 세션 종료. SessionID: {}", sessionId);
             }
@@ -180,9 +191,11 @@ public class ChatHandler implements ChannelInterceptor {
     }
     private Long parseRoomIdFromDestination(String destination) {
         // WebSocketConfig에서 설정한 prefix가 "/sub/chat/goods/"
+        // /sub/chat/goods/{roomId} 와 /sub/chat/goods/{roomId}/presence 모두 prefix 바로 뒤의 값이 채팅방 ID
         try {
-            String[] parts = destination.split("/");
-            return Long.parseLong(parts[parts.length - 1]);
+            String path = destination.substring(GoodsChatBroadcaster.ROOM_DESTINATION_PREFIX.length());
+            int slashIndex = path.indexOf('/');
+            return Long.parseLong(slashIndex < 0 ? path : path.substring(0, slashIndex));
         } catch (Exception e) {
             log.error("채팅방 ID 파싱 실패: {}", destination, e);
             throw new IllegalArgumentException("유효하지 않은 채팅방 구독 주소입니다.");
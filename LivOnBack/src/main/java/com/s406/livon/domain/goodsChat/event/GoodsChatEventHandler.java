@@ -1,23 +1,37 @@
 package com.s406.livon.domain.goodsChat.event;
 
 import com.s406.livon.domain.goodsChat.service.GoodsChatMessageService;
+import com.s406.livon.domain.goodsChat.service.GoodsChatSequencer;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Async;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class GoodsChatEventHandler {
 
     private final GoodsChatMessageService messageService;
+    private final GoodsChatSequencer sequencer;
+    private final GoodsChatProperties goodsChatProperties;
 
-    @Async
+    // 입장 / 퇴장 메시지도 일반 메시지와 같은 lane 에서 처리하여 방 안의 순서를 유지
+    // 커밋 이후에는 요청을 되돌릴 수 없으므로 lane 이 가득 차면 거절하지 않고 eventSubmitTimeout 동안 대기
     @TransactionalEventListener
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void handle(GoodsChatEvent event) {
-        messageService.sendChatEventMessage(event);
+        try {
+            boolean submitted = sequencer.submitWaiting(event.chatRoomId(),
+                    () -> messageService.sendChatEventMessage(event),
+                    goodsChatProperties.getSequencer().getEventSubmitTimeout());
+            if (!submitted) {
+                log.error("채팅 lane 대기 시간 초과로 {} 메시지 전송 실패: Room {}, User {}",
+                        event.type(), event.chatRoomId(), event.user().getId());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("채팅 lane 대기 중 인터럽트로 {} 메시지 전송 실패: Room {}", event.type(), event.chatRoomId());
+        }
     }
 }
@@ -0,0 +1,27 @@
+package com.s406.livon.domain.goodsChat.event;
+
+import com.s406.livon.domain.goodsChat.entity.GoodsChatPart;
+import com.s406.livon.domain.goodsChat.service.GoodsChatMembershipCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * GoodsChatPart 생성(참여) / 변경(비활성화) / 삭제 시 참여 여부 캐시 무효화
+ * EntityManagerFactory 생성 시점에 인스턴스화되므로 캐시는 ObjectProvider 로 지연 조회합니다.
+ */
+@RequiredArgsConstructor
+public class GoodsChatPartEntityListener {
+
+    private final ObjectProvider<GoodsChatMembershipCache> membershipCacheProvider;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evictMembership(GoodsChatPart part) {
+        membershipCacheProvider.getObject()
+                .evictAfterCommit(part.getGoodsChatRoom().getId(), part.getUser().getId());
+    }
+}
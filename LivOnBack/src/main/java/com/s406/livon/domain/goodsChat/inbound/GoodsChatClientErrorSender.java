@@ -0,0 +1,47 @@
+package com.s406.livon.domain.goodsChat.inbound;
+
+import com.s406.livon.global.error.exception.GeneralException;
+import com.s406.livon.global.web.response.ApiResponse;
+import com.s406.livon.global.web.response.code.ErrorReasonDTO;
+import com.s406.livon.global.web.response.code.status.ErrorStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.stereotype.Component;
+
+/**
+ * SEND 프레임 처리 실패를 요청한 세션에만 전달
+ * - 구독 주소 : /user/queue/errors (세션 단위, 같은 사용자의 다른 세션에는 전달하지 않음)
+ * - payload   : ApiResponse.onFailure(에러 코드, 메시지) - GeneralException 이 아니면 COMMON500
+ * ERROR 프레임과 달리 세션을 종료하지 않으므로, lane 에서 비동기로 실패한 메시지도 같은 방식으로 알립니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class GoodsChatClientErrorSender {
+
+    public static final String ERROR_DESTINATION = "/queue/errors";
+    public static final String USER_ERROR_DESTINATION = "/user" + ERROR_DESTINATION;
+
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    public void send(String sessionId, Throwable error) {
+        if (sessionId == null) {
+            return;
+        }
+        // 사용자 이름 대신 세션 ID 로 보내고 세션 헤더를 지정하면 해당 세션에만 전달
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.convertAndSendToUser(sessionId, ERROR_DESTINATION, toResponse(error), accessor.getMessageHeaders());
+    }
+
+    public static ApiResponse<Object> toResponse(Throwable error) {
+        if (error instanceof GeneralException generalException) {
+            ErrorReasonDTO reason = generalException.getErrorReason();
+            return ApiResponse.onFailure(reason.getCode(), reason.getMessage());
+        }
+        return ApiResponse.onFailure(ErrorStatus._INTERNAL_SERVER_ERROR.getCode(),
+                ErrorStatus._INTERNAL_SERVER_ERROR.getMessage());
+    }
+}
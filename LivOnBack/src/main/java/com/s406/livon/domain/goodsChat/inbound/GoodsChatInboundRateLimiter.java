@@ -0,0 +1,171 @@
+package com.s406.livon.domain.goodsChat.inbound;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.s406.livon.domain.user.entity.User;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import com.s406.livon.global.config.properties.GoodsChatProperties.RateLimitMode;
+import com.s406.livon.global.error.handler.ChatHandler;
+import com.s406.livon.global.web.response.code.status.ErrorStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * clientInboundChannel SEND 프레임 속도 제한 (토큰 버킷)
+ * destinations 로 보내는 SEND 프레임만 제한합니다. (기본값은 메시지 전송, 읽음 / 입력 중 프레임은 제한하지 않음)
+ * - 세션 : 세션별 버킷 (연결 시 생성, 종료 시 제거, 종료된 세션의 프레임은 사용자 버킷만 적용)
+ * - 사용자 : 같은 사용자의 모든 세션이 공유하는 버킷
+ *   LOCAL 은 노드 메모리, REDIS 는 Lua 스크립트로 모든 노드가 하나의 버킷을 공유 (Redis 장애 시 세션 제한만 적용)
+ * 한도를 넘은 프레임은 ChatHandler(CHAT_RATE_LIMITED) 예외로 거부되어 ERROR 프레임으로 응답합니다. (GoodsChatStompErrorHandler)
+ * LOCAL 모드의 판정은 버킷 조회와 산술 연산뿐이라 프레임마다 할당이 없습니다.
+ *
+ * 지표
+ * - goods_chat.inbound.rate_limited{scope=session|user} : 거부된 SEND 프레임 수
+ */
+@Slf4j
+@Component
+public class GoodsChatInboundRateLimiter implements ChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    private static final String USER_BUCKET_KEY_FORMAT = "goods_chat_rate::%s";
+
+    // KEYS[1]=사용자 버킷 / ARGV[1]=burst, ARGV[2]=초당 충전량 -> 허용이면 1
+    // 노드 간 시계 차이가 없도록 Redis 서버 시각(TIME) 기준으로 충전
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            local burst = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or burst
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(burst, tokens + math.max(0, now - ts) * rate / 1000000)
+            local allowed = 0
+            if tokens >= 1 then
+              tokens = tokens - 1
+              allowed = 1
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil(burst / rate * 1000) + 1000)
+            return allowed
+            """, Long.class);
+
+    private final GoodsChatProperties.RateLimit rateLimitProperties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Map<String, GoodsChatTokenBucket> sessionBuckets = new ConcurrentHashMap<>();
+    private final Cache<UUID, GoodsChatTokenBucket> userBuckets;
+    private final Counter sessionRejections;
+    private final Counter userRejections;
+
+    public GoodsChatInboundRateLimiter(GoodsChatProperties goodsChatProperties, StringRedisTemplate stringRedisTemplate,
+                                       MeterRegistry meterRegistry) {
+        this.rateLimitProperties = goodsChatProperties.getRateLimit();
+        this.stringRedisTemplate = stringRedisTemplate;
+        // 가득 찰 때까지 걸리는 시간 이상 사용하지 않은 버킷은 새로 만든 버킷과 같으므로 제거
+        long refillMillis = (long) Math.ceil(rateLimitProperties.getUserBurst() / rateLimitProperties.getUserRefillPerSecond() * 1000);
+        this.userBuckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMillis(Math.max(Duration.ofMinutes(1).toMillis(), refillMillis)))
+                .build();
+        this.sessionRejections = Counter.builder("goods_chat.inbound.rate_limited").tag("scope", "session").register(meterRegistry);
+        this.userRejections = Counter.builder("goods_chat.inbound.rate_limited").tag("scope", "user").register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!rateLimitProperties.isEnabled()
+                || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE
+                || !rateLimitProperties.getDestinations().contains(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+            return message;
+        }
+
+        long now = System.nanoTime();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        // 종료된 세션(프레임 처리 중 종료된 경우 등)의 버킷은 다시 만들지 않음
+        GoodsChatTokenBucket sessionBucket = sessionId != null ? sessionBuckets.get(sessionId) : null;
+        if (sessionBucket != null && !sessionBucket.tryAcquire(now)) {
+            sessionRejections.increment();
+            log.debug("STOMP SEND 속도 제한(세션): SessionID {}", sessionId);
+            throw new ChatHandler(ErrorStatus.CHAT_RATE_LIMITED);
+        }
+
+        UUID userId = userId(SimpMessageHeaderAccessor.getUser(message.getHeaders()));
+        if (userId != null && !tryAcquireUser(userId, now)) {
+            userRejections.increment();
+            log.debug("STOMP SEND 속도 제한(사용자): UserID {}", userId);
+            throw new ChatHandler(ErrorStatus.CHAT_RATE_LIMITED);
+        }
+        return message;
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessionBuckets.put(session.getId(), newSessionBucket(System.nanoTime()));
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessionBuckets.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    private boolean tryAcquireUser(UUID userId, long now) {
+        if (rateLimitProperties.getMode() == RateLimitMode.REDIS) {
+            try {
+                Long allowed = stringRedisTemplate.execute(ACQUIRE_SCRIPT, List.of(String.format(USER_BUCKET_KEY_FORMAT, userId)),
+                        String.valueOf(rateLimitProperties.getUserBurst()),
+                        String.valueOf(rateLimitProperties.getUserRefillPerSecond()));
+                return allowed == null || allowed == 1L;
+            } catch (RuntimeException e) {
+                log.warn("사용자 속도 제한 확인 실패(허용 처리): UserID {}, {}", userId, e.getMessage());
+                return true;
+            }
+        }
+
+        GoodsChatTokenBucket bucket = userBuckets.getIfPresent(userId);
+        if (bucket == null) {
+            bucket = userBuckets.get(userId, id -> new GoodsChatTokenBucket(rateLimitProperties.getUserBurst(),
+                    rateLimitProperties.getUserRefillPerSecond(), now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    private GoodsChatTokenBucket newSessionBucket(long now) {
+        return new GoodsChatTokenBucket(rateLimitProperties.getSessionBurst(),
+                rateLimitProperties.getSessionRefillPerSecond(), now);
+    }
+
+    private static UUID userId(Principal principal) {
+        if (principal instanceof Authentication authentication && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
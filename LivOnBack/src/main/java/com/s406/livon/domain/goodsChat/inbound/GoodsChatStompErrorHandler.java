@@ -0,0 +1,49 @@
+package com.s406.livon.domain.goodsChat.inbound;
+
+import com.s406.livon.global.error.exception.GeneralException;
+import com.s406.livon.global.web.response.code.ErrorReasonDTO;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.StompSubProtocolErrorHandler;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 수신 프레임 처리 중 GeneralException 이 발생하면 에러 코드를 담은 ERROR 프레임으로 응답
+ * - message 헤더 : 에러 코드 (예: CHAT4006)
+ * - body        : 에러 메시지
+ * - receipt-id  : 클라이언트가 receipt 헤더를 보낸 경우 해당 값
+ * 그 외 예외는 Spring 기본 ERROR 프레임을 사용합니다. ERROR 프레임 전송 후 세션은 종료됩니다. (STOMP 규약)
+ */
+@Component
+public class GoodsChatStompErrorHandler extends StompSubProtocolErrorHandler {
+
+    @Override
+    public Message<byte[]> handleClientMessageProcessingError(Message<byte[]> clientMessage, Throwable ex) {
+        GeneralException generalException = findGeneralException(ex);
+        if (generalException == null) {
+            return super.handleClientMessageProcessingError(clientMessage, ex);
+        }
+
+        ErrorReasonDTO reason = generalException.getErrorReason();
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.ERROR);
+        accessor.setMessage(reason.getCode());
+        accessor.setLeaveMutable(true);
+        StompHeaderAccessor clientAccessor = clientMessage == null ? null
+                : MessageHeaderAccessor.getAccessor(clientMessage, StompHeaderAccessor.class);
+        return handleInternal(accessor, reason.getMessage().getBytes(StandardCharsets.UTF_8), ex, clientAccessor);
+    }
+
+    // ChannelInterceptor 예외는 MessageDeliveryException 등으로 감싸져 전달됨
+    private static GeneralException findGeneralException(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof GeneralException generalException) {
+                return generalException;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.s406.livon.domain.goodsChat.inbound;
+
+/**
+ * 토큰 버킷 - 최대 burst 개까지 쌓이고 초당 refillPerSecond 개씩 다시 채워짐
+ * 호출 시각(nanoTime)을 받아 그때까지의 충전량을 한 번에 계산하므로 별도 타이머나 할당이 없습니다.
+ */
+final class GoodsChatTokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+
+    GoodsChatTokenBucket(long burst, double refillPerSecond, long nowNanos) {
+        this.capacity = burst;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = burst;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    synchronized boolean tryAcquire(long nowNanos) {
+        if (nowNanos > lastRefillNanos) {
+            tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = nowNanos;
+        }
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+}
@@ -0,0 +1,174 @@
+package com.s406.livon.domain.goodsChat.moderation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 금칙어 Aho–Corasick 오토마톤 (불변, 스레드 안전)
+ * 전이는 상태별로 정렬된 평탄 배열(edgeChars / edgeTargets)에 저장하고, 루트는 char 전체 범위 테이블로 바로 찾습니다.
+ * step() / 출력 조회는 객체를 만들지 않으므로 메시지를 한 번 훑는 동안 할당이 없습니다.
+ * 대소문자는 구분하지 않습니다. (Character.toLowerCase)
+ */
+final class GoodsChatBannedWordAutomaton {
+
+    static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final int[] rootNext;
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] fail;
+    // 이 상태에서 끝나는 가장 긴 금칙어의 길이 / 규칙 (없으면 0 / NONE)
+    private final int[] outputLength;
+    private final int[] outputRule;
+    // 실패 링크를 따라 만나는 다음 출력 상태 (없으면 NONE)
+    private final int[] outputLink;
+
+    private GoodsChatBannedWordAutomaton(int[] rootNext, int[] edgeStart, char[] edgeChars, int[] edgeTargets,
+                                         int[] fail, int[] outputLength, int[] outputRule, int[] outputLink) {
+        this.rootNext = rootNext;
+        this.edgeStart = edgeStart;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.outputLength = outputLength;
+        this.outputRule = outputRule;
+        this.outputLink = outputLink;
+    }
+
+    /**
+     * @param terms 금칙어 List (공백만 있는 항목은 무시, 중복 시 먼저 나온 규칙 사용)
+     * @param rules terms 와 같은 순서의 규칙 번호
+     */
+    static GoodsChatBannedWordAutomaton compile(List<String> terms, List<Integer> rules) {
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        List<Integer> termRules = new ArrayList<>();
+        children.add(new TreeMap<>());
+        lengths.add(0);
+        termRules.add(NONE);
+
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i).strip();
+            if (term.isEmpty()) {
+                continue;
+            }
+            int state = ROOT;
+            for (int j = 0; j < term.length(); j++) {
+                char c = Character.toLowerCase(term.charAt(j));
+                Integer next = children.get(state).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.get(state).put(c, next);
+                    children.add(new TreeMap<>());
+                    lengths.add(0);
+                    termRules.add(NONE);
+                }
+                state = next;
+            }
+            if (termRules.get(state) == NONE) {
+                lengths.set(state, term.length());
+                termRules.set(state, rules.get(i));
+            }
+        }
+
+        int stateCount = children.size();
+        int[] edgeStart = new int[stateCount + 1];
+        for (int state = 0; state < stateCount; state++) {
+            edgeStart[state + 1] = edgeStart[state] + children.get(state).size();
+        }
+        char[] edgeChars = new char[edgeStart[stateCount]];
+        int[] edgeTargets = new int[edgeStart[stateCount]];
+        int[] rootNext = new int[Character.MAX_VALUE + 1];
+        for (int state = 0; state < stateCount; state++) {
+            int offset = edgeStart[state];
+            for (Map.Entry<Character, Integer> edge : children.get(state).entrySet()) {
+                edgeChars[offset] = edge.getKey();
+                edgeTargets[offset] = edge.getValue();
+                offset++;
+            }
+        }
+        for (Map.Entry<Character, Integer> edge : children.get(ROOT).entrySet()) {
+            rootNext[edge.getKey()] = edge.getValue();
+        }
+
+        int[] outputLength = lengths.stream().mapToInt(Integer::intValue).toArray();
+        int[] outputRule = termRules.stream().mapToInt(Integer::intValue).toArray();
+        int[] fail = new int[stateCount];
+        int[] outputLink = new int[stateCount];
+        Arrays.fill(outputLink, NONE);
+
+        GoodsChatBannedWordAutomaton automaton = new GoodsChatBannedWordAutomaton(rootNext, edgeStart, edgeChars,
+                edgeTargets, fail, outputLength, outputRule, outputLink);
+
+        // BFS 로 실패 링크 / 출력 링크 계산 (부모의 링크가 먼저 계산됨)
+        // 깊이 1 상태의 실패 링크는 ROOT(0)
+        ArrayDeque<Integer> queue = new ArrayDeque<>(children.get(ROOT).values());
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> edge : children.get(state).entrySet()) {
+                int child = edge.getValue();
+                int failState = automaton.step(fail[state], edge.getKey());
+                fail[child] = failState;
+                outputLink[child] = outputRule[failState] != NONE ? failState : outputLink[failState];
+                queue.add(child);
+            }
+        }
+        return automaton;
+    }
+
+    int step(int state, char c) {
+        char lower = Character.toLowerCase(c);
+        while (state != ROOT) {
+            int target = child(state, lower);
+            if (target != NONE) {
+                return target;
+            }
+            state = fail[state];
+        }
+        return rootNext[lower];
+    }
+
+    // 현재 상태에서 끝나는 첫 출력 상태 (없으면 음수)
+    int firstOutput(int state) {
+        return outputRule[state] != NONE ? state : outputLink[state];
+    }
+
+    int nextOutput(int outputState) {
+        return outputLink[outputState];
+    }
+
+    int outputLength(int outputState) {
+        return outputLength[outputState];
+    }
+
+    int outputRule(int outputState) {
+        return outputRule[outputState];
+    }
+
+    int stateCount() {
+        return fail.length;
+    }
+
+    private int child(int state, char c) {
+        int low = edgeStart[state];
+        int high = edgeStart[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = edgeChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,225 @@
+package com.s406.livon.domain.goodsChat.moderation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 채팅 메시지 검열 (불변, 스레드 안전)
+ * 메시지를 한 번 훑으면서 다음을 같은 길이의 MASK 문자로 치환합니다.
+ * - 금칙어 : Aho–Corasick 오토마톤 (사전 크기와 관계없이 메시지 길이에 비례)
+ * - 전화번호 : 0 으로 시작하는 숫자 9~11 자리 (숫자 사이 '-', '.', ' ' 하나 허용)
+ *   구분자로 이어진 숫자 구간이 더 길면 숫자 묶음 단위로 나누어 찾음 ("010-1234-5678 3시" -> "010-1234-5678")
+ * - 이메일 : local@domain.tld
+ * 치환할 부분이 없으면 입력 문자열을 그대로 반환하므로 할당이 없습니다.
+ * 규칙별 적중 횟수는 goods_chat.moderation.hits{rule} 로 집계합니다.
+ */
+public final class GoodsChatModerationFilter {
+
+    public static final char MASK = '*';
+    public static final String PHONE_NUMBER_RULE = "phone_number";
+    public static final String EMAIL_RULE = "email";
+
+    private static final String HITS_METER = "goods_chat.moderation.hits";
+    private static final int MIN_PHONE_DIGITS = 9;
+    private static final int MAX_PHONE_DIGITS = 11;
+
+    private final GoodsChatBannedWordAutomaton automaton;
+    private final Counter[] ruleHits;
+    private final int termCount;
+    private final boolean maskPersonalInfo;
+    private final Counter phoneNumberHits;
+    private final Counter emailHits;
+
+    private GoodsChatModerationFilter(GoodsChatBannedWordAutomaton automaton, Counter[] ruleHits, int termCount,
+                                      boolean maskPersonalInfo, MeterRegistry meterRegistry) {
+        this.automaton = automaton;
+        this.ruleHits = ruleHits;
+        this.termCount = termCount;
+        this.maskPersonalInfo = maskPersonalInfo;
+        this.phoneNumberHits = hitCounter(meterRegistry, PHONE_NUMBER_RULE);
+        this.emailHits = hitCounter(meterRegistry, EMAIL_RULE);
+    }
+
+    /**
+     * @param termsByRule 규칙 이름별 금칙어 List
+     * @param maskPersonalInfo 전화번호 / 이메일 치환 여부
+     */
+    public static GoodsChatModerationFilter compile(Map<String, List<String>> termsByRule, boolean maskPersonalInfo,
+                                                    MeterRegistry meterRegistry) {
+        List<String> terms = new ArrayList<>();
+        List<Integer> rules = new ArrayList<>();
+        Counter[] ruleHits = new Counter[termsByRule.size()];
+        int rule = 0;
+        for (Map.Entry<String, List<String>> entry : termsByRule.entrySet()) {
+            ruleHits[rule] = hitCounter(meterRegistry, entry.getKey());
+            for (String term : entry.getValue()) {
+                terms.add(term);
+                rules.add(rule);
+            }
+            rule++;
+        }
+        return new GoodsChatModerationFilter(GoodsChatBannedWordAutomaton.compile(terms, rules), ruleHits,
+                terms.size(), maskPersonalInfo, meterRegistry);
+    }
+
+    public int termCount() {
+        return termCount;
+    }
+
+    public String apply(String message) {
+        if (message == null || message.isEmpty()) {
+            return message;
+        }
+
+        int length = message.length();
+        char[] masked = null;
+        int state = GoodsChatBannedWordAutomaton.ROOT;
+        int phoneStart = -1;
+        int phoneEnd = -1;
+        int emailFloor = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = message.charAt(i);
+
+            // 금칙어 : 이 위치에서 끝나는 모든 금칙어를 집계하고, 가장 긴 금칙어 범위를 치환 (짧은 금칙어는 그 접미사)
+            state = automaton.step(state, c);
+            int output = automaton.firstOutput(state);
+            if (output >= 0) {
+                masked = mask(message, masked, i + 1 - automaton.outputLength(output), i + 1);
+                for (; output >= 0; output = automaton.nextOutput(output)) {
+                    ruleHits[automaton.outputRule(output)].increment();
+                }
+            }
+
+            if (!maskPersonalInfo) {
+                continue;
+            }
+
+            // 전화번호 : 숫자 사이에 구분자가 하나씩 끼어 있는 연속 구간
+            if (isDigit(c)) {
+                if (phoneStart < 0) {
+                    phoneStart = i;
+                }
+                phoneEnd = i + 1;
+            } else if (phoneStart >= 0 && !(phoneEnd == i && isPhoneSeparator(c))) {
+                masked = maskPhoneNumbers(message, masked, phoneStart, phoneEnd);
+                phoneStart = -1;
+            }
+
+            // 이메일 : '@' 를 기준으로 앞은 local part, 뒤는 domain (이미 치환한 이메일과 겹치지 않도록 emailFloor 이후만)
+            if (c == '@') {
+                int end = emailEnd(message, i, emailFloor);
+                if (end > 0) {
+                    int start = i;
+                    while (start > emailFloor && isLocalPartChar(message.charAt(start - 1))) {
+                        start--;
+                    }
+                    masked = mask(message, masked, start, end);
+                    emailHits.increment();
+                    emailFloor = end;
+                }
+            }
+        }
+        if (phoneStart >= 0) {
+            masked = maskPhoneNumbers(message, masked, phoneStart, phoneEnd);
+        }
+        return masked == null ? message : new String(masked);
+    }
+
+    /**
+     * [start, end) 는 숫자 묶음이 구분자 하나씩으로 이어진 구간입니다.
+     * 0 으로 시작하는 묶음부터 이어지는 묶음을 붙여 9~11 자리가 되는 가장 긴 범위를 치환하고, 그 다음 묶음부터 다시 찾습니다.
+     */
+    private char[] maskPhoneNumbers(String message, char[] masked, int start, int end) {
+        int groupStart = start;
+        while (groupStart < end) {
+            int phoneEnd = message.charAt(groupStart) == '0' ? phoneNumberEnd(message, groupStart, end) : -1;
+            if (phoneEnd > 0) {
+                phoneNumberHits.increment();
+                masked = mask(message, masked, groupStart, phoneEnd);
+                groupStart = phoneEnd + 1;
+                continue;
+            }
+            while (groupStart < end && isDigit(message.charAt(groupStart))) {
+                groupStart++;
+            }
+            groupStart++;
+        }
+        return masked;
+    }
+
+    // groupStart 에서 시작해 묶음 경계에서 끝나는 9~11 자리 범위 중 가장 긴 범위의 끝 (없으면 -1)
+    private static int phoneNumberEnd(String message, int groupStart, int end) {
+        int phoneEnd = -1;
+        int digits = 0;
+        for (int i = groupStart; i < end && digits < MAX_PHONE_DIGITS; i++) {
+            if (!isDigit(message.charAt(i))) {
+                continue;
+            }
+            digits++;
+            boolean groupEnds = i + 1 == end || !isDigit(message.charAt(i + 1));
+            if (groupEnds && digits >= MIN_PHONE_DIGITS) {
+                phoneEnd = i + 1;
+            }
+        }
+        return phoneEnd;
+    }
+
+    // '@' 위치에서 시작하는 이메일의 끝 (이메일이 아니면 -1)
+    private static int emailEnd(String message, int at, int emailFloor) {
+        if (at == emailFloor || !isLocalPartChar(message.charAt(at - 1))) {
+            return -1;
+        }
+        int end = at + 1;
+        while (end < message.length() && isDomainChar(message.charAt(end))) {
+            end++;
+        }
+        // 문장 끝의 마침표 등은 제외
+        while (end > at + 1 && !isAsciiLetterOrDigit(message.charAt(end - 1))) {
+            end--;
+        }
+        int lastDot = message.lastIndexOf('.', end - 1);
+        // 최상위 도메인은 두 글자 이상
+        if (lastDot <= at + 1 || end - lastDot < 3) {
+            return -1;
+        }
+        return end;
+    }
+
+    private static char[] mask(String message, char[] masked, int start, int end) {
+        if (masked == null) {
+            masked = message.toCharArray();
+        }
+        Arrays.fill(masked, start, end, MASK);
+        return masked;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isPhoneSeparator(char c) {
+        return c == '-' || c == '.' || c == ' ';
+    }
+
+    private static boolean isLocalPartChar(char c) {
+        return isAsciiLetterOrDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+
+    private static boolean isDomainChar(char c) {
+        return isAsciiLetterOrDigit(c) || c == '.' || c == '-';
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private static Counter hitCounter(MeterRegistry meterRegistry, String rule) {
+        return Counter.builder(HITS_METER).tag("rule", rule).register(meterRegistry);
+    }
+}
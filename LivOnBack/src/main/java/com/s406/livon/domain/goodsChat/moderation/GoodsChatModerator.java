@@ -0,0 +1,126 @@
+package com.s406.livon.domain.goodsChat.moderation;
+
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 채팅 메시지 검열 진입점
+ * 금칙어 사전(goods-chat.moderation.dictionary-location)을 GoodsChatModerationFilter 로 컴파일해 두고,
+ * 사전 파일의 수정 시각이 바뀌면 다시 컴파일해 교체합니다. (재시작 없이 반영)
+ *
+ * 사전 형식 (UTF-8)
+ * - 한 줄에 금칙어 하나, '#' 으로 시작하는 줄은 주석
+ * - [규칙 이름] 줄 이후의 금칙어는 해당 규칙으로 집계 (없으면 banned_word)
+ */
+@Slf4j
+@Component
+public class GoodsChatModerator {
+
+    public static final String DEFAULT_RULE = "banned_word";
+    private static final long NOT_LOADED = Long.MIN_VALUE;
+
+    private final GoodsChatProperties.Moderation moderationProperties;
+    private final ResourceLoader resourceLoader;
+    private final MeterRegistry meterRegistry;
+
+    private volatile GoodsChatModerationFilter filter;
+    private volatile long loadedLastModified = NOT_LOADED;
+
+    public GoodsChatModerator(GoodsChatProperties goodsChatProperties, ResourceLoader resourceLoader,
+                              MeterRegistry meterRegistry) {
+        this.moderationProperties = goodsChatProperties.getModeration();
+        this.resourceLoader = resourceLoader;
+        this.meterRegistry = meterRegistry;
+        this.filter = GoodsChatModerationFilter.compile(Map.of(), moderationProperties.isMaskPersonalInfo(), meterRegistry);
+
+        Gauge.builder("goods_chat.moderation.dictionary_terms", this, moderator -> moderator.filter.termCount())
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    public String moderate(String message) {
+        if (!moderationProperties.isEnabled()) {
+            return message;
+        }
+        return filter.apply(message);
+    }
+
+    // 사전 파일이 바뀐 경우에만 다시 컴파일 (실패하면 기존 사전 유지)
+    @Scheduled(fixedDelayString = "${goods-chat.moderation.reload-interval-ms:60000}")
+    public void reload() {
+        Resource resource = resourceLoader.getResource(moderationProperties.getDictionaryLocation());
+        if (!resource.exists()) {
+            if (loadedLastModified == NOT_LOADED) {
+                log.warn("금칙어 사전을 찾을 수 없습니다: {} (개인정보 치환만 적용)", moderationProperties.getDictionaryLocation());
+                loadedLastModified = 0L;
+            }
+            return;
+        }
+
+        long lastModified = lastModified(resource);
+        if (lastModified == loadedLastModified) {
+            return;
+        }
+        try {
+            Map<String, List<String>> termsByRule = parse(resource);
+            GoodsChatModerationFilter compiled = GoodsChatModerationFilter.compile(termsByRule,
+                    moderationProperties.isMaskPersonalInfo(), meterRegistry);
+            filter = compiled;
+            loadedLastModified = lastModified;
+            log.info("금칙어 사전 적용: {} 규칙, {} 단어", termsByRule.size(), compiled.termCount());
+        } catch (IOException e) {
+            log.error("금칙어 사전 로딩 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    static Map<String, List<String>> parse(Resource resource) throws IOException {
+        Map<String, List<String>> termsByRule = new LinkedHashMap<>();
+        String rule = DEFAULT_RULE;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.startsWith("[") && line.endsWith("]")) {
+                    rule = line.substring(1, line.length() - 1).strip().toLowerCase(Locale.ROOT);
+                    continue;
+                }
+                termsByRule.computeIfAbsent(rule, key -> new ArrayList<>()).add(line);
+            }
+        }
+        return termsByRule;
+    }
+
+    // 수정 시각을 알 수 없는 리소스는 한 번만 로딩
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
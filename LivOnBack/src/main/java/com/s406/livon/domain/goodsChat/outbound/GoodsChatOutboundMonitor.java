@@ -0,0 +1,223 @@
+package com.s406.livon.domain.goodsChat.outbound;
+
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import com.s406.livon.global.config.properties.GoodsChatProperties.SlowConsumerPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * clientOutboundChannel(브로커 -> 세션 전송) 느린 구독자 보호
+ * 1. 전송 계층 : 한 번의 전송이 sendTimeLimit 을 넘거나 버퍼가 sendBufferSizeLimit 을 넘으면 Spring 이 세션을 종료 (WebSocketConfig)
+ * 2. 전송 대기열 : 세션별로 아직 전송되지 않은 채팅 메시지가 maxPendingPerSession 을 넘으면
+ *    - DROP       : 새 메시지를 버림 (재연결 없이 이후 /message/since 로 따라잡기)
+ *    - DISCONNECT : 세션을 종료
+ * heart-beat, CONNECTED, ERROR 등 채팅 메시지가 아닌 프레임은 항상 전달합니다.
+ *
+ * 지표
+ * - goods_chat.outbound.queue_size          : 전송 executor 대기열 길이
+ * - goods_chat.outbound.max_session_pending : 가장 밀린 세션의 대기 메시지 수
+ * - goods_chat.outbound.lag                 : 메시지가 대기열에 들어간 뒤 세션에 쓰기까지 걸린 시간
+ * - goods_chat.outbound.dropped             : DROP 정책으로 버린 메시지 수
+ * - goods_chat.outbound.forced_disconnects{reason=send_limit|pending_limit} : 강제 종료된 세션 수
+ */
+@Slf4j
+@Component
+public class GoodsChatOutboundMonitor implements ExecutorChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    private static final String ENQUEUED_AT_HEADER = "goodsChatEnqueuedAt";
+
+    private final GoodsChatProperties.Outbound outboundProperties;
+    private final ThreadPoolTaskExecutor executor;
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> pendingBySessionId = new ConcurrentHashMap<>();
+    // 대기열 초과로 직접 종료한 세션 (종료 사유가 중복 집계되지 않도록)
+    private final Set<String> closingSessionIds = ConcurrentHashMap.newKeySet();
+
+    private final Timer lagTimer;
+    private final Counter droppedCounter;
+    private final Counter sendLimitDisconnects;
+    private final Counter pendingLimitDisconnects;
+
+    public GoodsChatOutboundMonitor(GoodsChatProperties goodsChatProperties, MeterRegistry meterRegistry) {
+        this.outboundProperties = goodsChatProperties.getOutbound();
+        this.executor = createExecutor(outboundProperties);
+
+        this.lagTimer = Timer.builder("goods_chat.outbound.lag")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("goods_chat.outbound.dropped").register(meterRegistry);
+        this.sendLimitDisconnects = Counter.builder("goods_chat.outbound.forced_disconnects")
+                .tag("reason", "send_limit")
+                .register(meterRegistry);
+        this.pendingLimitDisconnects = Counter.builder("goods_chat.outbound.forced_disconnects")
+                .tag("reason", "pending_limit")
+                .register(meterRegistry);
+        Gauge.builder("goods_chat.outbound.queue_size", this, GoodsChatOutboundMonitor::queueSize)
+                .register(meterRegistry);
+        Gauge.builder("goods_chat.outbound.max_session_pending", this, GoodsChatOutboundMonitor::maxSessionPending)
+                .register(meterRegistry);
+    }
+
+    // clientOutboundChannel 전용 executor (WebSocketConfig 에서 등록되어 Spring 이 초기화 / 종료)
+    public ThreadPoolTaskExecutor getExecutor() {
+        return executor;
+    }
+
+    // 브로커 스레드에서 호출: 세션 대기열 확인 후 대기 시작 시각 기록
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = chatMessageSessionId(message);
+        if (sessionId == null) {
+            return message;
+        }
+
+        AtomicInteger pending = pendingBySessionId.get(sessionId);
+        if (pending == null) {
+            // 이미 닫힌 세션
+            return message;
+        }
+        if (pending.get() >= outboundProperties.getMaxPendingPerSession()) {
+            handleSlowConsumer(sessionId);
+            return null;
+        }
+        pending.incrementAndGet();
+        return MessageBuilder.fromMessage(message)
+                .setHeader(ENQUEUED_AT_HEADER, System.nanoTime())
+                .build();
+    }
+
+    // executor 대기열이 가득 차 전달되지 못한 경우
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if (!sent || ex != null) {
+            release(message);
+        }
+    }
+
+    // executor 스레드에서 세션 쓰기가 끝난 뒤 호출
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        Long enqueuedAt = message.getHeaders().get(ENQUEUED_AT_HEADER, Long.class);
+        if (enqueuedAt != null) {
+            lagTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+        }
+        release(message);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessions.put(session.getId(), session);
+                pendingBySessionId.put(session.getId(), new AtomicInteger());
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                String sessionId = session.getId();
+                sessions.remove(sessionId);
+                pendingBySessionId.remove(sessionId);
+                // 전송 시간 / 버퍼 한도 초과 시 Spring 이 SESSION_NOT_RELIABLE 로 종료
+                if (!closingSessionIds.remove(sessionId) && CloseStatus.SESSION_NOT_RELIABLE.equals(closeStatus)) {
+                    sendLimitDisconnects.increment();
+                    log.warn("느린 구독자 세션 종료(전송 한도 초과): SessionID {}", sessionId);
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    private void handleSlowConsumer(String sessionId) {
+        if (outboundProperties.getSlowConsumerPolicy() == SlowConsumerPolicy.DROP) {
+            droppedCounter.increment();
+            return;
+        }
+
+        // 이미 종료 중인 세션은 한 번만 종료
+        if (!closingSessionIds.add(sessionId)) {
+            return;
+        }
+        WebSocketSession session = sessions.get(sessionId);
+        if (session == null) {
+            closingSessionIds.remove(sessionId);
+            return;
+        }
+        pendingLimitDisconnects.increment();
+        log.warn("느린 구독자 세션 종료(대기 메시지 {}건 초과): SessionID {}",
+                outboundProperties.getMaxPendingPerSession(), sessionId);
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("느린 구독자 세션 종료 실패: SessionID {}, {}", sessionId, e.getMessage());
+        }
+    }
+
+    private void release(Message<?> message) {
+        if (!message.getHeaders().containsKey(ENQUEUED_AT_HEADER)) {
+            return;
+        }
+        AtomicInteger pending = pendingBySessionId.get(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+        if (pending != null) {
+            pending.decrementAndGet();
+        }
+    }
+
+    // 브로커가 구독자에게 전달하는 채팅 메시지(MESSAGE 프레임)만 대기열 관리 대상
+    private static String chatMessageSessionId(Message<?> message) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return null;
+        }
+        return SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+    }
+
+    private double queueSize() {
+        try {
+            return executor.getThreadPoolExecutor().getQueue().size();
+        } catch (IllegalStateException e) {
+            // 아직 초기화되지 않음
+            return 0;
+        }
+    }
+
+    private double maxSessionPending() {
+        return pendingBySessionId.values().stream()
+                .mapToInt(AtomicInteger::get)
+                .max()
+                .orElse(0);
+    }
+
+    private static ThreadPoolTaskExecutor createExecutor(GoodsChatProperties.Outbound outboundProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(outboundProperties.getCorePoolSize());
+        executor.setMaxPoolSize(Math.max(outboundProperties.getCorePoolSize(), outboundProperties.getMaxPoolSize()));
+        executor.setQueueCapacity(outboundProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("goods-chat-outbound-");
+        return executor;
+    }
+}
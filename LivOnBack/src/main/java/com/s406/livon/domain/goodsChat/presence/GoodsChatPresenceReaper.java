@@ -0,0 +1,42 @@
+package com.s406.livon.domain.goodsChat.presence;
+
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.List;
+
+/**
+ * DISCONNECT 프레임 없이 끊긴 세션 정리
+ * 1. 전송 계층이 닫힌 경우 SessionDisconnectEvent 로 즉시 정리
+ * 2. 그 외(heart-beat 중단 등)는 주기적으로 마지막 수신 시각을 확인하여 정리
+ *    heart-beat 0,0 으로 협상한 세션은 유휴 상태에서도 프레임이 없으므로 2 번 대상에서 제외합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GoodsChatPresenceReaper {
+
+    private final GoodsChatPresenceRegistry presenceRegistry;
+    private final GoodsChatPresenceService presenceService;
+    private final GoodsChatProperties goodsChatProperties;
+
+    @EventListener
+    public void handleSessionDisconnect(SessionDisconnectEvent event) {
+        presenceService.disconnect(event.getSessionId());
+    }
+
+    @Scheduled(fixedDelayString = "${goods-chat.presence.reap-interval-ms:30000}")
+    public void reapStaleSessions() {
+        List<GoodsChatPresenceRegistry.SessionPresence> reaped =
+                presenceRegistry.reapStaleSessions(goodsChatProperties.getPresence().getStaleAfter());
+        reaped.forEach(presenceService::leave);
+        if (!reaped.isEmpty()) {
+            log.info("STOMP 세션 정리: 응답 없는 세션 {}개 제거 (남은 세션 {}개)", reaped.size(), presenceRegistry.sessionCount());
+        }
+    }
+}
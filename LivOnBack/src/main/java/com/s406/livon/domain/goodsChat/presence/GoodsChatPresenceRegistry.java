@@ -0,0 +1,175 @@
+package com.s406.livon.domain.goodsChat.presence;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 현재 노드에 연결된 STOMP 세션 / 채팅방 구독 현황
+ * - sessions         : 세션ID -> (유저ID, 구독 중인 방 목록, 마지막 수신 시각, heart-beat 여부)  (역색인)
+ * - sessionsByRoomId : 방ID -> 세션ID 목록
+ * 세션 종료 시 해당 세션이 구독한 방만 정리하고, 비어있는 방은 맵에서 제거합니다.
+ */
+@Component
+public class GoodsChatPresenceRegistry {
+
+    private final Map<String, SessionPresence> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> sessionsByRoomId = new ConcurrentHashMap<>();
+
+    public void connect(String sessionId, UUID userId) {
+        connect(sessionId, userId, true);
+    }
+
+    /**
+     * @param heartbeat 클라이언트가 heart-beat 를 보내는 세션이면 true
+     *                  (heart-beat 0,0 으로 협상한 세션은 유휴 상태에서 프레임이 없으므로 reaper 가 제거하지 않고 연결 종료 이벤트로만 정리)
+     */
+    public void connect(String sessionId, UUID userId, boolean heartbeat) {
+        sessions.put(sessionId, new SessionPresence(sessionId, userId, heartbeat));
+    }
+
+    // 프레임 / heart-beat 수신 시 마지막 수신 시각 갱신
+    public void touch(String sessionId) {
+        SessionPresence presence = sessions.get(sessionId);
+        if (presence != null) {
+            presence.touch();
+        }
+    }
+
+    /**
+     * 세션을 채팅방에 등록합니다.
+     * @return 이 노드에서 해당 방의 첫 구독이면 true
+     */
+    public boolean subscribe(String sessionId, Long roomId) {
+        SessionPresence presence = sessions.get(sessionId);
+        if (presence == null) {
+            return false;
+        }
+        presence.roomIds.add(roomId);
+
+        boolean[] firstSubscription = {false};
+        sessionsByRoomId.compute(roomId, (id, roomSessions) -> {
+            if (roomSessions == null) {
+                roomSessions = ConcurrentHashMap.newKeySet();
+                firstSubscription[0] = true;
+            }
+            roomSessions.add(sessionId);
+            return roomSessions;
+        });
+
+        // 등록 도중 세션이 종료된 경우 방금 추가한 항목 정리
+        if (!sessions.containsKey(sessionId)) {
+            removeFromRoom(roomId, sessionId);
+            return false;
+        }
+        return firstSubscription[0];
+    }
+
+    /**
+     * 세션을 제거하고, 해당 세션이 구독하던 방에서만 세션을 제거합니다.
+     * @return 제거된 세션 정보 (추적되지 않는 세션이면 null)
+     */
+    public SessionPresence disconnect(String sessionId) {
+        SessionPresence presence = sessions.remove(sessionId);
+        if (presence == null) {
+            return null;
+        }
+        presence.roomIds.forEach(roomId -> removeFromRoom(roomId, sessionId));
+        return presence;
+    }
+
+    // 마지막 수신 이후 staleAfter 가 지난 세션 제거 (heart-beat 를 보내지 않는 세션 제외)
+    public List<SessionPresence> reapStaleSessions(Duration staleAfter) {
+        long threshold = System.nanoTime() - staleAfter.toNanos();
+        List<SessionPresence> reaped = new ArrayList<>();
+        for (SessionPresence presence : sessions.values()) {
+            if (presence.heartbeat && presence.lastSeenNanos - threshold < 0) {
+                SessionPresence removed = disconnect(presence.sessionId);
+                if (removed != null) {
+                    reaped.add(removed);
+                }
+            }
+        }
+        return reaped;
+    }
+
+    public Set<UUID> getConnectedUsers(Long roomId) {
+        Set<String> sessionIds = sessionsByRoomId.getOrDefault(roomId, Collections.emptySet());
+        return sessionIds.stream()
+                .map(sessions::get)
+                .filter(Objects::nonNull)
+                .map(SessionPresence::getUserId)
+                .collect(Collectors.toSet());
+    }
+
+    // 방별 로컬 세션 스냅샷 (Redis presence 갱신용)
+    public Map<Long, List<SessionPresence>> snapshotRoomSessions() {
+        Map<Long, List<SessionPresence>> snapshot = new HashMap<>();
+        sessionsByRoomId.forEach((roomId, sessionIds) -> {
+            List<SessionPresence> presences = sessionIds.stream()
+                    .map(sessions::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            if (!presences.isEmpty()) {
+                snapshot.put(roomId, presences);
+            }
+        });
+        return snapshot;
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    public int roomCount() {
+        return sessionsByRoomId.size();
+    }
+
+    private void removeFromRoom(Long roomId, String sessionId) {
+        sessionsByRoomId.computeIfPresent(roomId, (id, roomSessions) -> {
+            roomSessions.remove(sessionId);
+            return roomSessions.isEmpty() ? null : roomSessions;
+        });
+    }
+
+    public static class SessionPresence {
+
+        private final String sessionId;
+        private final UUID userId;
+        private final boolean heartbeat;
+        private final Set<Long> roomIds = ConcurrentHashMap.newKeySet();
+        private volatile long lastSeenNanos = System.nanoTime();
+
+        private SessionPresence(String sessionId, UUID userId, boolean heartbeat) {
+            this.sessionId = sessionId;
+            this.userId = userId;
+            this.heartbeat = heartbeat;
+        }
+
+        private void touch() {
+            lastSeenNanos = System.nanoTime();
+        }
+
+        public String getSessionId() {
+            return sessionId;
+        }
+
+        public UUID getUserId() {
+            return userId;
+        }
+
+        public Set<Long> getRoomIds() {
+            return Collections.unmodifiableSet(roomIds);
+        }
+    }
+}
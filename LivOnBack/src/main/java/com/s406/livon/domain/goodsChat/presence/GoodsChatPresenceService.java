@@ -0,0 +1,86 @@
+package com.s406.livon.domain.goodsChat.presence;
+
+import com.s406.livon.domain.goodsChat.broker.GoodsChatBroadcaster;
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatPresenceResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 로컬 세션 현황(GoodsChatPresenceRegistry)과 클러스터 접속 현황(GoodsChatPresenceStore)을 함께 관리하고,
+ * 사용자의 접속 상태가 바뀌면 /sub/chat/goods/{roomId}/presence 로 이벤트를 전달합니다.
+ * 이벤트는 변경 알림 용도이며, 정확한 목록은 접속자 조회 API 로 확인합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GoodsChatPresenceService {
+
+    private final GoodsChatPresenceRegistry presenceRegistry;
+    private final GoodsChatPresenceStore presenceStore;
+    private final GoodsChatBroadcaster goodsChatBroadcaster;
+
+    // 이 노드에서 해당 방의 첫 구독이면 true
+    public boolean subscribe(String sessionId, Long roomId, UUID userId) {
+        boolean firstLocalSubscription = presenceRegistry.subscribe(sessionId, roomId);
+
+        boolean wasOnline = presenceStore.getOnlineUserIds(roomId).contains(userId);
+        presenceStore.add(roomId, sessionId, userId);
+        if (!wasOnline) {
+            publish(roomId, userId, GoodsChatPresenceResponse.Status.ONLINE);
+        }
+        return firstLocalSubscription;
+    }
+
+    public GoodsChatPresenceRegistry.SessionPresence disconnect(String sessionId) {
+        GoodsChatPresenceRegistry.SessionPresence presence = presenceRegistry.disconnect(sessionId);
+        if (presence != null) {
+            leave(presence);
+        }
+        return presence;
+    }
+
+    // 로컬에서 이미 제거된 세션을 클러스터 접속 현황에서도 제거
+    public void leave(GoodsChatPresenceRegistry.SessionPresence presence) {
+        for (Long roomId : presence.getRoomIds()) {
+            presenceStore.remove(roomId, presence.getSessionId(), presence.getUserId());
+            if (!presenceStore.getOnlineUserIds(roomId).contains(presence.getUserId())) {
+                publish(roomId, presence.getUserId(), GoodsChatPresenceResponse.Status.OFFLINE);
+            }
+        }
+    }
+
+    public Set<UUID> getOnlineUserIds(Long roomId) {
+        return presenceStore.getOnlineUserIds(roomId);
+    }
+
+    /**
+     * 로컬 세션의 만료 시각을 갱신하고, 이 노드가 구독자를 가진 방의 만료된 세션(다른 노드 장애 등)을 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${goods-chat.presence.refresh-interval-ms:10000}")
+    public void refresh() {
+        Map<Long, List<GoodsChatPresenceRegistry.SessionPresence>> roomSessions = presenceRegistry.snapshotRoomSessions();
+        if (roomSessions.isEmpty()) {
+            return;
+        }
+        try {
+            presenceStore.refresh(roomSessions);
+            roomSessions.keySet().forEach(roomId ->
+                    presenceStore.pruneExpired(roomId).forEach(userId ->
+                            publish(roomId, userId, GoodsChatPresenceResponse.Status.OFFLINE)));
+        } catch (Exception e) {
+            log.error("채팅방 접속 현황 갱신 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private void publish(Long roomId, UUID userId, GoodsChatPresenceResponse.Status status) {
+        goodsChatBroadcaster.send(GoodsChatBroadcaster.presenceDestination(roomId),
+                GoodsChatPresenceResponse.of(roomId, userId, status));
+    }
+}
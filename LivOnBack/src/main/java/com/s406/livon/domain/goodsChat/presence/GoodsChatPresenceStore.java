@@ -0,0 +1,157 @@
+package com.s406.livon.domain.goodsChat.presence;
+
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 클러스터 전체의 채팅방 접속 현황 (Redis Sorted Set)
+ * - key    : goods_chat_presence::{roomId}
+ * - member : {sessionId}|{userId}
+ * - score  : 세션 만료 시각 (epoch millis)
+ * 각 노드는 자신이 가진 세션의 만료 시각을 주기적으로 갱신하며,
+ * 노드가 비정상 종료되면 갱신이 멈춘 세션은 만료 시각이 지나 정리됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class GoodsChatPresenceStore {
+
+    private static final String PRESENCE_KEY_FORMAT = "goods_chat_presence::%d";
+    private static final String MEMBER_DELIMITER = "|";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final GoodsChatProperties goodsChatProperties;
+
+    public void add(Long roomId, String sessionId, UUID userId) {
+        String key = formatKey(roomId);
+        Duration ttl = sessionTtl();
+        double expiresAt = System.currentTimeMillis() + ttl.toMillis();
+
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.opsForZSet().add(key, formatMember(sessionId, userId), expiresAt);
+                ops.expire(key, ttl.multipliedBy(2));
+                return null;
+            }
+        });
+    }
+
+    public void remove(Long roomId, String sessionId, UUID userId) {
+        stringRedisTemplate.opsForZSet().remove(formatKey(roomId), formatMember(sessionId, userId));
+    }
+
+    // 채팅방 삭제 시 접속자 목록 삭제
+    public void removeRoom(Long roomId) {
+        stringRedisTemplate.delete(formatKey(roomId));
+    }
+
+    /**
+     * 현재 노드가 가진 세션들의 만료 시각을 한 번의 파이프라인으로 갱신합니다.
+     * @param roomSessions 방ID -> 로컬 세션 목록
+     */
+    public void refresh(Map<Long, List<GoodsChatPresenceRegistry.SessionPresence>> roomSessions) {
+        if (roomSessions.isEmpty()) {
+            return;
+        }
+        Duration ttl = sessionTtl();
+        double expiresAt = System.currentTimeMillis() + ttl.toMillis();
+
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                roomSessions.forEach((roomId, presences) -> {
+                    String key = formatKey(roomId);
+                    Set<TypedTuple<String>> tuples = presences.stream()
+                            .map(presence -> TypedTuple.of(
+                                    formatMember(presence.getSessionId(), presence.getUserId()), expiresAt))
+                            .collect(Collectors.toSet());
+                    ops.opsForZSet().add(key, tuples);
+                    ops.expire(key, ttl.multipliedBy(2));
+                });
+                return null;
+            }
+        });
+    }
+
+    // 만료되지 않은 세션의 사용자 ID 목록
+    public Set<UUID> getOnlineUserIds(Long roomId) {
+        Set<String> members = stringRedisTemplate.opsForZSet()
+                .rangeByScore(formatKey(roomId), System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+        if (members == null || members.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return members.stream()
+                .map(GoodsChatPresenceStore::parseUserId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 만료된 세션을 제거합니다. 여러 노드가 동시에 정리하더라도 ZREM 에 성공한 노드만 결과를 받습니다.
+     * @return 이번 정리로 더 이상 접속 중인 세션이 없게 된 사용자 ID 목록
+     */
+    public Set<UUID> pruneExpired(Long roomId) {
+        String key = formatKey(roomId);
+        Set<String> expired = stringRedisTemplate.opsForZSet()
+                .rangeByScore(key, Double.NEGATIVE_INFINITY, System.currentTimeMillis());
+        if (expired == null || expired.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        List<String> members = new ArrayList<>(expired);
+        List<Object> results = stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                members.forEach(member -> ops.opsForZSet().remove(key, member));
+                return null;
+            }
+        });
+
+        Set<UUID> removedUserIds = new HashSet<>();
+        for (int i = 0; i < members.size(); i++) {
+            if (results.get(i) instanceof Long removed && removed > 0) {
+                removedUserIds.add(parseUserId(members.get(i)));
+            }
+        }
+        if (!removedUserIds.isEmpty()) {
+            removedUserIds.removeAll(getOnlineUserIds(roomId));
+        }
+        return removedUserIds;
+    }
+
+    private Duration sessionTtl() {
+        return goodsChatProperties.getPresence().getSessionTtl();
+    }
+
+    private static String formatKey(Long roomId) {
+        return String.format(PRESENCE_KEY_FORMAT, roomId);
+    }
+
+    private static String formatMember(String sessionId, UUID userId) {
+        return sessionId + MEMBER_DELIMITER + userId;
+    }
+
+    private static UUID parseUserId(String member) {
+        return UUID.fromString(member.substring(member.lastIndexOf(MEMBER_DELIMITER) + 1));
+    }
+}
@@ -0,0 +1,104 @@
+package com.s406.livon.domain.goodsChat.push;
+
+import com.s406.livon.global.push.ExpoPushMessage;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 사용자 한 명에게 묶어 보낼 알림 (메시지 수와 마지막 메시지)
+ * 여러 노드에서 합산할 수 있도록 채팅방 목록 대신 마지막 채팅방과 여러 채팅방 여부만 가집니다.
+ */
+public final class GoodsChatPendingPush {
+
+    private static final String DEFAULT_TITLE = "새 메시지";
+    private static final String COALESCED_TITLE_FORMAT = "새 메시지 %d개";
+
+    private int count;
+    private Long lastChatRoomId;
+    private boolean multipleRooms;
+    private String lastSenderNickname;
+    private String lastContent;
+
+    GoodsChatPendingPush() {
+    }
+
+    GoodsChatPendingPush(int count, Long lastChatRoomId, boolean multipleRooms, String lastSenderNickname,
+                         String lastContent) {
+        this.count = count;
+        this.lastChatRoomId = lastChatRoomId;
+        this.multipleRooms = multipleRooms;
+        this.lastSenderNickname = lastSenderNickname;
+        this.lastContent = lastContent;
+    }
+
+    void add(Long chatRoomId, String senderNickname, String content) {
+        if (count > 0 && !chatRoomId.equals(lastChatRoomId)) {
+            multipleRooms = true;
+        }
+        count++;
+        lastChatRoomId = chatRoomId;
+        lastSenderNickname = senderNickname;
+        lastContent = content;
+    }
+
+    // 먼저 쌓인 알림에 나중에 쌓인 알림을 합산
+    void merge(GoodsChatPendingPush later) {
+        if (later.count == 0) {
+            return;
+        }
+        if (later.multipleRooms || (count > 0 && !later.lastChatRoomId.equals(lastChatRoomId))) {
+            multipleRooms = true;
+        }
+        count += later.count;
+        lastChatRoomId = later.lastChatRoomId;
+        lastSenderNickname = later.lastSenderNickname;
+        lastContent = later.lastContent;
+    }
+
+    int count() {
+        return count;
+    }
+
+    Long lastChatRoomId() {
+        return lastChatRoomId;
+    }
+
+    boolean multipleRooms() {
+        return multipleRooms;
+    }
+
+    String lastSenderNickname() {
+        return lastSenderNickname;
+    }
+
+    String lastContent() {
+        return lastContent;
+    }
+
+    // 한 건이면 보낸 사람과 내용, 여러 건이면 "새 메시지 N개" 와 마지막 메시지
+    ExpoPushMessage toMessage(String token, int previewLength) {
+        String preview = preview(lastContent, previewLength);
+        Map<String, Object> data = new HashMap<>();
+        data.put("count", count);
+        // 한 채팅방의 메시지만 있으면 알림을 눌러 바로 해당 방으로 이동
+        if (!multipleRooms) {
+            data.put("chatRoomId", lastChatRoomId);
+        }
+
+        if (count == 1) {
+            String title = lastSenderNickname != null ? lastSenderNickname : DEFAULT_TITLE;
+            return ExpoPushMessage.of(token, title, preview, data);
+        }
+        return ExpoPushMessage.of(token, String.format(COALESCED_TITLE_FORMAT, count),
+                lastSenderNickname + ": " + preview, data);
+    }
+
+    private static String preview(String content, int previewLength) {
+        if (content == null || content.length() <= previewLength) {
+            return content;
+        }
+        int end = Character.isHighSurrogate(content.charAt(previewLength - 1)) ? previewLength - 1 : previewLength;
+        return content.substring(0, end) + "…";
+    }
+}
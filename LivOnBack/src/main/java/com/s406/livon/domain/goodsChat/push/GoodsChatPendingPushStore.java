@@ -0,0 +1,22 @@
+package com.s406.livon.domain.goodsChat.push;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 사용자별 대기 알림 저장소 (goods-chat.broker.mode 에 따라 선택)
+ * - LOCAL : 노드 메모리 (LocalGoodsChatPendingPushStore)
+ * - REDIS : 모든 노드가 공유하는 Redis (RedisGoodsChatPendingPushStore)
+ */
+public interface GoodsChatPendingPushStore {
+
+    /**
+     * 사용자별 대기 알림에 합산합니다.
+     * 사용자의 첫 알림을 합산한 시각부터 coalesceWindow 가 지나면 claimDue() 로 꺼낼 수 있습니다.
+     */
+    void add(Map<UUID, GoodsChatPendingPush> pushes, Duration coalesceWindow);
+
+    // coalesceWindow 가 지난 대기 알림을 꺼내고 삭제 (한 사용자의 알림은 한 번만 꺼냄)
+    Map<UUID, GoodsChatPendingPush> claimDue();
+}
@@ -0,0 +1,213 @@
+package com.s406.livon.domain.goodsChat.push;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.entity.MessageType;
+import com.s406.livon.domain.goodsChat.presence.GoodsChatPresenceService;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatPartRepository;
+import com.s406.livon.domain.user.entity.PushToken;
+import com.s406.livon.domain.user.entity.User;
+import com.s406.livon.domain.user.repository.PushTokenRepository;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import com.s406.livon.global.push.ExpoPushClient;
+import com.s406.livon.global.push.ExpoPushMessage;
+import com.s406.livon.global.push.ExpoPushTicket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * 접속 중이지 않은 채팅방 참여자에게 새 메시지 푸시 알림 전송
+ * 전송 경로(GoodsChatMessageService)는 메시지를 대기열에 넣기만 하고, 나머지는 백그라운드 flush 에서 처리합니다.
+ * 1. 채팅방별로 참여자 중 클러스터 어디에도 구독 세션이 없는(GoodsChatPresenceService) 사용자를 찾아
+ *    사용자별 대기 알림(GoodsChatPendingPushStore)에 합산
+ * 2. 첫 메시지 이후 coalesceWindow 가 지난 사용자의 메시지를 알림 하나로 묶음 ("새 메시지 3개")
+ * 3. Expo batch push API 로 최대 100건씩 비동기 전송 (flush 스레드는 HTTP 응답을 기다리지 않음)
+ * 4. DeviceNotRegistered 로 응답한 토큰은 다음 flush 에서 삭제
+ * REDIS 모드에서는 대기 알림을 Redis 에 합산하므로, 메시지를 받은 노드와 관계없이 사용자마다 한 노드에서 한 번만 전송합니다.
+ *
+ * 지표
+ * - goods_chat.push.queue_size                          : 처리 대기 중인 메시지 수
+ * - goods_chat.push.dropped                             : 대기열이 가득 차 알림 대상에서 제외된 메시지 수
+ * - goods_chat.push.notifications{result=sent|failed}   : Expo 전송 결과
+ */
+@Slf4j
+@Component
+public class GoodsChatPushDispatcher {
+
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(500);
+
+    private final GoodsChatProperties.Push pushProperties;
+    private final GoodsChatPartRepository partRepository;
+    private final GoodsChatPresenceService presenceService;
+    private final PushTokenRepository pushTokenRepository;
+    private final ExpoPushClient expoPushClient;
+    private final GoodsChatPendingPushStore pendingPushStore;
+    private final BlockingQueue<PushEvent> queue;
+    private final Queue<String> unregisteredTokens = new ConcurrentLinkedQueue<>();
+
+    private final Counter droppedCounter;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    public GoodsChatPushDispatcher(GoodsChatProperties goodsChatProperties, GoodsChatPartRepository partRepository,
+                                   GoodsChatPresenceService presenceService, PushTokenRepository pushTokenRepository,
+                                   ExpoPushClient expoPushClient, GoodsChatPendingPushStore pendingPushStore,
+                                   MeterRegistry meterRegistry) {
+        this.pushProperties = goodsChatProperties.getPush();
+        this.partRepository = partRepository;
+        this.presenceService = presenceService;
+        this.pushTokenRepository = pushTokenRepository;
+        this.expoPushClient = expoPushClient;
+        this.pendingPushStore = pendingPushStore;
+        this.queue = new LinkedBlockingQueue<>(pushProperties.getQueueCapacity());
+
+        this.droppedCounter = Counter.builder("goods_chat.push.dropped").register(meterRegistry);
+        this.sentCounter = Counter.builder("goods_chat.push.notifications").tag("result", "sent").register(meterRegistry);
+        this.failedCounter = Counter.builder("goods_chat.push.notifications").tag("result", "failed").register(meterRegistry);
+        Gauge.builder("goods_chat.push.queue_size", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    // 전송 경로에서 호출: 대기열에 넣기만 하고 바로 반환 (가득 차면 버림)
+    public void enqueue(GoodsChatMessage message, User sender) {
+        if (!pushProperties.isEnabled() || message.getMessageType() != MessageType.TALK) {
+            return;
+        }
+        PushEvent event = new PushEvent(message.getChatRoomId(), sender.getId(), sender.getNickname(), message.getContent());
+        if (!queue.offer(event)) {
+            droppedCounter.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${goods-chat.push.flush-interval-ms:1000}")
+    public void flush() {
+        if (!pushProperties.isEnabled()) {
+            return;
+        }
+        try {
+            deleteUnregisteredTokens();
+            collect();
+            dispatchDue();
+        } catch (Exception e) {
+            log.error("채팅 푸시 알림 처리 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    // 대기열의 메시지를 채팅방별로 묶어 오프라인 참여자의 대기 알림에 합산
+    private void collect() {
+        List<PushEvent> events = new ArrayList<>();
+        queue.drainTo(events);
+        if (events.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<PushEvent>> eventsByRoomId = new LinkedHashMap<>();
+        for (PushEvent event : events) {
+            eventsByRoomId.computeIfAbsent(event.chatRoomId(), id -> new ArrayList<>()).add(event);
+        }
+
+        Map<UUID, GoodsChatPendingPush> pushes = new HashMap<>();
+        eventsByRoomId.forEach((chatRoomId, roomEvents) -> {
+            Set<UUID> onlineUserIds = presenceService.getOnlineUserIds(chatRoomId);
+            for (UUID memberId : partRepository.findActiveUserIdsByChatRoomId(chatRoomId)) {
+                if (onlineUserIds.contains(memberId)) {
+                    continue;
+                }
+                for (PushEvent event : roomEvents) {
+                    if (!event.senderId().equals(memberId)) {
+                        pushes.computeIfAbsent(memberId, id -> new GoodsChatPendingPush())
+                                .add(event.chatRoomId(), event.senderNickname(), event.content());
+                    }
+                }
+            }
+        });
+        pendingPushStore.add(pushes, pushProperties.getCoalesceWindow());
+    }
+
+    // coalesceWindow 가 지난 사용자의 알림을 토큰별 메시지로 만들어 batchSize 단위로 전송
+    private void dispatchDue() {
+        Map<UUID, GoodsChatPendingPush> due = pendingPushStore.claimDue();
+        if (due.isEmpty()) {
+            return;
+        }
+
+        List<ExpoPushMessage> messages = new ArrayList<>();
+        for (PushToken pushToken : pushTokenRepository.findAllByUserIdIn(due.keySet())) {
+            messages.add(due.get(pushToken.getUserId()).toMessage(pushToken.getToken(), pushProperties.getPreviewLength()));
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        int batchSize = Math.max(1, Math.min(pushProperties.getBatchSize(), ExpoPushClient.MAX_BATCH_SIZE));
+        List<List<ExpoPushMessage>> batches = new ArrayList<>();
+        for (int from = 0; from < messages.size(); from += batchSize) {
+            batches.add(messages.subList(from, Math.min(from + batchSize, messages.size())));
+        }
+        Flux.fromIterable(batches)
+                .flatMap(this::send, pushProperties.getMaxConcurrentRequests())
+                .subscribe();
+    }
+
+    private Mono<Void> send(List<ExpoPushMessage> batch) {
+        return expoPushClient.send(batch)
+                .timeout(pushProperties.getRequestTimeout())
+                .retryWhen(Retry.backoff(pushProperties.getMaxRetries(), RETRY_BACKOFF)
+                        .filter(ExpoPushClient::isRetryable))
+                .doOnNext(tickets -> handleTickets(batch, tickets))
+                .doOnError(e -> {
+                    failedCounter.increment(batch.size());
+                    log.warn("Expo 푸시 전송 실패: {}건, {}", batch.size(), e.getMessage());
+                })
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    // 전송 결과는 요청 메시지와 같은 순서
+    private void handleTickets(List<ExpoPushMessage> batch, List<ExpoPushTicket> tickets) {
+        for (int i = 0; i < batch.size(); i++) {
+            ExpoPushTicket ticket = i < tickets.size() ? tickets.get(i) : null;
+            if (ticket != null && ticket.isOk()) {
+                sentCounter.increment();
+                continue;
+            }
+            failedCounter.increment();
+            if (ticket != null && ticket.isDeviceNotRegistered()) {
+                unregisteredTokens.add(batch.get(i).to());
+            }
+        }
+    }
+
+    private void deleteUnregisteredTokens() {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token = unregisteredTokens.poll(); token != null; token = unregisteredTokens.poll()) {
+            tokens.add(token);
+        }
+        if (!tokens.isEmpty()) {
+            int deleted = pushTokenRepository.deleteAllByTokenIn(tokens);
+            log.info("등록 해제된 푸시 토큰 삭제: {}건", deleted);
+        }
+    }
+
+    private record PushEvent(Long chatRoomId, UUID senderId, String senderNickname, String content) {
+    }
+}
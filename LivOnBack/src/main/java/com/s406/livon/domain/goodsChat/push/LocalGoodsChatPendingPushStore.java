@@ -0,0 +1,46 @@
+package com.s406.livon.domain.goodsChat.push;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 단일 노드용 대기 알림 저장소 (flush 스레드에서만 접근)
+ */
+@Component
+@ConditionalOnProperty(prefix = "goods-chat.broker", name = "mode", havingValue = "local", matchIfMissing = true)
+public class LocalGoodsChatPendingPushStore implements GoodsChatPendingPushStore {
+
+    private final Map<UUID, Pending> pendingByUserId = new HashMap<>();
+
+    @Override
+    public void add(Map<UUID, GoodsChatPendingPush> pushes, Duration coalesceWindow) {
+        long dueAtNanos = System.nanoTime() + coalesceWindow.toNanos();
+        pushes.forEach((userId, push) -> pendingByUserId
+                .computeIfAbsent(userId, id -> new Pending(dueAtNanos, new GoodsChatPendingPush()))
+                .push().merge(push));
+    }
+
+    @Override
+    public Map<UUID, GoodsChatPendingPush> claimDue() {
+        long now = System.nanoTime();
+        Map<UUID, GoodsChatPendingPush> due = new HashMap<>();
+        Iterator<Map.Entry<UUID, Pending>> iterator = pendingByUserId.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, Pending> entry = iterator.next();
+            if (now - entry.getValue().dueAtNanos() >= 0) {
+                due.put(entry.getKey(), entry.getValue().push());
+                iterator.remove();
+            }
+        }
+        return due;
+    }
+
+    private record Pending(long dueAtNanos, GoodsChatPendingPush push) {
+    }
+}
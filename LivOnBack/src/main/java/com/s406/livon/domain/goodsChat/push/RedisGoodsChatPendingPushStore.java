@@ -0,0 +1,132 @@
+package com.s406.livon.domain.goodsChat.push;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 멀티 노드용 대기 알림 저장소
+ * - goods_chat_push::{userId} : 사용자별 대기 알림 (Hash: count, room, multi, sender, content)
+ * - goods_chat_push_due       : 전송할 시각(Redis 서버 시각, epoch millis) 순 사용자 ID (Sorted Set)
+ * 어느 노드에서 메시지를 받든 같은 Hash 에 합산하고, 꺼내는 스크립트가 ZREM / DEL 을 함께 실행하므로
+ * 한 사용자의 알림은 클러스터 전체에서 coalesceWindow 마다 한 번, 한 노드에서만 전송됩니다.
+ * (스크립트가 사용자별 key 를 직접 만들어 접근하므로 단일 Redis 인스턴스 기준)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "goods-chat.broker", name = "mode", havingValue = "redis")
+public class RedisGoodsChatPendingPushStore implements GoodsChatPendingPushStore {
+
+    private static final String PENDING_KEY_PREFIX = "goods_chat_push::";
+    private static final String DUE_KEY = "goods_chat_push_due";
+    private static final int CLAIM_BATCH_SIZE = 1_000;
+    private static final int CLAIMED_FIELDS = 6;
+    // 전송되지 않은 대기 알림이 남지 않도록 coalesceWindow 뒤에 만료
+    private static final long PENDING_TTL_MARGIN_MS = Duration.ofHours(1).toMillis();
+
+    // KEYS[1]=대기 알림, KEYS[2]=전송 예정 / ARGV=count, room, multi, sender, content, windowMs, userId, ttlMs
+    private static final byte[] ADD_SCRIPT = """
+            local lastRoom = redis.call('HGET', KEYS[1], 'room')
+            if ARGV[3] == '1' or (lastRoom and lastRoom ~= ARGV[2]) then
+              redis.call('HSET', KEYS[1], 'multi', '1')
+            end
+            redis.call('HINCRBY', KEYS[1], 'count', ARGV[1])
+            redis.call('HSET', KEYS[1], 'room', ARGV[2], 'sender', ARGV[4], 'content', ARGV[5])
+            redis.call('PEXPIRE', KEYS[1], ARGV[8])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            redis.call('ZADD', KEYS[2], 'NX', now + tonumber(ARGV[6]), ARGV[7])
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
+    // KEYS[1]=전송 예정 / ARGV[1]=대기 알림 key prefix, ARGV[2]=최대 사용자 수
+    // -> {userId, count, room, multi, sender, content, ...} (값이 없는 필드는 빈 문자열)
+    private static final RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local userIds = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', now, 'LIMIT', 0, tonumber(ARGV[2]))
+            local result = {}
+            for _, userId in ipairs(userIds) do
+              redis.call('ZREM', KEYS[1], userId)
+              local key = ARGV[1] .. userId
+              local fields = redis.call('HMGET', key, 'count', 'room', 'multi', 'sender', 'content')
+              redis.call('DEL', key)
+              if fields[1] then
+                table.insert(result, userId)
+                for i = 1, 5 do
+                  table.insert(result, fields[i] or '')
+                end
+              end
+            end
+            return result
+            """, List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public void add(Map<UUID, GoodsChatPendingPush> pushes, Duration coalesceWindow) {
+        if (pushes.isEmpty()) {
+            return;
+        }
+        byte[] windowMs = utf8(String.valueOf(coalesceWindow.toMillis()));
+        byte[] ttlMs = utf8(String.valueOf(coalesceWindow.toMillis() + PENDING_TTL_MARGIN_MS));
+        byte[] dueKey = utf8(DUE_KEY);
+
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            pushes.forEach((userId, push) -> connection.scriptingCommands().eval(ADD_SCRIPT, ReturnType.INTEGER, 2,
+                    utf8(PENDING_KEY_PREFIX + userId), dueKey,
+                    utf8(String.valueOf(push.count())),
+                    utf8(String.valueOf(push.lastChatRoomId())),
+                    utf8(push.multipleRooms() ? "1" : "0"),
+                    utf8(nullToEmpty(push.lastSenderNickname())),
+                    utf8(nullToEmpty(push.lastContent())),
+                    windowMs,
+                    utf8(userId.toString()),
+                    ttlMs));
+            return null;
+        });
+    }
+
+    @Override
+    public Map<UUID, GoodsChatPendingPush> claimDue() {
+        List<?> claimed = stringRedisTemplate.execute(CLAIM_SCRIPT, List.of(DUE_KEY),
+                PENDING_KEY_PREFIX, String.valueOf(CLAIM_BATCH_SIZE));
+        Map<UUID, GoodsChatPendingPush> due = new HashMap<>();
+        if (claimed == null) {
+            return due;
+        }
+        for (int i = 0; i + CLAIMED_FIELDS <= claimed.size(); i += CLAIMED_FIELDS) {
+            due.put(UUID.fromString((String) claimed.get(i)), new GoodsChatPendingPush(
+                    Integer.parseInt((String) claimed.get(i + 1)),
+                    Long.valueOf((String) claimed.get(i + 2)),
+                    "1".equals(claimed.get(i + 3)),
+                    emptyToNull((String) claimed.get(i + 4)),
+                    emptyToNull((String) claimed.get(i + 5))));
+        }
+        return due;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,14 @@
+package com.s406.livon.domain.goodsChat.repository;
+
+import com.s406.livon.domain.goodsChat.entity.GoodsChatDeletionPhase;
+import com.s406.livon.domain.goodsChat.entity.GoodsChatDeletionTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface GoodsChatDeletionTaskRepository extends JpaRepository<GoodsChatDeletionTask, Long> {
+
+    // 진행 중인 삭제 작업 (요청 순)
+    List<GoodsChatDeletionTask> findByPhaseNotOrderByCreatedDateAsc(GoodsChatDeletionPhase phase, Pageable pageable);
+}
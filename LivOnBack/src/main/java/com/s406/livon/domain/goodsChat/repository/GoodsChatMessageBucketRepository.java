@@ -0,0 +1,13 @@
+package com.s406.livon.domain.goodsChat.repository;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessageBucket;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface GoodsChatMessageBucketRepository extends MongoRepository<GoodsChatMessageBucket, String> {
+
+    /**
+     * 특정 채팅방의 압축된 메시지 bucket 을 모두 삭제합니다.
+     * @param chatRoomId 삭제할 채팅방 ID
+     */
+    void deleteAllByChatRoomId(Long chatRoomId);
+}
@@ -10,7 +10,8 @@ public interface GoodsChatMessageRepository
         extends MongoRepository<GoodsChatMessage, String>, GoodsChatMessageRepositoryCustom {
 
     /**
-     * 특정 채팅방에 속한 모든 메시지를 삭제합니다.
+     * 특정 채팅방에 속한 모든 메시지를 한 번에 삭제합니다.
+     * 메시지가 많은 채팅방은 GoodsChatRoomDeletionService 로 나누어 삭제합니다.
      * @param chatRoomId 삭제할 채팅방 ID
      */
     void deleteAllByChatRoomId(Long chatRoomId);
@@ -2,10 +2,47 @@ package com.s406.livon.domain.goodsChat.repository;
 
 
 import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.search.GoodsChatSearchQuery;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+/**
+ * 조회 / 순번 메서드는 goods_chat_message 와 압축된 goods_chat_message_bucket 을 함께 조회합니다.
+ */
 public interface GoodsChatMessageRepositoryCustom {
-    List<GoodsChatMessage> getChatMessages(Long chatRoomId, LocalDateTime lastSentAt, int size);
+    List<GoodsChatMessage> getChatMessages(Long chatRoomId, Long lastSeq, int size);
+
+    // afterSeq 보다 큰 순번의 메시지를 순번 오름차순으로 조회 (재연결 동기화용)
+    List<GoodsChatMessage> getChatMessagesAfter(Long chatRoomId, long afterSeq, int size);
+
+    // 채팅방의 가장 큰 순번 (없으면 0)
+    long findMaxSeq(Long chatRoomId);
+
+    // lastSentAt 이전에 보낸 메시지까지 조회되도록 하는 순번 커서 (구버전 클라이언트 호환용)
+    Long resolveSeqCursor(Long chatRoomId, LocalDateTime lastSentAt);
+
+    // 순번이 없는 기존 메시지에 sent_at 순서대로 startSeq 다음 순번을 부여하고, 마지막으로 부여한 순번을 반환
+    long assignMissingSeqs(Long chatRoomId, long startSeq);
+
+    // 채팅방별 가장 최근 메시지를 조회 (압축된 방은 bucket 에서, 메시지가 없는 방은 결과에 없음)
+    List<GoodsChatMessage> findLatestMessages(Collection<Long> chatRoomIds);
+
+    // 검색어를 포함하는 메시지를 최신순(_id 내림차순)으로 조회 (beforeId 가 있으면 그보다 이전 메시지)
+    List<GoodsChatMessage> searchMessages(Collection<Long> chatRoomIds, GoodsChatSearchQuery searchQuery, String beforeId, int size);
+
+    // 검색 토큰이 없는 기존 메시지 최대 batchSize 건에 토큰을 채우고, 처리한 건수를 반환
+    int assignMissingNgrams(int batchSize);
+
+    // bucket 으로 옮길 메시지: sentBefore 이전에 보낸 순번이 있는 메시지를 순번 오름차순으로 최대 size 건
+    List<GoodsChatMessage> findCompactionBatch(Long chatRoomId, LocalDateTime sentBefore, int size);
+
+    // bucket 으로 옮긴 메시지 삭제
+    long deleteMessages(Collection<String> ids);
+
+    // 채팅방 삭제용: 메시지 / bucket 을 최대 size 건씩 삭제하고 삭제한 건수를 반환
+    long deleteMessageBatch(Long chatRoomId, int size);
+
+    long deleteBucketBatch(Long chatRoomId, int size);
 }
@@ -1,45 +1,356 @@
 package com.s406.livon.domain.goodsChat.repository;
 
+import com.s406.livon.domain.goodsChat.codec.GoodsChatMessageBucketCodec;
 import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessageBucket;
+import com.s406.livon.domain.goodsChat.search.GoodsChatNgramTokenizer;
+import com.s406.livon.domain.goodsChat.search.GoodsChatSearchQuery;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 public class GoodsChatMessageRepositoryCustomImpl implements GoodsChatMessageRepositoryCustom {
 
+    private static final int SEQ_BACKFILL_BATCH_SIZE = 1000;
+
     private final MongoTemplate mongoTemplate;
 
     /**
      * 주어진 chatRoomId의 메시지 중에서
-     * lastSentAt 보다 오래된 메시지를 최대 size 만큼 반환
-     * 메시지는 sent_at 기준으로 내림차순 정렬됩니다.
+     * lastSeq 보다 작은 순번의 메시지를 최대 size 만큼 반환
+     * 메시지는 seq 기준으로 내림차순 정렬됩니다. (idx_chat_room_id_seq 사용)
+     * goods_chat_message 에서 모자라는 만큼은 더 오래된 메시지를 담은 bucket 에서 이어서 조회합니다.
      */
     @Override
-    public List<GoodsChatMessage> getChatMessages(Long chatRoomId, LocalDateTime lastSentAt, int size) {
+    public List<GoodsChatMessage> getChatMessages(Long chatRoomId, Long lastSeq, int size) {
         // 동적으로 조건 생성
-        Criteria criteria = createCriteria(chatRoomId, lastSentAt);
+        Criteria criteria = createCriteria(chatRoomId, lastSeq);
 
         // Query 생성 및 조건 추가
         Query query = new Query(criteria);
         query.limit(size);
+        query.with(Sort.by(Direction.DESC, "seq"));
+
+        List<GoodsChatMessage> messages = mongoTemplate.find(query, GoodsChatMessage.class);
+        if (messages.size() >= size) {
+            return messages;
+        }
+
+        Long beforeSeq = messages.isEmpty() ? lastSeq : messages.get(messages.size() - 1).getSeq();
+        List<GoodsChatMessage> result = new ArrayList<>(messages);
+        result.addAll(getBucketMessagesBefore(chatRoomId, beforeSeq, size - messages.size()));
+        return result;
+    }
+
+    /**
+     * 주어진 chatRoomId의 메시지 중에서
+     * afterSeq 보다 큰 순번의 메시지를 최대 size 만큼 반환
+     * 메시지는 seq 기준으로 오름차순 정렬됩니다.
+     * afterSeq 가 bucket 구간에 있으면 bucket 부터 조회한 뒤 goods_chat_message 에서 이어서 조회합니다.
+     */
+    @Override
+    public List<GoodsChatMessage> getChatMessagesAfter(Long chatRoomId, long afterSeq, int size) {
+        List<GoodsChatMessage> result = getBucketMessagesAfter(chatRoomId, afterSeq, size);
+        if (result.size() >= size) {
+            return result;
+        }
+
+        long fromSeq = result.isEmpty() ? afterSeq : result.get(result.size() - 1).getSeq();
+        Query query = new Query(Criteria.where("chat_room_id").is(chatRoomId).and("seq").gt(fromSeq));
+        query.limit(size - result.size());
+        query.with(Sort.by(Direction.ASC, "seq"));
+
+        result.addAll(mongoTemplate.find(query, GoodsChatMessage.class));
+        return result;
+    }
+
+    @Override
+    public long findMaxSeq(Long chatRoomId) {
+        Query query = new Query(Criteria.where("chat_room_id").is(chatRoomId).and("seq").ne(null));
+        query.with(Sort.by(Direction.DESC, "seq"));
+        query.fields().include("seq");
+
+        GoodsChatMessage latest = mongoTemplate.findOne(query, GoodsChatMessage.class);
+        if (latest != null) {
+            return latest.getSeq();
+        }
+
+        // 모든 메시지가 bucket 으로 옮겨진 채팅방
+        GoodsChatMessageBucket latestBucket = mongoTemplate.findOne(bucketQuery(chatRoomId)
+                .with(Sort.by(Direction.DESC, "last_seq")), GoodsChatMessageBucket.class);
+        return latestBucket == null ? 0L : latestBucket.getLastSeq();
+    }
+
+    @Override
+    public Long resolveSeqCursor(Long chatRoomId, LocalDateTime lastSentAt) {
+        Query query = new Query(Criteria.where("chat_room_id").is(chatRoomId).and("sent_at").lt(lastSentAt));
         query.with(Sort.by(Direction.DESC, "sent_at"));
+        query.fields().include("seq");
+
+        GoodsChatMessage before = mongoTemplate.findOne(query, GoodsChatMessage.class);
+        if (before == null) {
+            before = findBucketMessageSentBefore(chatRoomId, lastSentAt);
+        }
+        // 이전 메시지가 없으면 더 이상 조회할 메시지가 없도록 1 반환
+        return before == null || before.getSeq() == null ? 1L : before.getSeq() + 1;
+    }
+
+    @Override
+    public long assignMissingSeqs(Long chatRoomId, long startSeq) {
+        long seq = startSeq;
+        while (true) {
+            Query query = new Query(Criteria.where("chat_room_id").is(chatRoomId).and("seq").exists(false));
+            query.with(Sort.by(Direction.ASC, "sent_at").and(Sort.by(Direction.ASC, "_id")));
+            query.limit(SEQ_BACKFILL_BATCH_SIZE);
+            query.fields().include("_id");
+
+            List<GoodsChatMessage> legacyMessages = mongoTemplate.find(query, GoodsChatMessage.class);
+            if (legacyMessages.isEmpty()) {
+                return seq;
+            }
+
+            BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, GoodsChatMessage.class);
+            for (GoodsChatMessage message : legacyMessages) {
+                bulkOps.updateOne(Query.query(Criteria.where("_id").is(message.getId())), Update.update("seq", ++seq));
+            }
+            bulkOps.execute();
+        }
+    }
+
+    /**
+     * 채팅방별로 seq 가 가장 큰 메시지를 반환합니다.
+     * $match -> $sort(chat_room_id, seq desc) -> $group($first) 로 idx_chat_room_id_seq 인덱스를 사용합니다.
+     * goods_chat_message 에 메시지가 남아있지 않은 (압축된) 채팅방은 bucket 에서 조회합니다.
+     */
+    @Override
+    public List<GoodsChatMessage> findLatestMessages(Collection<Long> chatRoomIds) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("chat_room_id").in(chatRoomIds)),
+                Aggregation.sort(Sort.by(Direction.ASC, "chat_room_id").and(Sort.by(Direction.DESC, "seq"))),
+                Aggregation.group("chat_room_id").first(Aggregation.ROOT).as("latest"),
+                Aggregation.replaceRoot("latest")
+        );
+
+        List<GoodsChatMessage> latestMessages = new ArrayList<>(mongoTemplate.aggregate(aggregation,
+                mongoTemplate.getCollectionName(GoodsChatMessage.class), GoodsChatMessage.class).getMappedResults());
+
+        // 모든 메시지가 bucket 으로 옮겨진 채팅방은 가장 최근 bucket 의 마지막 메시지
+        Set<Long> foundRoomIds = latestMessages.stream().map(GoodsChatMessage::getChatRoomId).collect(Collectors.toSet());
+        List<Long> compactedRoomIds = chatRoomIds.stream().filter(id -> !foundRoomIds.contains(id)).toList();
+        if (!compactedRoomIds.isEmpty()) {
+            latestMessages.addAll(findLatestBucketMessages(compactedRoomIds));
+        }
+        return latestMessages;
+    }
+
+    /**
+     * chat_room_id $in + ngrams $all 로 idx_chat_room_id_ngrams_id 인덱스에서 후보를 찾고,
+     * bigram 이 순서와 상관없이 일치한 경우를 걸러내기 위해 단어별 부분 문자열 일치를 함께 확인합니다.
+     * 결과는 _id(생성 시각) 내림차순이며 beforeId 보다 이전 메시지만 조회합니다.
+     */
+    @Override
+    public List<GoodsChatMessage> searchMessages(Collection<Long> chatRoomIds, GoodsChatSearchQuery searchQuery,
+                                                 String beforeId, int size) {
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(Criteria.where("chat_room_id").in(chatRoomIds));
+        criteria.add(Criteria.where("ngrams").all(searchQuery.ngrams()));
+        if (beforeId != null) {
+            criteria.add(Criteria.where("_id").lt(new ObjectId(beforeId)));
+        }
+        for (String word : searchQuery.words()) {
+            criteria.add(Criteria.where("content").regex(Pattern.compile(Pattern.quote(word),
+                    Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE)));
+        }
+
+        Query query = new Query(new Criteria().andOperator(criteria));
+        query.with(Sort.by(Direction.DESC, "_id"));
+        query.limit(size);
+        query.fields().exclude("ngrams");
 
         return mongoTemplate.find(query, GoodsChatMessage.class);
     }
 
-    private Criteria createCriteria(Long chatRoomId, LocalDateTime lastSentAt) {
+    @Override
+    public int assignMissingNgrams(int batchSize) {
+        Query query = new Query(Criteria.where("ngrams").exists(false));
+        query.limit(batchSize);
+        query.fields().include("_id").include("content");
+
+        List<GoodsChatMessage> legacyMessages = mongoTemplate.find(query, GoodsChatMessage.class);
+        if (legacyMessages.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GoodsChatMessage.class);
+        for (GoodsChatMessage message : legacyMessages) {
+            bulkOps.updateOne(Query.query(Criteria.where("_id").is(message.getId())),
+                    Update.update("ngrams", GoodsChatNgramTokenizer.tokenize(message.getContent())));
+        }
+        bulkOps.execute();
+        return legacyMessages.size();
+    }
+
+    @Override
+    public List<GoodsChatMessage> findCompactionBatch(Long chatRoomId, LocalDateTime sentBefore, int size) {
+        Query query = new Query(Criteria.where("chat_room_id").is(chatRoomId)
+                .and("seq").ne(null)
+                .and("sent_at").lt(sentBefore));
+        query.with(Sort.by(Direction.ASC, "seq"));
+        query.limit(size);
+        query.fields().exclude("ngrams");
+
+        return mongoTemplate.find(query, GoodsChatMessage.class);
+    }
+
+    @Override
+    public long deleteMessages(Collection<String> ids) {
+        return mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids)), GoodsChatMessage.class)
+                .getDeletedCount();
+    }
+
+    /**
+     * chat_room_id 인덱스로 최대 size 건의 _id 만 조회한 뒤 _id 로 삭제합니다.
+     * 한 번의 삭제 범위를 제한해 긴 삭제 작업이 다른 요청의 지연을 늘리지 않도록 합니다.
+     */
+    @Override
+    public long deleteMessageBatch(Long chatRoomId, int size) {
+        return deleteBatch(chatRoomId, size, GoodsChatMessage.class);
+    }
+
+    @Override
+    public long deleteBucketBatch(Long chatRoomId, int size) {
+        return deleteBatch(chatRoomId, size, GoodsChatMessageBucket.class);
+    }
+
+    private long deleteBatch(Long chatRoomId, int size, Class<?> documentClass) {
+        Query query = new Query(Criteria.where("chat_room_id").is(chatRoomId));
+        query.limit(size);
+        query.fields().include("_id");
+
+        List<Object> ids = mongoTemplate.find(query, Document.class,
+                        mongoTemplate.getCollectionName(documentClass)).stream()
+                .map(document -> document.get("_id"))
+                .toList();
+        if (ids.isEmpty()) {
+            return 0L;
+        }
+        return mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids)), documentClass).getDeletedCount();
+    }
+
+    // beforeSeq 보다 작은 순번의 bucket 메시지를 순번 내림차순으로 최대 size 건 (idx_chat_room_id_last_seq 사용)
+    private List<GoodsChatMessage> getBucketMessagesBefore(Long chatRoomId, Long beforeSeq, int size) {
+        List<GoodsChatMessage> result = new ArrayList<>(size);
+        Long upperSeq = beforeSeq;
+        while (result.size() < size) {
+            Query query = bucketQuery(chatRoomId);
+            if (upperSeq != null) {
+                query.addCriteria(Criteria.where("first_seq").lt(upperSeq));
+            }
+            query.with(Sort.by(Direction.DESC, "last_seq"));
+
+            GoodsChatMessageBucket bucket = mongoTemplate.findOne(query, GoodsChatMessageBucket.class);
+            if (bucket == null) {
+                break;
+            }
+            List<GoodsChatMessage> messages = GoodsChatMessageBucketCodec.decode(chatRoomId, bucket.getPayload());
+            for (int i = messages.size() - 1; i >= 0 && result.size() < size; i--) {
+                GoodsChatMessage message = messages.get(i);
+                if (upperSeq == null || message.getSeq() < upperSeq) {
+                    result.add(message);
+                }
+            }
+            upperSeq = bucket.getFirstSeq();
+        }
+        return result;
+    }
+
+    // afterSeq 보다 큰 순번의 bucket 메시지를 순번 오름차순으로 최대 size 건
+    private List<GoodsChatMessage> getBucketMessagesAfter(Long chatRoomId, long afterSeq, int size) {
+        List<GoodsChatMessage> result = new ArrayList<>(size);
+        long lowerSeq = afterSeq;
+        while (result.size() < size) {
+            Query query = bucketQuery(chatRoomId).addCriteria(Criteria.where("last_seq").gt(lowerSeq));
+            query.with(Sort.by(Direction.ASC, "last_seq"));
+
+            GoodsChatMessageBucket bucket = mongoTemplate.findOne(query, GoodsChatMessageBucket.class);
+            if (bucket == null) {
+                break;
+            }
+            for (GoodsChatMessage message : GoodsChatMessageBucketCodec.decode(chatRoomId, bucket.getPayload())) {
+                if (message.getSeq() > lowerSeq && result.size() < size) {
+                    result.add(message);
+                }
+            }
+            lowerSeq = bucket.getLastSeq();
+        }
+        return result;
+    }
+
+    // 채팅방별 가장 최근 bucket 을 한 번의 aggregation 으로 찾아 마지막 메시지를 반환 (idx_chat_room_id_last_seq 사용)
+    private List<GoodsChatMessage> findLatestBucketMessages(Collection<Long> chatRoomIds) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("chat_room_id").in(chatRoomIds)),
+                Aggregation.sort(Sort.by(Direction.ASC, "chat_room_id").and(Sort.by(Direction.DESC, "last_seq"))),
+                Aggregation.group("chat_room_id").first(Aggregation.ROOT).as("latest"),
+                Aggregation.replaceRoot("latest")
+        );
+
+        List<GoodsChatMessage> result = new ArrayList<>();
+        for (GoodsChatMessageBucket bucket : mongoTemplate.aggregate(aggregation,
+                mongoTemplate.getCollectionName(GoodsChatMessageBucket.class), GoodsChatMessageBucket.class)) {
+            List<GoodsChatMessage> messages = GoodsChatMessageBucketCodec.decode(bucket.getChatRoomId(), bucket.getPayload());
+            if (!messages.isEmpty()) {
+                result.add(messages.get(messages.size() - 1));
+            }
+        }
+        return result;
+    }
+
+    // sentBefore 이전에 보낸 가장 최근 bucket 메시지
+    private GoodsChatMessage findBucketMessageSentBefore(Long chatRoomId, LocalDateTime sentBefore) {
+        Query query = bucketQuery(chatRoomId).addCriteria(Criteria.where("first_sent_at").lt(sentBefore));
+        query.with(Sort.by(Direction.DESC, "last_seq"));
+
+        GoodsChatMessageBucket bucket = mongoTemplate.findOne(query, GoodsChatMessageBucket.class);
+        if (bucket == null) {
+            return null;
+        }
+        GoodsChatMessage before = null;
+        for (GoodsChatMessage message : GoodsChatMessageBucketCodec.decode(chatRoomId, bucket.getPayload())) {
+            if (message.getSentAt().isBefore(sentBefore)) {
+                before = message;
+            }
+        }
+        return before;
+    }
+
+    private static Query bucketQuery(Long chatRoomId) {
+        return new Query(Criteria.where("chat_room_id").is(chatRoomId));
+    }
+
+    private Criteria createCriteria(Long chatRoomId, Long lastSeq) {
         Criteria criteria = Criteria.where("chat_room_id").is(chatRoomId);
 
-        // lastSentAt 가 null 일 경우, 최신 메시지 조회
-        if (lastSentAt != null) {
-            criteria = criteria.and("sent_at").lt(lastSentAt);
+        // lastSeq 가 null 일 경우, 최신 메시지 조회
+        if (lastSeq != null) {
+            criteria = criteria.and("seq").lt(lastSeq);
         }
 
         return criteria;
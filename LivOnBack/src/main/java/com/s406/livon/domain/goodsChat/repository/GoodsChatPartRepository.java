@@ -21,4 +21,41 @@ public interface GoodsChatPartRepository extends JpaRepository<GoodsChatPart, Go
     List<GoodsChatPart> findAllWithMemberByChatRoomId(@Param("chatRoomId") Long chatRoomId);
 
     boolean existsByUserIdAndGoodsChatRoomId(UUID id, Long roomId);
+
+    // 전송 / 구독 / 조회 권한 확인용 (삭제 요청으로 비활성화된 채팅방은 참여자가 아닌 것으로 처리)
+    @Query("""
+            SELECT COUNT(cp) > 0
+            FROM GoodsChatPart cp
+            WHERE cp.user.id = :userId
+            AND cp.goodsChatRoom.id = :chatRoomId
+            AND cp.goodsChatRoom.isActive = true
+            """)
+    boolean existsInActiveRoom(@Param("userId") UUID userId, @Param("chatRoomId") Long chatRoomId);
+
+    // 사용자가 참여 중인 채팅방 목록 (채팅 목록 화면, 저장된 읽음 위치 포함)
+    @Query("""
+            SELECT cp
+            FROM GoodsChatPart cp
+            JOIN FETCH cp.goodsChatRoom cr
+            WHERE cp.user.id = :userId
+            AND cp.isActive = true
+            """)
+    List<GoodsChatPart> findActiveWithChatRoomByUserId(@Param("userId") UUID userId);
+
+    // 채팅방 삭제 시 참여자별 Redis 키 정리용 (퇴장한 참여자 포함)
+    @Query("""
+            SELECT cp.user.id
+            FROM GoodsChatPart cp
+            WHERE cp.goodsChatRoom.id = :chatRoomId
+            """)
+    List<UUID> findUserIdsByChatRoomId(@Param("chatRoomId") Long chatRoomId);
+
+    // 오프라인 푸시 알림 대상 조회용 (퇴장한 참여자 제외)
+    @Query("""
+            SELECT cp.user.id
+            FROM GoodsChatPart cp
+            WHERE cp.goodsChatRoom.id = :chatRoomId
+            AND cp.isActive = true
+            """)
+    List<UUID> findActiveUserIdsByChatRoomId(@Param("chatRoomId") Long chatRoomId);
 }
\ No newline at end of file
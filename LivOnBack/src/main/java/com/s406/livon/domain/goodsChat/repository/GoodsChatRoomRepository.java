@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -27,24 +29,18 @@ public interface GoodsChatRoomRepository extends JpaRepository<GoodsChatRoom, Lo
 
     Optional<GoodsChatRoom> findByConsultationId(Long consultationId);
 
+    // 마지막 메시지가 idleBefore 이전이거나 기록되지 않은 채팅방 ID (afterId 이후부터 ID 순)
+    // lastChatSentAt 은 GoodsChatLastMessageUpdater 가 모아서 반영하므로 비어있을 수 있어, 실제 마지막 메시지 시각은 MongoDB 에서 다시 확인해야 합니다.
+    @Query("""
+            SELECT cr.id
+            FROM GoodsChatRoom cr
+            WHERE (cr.lastChatSentAt IS NULL OR cr.lastChatSentAt < :idleBefore)
+            AND cr.id > :afterId
+            ORDER BY cr.id
+            """)
+    List<Long> findIdleRoomIds(@Param("idleBefore") LocalDateTime idleBefore, @Param("afterId") Long afterId, Pageable pageable);
+
 
-//    @Query("""
-//            SELECT cr
-//            FROM GoodsChatRoom cr
-//            JOIN FETCH cr.chatParts cp
-//            JOIN FETCH cr.goodsPost gp
-//            JOIN FETCH cp.member m
-//            WHERE cr.id IN (
-//                SELECT gcr.id
-//                FROM GoodsChatRoom gcr
-//                JOIN gcr.chatParts gcp
-//                WHERE gcp.member.id = :memberId
-//                AND gcp.isActive = true
-//            )
-//            ORDER BY cr.lastChatSentAt DESC
-//            """)
-//    Page<GoodsChatRoom> findChatRoomPageByMemberId(@Param("memberId") Long memberId, Pageable pageable);
-//
 //    @Query("""
 //            SELECT cr
 //            FROM GoodsChatRoom cr
@@ -0,0 +1,23 @@
+package com.s406.livon.domain.goodsChat.search;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메시지를 MongoDB 에 저장하기 직전에 검색용 bigram 을 채웁니다.
+ * save / saveAll / bulk insert(write-behind) 모두 이 콜백을 거치므로 저장 경로마다 토큰을 만들 필요가 없습니다.
+ */
+@Component
+public class GoodsChatMessageNgramCallback implements BeforeConvertCallback<GoodsChatMessage> {
+
+    @Override
+    public GoodsChatMessage onBeforeConvert(GoodsChatMessage message, String collection) {
+        if (message.getNgrams() != null) {
+            return message;
+        }
+        return message.toBuilder()
+                .ngrams(GoodsChatNgramTokenizer.tokenize(message.getContent()))
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.s406.livon.domain.goodsChat.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 채팅 검색용 bigram(2-gram) 토크나이저
+ * MongoDB text index 는 한국어 형태소 분석을 지원하지 않아 공백 단위로만 색인하므로 "상담이" 로는 "상담" 을 찾을 수 없습니다.
+ * 문자/숫자가 아닌 문자로 단어를 나눈 뒤 단어마다 연속된 두 글자를 토큰으로 만들어 조사 / 어미가 붙어도 부분 일치로 검색합니다.
+ * - 메시지 : 중복 제거한 bigram 을 goods_chat_message.ngrams 에 저장 (MAX_TOKENS 개까지)
+ * - 검색어 : 검색어의 bigram 을 모두 포함하는 메시지를 인덱스로 찾은 뒤 단어별 부분 문자열 일치로 최종 확인
+ * 한 글자 단어는 토큰을 만들지 않으므로 검색어에는 두 글자 이상인 단어가 하나 이상 있어야 합니다.
+ */
+public final class GoodsChatNgramTokenizer {
+
+    public static final int MAX_TOKENS = 512;
+
+    private static final Pattern DELIMITER = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private GoodsChatNgramTokenizer() {
+    }
+
+    // 메시지 내용 -> 저장할 bigram (중복 제거, 등장 순서 유지)
+    public static List<String> tokenize(String content) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : words(content)) {
+            addBigrams(word, tokens);
+            if (tokens.size() >= MAX_TOKENS) {
+                break;
+            }
+        }
+        List<String> result = new ArrayList<>(tokens);
+        return result.size() > MAX_TOKENS ? result.subList(0, MAX_TOKENS) : result;
+    }
+
+    // 소문자로 정규화한 단어 목록 (검색어의 최종 일치 확인에 사용)
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : DELIMITER.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static void addBigrams(String word, Set<String> tokens) {
+        int[] codePoints = word.codePoints().toArray();
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+            tokens.add(new String(codePoints, i, 2));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.s406.livon.domain.goodsChat.search;
+
+import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageRepository;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 검색 토큰이 없는 기존 메시지에 bigram 을 채웁니다.
+ * 주기마다 backfillBatchSize 건씩만 처리해 MongoDB 부하를 나누고, 더 이상 대상이 없으면 멈춥니다.
+ * (새 메시지는 GoodsChatMessageNgramCallback 에서 저장 시 토큰을 채우므로 다시 생기지 않음)
+ */
+@Slf4j
+@Component
+public class GoodsChatSearchIndexBackfiller {
+
+    private final GoodsChatMessageRepository messageRepository;
+    private final GoodsChatProperties.Search searchProperties;
+    private volatile boolean completed;
+
+    public GoodsChatSearchIndexBackfiller(GoodsChatMessageRepository messageRepository,
+                                          GoodsChatProperties goodsChatProperties) {
+        this.messageRepository = messageRepository;
+        this.searchProperties = goodsChatProperties.getSearch();
+    }
+
+    @Scheduled(fixedDelayString = "${goods-chat.search.backfill-interval-ms:10000}")
+    public void backfill() {
+        if (completed) {
+            return;
+        }
+
+        int batchSize = searchProperties.getBackfillBatchSize();
+        int updated = messageRepository.assignMissingNgrams(batchSize);
+        if (updated > 0) {
+            log.info("채팅 검색 토큰 backfill: {}건", updated);
+        }
+        if (updated < batchSize) {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.s406.livon.domain.goodsChat.search;
+
+import java.util.List;
+
+/**
+ * 검색어를 정규화한 결과
+ * - ngrams : 인덱스(idx_chat_room_id_ngrams_id) 조회에 사용할 bigram ($all)
+ * - words  : 최종 확인에 사용할 단어 (모두 content 에 부분 문자열로 포함되어야 함)
+ */
+public record GoodsChatSearchQuery(List<String> ngrams, List<String> words) {
+
+    public static GoodsChatSearchQuery of(String keyword) {
+        List<String> words = GoodsChatNgramTokenizer.words(keyword);
+        return new GoodsChatSearchQuery(GoodsChatNgramTokenizer.tokenize(keyword), words);
+    }
+
+    // 두 글자 이상인 단어가 없으면 인덱스를 사용할 수 없음
+    public boolean isSearchable() {
+        return !ngrams.isEmpty();
+    }
+}
@@ -0,0 +1,167 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import com.s406.livon.domain.goodsChat.codec.GoodsChatMessageBucketCodec;
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessageBucket;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageBucketRepository;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageRepository;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatRoomRepository;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 오래된(cold) 채팅방의 메시지를 압축 bucket 으로 옮깁니다.
+ * 1. 마지막 메시지가 idleAfter 이전인 채팅방을 ID 순으로 roomsPerRun 개씩 순회 (끝에 도달하면 처음부터 다시)
+ *    goods_chat_room.last_chat_sent_at 은 전송 시 GoodsChatLastMessageUpdater 가 flush 주기마다 모아서 반영하므로
+ *    반영 전(노드 비정상 종료 포함)이거나 반영 기능 도입 전에 대화가 끝난 방은 비어있을 수 있어 MongoDB 의 마지막 메시지 시각으로 다시 확인
+ * 2. idleAfter 이전에 보낸 메시지를 순번 오름차순으로 bucketSize 건씩 묶어 bucket 저장 + 원본 삭제 (MongoDB 트랜잭션)
+ * idleAfter 이후에 보낸 메시지는 옮기지 않으므로 bucket 의 순번은 항상 goods_chat_message 에 남은 메시지보다 작습니다.
+ * 조회는 GoodsChatMessageRepositoryCustomImpl 에서 두 형식을 이어서 읽습니다.
+ *
+ * 지표
+ * - goods_chat.compaction.messages : bucket 으로 옮긴 메시지 수
+ * - goods_chat.compaction.buckets  : 생성한 bucket 수
+ */
+@Slf4j
+@Component
+public class GoodsChatBucketCompactor {
+
+    private static final String COMPACTION_LOCK_KEY_FORMAT = "goods_chat_compaction_lock::%d";
+
+    private final GoodsChatRoomRepository chatRoomRepository;
+    private final GoodsChatMessageRepository messageRepository;
+    private final GoodsChatMessageBucketRepository bucketRepository;
+    private final GoodsChatSequenceGenerator sequenceGenerator;
+    private final TransactionTemplate mongoTransactionTemplate;
+    private final RedissonClient redissonClient;
+    private final GoodsChatProperties.Compaction compactionProperties;
+    private final Counter compactedMessages;
+    private final Counter createdBuckets;
+
+    // 다음 실행에서 이어서 조회할 채팅방 ID
+    private volatile long lastScannedRoomId;
+
+    public GoodsChatBucketCompactor(GoodsChatRoomRepository chatRoomRepository,
+                                    GoodsChatMessageRepository messageRepository,
+                                    GoodsChatMessageBucketRepository bucketRepository,
+                                    GoodsChatSequenceGenerator sequenceGenerator,
+                                    @Qualifier("mongoTransactionTemplate") TransactionTemplate mongoTransactionTemplate,
+                                    RedissonClient redissonClient,
+                                    GoodsChatProperties goodsChatProperties,
+                                    MeterRegistry meterRegistry) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.messageRepository = messageRepository;
+        this.bucketRepository = bucketRepository;
+        this.sequenceGenerator = sequenceGenerator;
+        this.mongoTransactionTemplate = mongoTransactionTemplate;
+        this.redissonClient = redissonClient;
+        this.compactionProperties = goodsChatProperties.getCompaction();
+        this.compactedMessages = Counter.builder("goods_chat.compaction.messages").register(meterRegistry);
+        this.createdBuckets = Counter.builder("goods_chat.compaction.buckets").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${goods-chat.compaction.interval-ms:3600000}")
+    public void compact() {
+        if (!compactionProperties.isEnabled()) {
+            return;
+        }
+
+        LocalDateTime idleBefore = LocalDateTime.now().minus(compactionProperties.getIdleAfter());
+        List<Long> roomIds = chatRoomRepository.findIdleRoomIds(idleBefore, lastScannedRoomId,
+                PageRequest.of(0, compactionProperties.getRoomsPerRun()));
+        if (roomIds.isEmpty()) {
+            lastScannedRoomId = 0L;
+            return;
+        }
+
+        for (Long roomId : filterIdleRooms(roomIds, idleBefore)) {
+            try {
+                compactRoom(roomId, idleBefore);
+            } catch (RuntimeException e) {
+                log.error("채팅방 메시지 압축 실패: roomId={}, {}", roomId, e.getMessage(), e);
+            }
+        }
+        lastScannedRoomId = roomIds.get(roomIds.size() - 1);
+    }
+
+    // 마지막 메시지를 idleBefore 이전에 보낸 채팅방만 (메시지가 없는 방은 옮길 메시지가 없으므로 제외)
+    private List<Long> filterIdleRooms(List<Long> roomIds, LocalDateTime idleBefore) {
+        Set<Long> idleRoomIds = messageRepository.findLatestMessages(roomIds).stream()
+                .filter(message -> message.getSentAt() != null && message.getSentAt().isBefore(idleBefore))
+                .map(GoodsChatMessage::getChatRoomId)
+                .collect(Collectors.toSet());
+        return roomIds.stream().filter(idleRoomIds::contains).toList();
+    }
+
+    /**
+     * idleBefore 이전에 보낸 메시지를 bucket 으로 옮기고, 옮긴 메시지 수를 반환합니다.
+     * 다른 노드가 같은 채팅방을 압축 중이면 건너뜁니다.
+     */
+    public int compactRoom(Long chatRoomId, LocalDateTime idleBefore) {
+        RLock lock = redissonClient.getLock(String.format(COMPACTION_LOCK_KEY_FORMAT, chatRoomId));
+        if (!lock.tryLock()) {
+            return 0;
+        }
+        try {
+            // 순번이 없는 기존 메시지가 남지 않도록 순번 부여 후 압축
+            sequenceGenerator.ensureInitialized(chatRoomId);
+
+            int bucketSize = compactionProperties.getBucketSize();
+            int compacted = 0;
+            while (true) {
+                List<GoodsChatMessage> messages = messageRepository.findCompactionBatch(chatRoomId, idleBefore, bucketSize);
+                if (messages.isEmpty()) {
+                    break;
+                }
+
+                GoodsChatMessageBucket bucket = toBucket(chatRoomId, messages);
+                List<String> messageIds = messages.stream().map(GoodsChatMessage::getId).toList();
+                mongoTransactionTemplate.executeWithoutResult(status -> {
+                    bucketRepository.insert(bucket);
+                    messageRepository.deleteMessages(messageIds);
+                });
+                compacted += messages.size();
+                compactedMessages.increment(messages.size());
+                createdBuckets.increment();
+
+                if (messages.size() < bucketSize) {
+                    break;
+                }
+            }
+            if (compacted > 0) {
+                log.info("채팅방 메시지 압축: roomId={}, {}건", chatRoomId, compacted);
+            }
+            return compacted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static GoodsChatMessageBucket toBucket(Long chatRoomId, List<GoodsChatMessage> messages) {
+        GoodsChatMessage first = messages.get(0);
+        GoodsChatMessage last = messages.get(messages.size() - 1);
+        return GoodsChatMessageBucket.builder()
+                .chatRoomId(chatRoomId)
+                .firstSeq(first.getSeq())
+                .lastSeq(last.getSeq())
+                .firstSentAt(first.getSentAt())
+                .lastSentAt(last.getSentAt())
+                .count(messages.size())
+                .payload(GoodsChatMessageBucketCodec.encode(messages))
+                .build();
+    }
+}
@@ -1,90 +1,359 @@
 package com.s406.livon.domain.goodsChat.service;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 
+import com.s406.livon.domain.goodsChat.codec.GoodsChatMessageCodec;
 import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
+/**
+ * 채팅방별 최근 메시지 캐시
+ * - goods_chat_window::{roomId}          : Sorted Set (member = seq, score = seq)
+ * - goods_chat_message_payload::{roomId} : Hash (field = seq, value = GoodsChatMessageCodec 바이너리)
+ * 두 키는 Lua 스크립트로 함께 갱신 / 조회하여 항상 같은 구간을 유지합니다.
+ * 순번은 발급되었지만 저장에 실패한 메시지는 DB 에서 한 번 확인한 뒤 빈 payload(tombstone)로 남겨,
+ * 이후 조회에서는 구간이 끊긴 것이 아니라 건너뛸 순번으로 처리합니다.
+ */
 @Component
 public class GoodsChatCacheManager {
 
-    private final RedisTemplate<String, GoodsChatMessage> redisTemplate;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final GoodsChatProperties.Cache cacheProperties;
+    private final GoodsChatCacheMetrics cacheMetrics;
+    private final GoodsChatRoomActivityTracker activityTracker;
 
-    private static final String CACHE_KEY_FORMAT = "goods_chat_message::%d";
-    private static final long DEFAULT_TTL_SECONDS = 3600;
+    private static final String WINDOW_KEY_FORMAT = "goods_chat_window::%d";
+    private static final String PAYLOAD_KEY_FORMAT = "goods_chat_message_payload::%d";
+
+    // KEYS[1]=window, KEYS[2]=payload / ARGV[1]=windowSize, ARGV[2]=ttl(seconds), ARGV[3..]=seq, payload 쌍
+    private static final RedisScript<Long> STORE_SCRIPT = new DefaultRedisScript<>("""
+            for i = 3, #ARGV, 2 do
+              redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i])
+              redis.call('HSET', KEYS[2], ARGV[i], ARGV[i + 1])
+            end
+            local overflow = redis.call('ZCARD', KEYS[1]) - tonumber(ARGV[1])
+            if overflow > 0 then
+              local evicted = redis.call('ZRANGE', KEYS[1], 0, overflow - 1)
+              redis.call('ZREMRANGEBYRANK', KEYS[1], 0, overflow - 1)
+              for _, seq in ipairs(evicted) do
+                redis.call('HDEL', KEYS[2], seq)
+              end
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[2])
+            return redis.call('ZCARD', KEYS[1])
+            """, Long.class);
+
+    // KEYS[1]=window, KEYS[2]=payload / ARGV=seq...
+    // 캐시 구간(가장 오래된 ~ 가장 최근 순번) 안의 순번만, 실제 메시지가 없을 때만(NX) tombstone 저장
+    // (저장이 늦게 끝난 메시지는 STORE_SCRIPT 가 tombstone 을 덮어씀)
+    private static final RedisScript<Long> TOMBSTONE_SCRIPT = new DefaultRedisScript<>("""
+            local oldest = redis.call('ZRANGE', KEYS[1], 0, 0)
+            local newest = redis.call('ZRANGE', KEYS[1], -1, -1)
+            if #oldest == 0 then
+              return 0
+            end
+            local added = 0
+            for i = 1, #ARGV do
+              local seq = tonumber(ARGV[i])
+              if seq > tonumber(oldest[1]) and seq < tonumber(newest[1])
+                  and redis.call('ZADD', KEYS[1], 'NX', ARGV[i], ARGV[i]) == 1 then
+                redis.call('HSETNX', KEYS[2], ARGV[i], '')
+                added = added + 1
+              end
+            end
+            return added
+            """, Long.class);
+
+    // KEYS[1]=window, KEYS[2]=payload / ARGV[1]=min, ARGV[2]=max, ARGV[3]=limit, ARGV[4]=1 이면 내림차순
+    // -> {seq, payload, seq, payload, ...} (payload 가 없으면 nil, tombstone 이면 빈 값)
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> FETCH_SCRIPT = new DefaultRedisScript<>("""
+            local seqs
+            if ARGV[4] == '1' then
+              seqs = redis.call('ZREVRANGEBYSCORE', KEYS[1], ARGV[2], ARGV[1], 'LIMIT', 0, ARGV[3])
+            else
+              seqs = redis.call('ZRANGEBYSCORE', KEYS[1], ARGV[1], ARGV[2], 'LIMIT', 0, ARGV[3])
+            end
+            if #seqs == 0 then
+              return {}
+            end
+            local payloads = redis.call('HMGET', KEYS[2], unpack(seqs))
+            local result = {}
+            for i, seq in ipairs(seqs) do
+              result[2 * i - 1] = seq
+              result[2 * i] = payloads[i]
+            end
+            return result
+            """, List.class);
 
     public GoodsChatCacheManager(
-            @Qualifier("goodsChatCacheRedisTemplate") RedisTemplate<String, GoodsChatMessage> redisTemplate) {
+            @Qualifier("goodsChatPayloadRedisTemplate") RedisTemplate<String, byte[]> redisTemplate,
+            GoodsChatProperties goodsChatProperties,
+            GoodsChatCacheMetrics cacheMetrics,
+            GoodsChatRoomActivityTracker activityTracker) {
         this.redisTemplate = redisTemplate;
+        this.cacheProperties = goodsChatProperties.getCache();
+        this.cacheMetrics = cacheMetrics;
+        this.activityTracker = activityTracker;
     }
 
-    // Redis Sorted Set 에 메시지를 저장
+    // Redis 에 새 메시지를 저장 (채팅방 쓰기 활동으로 집계)
     public void storeMessageInCache(Long chatRoomId, GoodsChatMessage message) {
+        activityTracker.recordWrite(chatRoomId);
         storeMessagesInCache(chatRoomId, List.of(message));
     }
 
-    // Redis Sorted Set 에 메시지 List 저장
+    /**
+     * Redis 에 메시지 List 를 한 번의 스크립트 호출로 저장합니다.
+     * ZADD + HSET(일괄) -> 최근 windowSize 개만 남기고 ZSET / Hash 에서 함께 제거 -> EXPIRE(활동량 기반 TTL) -> ZCARD
+     * @param chatRoomId 채팅방 ID
+     * @param messages 저장할 메시지 List
+     */
     public void storeMessagesInCache(Long chatRoomId, List<GoodsChatMessage> messages) {
+        List<byte[]> args = new ArrayList<>(messages.size() * 2 + 2);
+        args.add(toBytes(cacheProperties.getWindowSize()));
+        long ttlSeconds = activityTracker.ttlFor(chatRoomId).toSeconds();
+        args.add(toBytes(ttlSeconds));
         for (GoodsChatMessage message : messages) {
-            String cacheKey = formatCacheKey(chatRoomId);
-            Double score = convertToScore(message.getSentAt());
-            redisTemplate.opsForZSet().add(cacheKey, message, score);
+            if (message.getSeq() == null) {
+                continue;
+            }
+            args.add(toBytes(message.getSeq()));
+            args.add(GoodsChatMessageCodec.encode(message));
+        }
+        if (args.size() == 2) {
+            return;
         }
-        setTTL(formatCacheKey(chatRoomId));
+
+        Long windowLength = redisTemplate.execute(STORE_SCRIPT, keys(chatRoomId), args.toArray());
+        if (windowLength != null) {
+            cacheMetrics.recordWindowSize(chatRoomId, windowLength);
+        }
+        cacheMetrics.recordTtl(chatRoomId, ttlSeconds);
     }
 
     /**
-     * Redis 에서 특정 채팅방의 메시지를 lastSentAt 기준으로 최신순으로 정렬하여 조회합니다.
+     * Redis 에서 특정 채팅방의 메시지를 lastSeq 기준으로 최신순으로 정렬하여 조회합니다.
+     * 순번이 연속된 구간까지만 반환하므로(tombstone 순번은 건너뜀), 나머지는 lastSeq 를 마지막 메시지의 순번으로 DB 에서 이어서 조회하면 됩니다.
      * @param chatRoomId 채팅방 ID (해당 채팅방의 메시지를 조회합니다.)
-     * @param lastSentAt 메시지를 조회할 기준 시간 (null 일 경우 가장 최근 메시지를 조회합니다.)
+     * @param lastSeq 메시지를 조회할 기준 순번, 이 순번보다 작은 메시지를 조회 (null 일 경우 가장 최근 메시지를 조회합니다.)
      * @param size 조회할 메시지의 개수
      * @return 최신순으로 정렬된 조회된 메시지 List (메시지가 없으면 빈 리스트를 반환합니다.)
      */
-    public List<GoodsChatMessage> fetchMessagesFromCache(Long chatRoomId, LocalDateTime lastSentAt, int size) {
-        String cacheKey = formatCacheKey(chatRoomId);
-        Set<GoodsChatMessage> messages;
-
-        // lastSentAt이 null 인 경우, 가장 최근 메시지 조회
-        if (lastSentAt == null) {
-             messages = redisTemplate.opsForZSet().reverseRange(cacheKey, 0, size - 1);
-        // lastSentAt을 기준으로 이전의 메시지를 최신순으로 정렬하여 조회
-        } else {
-            Double score = convertToScore(lastSentAt);
-            messages = redisTemplate.opsForZSet().reverseRangeByScore(cacheKey, Double.NEGATIVE_INFINITY, score, 1, size);
+    public List<GoodsChatMessage> fetchMessagesFromCache(Long chatRoomId, Long lastSeq, int size) {
+        List<GoodsChatMessage> messages = new ArrayList<>(size);
+        Long cursor = lastSeq;
+        // tombstone 은 개수에서 빠지므로, 끊기지 않았으면 size 를 채울 때까지 이어서 조회
+        while (messages.size() < size) {
+            int limit = size - messages.size();
+            String max = cursor == null ? "+inf" : String.valueOf(cursor - 1);
+            List<CachedEntry> entries = fetch(chatRoomId, "-inf", max, limit, true);
+            if (entries.isEmpty()) {
+                break;
+            }
+            long expectedSeq = cursor == null ? entries.get(0).seq() : cursor - 1;
+            int contiguous = takeContiguous(entries, expectedSeq, -1, messages);
+            if (contiguous < entries.size() || entries.size() < limit) {
+                break;
+            }
+            cursor = entries.get(entries.size() - 1).seq();
         }
+        return messages;
+    }
 
-        if (messages == null || messages.isEmpty()) {
-            return Collections.emptyList();
+    /**
+     * Redis 에서 afterSeq 이후의 메시지를 순번 오름차순으로 조회합니다.
+     * 캐시 구간이 afterSeq 바로 다음 순번부터 시작하지 않으면(캐시보다 오래된 커서, 확인되지 않은 빈 순번) 빈 리스트를 반환합니다.
+     * @param chatRoomId 채팅방 ID
+     * @param afterSeq 클라이언트가 마지막으로 받은 순번
+     * @param size 조회할 메시지의 최대 개수
+     * @return 순번이 연속된 메시지 List (오름차순, tombstone 순번은 제외)
+     */
+    public List<GoodsChatMessage> fetchMessagesAfterFromCache(Long chatRoomId, long afterSeq, int size) {
+        List<GoodsChatMessage> messages = new ArrayList<>(size);
+        long cursor = afterSeq;
+        while (messages.size() < size) {
+            int limit = size - messages.size();
+            List<CachedEntry> entries = fetch(chatRoomId, String.valueOf(cursor + 1), "+inf", limit, false);
+            if (entries.isEmpty()) {
+                break;
+            }
+            int contiguous = takeContiguous(entries, cursor + 1, 1, messages);
+            if (contiguous < entries.size() || entries.size() < limit) {
+                break;
+            }
+            cursor = entries.get(entries.size() - 1).seq();
+        }
+        return messages;
+    }
+
+    /**
+     * DB 조회 결과로 존재하지 않음이 확인된 순번을 tombstone 으로 저장합니다.
+     * [fromSeq, toSeq] 중 found 에 없는 순번이 대상이며, 캐시 구간 밖의 순번은 저장하지 않습니다.
+     * @param chatRoomId 채팅방 ID
+     * @param fromSeq DB 에서 확인한 구간의 시작 순번
+     * @param toSeq DB 에서 확인한 구간의 마지막 순번
+     * @param found 해당 구간에서 DB 가 반환한 메시지
+     */
+    public void storeTombstones(Long chatRoomId, long fromSeq, long toSeq, Collection<GoodsChatMessage> found) {
+        if (fromSeq > toSeq) {
+            return;
+        }
+        Set<Long> foundSeqs = new HashSet<>(found.size());
+        found.forEach(message -> foundSeqs.add(message.getSeq()));
+
+        List<byte[]> args = new ArrayList<>();
+        for (long seq = fromSeq; seq <= toSeq; seq++) {
+            if (!foundSeqs.contains(seq)) {
+                args.add(toBytes(seq));
+            }
+        }
+        if (!args.isEmpty()) {
+            redisTemplate.execute(TOMBSTONE_SCRIPT, keys(chatRoomId), args.toArray());
+        }
+    }
+
+    // 캐시 구간의 가장 오래된 순번 (캐시가 없으면 null)
+    public Long oldestCachedSeq(Long chatRoomId) {
+        Set<ZSetOperations.TypedTuple<byte[]>> oldest = redisTemplate.opsForZSet()
+                .rangeWithScores(String.format(WINDOW_KEY_FORMAT, chatRoomId), 0, 0);
+        if (oldest == null || oldest.isEmpty()) {
+            return null;
+        }
+        Double score = oldest.iterator().next().getScore();
+        return score == null ? null : score.longValue();
+    }
+
+    // 캐시에 남아있는 메시지 수
+    public long windowSize(Long chatRoomId) {
+        Long size = redisTemplate.opsForZSet().zCard(String.format(WINDOW_KEY_FORMAT, chatRoomId));
+        return size == null ? 0 : size;
+    }
+
+    /**
+     * 채팅방 캐시의 Redis 메모리 사용량을 한 번의 파이프라인으로 샘플링하여 지표에 기록합니다.
+     * 키가 없으면 MEMORY USAGE 가 null 을 반환하므로 상주하지 않는 것으로 기록합니다.
+     */
+    public void sampleResidency(Collection<Long> chatRoomIds) {
+        if (chatRoomIds.isEmpty()) {
+            return;
         }
+        List<Long> roomIds = new ArrayList<>(chatRoomIds);
+        List<Object> usages = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long roomId : roomIds) {
+                for (String key : keys(roomId)) {
+                    connection.execute("MEMORY", toBytes("USAGE"), key.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            return null;
+        });
 
-        return new ArrayList<>(messages);
+        for (int i = 0; i < roomIds.size(); i++) {
+            Object windowUsage = usages.get(i * 2);
+            Object payloadUsage = usages.get(i * 2 + 1);
+            long memoryBytes = toLong(windowUsage) + toLong(payloadUsage);
+            cacheMetrics.recordResidency(roomIds.get(i), windowUsage != null, memoryBytes);
+        }
     }
 
-    // Redis Sorted Set 에서 모든 메시지를 삭제
+    // Redis 에서 채팅방의 캐시를 모두 삭제
     public void evictMessagesFromCache(Long chatRoomId) {
-        String cacheKey = formatCacheKey(chatRoomId);
-        redisTemplate.opsForZSet().removeRange(cacheKey, 0, -1);
+        redisTemplate.delete(keys(chatRoomId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<CachedEntry> fetch(Long chatRoomId, String min, String max, int size, boolean descending) {
+        List<byte[]> result = redisTemplate.execute(FETCH_SCRIPT, keys(chatRoomId),
+                toBytes(min), toBytes(max), toBytes(size), toBytes(descending ? "1" : "0"));
+        if (result == null || result.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // 캐시 적중: 읽기 활동 집계 및 TTL 갱신 (방마다 ttlRefreshInterval 에 한 번)
+        activityTracker.recordRead(chatRoomId);
+        if (activityTracker.tryAcquireTtlRefresh(chatRoomId)) {
+            refreshTtl(chatRoomId);
+        }
+
+        // payload 가 없는 순번(만료 경합)은 건너뛰고, 이어지는 순번 검사에서 구간이 끊긴 것으로 처리
+        List<CachedEntry> entries = new ArrayList<>(result.size() / 2);
+        for (int i = 0; i + 1 < result.size(); i += 2) {
+            byte[] payload = result.get(i + 1);
+            if (payload == null) {
+                continue;
+            }
+            long seq = Long.parseLong(new String(result.get(i), StandardCharsets.US_ASCII));
+            entries.add(new CachedEntry(seq, payload.length == 0 ? null : GoodsChatMessageCodec.decode(chatRoomId, payload)));
+        }
+        return entries;
+    }
+
+    private void refreshTtl(Long chatRoomId) {
+        Duration ttl = activityTracker.ttlFor(chatRoomId);
+        List<String> keys = keys(chatRoomId);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, byte[]> ops = (RedisOperations<String, byte[]>) operations;
+                keys.forEach(key -> ops.expire(key, ttl));
+                return null;
+            }
+        });
+        cacheMetrics.recordTtl(chatRoomId, ttl.toSeconds());
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    // [window, payload] 키 (같은 패키지의 다중 채팅방 조회에서 함께 사용)
+    static List<String> keys(Long chatRoomId) {
+        return List.of(String.format(WINDOW_KEY_FORMAT, chatRoomId), String.format(PAYLOAD_KEY_FORMAT, chatRoomId));
     }
 
-    // TTL 설정 - 1시간
-    private void setTTL(String cacheKey) {
-        redisTemplate.expire(cacheKey, DEFAULT_TTL_SECONDS, TimeUnit.SECONDS);
+    private static byte[] toBytes(Object value) {
+        return String.valueOf(value).getBytes(StandardCharsets.US_ASCII);
     }
 
-    private String formatCacheKey(Long chatRoomId) {
-        return String.format(CACHE_KEY_FORMAT, chatRoomId);
+    /**
+     * expectedSeq 부터 step(-1: 내림차순, 1: 오름차순) 방향으로 순번이 끊기지 않은 구간의 메시지를 into 에 추가합니다.
+     * tombstone 은 연속된 순번으로 보되 결과에는 넣지 않습니다. (캐시에 빠진 메시지가 있으면 DB 에서 조회)
+     * @return 연속된 구간의 항목 수 (tombstone 포함)
+     */
+    private static int takeContiguous(List<CachedEntry> entries, long expectedSeq, int step, List<GoodsChatMessage> into) {
+        int contiguous = 0;
+        for (CachedEntry entry : entries) {
+            if (entry.seq() != expectedSeq) {
+                break;
+            }
+            if (entry.message() != null) {
+                into.add(entry.message());
+            }
+            contiguous++;
+            expectedSeq += step;
+        }
+        return contiguous;
     }
 
-    // LocalDateTime 을 Redis Sorted Set 에서 사용하는 score 값으로 변환
-    private Double convertToScore(LocalDateTime sentAt) {
-        return (double) sentAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    // 캐시 항목 (message 가 null 이면 DB 에 없는 것으로 확인된 순번)
+    private record CachedEntry(long seq, GoodsChatMessage message) {
     }
 }
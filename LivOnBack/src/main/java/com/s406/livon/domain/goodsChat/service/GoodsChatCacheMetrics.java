@@ -0,0 +1,107 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅방별 Redis 캐시 지표
+ * - goods_chat.cache.requests{result=hit|miss} : 페이지 조회 시 캐시 적중 여부
+ * - goods_chat.cache.hit_ratio                  : 누적 적중률
+ * - goods_chat.cache.window_size                : 마지막 쓰기 이후 ZSET 에 남아있는 메시지 수
+ * - goods_chat.cache.ttl_seconds                : 마지막으로 적용한 활동량 기반 TTL
+ * - goods_chat.cache.resident                   : 마지막 샘플링 시점에 캐시가 Redis 에 존재하면 1
+ * - goods_chat.cache.memory_bytes               : 마지막 샘플링 시점의 MEMORY USAGE (ZSET + Hash)
+ * 활동이 없어 추적에서 제외된 방의 지표는 removeRoom 으로 제거합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class GoodsChatCacheMetrics {
+
+    private static final String ROOM_TAG = "roomId";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Long, RoomCacheStats> statsByRoomId = new ConcurrentHashMap<>();
+
+    public void recordHit(Long chatRoomId) {
+        stats(chatRoomId).hits().increment();
+    }
+
+    public void recordMiss(Long chatRoomId) {
+        stats(chatRoomId).misses().increment();
+    }
+
+    public void recordWindowSize(Long chatRoomId, long windowSize) {
+        stats(chatRoomId).windowSize().set(windowSize);
+    }
+
+    public void recordTtl(Long chatRoomId, long ttlSeconds) {
+        stats(chatRoomId).ttlSeconds().set(ttlSeconds);
+    }
+
+    public void recordResidency(Long chatRoomId, boolean resident, long memoryBytes) {
+        RoomCacheStats stats = stats(chatRoomId);
+        stats.resident().set(resident ? 1 : 0);
+        stats.memoryBytes().set(memoryBytes);
+    }
+
+    public void removeRoom(Long chatRoomId) {
+        RoomCacheStats stats = statsByRoomId.remove(chatRoomId);
+        if (stats != null) {
+            stats.meters().forEach(meterRegistry::remove);
+        }
+    }
+
+    private RoomCacheStats stats(Long chatRoomId) {
+        return statsByRoomId.computeIfAbsent(chatRoomId, this::register);
+    }
+
+    private RoomCacheStats register(Long chatRoomId) {
+        Tags tags = Tags.of(ROOM_TAG, String.valueOf(chatRoomId));
+
+        Counter hits = Counter.builder("goods_chat.cache.requests").tags(tags).tag("result", "hit").register(meterRegistry);
+        Counter misses = Counter.builder("goods_chat.cache.requests").tags(tags).tag("result", "miss").register(meterRegistry);
+        AtomicLong windowSize = new AtomicLong();
+        AtomicLong ttlSeconds = new AtomicLong();
+        AtomicLong resident = new AtomicLong();
+        AtomicLong memoryBytes = new AtomicLong();
+
+        Gauge hitRatio = Gauge.builder("goods_chat.cache.hit_ratio", () -> hitRatio(hits, misses))
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge windowSizeGauge = Gauge.builder("goods_chat.cache.window_size", windowSize, AtomicLong::get)
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge ttlGauge = Gauge.builder("goods_chat.cache.ttl_seconds", ttlSeconds, AtomicLong::get)
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge residentGauge = Gauge.builder("goods_chat.cache.resident", resident, AtomicLong::get)
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge memoryGauge = Gauge.builder("goods_chat.cache.memory_bytes", memoryBytes, AtomicLong::get)
+                .tags(tags)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        return new RoomCacheStats(hits, misses, windowSize, ttlSeconds, resident, memoryBytes,
+                List.of(hits, misses, hitRatio, windowSizeGauge, ttlGauge, residentGauge, memoryGauge));
+    }
+
+    private static double hitRatio(Counter hits, Counter misses) {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private record RoomCacheStats(Counter hits, Counter misses, AtomicLong windowSize, AtomicLong ttlSeconds,
+                                  AtomicLong resident, AtomicLong memoryBytes, List<Meter> meters) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 활동 중인 채팅방 캐시의 Redis 상주 여부 / 메모리 사용량을 주기적으로 샘플링합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class GoodsChatCacheResidencySampler {
+
+    private final GoodsChatCacheManager cacheManager;
+    private final GoodsChatRoomActivityTracker activityTracker;
+
+    @Scheduled(fixedDelayString = "${goods-chat.cache.memory-sample-interval-ms:60000}")
+    public void sample() {
+        cacheManager.sampleResidency(activityTracker.activeRoomIds());
+    }
+}
@@ -0,0 +1,40 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅방이 이 노드에서 처음 구독될 때 Redis 캐시를 미리 채웁니다.
+ * 순번 카운터를 초기화하고, 캐시에 남은 메시지가 warmUpSize 보다 적으면 최근 메시지를 적재합니다.
+ * 적재는 GoodsChatMessageLoader 를 통하므로 여러 노드가 동시에 시도해도 DB 조회는 한 번만 발생합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GoodsChatCacheWarmer {
+
+    private final GoodsChatCacheManager cacheManager;
+    private final GoodsChatMessageLoader messageLoader;
+    private final GoodsChatSequenceGenerator sequenceGenerator;
+    private final GoodsChatProperties goodsChatProperties;
+
+    @Async
+    public void warmUp(Long chatRoomId) {
+        try {
+            sequenceGenerator.ensureInitialized(chatRoomId);
+
+            int warmUpSize = goodsChatProperties.getCache().getWarmUpSize();
+            if (cacheManager.windowSize(chatRoomId) >= warmUpSize) {
+                return;
+            }
+            messageLoader.load(chatRoomId, null, warmUpSize);
+            log.debug("채팅방 캐시 워밍업 완료: Room {}", chatRoomId);
+        } catch (Exception e) {
+            // 워밍업 실패는 첫 조회 시 캐시 미스로 처리되므로 구독에는 영향을 주지 않음
+            log.warn("채팅방 캐시 워밍업 실패: Room {}, {}", chatRoomId, e.getMessage());
+        }
+    }
+}
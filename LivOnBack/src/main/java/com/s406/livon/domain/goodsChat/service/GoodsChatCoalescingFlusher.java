@@ -0,0 +1,83 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+/**
+ * 키별로 반영할 값 하나만 메모리에 모아 두었다가 주기적으로 batch 로 반영합니다.
+ * (읽음 위치 / 채팅방 최근 메시지 반영에서 공통으로 사용)
+ * - record() : 같은 키의 값은 merger 로 하나만 유지
+ * - flush()  : batchSize 단위로 writer 에 전달, 반영 중 바뀐 값은 다음 주기에 반영되도록 값이 같을 때만 제거
+ * writer 가 DataAccessException 으로 실패하면 해당 값을 다시 대기열에 넣어 다음 주기에 재시도합니다.
+ *
+ * @param <K> 반영 단위 키
+ * @param <V> 반영할 값
+ */
+@Slf4j
+public class GoodsChatCoalescingFlusher<K, V> {
+
+    private final String name;
+    private final int batchSize;
+    private final BinaryOperator<V> merger;
+    private final Consumer<List<Map.Entry<K, V>>> writer;
+    private final Map<K, V> pendingByKey = new ConcurrentHashMap<>();
+
+    /**
+     * @param name 실패 로그에 표시할 반영 대상 이름
+     * @param batchSize 한 번에 writer 로 전달할 최대 건수
+     * @param merger (대기 중인 값, 새 값) -> 유지할 값
+     * @param writer batch 반영 (실패 시 DataAccessException)
+     */
+    public GoodsChatCoalescingFlusher(String name, int batchSize, BinaryOperator<V> merger,
+                                      Consumer<List<Map.Entry<K, V>>> writer) {
+        this.name = name;
+        this.batchSize = batchSize;
+        this.merger = merger;
+        this.writer = writer;
+    }
+
+    public void record(K key, V value) {
+        pendingByKey.merge(key, value, merger);
+    }
+
+    public int pendingCount() {
+        return pendingByKey.size();
+    }
+
+    public void flush() {
+        if (pendingByKey.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<K, V>> batch = new ArrayList<>(batchSize);
+        for (Map.Entry<K, V> entry : pendingByKey.entrySet()) {
+            if (pendingByKey.remove(entry.getKey(), entry.getValue())) {
+                batch.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+            if (batch.size() >= batchSize) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(List<Map.Entry<K, V>> batch) {
+        try {
+            writer.accept(batch);
+        } catch (DataAccessException e) {
+            // 실패한 값은 다시 대기열에 넣어 다음 주기에 재시도 (그 사이 새 값이 있으면 merger 로 선택)
+            log.error("{} 반영 실패 ({}건): {}", name, batch.size(), e.getMessage(), e);
+            batch.forEach(entry -> pendingByKey.merge(entry.getKey(), entry.getValue(), merger));
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import com.s406.livon.domain.goodsChat.codec.GoodsChatMessageCodec;
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * 채팅 목록(inbox)용 다중 채팅방 조회
+ * 1. Redis 파이프라인 한 번으로 모든 방의 최근 메시지(캐시 window 의 마지막 항목), 순번 카운터, 사용자의 읽음 위치를 조회
+ *    최근 메시지 스크립트는 EVALSHA 로 실행하고, 스크립트 캐시가 비어 있으면(NOSCRIPT) 한 번만 EVAL 로 다시 조회
+ * 2. 캐시의 마지막 항목이 순번 카운터와 같은 방만 캐시를 사용하고(마지막 발급 순번까지 캐시에 반영된 방),
+ *    캐시가 없거나 카운터보다 뒤처진 방은 모아 MongoDB aggregation 한 번으로 최근 메시지 조회
+ * 안 읽은 메시지 수 = 최신 순번 - 읽음 위치 (Redis 유실 대비 goods_chat_part.last_read_seq 는 호출 측에서 함께 사용)
+ */
+@Component
+public class GoodsChatInboxReader {
+
+    // KEYS[1]=window, KEYS[2]=payload -> {seq, payload} (캐시가 없으면 빈 배열)
+    private static final DefaultRedisScript<List> LATEST_SCRIPT = new DefaultRedisScript<>("""
+            local seqs = redis.call('ZREVRANGE', KEYS[1], 0, 0)
+            if #seqs == 0 then
+              return {}
+            end
+            return {seqs[1], redis.call('HGET', KEYS[2], seqs[1])}
+            """, List.class);
+    private static final byte[] LATEST_SCRIPT_BODY = LATEST_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+    private static final String NO_SCRIPT_ERROR = "NOSCRIPT";
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final GoodsChatMessageRepository messageRepository;
+
+    public GoodsChatInboxReader(
+            @Qualifier("goodsChatPayloadRedisTemplate") RedisTemplate<String, byte[]> redisTemplate,
+            GoodsChatMessageRepository messageRepository) {
+        this.redisTemplate = redisTemplate;
+        this.messageRepository = messageRepository;
+    }
+
+    /**
+     * @param userId 읽음 위치를 조회할 사용자
+     * @param chatRoomIds 조회할 채팅방 ID List
+     * @return 채팅방 ID 별 최근 메시지 / 최신 순번 / 읽음 위치 (메시지가 한 번도 없던 방은 lastMessage 가 null)
+     */
+    public Map<Long, InboxEntry> read(UUID userId, List<Long> chatRoomIds) {
+        if (chatRoomIds.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        List<Object> results;
+        try {
+            results = readPipelined(userId, chatRoomIds, true);
+        } catch (RuntimeException e) {
+            if (!isNoScript(e)) {
+                throw e;
+            }
+            // Redis 재시작 / SCRIPT FLUSH 직후: EVAL 로 실행하면 스크립트 캐시에 다시 등록되어 이후 EVALSHA 가 성공
+            results = readPipelined(userId, chatRoomIds, false);
+        }
+
+        int roomCount = chatRoomIds.size();
+        List<?> lastReadSeqs = (List<?>) results.get(roomCount * 2);
+        Map<Long, InboxEntry> entries = new HashMap<>(roomCount * 2);
+        List<Long> uncachedRoomIds = new ArrayList<>();
+
+        for (int i = 0; i < roomCount; i++) {
+            Long chatRoomId = chatRoomIds.get(i);
+            long counterSeq = parseLong(results.get(roomCount + i));
+            GoodsChatMessage lastMessage = decodeLatest(chatRoomId, results.get(i));
+            // 캐시 저장이 실패했거나 아직 반영 중이면 캐시의 마지막 항목이 실제 최근 메시지보다 오래되었을 수 있음
+            // (카운터가 없는 방은 비교할 순번이 없으므로 캐시 사용)
+            if (lastMessage != null && counterSeq > 0 && !Objects.equals(lastMessage.getSeq(), counterSeq)) {
+                lastMessage = null;
+            }
+            if (lastMessage == null) {
+                uncachedRoomIds.add(chatRoomId);
+            }
+            long lastReadSeq = parseLong(lastReadSeqs == null ? null : lastReadSeqs.get(i));
+            entries.put(chatRoomId, new InboxEntry(lastMessage, counterSeq, lastReadSeq));
+        }
+
+        // 캐시가 만료되었거나 카운터보다 뒤처진 방만 MongoDB 에서 조회
+        if (!uncachedRoomIds.isEmpty()) {
+            for (GoodsChatMessage message : messageRepository.findLatestMessages(uncachedRoomIds)) {
+                entries.computeIfPresent(message.getChatRoomId(),
+                        (id, entry) -> new InboxEntry(message, entry.counterSeq(), entry.lastReadSeq()));
+            }
+        }
+        return entries;
+    }
+
+    private List<Object> readPipelined(UUID userId, List<Long> chatRoomIds, boolean useSha) {
+        return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long chatRoomId : chatRoomIds) {
+                List<String> keys = GoodsChatCacheManager.keys(chatRoomId);
+                if (useSha) {
+                    connection.scriptingCommands().evalSha(LATEST_SCRIPT.getSha1(), ReturnType.MULTI, 2,
+                            utf8(keys.get(0)), utf8(keys.get(1)));
+                } else {
+                    connection.scriptingCommands().eval(LATEST_SCRIPT_BODY, ReturnType.MULTI, 2,
+                            utf8(keys.get(0)), utf8(keys.get(1)));
+                }
+            }
+            for (Long chatRoomId : chatRoomIds) {
+                connection.stringCommands().get(utf8(GoodsChatSequenceGenerator.formatSequenceKey(chatRoomId)));
+            }
+            byte[][] fields = chatRoomIds.stream().map(id -> utf8(String.valueOf(id))).toArray(byte[][]::new);
+            connection.hashCommands().hMGet(utf8(GoodsChatReadCursorStore.readCursorKey(userId)), fields);
+            return null;
+        });
+    }
+
+    // 파이프라인 결과나 원인 예외 중 하나라도 NOSCRIPT 이면 true
+    private static boolean isNoScript(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains(NO_SCRIPT_ERROR)) {
+                return true;
+            }
+            if (cause instanceof RedisPipelineException pipelineException) {
+                for (Object result : pipelineException.getPipelineResult()) {
+                    if (result instanceof Throwable failed && isNoScript(failed)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static GoodsChatMessage decodeLatest(Long chatRoomId, Object result) {
+        // 캐시가 없거나 payload 가 없는(만료 경합, tombstone) 방은 MongoDB 에서 조회
+        if (!(result instanceof List<?> latest) || latest.size() < 2 || !(latest.get(1) instanceof byte[] payload)
+                || payload.length == 0) {
+            return null;
+        }
+        return GoodsChatMessageCodec.decode(chatRoomId, payload);
+    }
+
+    private static long parseLong(Object value) {
+        if (value instanceof byte[] bytes) {
+            return Long.parseLong(new String(bytes, StandardCharsets.US_ASCII));
+        }
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return 0L;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public record InboxEntry(GoodsChatMessage lastMessage, long counterSeq, long lastReadSeq) {
+
+        // 순번 카운터가 초기화되지 않은 방은 최근 메시지의 순번 사용
+        public long latestSeq() {
+            Long messageSeq = lastMessage == null ? null : lastMessage.getSeq();
+            return Math.max(counterSeq, messageSeq == null ? 0L : messageSeq);
+        }
+
+        public long unreadCount() {
+            return Math.max(0L, latestSeq() - lastReadSeq);
+        }
+
+        public InboxEntry withPersistedReadSeq(Long persistedReadSeq) {
+            if (persistedReadSeq == null || persistedReadSeq <= lastReadSeq) {
+                return this;
+            }
+            return new InboxEntry(lastMessage, counterSeq, persistedReadSeq);
+        }
+    }
+}
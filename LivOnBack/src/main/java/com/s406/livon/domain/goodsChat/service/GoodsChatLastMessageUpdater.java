@@ -0,0 +1,82 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 채팅방 최근 메시지(last_chat_content / last_chat_sent_at) 반영을 모아서 처리합니다.
+ * - record() : 메모리에 채팅방별 가장 최근 메시지만 유지 (메시지마다 MySQL 쓰기 없음)
+ * - flush()  : flushIntervalMs 마다 변경된 채팅방만 batchSize 단위의 JDBC batch UPDATE 로 반영
+ * 모으기 / 재시도는 GoodsChatCoalescingFlusher 사용 (실패한 방은 다음 주기에 재시도)
+ * 여러 노드가 같은 방을 반영할 수 있으므로 UPDATE 는 더 최근 메시지일 때만 적용합니다.
+ * 반영 전에 노드가 비정상 종료되면 해당 방의 미리보기는 다음 메시지에서 갱신됩니다.
+ */
+@Component
+public class GoodsChatLastMessageUpdater {
+
+    private static final String UPDATE_SQL = """
+            UPDATE goods_chat_room
+            SET last_chat_content = ?, last_chat_sent_at = ?
+            WHERE consultation_id = ? AND (last_chat_sent_at IS NULL OR last_chat_sent_at < ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GoodsChatCoalescingFlusher<Long, LastMessage> flusher;
+
+    public GoodsChatLastMessageUpdater(JdbcTemplate jdbcTemplate, GoodsChatProperties goodsChatProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flusher = new GoodsChatCoalescingFlusher<>("채팅방 최근 메시지",
+                goodsChatProperties.getLastMessage().getBatchSize(),
+                (current, next) -> next.isNewerThan(current) ? next : current, this::update);
+    }
+
+    // 채팅방의 최근 메시지 후보 기록 (이미 더 최근 메시지가 있으면 무시)
+    public void record(GoodsChatMessage message) {
+        flusher.record(message.getChatRoomId(), new LastMessage(message.getContent(), message.getSentAt(), message.getSeq()));
+    }
+
+    public int pendingCount() {
+        return flusher.pendingCount();
+    }
+
+    @Scheduled(fixedDelayString = "${goods-chat.last-message.flush-interval-ms:5000}")
+    public void flush() {
+        flusher.flush();
+    }
+
+    // 종료 시 남은 미리보기를 반영
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void update(List<Map.Entry<Long, LastMessage>> batch) {
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (Map.Entry<Long, LastMessage> entry : batch) {
+            Timestamp sentAt = Timestamp.valueOf(entry.getValue().sentAt());
+            args.add(new Object[]{entry.getValue().content(), sentAt, entry.getKey(), sentAt});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SQL, args);
+    }
+
+    private record LastMessage(String content, LocalDateTime sentAt, Long seq) {
+
+        // 같은 방 안에서는 순번이 있으면 순번, 없으면 전송 시각으로 비교
+        boolean isNewerThan(LastMessage other) {
+            if (seq != null && other.seq != null) {
+                return seq > other.seq;
+            }
+            return sentAt.isAfter(other.sentAt);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatPartRepository;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import com.s406.livon.global.config.properties.GoodsChatProperties.BrokerMode;
+import com.s406.livon.global.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅방 참여 여부 캐시 - (roomId, userId) 단위
+ * SUBSCRIBE / SEND / 채팅 내역 조회마다 발생하던 goods_chat_part 존재 여부 쿼리를 줄입니다.
+ * - 참여자(positive)와 비참여자(negative)를 별도 TTL 로 캐싱
+ * - 무효화마다 버전을 올리고, DB 조회 중 버전이 바뀐 적재 결과는 캐시에서 제거
+ *   (커밋 전에 DB 를 읽은 적재가 무효화 이후에 이전 상태를 다시 캐싱하지 않음)
+ * - 삭제 요청으로 비활성화된 채팅방(is_active = false)은 비참여자로 판단
+ * - GoodsChatPart 생성/변경/삭제 시 GoodsChatPartEntityListener 가, 채팅방 삭제 요청 시 GoodsChatRoomDeletionService 가 커밋 이후 무효화
+ * - REDIS 브로커 모드에서는 무효화를 Redis 채널(broker.membership-channel)로 발행하여 모든 노드의 캐시를 함께 무효화
+ */
+@Slf4j
+@Component
+public class GoodsChatMembershipCache implements MessageListener {
+
+    private static final char KEY_SEPARATOR = ':';
+
+    private final GoodsChatPartRepository partRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final GoodsChatProperties.Broker brokerProperties;
+    private final Cache<MembershipKey, Boolean> memberships;
+    private final AtomicLong evictionVersion = new AtomicLong();
+
+    public GoodsChatMembershipCache(GoodsChatPartRepository partRepository, StringRedisTemplate stringRedisTemplate,
+                                    GoodsChatProperties goodsChatProperties) {
+        GoodsChatProperties.Membership membership = goodsChatProperties.getMembership();
+        this.partRepository = partRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.brokerProperties = goodsChatProperties.getBroker();
+        this.memberships = Caffeine.newBuilder()
+                .maximumSize(membership.getMaxSize())
+                .expireAfter(Expiry.writing((MembershipKey key, Boolean member) ->
+                        member ? membership.getPositiveTtl() : membership.getNegativeTtl()))
+                .build();
+    }
+
+    public boolean isMember(Long chatRoomId, UUID userId) {
+        MembershipKey key = new MembershipKey(chatRoomId, userId);
+        Boolean cached = memberships.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = evictionVersion.get();
+        boolean member = partRepository.existsInActiveRoom(userId, chatRoomId);
+        memberships.put(key, member);
+        // 조회 중 무효화가 있었으면 조회 결과가 무효화 이전 상태일 수 있으므로 제거 (다음 조회에서 다시 확인)
+        if (evictionVersion.get() != version) {
+            memberships.asMap().remove(key, member);
+        }
+        return member;
+    }
+
+    // 버전을 먼저 올려야 진행 중인 적재가 무효화 이후에 넣은 결과를 스스로 제거
+    public void evict(Long chatRoomId, UUID userId) {
+        evictionVersion.incrementAndGet();
+        memberships.invalidate(new MembershipKey(chatRoomId, userId));
+    }
+
+    // 현재 노드와 (REDIS 브로커 모드이면) 다른 모든 노드의 캐시 무효화
+    public void evictEverywhere(Long chatRoomId, UUID userId) {
+        evict(chatRoomId, userId);
+        if (brokerProperties.getMode() != BrokerMode.REDIS) {
+            return;
+        }
+        try {
+            stringRedisTemplate.convertAndSend(brokerProperties.getMembershipChannel(),
+                    chatRoomId + String.valueOf(KEY_SEPARATOR) + userId);
+        } catch (Exception e) {
+            // 발행에 실패해도 다른 노드의 캐시는 positiveTtl 이후 만료
+            log.error("채팅방 참여 여부 캐시 무효화 발행 실패: roomId={}, userId={}, {}", chatRoomId, userId, e.getMessage());
+        }
+    }
+
+    // 커밋 전에 무효화하면 다른 스레드가 이전 상태를 다시 캐싱할 수 있으므로 커밋 이후 무효화
+    public void evictAfterCommit(Long chatRoomId, UUID userId) {
+        TransactionUtils.runAfterCommit(() -> evictEverywhere(chatRoomId, userId));
+    }
+
+    // 다른 노드(발행한 노드 포함)에서 발행한 무효화 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(KEY_SEPARATOR);
+        try {
+            evict(Long.parseLong(body.substring(0, separator)), UUID.fromString(body.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            log.error("채팅방 참여 여부 캐시 무효화 메시지 파싱 실패: {}", body);
+        }
+    }
+
+    private record MembershipKey(Long chatRoomId, UUID userId) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageRepository;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 캐시 미스 시 MongoDB 조회 + 캐시 저장을 (roomId, lastSeq, size) 단위로 한 번만 수행합니다.
+ * 1. 같은 노드 : 먼저 들어온 요청만 조회하고, 나머지는 그 결과(CompletableFuture)를 기다림
+ * 2. 다른 노드 : Redis lease(SET NX PX)를 가진 노드만 조회하고, 나머지는 캐시가 채워지길 기다림
+ *    (lease 가 만료되거나 대기 시간이 지나면 직접 조회)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GoodsChatMessageLoader {
+
+    private static final String LEASE_KEY_FORMAT = "goods_chat_load::%d::%s::%d";
+    private static final Long FIRST_SEQ = 1L;
+
+    // 자신이 잡은 lease 만 해제
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private final GoodsChatMessageRepository messageRepository;
+    private final GoodsChatCacheManager goodsChatCacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final GoodsChatProperties goodsChatProperties;
+
+    private final Map<LoadKey, CompletableFuture<List<GoodsChatMessage>>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * lastSeq 보다 작은 순번의 메시지를 DB 에서 size 만큼 조회하고 캐시에 저장합니다.
+     * @return 최신순으로 정렬된 메시지 List
+     */
+    public List<GoodsChatMessage> load(Long chatRoomId, Long lastSeq, int size) {
+        LoadKey key = new LoadKey(chatRoomId, lastSeq, size);
+        CompletableFuture<List<GoodsChatMessage>> loading = new CompletableFuture<>();
+        CompletableFuture<List<GoodsChatMessage>> existing = inFlight.putIfAbsent(key, loading);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            List<GoodsChatMessage> messages = loadWithLease(chatRoomId, lastSeq, size);
+            loading.complete(messages);
+            return messages;
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, loading);
+        }
+    }
+
+    private List<GoodsChatMessage> loadWithLease(Long chatRoomId, Long lastSeq, int size) {
+        GoodsChatProperties.Cache cacheProperties = goodsChatProperties.getCache();
+        String leaseKey = String.format(LEASE_KEY_FORMAT, chatRoomId, lastSeq == null ? "latest" : lastSeq, size);
+        String token = UUID.randomUUID().toString();
+
+        if (Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(leaseKey, token, cacheProperties.getLoadLeaseTtl()))) {
+            try {
+                return loadFromDb(chatRoomId, lastSeq, size);
+            } finally {
+                stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey), token);
+            }
+        }
+
+        // 다른 노드가 조회 중: 캐시가 채워지거나 lease 가 풀릴 때까지 대기
+        long deadline = System.nanoTime() + cacheProperties.getLoadWaitTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(cacheProperties.getLoadPollInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            // 다른 노드가 채운 캐시가 요청한 구간 전체(size 개 또는 채팅방의 첫 메시지까지)를 담고 있을 때만 사용
+            List<GoodsChatMessage> cached = goodsChatCacheManager.fetchMessagesFromCache(chatRoomId, lastSeq, size);
+            if (coversRequest(cached, size)) {
+                return cached;
+            }
+            if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(leaseKey))) {
+                break;
+            }
+        }
+        log.debug("채팅 캐시 적재 대기 종료, 직접 조회: roomId={}, lastSeq={}", chatRoomId, lastSeq);
+        return loadFromDb(chatRoomId, lastSeq, size);
+    }
+
+    // 캐시 조회 결과는 순번이 연속된 구간이므로, 개수가 모자라면 첫 순번(1)까지 내려간 경우만 완전한 결과
+    private static boolean coversRequest(List<GoodsChatMessage> cached, int size) {
+        if (cached.isEmpty()) {
+            return false;
+        }
+        return cached.size() >= size || Objects.equals(cached.get(cached.size() - 1).getSeq(), FIRST_SEQ);
+    }
+
+    private List<GoodsChatMessage> loadFromDb(Long chatRoomId, Long lastSeq, int size) {
+        List<GoodsChatMessage> messages = messageRepository.getChatMessages(chatRoomId, lastSeq, size);
+        goodsChatCacheManager.storeMessagesInCache(chatRoomId, messages);
+        // 조회한 구간 안에서 DB 에 없는 순번(저장 실패)은 tombstone 으로 남겨 다음 캐시 조회가 끊기지 않도록 함
+        if (!messages.isEmpty()) {
+            long upperSeq = lastSeq == null ? messages.get(0).getSeq() : lastSeq - 1;
+            goodsChatCacheManager.storeTombstones(chatRoomId, messages.get(messages.size() - 1).getSeq() + 1, upperSeq, messages);
+        }
+        return messages;
+    }
+
+    private List<GoodsChatMessage> await(CompletableFuture<List<GoodsChatMessage>> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record LoadKey(Long chatRoomId, Long lastSeq, int size) {
+    }
+}
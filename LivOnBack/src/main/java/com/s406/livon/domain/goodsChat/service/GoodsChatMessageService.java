@@ -1,13 +1,15 @@
 package com.s406.livon.domain.goodsChat.service;
 
 
+import com.s406.livon.domain.goodsChat.broker.GoodsChatBroadcaster;
 import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
 import com.s406.livon.domain.goodsChat.dto.request.GoodsChatMessageRequest;
 import com.s406.livon.domain.goodsChat.dto.response.GoodsChatMessageResponse;
 import com.s406.livon.domain.goodsChat.entity.*;
 import com.s406.livon.domain.goodsChat.event.GoodsChatEvent;
+import com.s406.livon.domain.goodsChat.moderation.GoodsChatModerator;
+import com.s406.livon.domain.goodsChat.push.GoodsChatPushDispatcher;
 import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageRepository;
-import com.s406.livon.domain.goodsChat.repository.GoodsChatPartRepository;
 import com.s406.livon.domain.goodsChat.repository.GoodsChatRoomRepository;
 import com.s406.livon.domain.user.entity.User;
 import com.s406.livon.domain.user.enums.Role;
@@ -17,7 +19,7 @@ import com.s406.livon.global.error.handler.ChatHandler;
 import com.s406.livon.global.error.handler.UserHandler;
 import com.s406.livon.global.web.response.code.status.ErrorStatus;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.bson.types.ObjectId;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -34,10 +36,15 @@ public class GoodsChatMessageService {
     private final UserRepository userRepository;
     private final GoodsChatRoomRepository chatRoomRepository;
     private final GoodsChatMessageRepository messageRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final GoodsChatBroadcaster goodsChatBroadcaster;
     private final TransactionTemplate mongoTransactionTemplate;
     private final GoodsChatCacheManager goodsChatCacheManager;
-    private final GoodsChatPartRepository goodsChatPartRepository;
+    private final GoodsChatMembershipCache membershipCache;
+    private final GoodsChatWriteBehindBuffer writeBehindBuffer;
+    private final GoodsChatSequenceGenerator sequenceGenerator;
+    private final GoodsChatLastMessageUpdater lastMessageUpdater;
+    private final GoodsChatModerator moderator;
+    private final GoodsChatPushDispatcher pushDispatcher;
     private static final String MEMBER_ENTER_MESSAGE = "님이 채팅방에 입장하셨습니다.";
     private static final String MEMBER_LEAVE_MESSAGE = "님이 채팅방을 떠나셨습니다.";
 
@@ -45,19 +52,31 @@ public class GoodsChatMessageService {
     public void sendMessage(GoodsChatMessageRequest message,User sender) {
         GoodsChatRoom chatRoom = findByChatRoomById(message.getRoomId());
 
-        // 채팅방에 참여자가 아닐경우
-        if(!goodsChatPartRepository.existsByUserIdAndGoodsChatRoomId(sender.getId(), chatRoom.getId())){
+        // 채팅방에 참여자가 아니거나 삭제 요청으로 비활성화된 채팅방일 경우
+        if(!chatRoom.isRoomActive() || !membershipCache.isMember(chatRoom.getId(), sender.getId())){
             throw new ChatHandler(ErrorStatus.USER_NOT_SEND_VALID);
         };
 
-        saveAndSendMessage(chatRoom, sender, message.getMessage(), message.getType());
+        // 금칙어 / 전화번호 / 이메일 치환 후 저장 및 전송
+        saveAndSendMessage(chatRoom, sender, moderator.moderate(message.getMessage()), message.getType());
     }
 
     private void saveAndSendMessage(GoodsChatRoom chatRoom, User user, String message, MessageType type) {
-        // 채팅 도큐먼트 생성
+        // 채팅 도큐먼트 생성 (채팅방 내 순번 발급)
         GoodsChatMessage chatMessage = createChatMessage(chatRoom.getId(), user.getId(), message, user.getRoles().get(0) ,type);
-        // 최근메세지 불필요
-//        chatRoom.updateLastChat(message, chatMessage.getSentAt());
+
+        // write-behind 모드: ID 를 서버에서 발급하고 WAL 기록 후 바로 캐시 저장 및 전송
+        if (writeBehindBuffer.isEnabled()) {
+            GoodsChatMessage bufferedMessage = chatMessage.toBuilder()
+                    .id(new ObjectId().toHexString())
+                    .build();
+            writeBehindBuffer.append(bufferedMessage);
+            goodsChatCacheManager.storeMessageInCache(bufferedMessage.getChatRoomId(), bufferedMessage);
+            sendToSubscribers(bufferedMessage.getChatRoomId(), GoodsChatMessageResponse.of(bufferedMessage, user));
+            lastMessageUpdater.record(bufferedMessage);
+            pushDispatcher.enqueue(bufferedMessage, user);
+            return;
+        }
 
         // MongoDB 트랜잭션
         try {
@@ -78,6 +97,12 @@ public class GoodsChatMessageService {
             // JPA 트랜잭션으로 예외 전파
             throw e;
         }
+
+        // 채팅방 최근 메시지는 메시지마다 쓰지 않고 모아서 반영
+        lastMessageUpdater.record(chatMessage);
+
+        // 접속 중이지 않은 참여자 푸시 알림 (대기열에 넣기만 하고 전송은 백그라운드에서)
+        pushDispatcher.enqueue(chatMessage, user);
     }
 
 
@@ -103,6 +128,7 @@ public class GoodsChatMessageService {
 
         return GoodsChatMessage.builder()
                 .chatRoomId(chatRoomId)
+                .seq(sequenceGenerator.next(chatRoomId))
                 .userId(userId)
                 .sentAt(LocalDateTime.now())
                 .content(message)
@@ -123,6 +149,6 @@ public class GoodsChatMessageService {
 
 
     private void sendToSubscribers(Long roomId, GoodsChatMessageResponse message) {
-        messagingTemplate.convertAndSend("/sub/chat/goods/" + roomId, message);
+        goodsChatBroadcaster.sendToRoom(roomId, message);
     }
 }
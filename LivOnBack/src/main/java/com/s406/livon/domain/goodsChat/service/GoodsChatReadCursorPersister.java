@@ -0,0 +1,78 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Redis 읽음 위치를 goods_chat_part.last_read_seq 에 모아서 반영합니다.
+ * - record() : (사용자, 채팅방)별 가장 큰 읽음 위치만 메모리에 유지
+ * - flush()  : flushIntervalMs 마다 batchSize 단위의 JDBC batch UPDATE 로 반영 (더 큰 값일 때만 갱신)
+ *   모으기 / 재시도는 GoodsChatCoalescingFlusher 사용
+ * Redis 데이터가 유실되어도 채팅 목록은 MySQL 에 저장된 읽음 위치를 함께 사용합니다.
+ */
+@Component
+public class GoodsChatReadCursorPersister {
+
+    private static final String UPDATE_SQL = """
+            UPDATE goods_chat_part
+            SET last_read_seq = ?
+            WHERE user_id = ? AND chat_room_id = ? AND last_read_seq < ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GoodsChatCoalescingFlusher<CursorKey, Long> flusher;
+
+    public GoodsChatReadCursorPersister(JdbcTemplate jdbcTemplate, GoodsChatProperties goodsChatProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flusher = new GoodsChatCoalescingFlusher<>("채팅 읽음 위치",
+                goodsChatProperties.getReadCursor().getBatchSize(), Math::max, this::update);
+    }
+
+    public void record(UUID userId, Long chatRoomId, long lastReadSeq) {
+        flusher.record(new CursorKey(userId, chatRoomId), lastReadSeq);
+    }
+
+    public int pendingCount() {
+        return flusher.pendingCount();
+    }
+
+    @Scheduled(fixedDelayString = "${goods-chat.read-cursor.flush-interval-ms:5000}")
+    public void flush() {
+        flusher.flush();
+    }
+
+    // 종료 시 남은 읽음 위치를 반영
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void update(List<Map.Entry<CursorKey, Long>> batch) {
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (Map.Entry<CursorKey, Long> entry : batch) {
+            CursorKey key = entry.getKey();
+            args.add(new Object[]{entry.getValue(), toBytes(key.userId()), key.chatRoomId(), entry.getValue()});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SQL, args);
+    }
+
+    // users.user_id 는 BINARY(16) (Hibernate UUID 매핑과 동일한 바이트 순서)
+    private static byte[] toBytes(UUID userId) {
+        return ByteBuffer.allocate(16)
+                .putLong(userId.getMostSignificantBits())
+                .putLong(userId.getLeastSignificantBits())
+                .array();
+    }
+
+    private record CursorKey(UUID userId, Long chatRoomId) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 사용자별 채팅방 읽음 위치(마지막으로 읽은 메시지 순번)
+ * - goods_chat_read::{userId} : Hash (field = roomId, value = lastReadSeq)
+ * 읽음 위치는 앞으로만 이동합니다. (여러 기기 / 노드에서 동시에 갱신해도 되돌아가지 않음)
+ */
+@Component
+@RequiredArgsConstructor
+public class GoodsChatReadCursorStore {
+
+    private static final String READ_CURSOR_KEY_FORMAT = "goods_chat_read::%s";
+
+    // KEYS[1]=read cursor / ARGV[1]=roomId, ARGV[2]=seq -> 읽음 위치가 앞으로 이동했으면 1
+    private static final RedisScript<Long> ADVANCE_SCRIPT = new DefaultRedisScript<>("""
+            local current = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0')
+            if tonumber(ARGV[2]) > current then
+              redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+              return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public boolean markRead(UUID userId, Long chatRoomId, long seq) {
+        Long advanced = stringRedisTemplate.execute(ADVANCE_SCRIPT, List.of(readCursorKey(userId)),
+                String.valueOf(chatRoomId), String.valueOf(seq));
+        return advanced != null && advanced == 1L;
+    }
+
+    public long getLastReadSeq(UUID userId, Long chatRoomId) {
+        Object seq = stringRedisTemplate.opsForHash().get(readCursorKey(userId), String.valueOf(chatRoomId));
+        return seq == null ? 0L : Long.parseLong(seq.toString());
+    }
+
+    // 채팅방 삭제 시 참여자들의 읽음 위치 삭제
+    public void removeRoom(Collection<UUID> userIds, Long chatRoomId) {
+        String field = String.valueOf(chatRoomId);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byte[] fieldBytes = field.getBytes(StandardCharsets.UTF_8);
+            for (UUID userId : userIds) {
+                connection.hashCommands().hDel(readCursorKey(userId).getBytes(StandardCharsets.UTF_8), fieldBytes);
+            }
+            return null;
+        });
+    }
+
+    static String readCursorKey(UUID userId) {
+        return String.format(READ_CURSOR_KEY_FORMAT, userId);
+    }
+}
@@ -0,0 +1,46 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import com.s406.livon.domain.goodsChat.broker.GoodsChatBroadcaster;
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatReadResponse;
+import com.s406.livon.global.error.handler.ChatHandler;
+import com.s406.livon.global.web.response.code.status.ErrorStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * 읽음 처리
+ * 1. 요청한 순번을 채팅방 최신 순번 이하로 제한
+ * 2. Redis 읽음 위치를 앞으로만 이동 (goods_chat_read::{userId})
+ * 3. 이동한 경우에만 MySQL 반영 대기열에 추가하고 /sub/chat/goods/{roomId}/read 로 읽음 확인 전송
+ * 안 읽은 메시지 수는 "채팅방 최신 순번 - 읽음 위치" 로 계산하므로 메시지 수를 세지 않습니다.
+ * 메시지 조회(GET)는 읽기 전용이므로 읽음 위치를 바꾸지 않고, 클라이언트가 보낸 읽음 프레임으로만 이동합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class GoodsChatReadService {
+
+    private final GoodsChatMembershipCache membershipCache;
+    private final GoodsChatSequenceGenerator sequenceGenerator;
+    private final GoodsChatReadCursorStore readCursorStore;
+    private final GoodsChatReadCursorPersister readCursorPersister;
+    private final GoodsChatBroadcaster goodsChatBroadcaster;
+
+    // STOMP 읽음 프레임 (/pub/chat/goods/read)
+    public void markRead(UUID userId, Long chatRoomId, long seq) {
+        if (!membershipCache.isMember(chatRoomId, userId)) {
+            throw new ChatHandler(ErrorStatus.USER_NOT_SELECT_VALID);
+        }
+        advance(userId, chatRoomId, Math.min(seq, sequenceGenerator.current(chatRoomId)));
+    }
+
+    private void advance(UUID userId, Long chatRoomId, long seq) {
+        if (seq <= 0 || !readCursorStore.markRead(userId, chatRoomId, seq)) {
+            return;
+        }
+        readCursorPersister.record(userId, chatRoomId, seq);
+        goodsChatBroadcaster.send(GoodsChatBroadcaster.readDestination(chatRoomId),
+                GoodsChatReadResponse.of(chatRoomId, userId, seq));
+    }
+}
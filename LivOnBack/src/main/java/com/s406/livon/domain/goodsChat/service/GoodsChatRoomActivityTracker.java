@@ -0,0 +1,110 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * 채팅방별 최근 활동량(읽기 + 쓰기) 추적 및 캐시 TTL 계산
+ * - 활동량은 반감기(activityHalfLife)로 감쇠하는 지수 가중 이동 평균 (분당 이벤트 수)
+ * - TTL = minTtl + (maxTtl - minTtl) * rate / (rate + activitySaturation)
+ * - activityIdleTimeout 동안 활동이 없는 방은 추적과 지표에서 제거
+ */
+@Component
+public class GoodsChatRoomActivityTracker {
+
+    private final GoodsChatProperties.Cache cacheProperties;
+    private final Cache<Long, RoomActivity> activities;
+    private final double decayPerNano;
+
+    public GoodsChatRoomActivityTracker(GoodsChatProperties goodsChatProperties, GoodsChatCacheMetrics cacheMetrics) {
+        this.cacheProperties = goodsChatProperties.getCache();
+        this.decayPerNano = Math.log(2) / cacheProperties.getActivityHalfLife().toNanos();
+        this.activities = Caffeine.newBuilder()
+                .expireAfterAccess(cacheProperties.getActivityIdleTimeout())
+                .scheduler(Scheduler.systemScheduler())
+                .removalListener((Long roomId, RoomActivity activity, RemovalCause cause) -> {
+                    if (roomId != null && cause.wasEvicted()) {
+                        cacheMetrics.removeRoom(roomId);
+                    }
+                })
+                .build();
+    }
+
+    public void recordRead(Long chatRoomId) {
+        activity(chatRoomId).record(System.nanoTime());
+    }
+
+    public void recordWrite(Long chatRoomId) {
+        activity(chatRoomId).record(System.nanoTime());
+    }
+
+    // 현재 활동량에 맞는 캐시 TTL
+    public Duration ttlFor(Long chatRoomId) {
+        RoomActivity activity = activities.getIfPresent(chatRoomId);
+        double rate = activity == null ? 0 : activity.ratePerMinute(System.nanoTime());
+
+        long minSeconds = cacheProperties.getMinTtl().toSeconds();
+        long maxSeconds = cacheProperties.getMaxTtl().toSeconds();
+        double weight = rate / (rate + cacheProperties.getActivitySaturation());
+        return Duration.ofSeconds(Math.max(1, minSeconds + Math.round((maxSeconds - minSeconds) * weight)));
+    }
+
+    // 캐시 적중 시 TTL 갱신 여부 (방마다 ttlRefreshInterval 에 한 번)
+    public boolean tryAcquireTtlRefresh(Long chatRoomId) {
+        return activity(chatRoomId).tryAcquireRefresh(System.nanoTime(), cacheProperties.getTtlRefreshInterval().toNanos());
+    }
+
+    public Set<Long> activeRoomIds() {
+        return Set.copyOf(activities.asMap().keySet());
+    }
+
+    private RoomActivity activity(Long chatRoomId) {
+        return activities.get(chatRoomId, id -> new RoomActivity(decayPerNano));
+    }
+
+    private static final class RoomActivity {
+
+        private final double decayPerNano;
+        private double score;
+        private long updatedAtNanos = System.nanoTime();
+        private long ttlRefreshedAtNanos = System.nanoTime();
+
+        private RoomActivity(double decayPerNano) {
+            this.decayPerNano = decayPerNano;
+        }
+
+        synchronized void record(long now) {
+            decay(now);
+            score += 1;
+        }
+
+        // 감쇠 누적값 S 에 대해 분당 발생률 = S * ln2 / 반감기
+        synchronized double ratePerMinute(long now) {
+            decay(now);
+            return score * decayPerNano * Duration.ofMinutes(1).toNanos();
+        }
+
+        synchronized boolean tryAcquireRefresh(long now, long intervalNanos) {
+            if (now - ttlRefreshedAtNanos < intervalNanos) {
+                return false;
+            }
+            ttlRefreshedAtNanos = now;
+            return true;
+        }
+
+        private void decay(long now) {
+            long elapsed = now - updatedAtNanos;
+            if (elapsed > 0) {
+                score *= Math.exp(-decayPerNano * elapsed);
+                updatedAtNanos = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.entity.GoodsChatDeletionPhase;
+import com.s406.livon.domain.goodsChat.entity.GoodsChatDeletionTask;
+import com.s406.livon.domain.goodsChat.presence.GoodsChatPresenceStore;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatDeletionTaskRepository;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageRepository;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatPartRepository;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatRoomRepository;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RateIntervalUnit;
+import org.redisson.api.RateType;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 채팅방과 메시지 내역을 나누어 삭제합니다.
+ * 1. requestDeletion() : 채팅방을 비활성화하고 삭제 작업(goods_chat_deletion_task)을 저장 (DELETE /goods/chat/{chatRoomId})
+ *    커밋 이후 참여자들의 참여 여부 캐시를 무효화하므로, 비활성화된 채팅방에는 바로 전송 / 구독할 수 없습니다.
+ * 2. run()             : intervalMs 마다 maxRunDuration 동안 작업을 단계별로 batchSize 건씩 삭제
+ *    MESSAGES -> BUCKETS -> REDIS -> PARTS -> ROOM -> COMPLETED
+ * - 배치마다 단계와 삭제 건수를 저장하므로 노드가 종료되어도 다음 실행에서 이어서 삭제 (각 단계는 다시 실행해도 안전)
+ * - 삭제 속도는 모든 노드가 공유하는 Redisson RateLimiter 로 maxDeletesPerSecond 이하로 제한
+ * - 같은 채팅방은 한 노드만 삭제 (채팅방별 분산 락)
+ * retention 을 설정하면 마지막 메시지가 retention 이전인 채팅방을 자동으로 삭제 대상에 추가합니다.
+ * (goods_chat_room.last_chat_sent_at 은 비어있거나 오래된 값일 수 있으므로 MongoDB 의 마지막 메시지 시각으로 확인)
+ *
+ * 지표
+ * - goods_chat.deletion.deleted : 삭제한 메시지 / bucket / 참여자 수
+ */
+@Slf4j
+@Component
+public class GoodsChatRoomDeletionService {
+
+    private static final String RATE_LIMITER_KEY = "goods_chat_deletion_rate";
+    private static final String DELETION_LOCK_KEY_FORMAT = "goods_chat_deletion_lock::%d";
+    private static final int TASKS_PER_RUN = 10;
+
+    private static final String DEACTIVATE_ROOM_SQL = "UPDATE goods_chat_room SET is_active = false WHERE consultation_id = ?";
+    private static final String DELETE_PARTS_SQL = "DELETE FROM goods_chat_part WHERE chat_room_id = ? LIMIT ?";
+    private static final String DELETE_ROOM_SQL = "DELETE FROM goods_chat_room WHERE consultation_id = ?";
+
+    private final GoodsChatDeletionTaskRepository taskRepository;
+    private final GoodsChatRoomRepository chatRoomRepository;
+    private final GoodsChatPartRepository partRepository;
+    private final GoodsChatMessageRepository messageRepository;
+    private final GoodsChatCacheManager cacheManager;
+    private final GoodsChatSequenceGenerator sequenceGenerator;
+    private final GoodsChatPresenceStore presenceStore;
+    private final GoodsChatReadCursorStore readCursorStore;
+    private final GoodsChatMembershipCache membershipCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final RedissonClient redissonClient;
+    private final TransactionTemplate transactionTemplate;
+    private final GoodsChatProperties.Deletion deletionProperties;
+    private final Counter deletedCounter;
+    private volatile RRateLimiter rateLimiter;
+
+    // 다음 retention 검사에서 이어서 조회할 채팅방 ID
+    private volatile long lastScannedRoomId;
+
+    public GoodsChatRoomDeletionService(GoodsChatDeletionTaskRepository taskRepository,
+                                        GoodsChatRoomRepository chatRoomRepository,
+                                        GoodsChatPartRepository partRepository,
+                                        GoodsChatMessageRepository messageRepository,
+                                        GoodsChatCacheManager cacheManager,
+                                        GoodsChatSequenceGenerator sequenceGenerator,
+                                        GoodsChatPresenceStore presenceStore,
+                                        GoodsChatReadCursorStore readCursorStore,
+                                        GoodsChatMembershipCache membershipCache,
+                                        JdbcTemplate jdbcTemplate,
+                                        RedissonClient redissonClient,
+                                        PlatformTransactionManager transactionManager,
+                                        GoodsChatProperties goodsChatProperties,
+                                        MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.chatRoomRepository = chatRoomRepository;
+        this.partRepository = partRepository;
+        this.messageRepository = messageRepository;
+        this.cacheManager = cacheManager;
+        this.sequenceGenerator = sequenceGenerator;
+        this.presenceStore = presenceStore;
+        this.readCursorStore = readCursorStore;
+        this.membershipCache = membershipCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.redissonClient = redissonClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deletionProperties = goodsChatProperties.getDeletion();
+        this.deletedCounter = Counter.builder("goods_chat.deletion.deleted").register(meterRegistry);
+    }
+
+    /**
+     * 채팅방 삭제를 요청합니다. 이미 요청된 채팅방이면 무시합니다.
+     * 채팅방은 바로 비활성화되고, 내역은 run() 에서 나누어 삭제됩니다.
+     * 스케줄러(run) 안에서도 호출되므로 프록시 대신 TransactionTemplate 으로 트랜잭션을 적용합니다. (호출 측 트랜잭션이 있으면 참여)
+     */
+    public void requestDeletion(Long chatRoomId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (taskRepository.existsById(chatRoomId)) {
+                return;
+            }
+            jdbcTemplate.update(DEACTIVATE_ROOM_SQL, chatRoomId);
+            taskRepository.save(GoodsChatDeletionTask.builder()
+                    .chatRoomId(chatRoomId)
+                    .build());
+            // 비활성화가 커밋되면 캐시된 참여 응답을 제거하여 이후 전송 / 구독은 DB(is_active) 기준으로 거부
+            partRepository.findUserIdsByChatRoomId(chatRoomId)
+                    .forEach(userId -> membershipCache.evictAfterCommit(chatRoomId, userId));
+            log.info("채팅방 삭제 요청: roomId={}", chatRoomId);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${goods-chat.deletion.interval-ms:30000}")
+    public void run() {
+        scheduleExpiredRooms();
+
+        long deadline = System.nanoTime() + deletionProperties.getMaxRunDuration().toNanos();
+        List<GoodsChatDeletionTask> tasks = taskRepository.findByPhaseNotOrderByCreatedDateAsc(
+                GoodsChatDeletionPhase.COMPLETED, PageRequest.of(0, TASKS_PER_RUN));
+        for (GoodsChatDeletionTask task : tasks) {
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+            try {
+                process(task, deadline);
+            } catch (RuntimeException e) {
+                log.error("채팅방 삭제 실패: roomId={}, phase={}, {}", task.getChatRoomId(), task.getPhase(), e.getMessage(), e);
+            }
+        }
+    }
+
+    // deadline 까지 한 채팅방의 삭제를 진행 (다른 노드가 진행 중이면 건너뜀)
+    private void process(GoodsChatDeletionTask task, long deadline) {
+        RLock lock = redissonClient.getLock(String.format(DELETION_LOCK_KEY_FORMAT, task.getChatRoomId()));
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            while (!task.isCompleted() && System.nanoTime() < deadline) {
+                if (!step(task, deadline)) {
+                    return;
+                }
+                taskRepository.save(task);
+            }
+            if (task.isCompleted()) {
+                log.info("채팅방 삭제 완료: roomId={}, {}건", task.getChatRoomId(), task.getDeletedCount());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 현재 단계의 한 배치를 실행하고 체크포인트를 갱신 (속도 제한으로 대기 시간이 끝나면 false)
+    private boolean step(GoodsChatDeletionTask task, long deadline) {
+        Long chatRoomId = task.getChatRoomId();
+        int batchSize = batchSize();
+        switch (task.getPhase()) {
+            case MESSAGES -> {
+                return deleteBatch(task, deadline, () -> messageRepository.deleteMessageBatch(chatRoomId, batchSize));
+            }
+            case BUCKETS -> {
+                return deleteBatch(task, deadline, () -> messageRepository.deleteBucketBatch(chatRoomId, batchSize));
+            }
+            case REDIS -> {
+                evictRedisKeys(chatRoomId);
+                task.advance();
+            }
+            case PARTS -> {
+                return deleteBatch(task, deadline, () -> jdbcTemplate.update(DELETE_PARTS_SQL, chatRoomId, batchSize));
+            }
+            case ROOM -> {
+                jdbcTemplate.update(DELETE_ROOM_SQL, chatRoomId);
+                task.advance();
+            }
+            case COMPLETED -> {
+            }
+        }
+        return true;
+    }
+
+    private boolean deleteBatch(GoodsChatDeletionTask task, long deadline, LongSupplier delete) {
+        int batchSize = batchSize();
+        long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos <= 0 || !rateLimiter().tryAcquire(batchSize, remainingNanos, TimeUnit.NANOSECONDS)) {
+            return false;
+        }
+
+        long deleted = delete.getAsLong();
+        task.addDeleted(deleted);
+        deletedCounter.increment(deleted);
+        if (deleted < batchSize) {
+            task.advance();
+        }
+        return true;
+    }
+
+    private void evictRedisKeys(Long chatRoomId) {
+        List<UUID> userIds = partRepository.findUserIdsByChatRoomId(chatRoomId);
+        readCursorStore.removeRoom(userIds, chatRoomId);
+        userIds.forEach(userId -> membershipCache.evictEverywhere(chatRoomId, userId));
+        cacheManager.evictMessagesFromCache(chatRoomId);
+        sequenceGenerator.evict(chatRoomId);
+        presenceStore.removeRoom(chatRoomId);
+    }
+
+    private void scheduleExpiredRooms() {
+        if (deletionProperties.getRetention() == null) {
+            return;
+        }
+
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(deletionProperties.getRetention());
+        List<Long> roomIds = chatRoomRepository.findIdleRoomIds(expiredBefore, lastScannedRoomId,
+                PageRequest.of(0, deletionProperties.getRetentionScanSize()));
+        if (roomIds.isEmpty()) {
+            lastScannedRoomId = 0L;
+            return;
+        }
+        for (GoodsChatMessage latest : messageRepository.findLatestMessages(roomIds)) {
+            // 메시지가 없는 채팅방은 마지막 대화 시각을 알 수 없으므로 삭제하지 않음
+            if (latest.getSentAt() != null && latest.getSentAt().isBefore(expiredBefore)) {
+                requestDeletion(latest.getChatRoomId());
+            }
+        }
+        lastScannedRoomId = roomIds.get(roomIds.size() - 1);
+    }
+
+    // 한 번에 요청하는 permit 이 초당 허용량을 넘으면 획득할 수 없으므로 batchSize 를 제한
+    private int batchSize() {
+        return (int) Math.max(1, Math.min(deletionProperties.getBatchSize(), deletionProperties.getMaxDeletesPerSecond()));
+    }
+
+    // 이미 설정된 속도가 있으면 유지 (trySetRate)
+    private RRateLimiter rateLimiter() {
+        if (rateLimiter == null) {
+            RRateLimiter limiter = redissonClient.getRateLimiter(RATE_LIMITER_KEY);
+            limiter.trySetRate(RateType.OVERALL, deletionProperties.getMaxDeletesPerSecond(), 1, RateIntervalUnit.SECONDS);
+            rateLimiter = limiter;
+        }
+        return rateLimiter;
+    }
+}
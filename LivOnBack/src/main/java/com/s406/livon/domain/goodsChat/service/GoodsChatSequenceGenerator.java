@@ -0,0 +1,116 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅방별 메시지 순번 발급기 (Redis INCR)
+ * 모든 노드가 같은 키를 사용하므로 방 안에서 순번이 중복되지 않습니다.
+ * 카운터가 없는 방(기존 방 / Redis 초기화)은 분산 락 안에서
+ * 순번이 없는 기존 메시지에 순번을 부여하고 MongoDB 최대 순번으로 카운터를 맞춘 뒤 발급합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GoodsChatSequenceGenerator {
+
+    private static final String SEQUENCE_KEY_FORMAT = "goods_chat_seq::%d";
+    private static final String SEQUENCE_LOCK_KEY_FORMAT = "LOCK:goods_chat_seq::%d";
+    private static final long LOCK_WAIT_SECONDS = 10;
+    private static final long LOCK_LEASE_SECONDS = 60;
+
+    // 카운터가 있을 때만 INCR, 없으면 -1
+    private static final RedisScript<Long> INCREMENT_IF_EXISTS_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return redis.call('INCR', KEYS[1]) end return -1",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final GoodsChatMessageRepository messageRepository;
+    private final RedissonClient redissonClient;
+
+    // 순번 부여가 끝난 방 (조회 경로에서 매번 Redis 를 확인하지 않기 위한 로컬 캐시)
+    private final Set<Long> initializedRooms = ConcurrentHashMap.newKeySet();
+
+    public long next(Long chatRoomId) {
+        String key = formatSequenceKey(chatRoomId);
+        Long seq = stringRedisTemplate.execute(INCREMENT_IF_EXISTS_SCRIPT, List.of(key));
+        if (seq != null && seq < 0) {
+            initialize(chatRoomId);
+            seq = stringRedisTemplate.opsForValue().increment(key);
+        }
+        if (seq == null) {
+            throw new IllegalStateException("채팅 순번 발급에 실패했습니다. roomId=" + chatRoomId);
+        }
+        return seq;
+    }
+
+    // 현재까지 발급된 마지막 순번 (카운터가 없으면 MongoDB 최대 순번)
+    public long current(Long chatRoomId) {
+        ensureInitialized(chatRoomId);
+        String seq = stringRedisTemplate.opsForValue().get(formatSequenceKey(chatRoomId));
+        return seq == null ? messageRepository.findMaxSeq(chatRoomId) : Long.parseLong(seq);
+    }
+
+    // 조회 전에 기존 메시지에 순번이 부여되어 있는지 확인
+    public void ensureInitialized(Long chatRoomId) {
+        if (initializedRooms.contains(chatRoomId)) {
+            return;
+        }
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(formatSequenceKey(chatRoomId)))) {
+            initializedRooms.add(chatRoomId);
+            return;
+        }
+        initialize(chatRoomId);
+    }
+
+    private void initialize(Long chatRoomId) {
+        String key = formatSequenceKey(chatRoomId);
+        RLock lock = redissonClient.getLock(String.format(SEQUENCE_LOCK_KEY_FORMAT, chatRoomId));
+        try {
+            if (!lock.tryLock(LOCK_WAIT_SECONDS, LOCK_LEASE_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("채팅 순번 초기화 락 획득에 실패했습니다. roomId=" + chatRoomId);
+            }
+            try {
+                // 다른 노드가 먼저 초기화한 경우
+                if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(key))) {
+                    initializedRooms.add(chatRoomId);
+                    return;
+                }
+                long maxSeq = messageRepository.findMaxSeq(chatRoomId);
+                long lastSeq = messageRepository.assignMissingSeqs(chatRoomId, maxSeq);
+                stringRedisTemplate.opsForValue().setIfAbsent(key, String.valueOf(lastSeq));
+                initializedRooms.add(chatRoomId);
+                if (lastSeq > maxSeq) {
+                    log.info("채팅 순번 초기화: roomId={}, 기존 메시지 {}건에 순번 부여", chatRoomId, lastSeq - maxSeq);
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("채팅 순번 초기화가 중단되었습니다. roomId=" + chatRoomId, e);
+        }
+    }
+
+    // 채팅방 삭제 시 순번 카운터 삭제
+    public void evict(Long chatRoomId) {
+        stringRedisTemplate.delete(formatSequenceKey(chatRoomId));
+        initializedRooms.remove(chatRoomId);
+    }
+
+    static String formatSequenceKey(Long chatRoomId) {
+        return String.format(SEQUENCE_KEY_FORMAT, chatRoomId);
+    }
+}
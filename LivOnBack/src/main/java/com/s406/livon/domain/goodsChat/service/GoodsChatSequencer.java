@@ -0,0 +1,141 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import com.s406.livon.global.error.handler.ChatHandler;
+import com.s406.livon.global.web.response.code.status.ErrorStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 채팅방별 단일 작성자(single-writer) 실행기
+ * 채팅방 ID 를 고정된 수의 단일 스레드 lane 에 해시하여 같은 방의 작업은 항상 같은 스레드에서 제출 순서대로 실행합니다.
+ * -> 순번 발급, MongoDB 저장, 캐시 저장, 브로드캐스트 순서가 방 안에서 항상 일치 (전역 락 없음)
+ * -> 서로 다른 방은 lane 수만큼 병렬로 처리
+ * lane 대기열이 가득 차면 순서를 깨지 않도록 호출 스레드에서 실행하지 않고 거절합니다.
+ */
+@Slf4j
+@Component
+public class GoodsChatSequencer {
+
+    private final List<ThreadPoolExecutor> lanes;
+
+    public GoodsChatSequencer(GoodsChatProperties goodsChatProperties, MeterRegistry meterRegistry) {
+        GoodsChatProperties.Sequencer sequencerProperties = goodsChatProperties.getSequencer();
+        int laneCount = Math.max(1, sequencerProperties.getLanes());
+
+        this.lanes = new ArrayList<>(laneCount);
+        for (int index = 0; index < laneCount; index++) {
+            ThreadPoolExecutor lane = createLane(index, sequencerProperties.getQueueCapacity());
+            Gauge.builder("goods_chat.sequencer.queue_size", lane, executor -> executor.getQueue().size())
+                    .tag("lane", String.valueOf(index))
+                    .register(meterRegistry);
+            lanes.add(lane);
+        }
+    }
+
+    /**
+     * 채팅방의 lane 에 작업을 제출합니다. 같은 채팅방의 작업은 제출 순서대로 하나씩 실행됩니다.
+     * 작업에서 발생한 예외는 로그로 남기고 다음 작업을 계속 처리합니다.
+     * @throws ChatHandler lane 대기열이 가득 찬 경우 (CHAT_SEQUENCER_BUSY)
+     */
+    public void submit(Long chatRoomId, Runnable task) {
+        submit(chatRoomId, task, null);
+    }
+
+    /**
+     * submit(chatRoomId, task) 와 같으며, 작업이 실패하면 로그를 남긴 뒤 onFailure 를 lane 스레드에서 호출합니다.
+     * (요청한 세션에 실패를 알리는 용도)
+     */
+    public void submit(Long chatRoomId, Runnable task, Consumer<Exception> onFailure) {
+        try {
+            laneOf(chatRoomId).execute(guarded(chatRoomId, task, onFailure));
+        } catch (RejectedExecutionException e) {
+            log.warn("채팅 lane 대기열 초과로 작업 거절: Room {}", chatRoomId);
+            throw new ChatHandler(ErrorStatus.CHAT_SEQUENCER_BUSY);
+        }
+    }
+
+    /**
+     * lane 대기열에 자리가 날 때까지 최대 timeout 동안 기다린 뒤 작업을 제출합니다.
+     * 거절하면 되돌릴 수 없는 작업(커밋 이후의 입장 / 퇴장 메시지 등)에 사용합니다.
+     * @return 제출했으면 true, timeout 이 지났거나 종료 중이면 false
+     */
+    public boolean submitWaiting(Long chatRoomId, Runnable task, Duration timeout) throws InterruptedException {
+        ThreadPoolExecutor lane = laneOf(chatRoomId);
+        if (lane.isShutdown()) {
+            return false;
+        }
+        // lane 스레드는 생성 시 미리 시작하므로 대기열에 직접 넣어도 순서대로 실행됨
+        return lane.getQueue().offer(guarded(chatRoomId, task, null), timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public int laneCount() {
+        return lanes.size();
+    }
+
+    public int laneIndex(Long chatRoomId) {
+        return Math.floorMod(Long.hashCode(chatRoomId), lanes.size());
+    }
+
+    // 종료 시 이미 접수된 메시지는 모두 처리한 뒤 종료
+    @PreDestroy
+    public void shutdown() {
+        lanes.forEach(ThreadPoolExecutor::shutdown);
+        for (ThreadPoolExecutor lane : lanes) {
+            try {
+                if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("채팅 lane 종료 대기 시간 초과, 남은 작업 {}건", lane.getQueue().size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private ThreadPoolExecutor laneOf(Long chatRoomId) {
+        return lanes.get(laneIndex(chatRoomId));
+    }
+
+    private static Runnable guarded(Long chatRoomId, Runnable task, Consumer<Exception> onFailure) {
+        return () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("채팅 작업 처리 실패: Room {}, {}", chatRoomId, e.getMessage(), e);
+                if (onFailure != null) {
+                    try {
+                        onFailure.accept(e);
+                    } catch (Exception callbackError) {
+                        log.warn("채팅 작업 실패 알림 실패: Room {}, {}", chatRoomId, callbackError.getMessage());
+                    }
+                }
+            }
+        };
+    }
+
+    private static ThreadPoolExecutor createLane(int index, int queueCapacity) {
+        ThreadPoolExecutor lane = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "goods-chat-lane-" + index);
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        lane.prestartAllCoreThreads();
+        return lane;
+    }
+}
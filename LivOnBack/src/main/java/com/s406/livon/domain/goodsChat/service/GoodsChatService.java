@@ -7,26 +7,35 @@ import com.s406.livon.domain.coach.repository.ParticipantRepository;
 import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
 import com.s406.livon.domain.goodsChat.dto.response.ChatRoomUserResponseDto;
 import com.s406.livon.domain.goodsChat.dto.response.GoodsChatMessageResponse;
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatMessageSyncResponse;
 import com.s406.livon.domain.goodsChat.dto.response.GoodsChatRoomResponse;
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatRoomSummaryResponse;
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatSearchResponse;
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatUserSummary;
 import com.s406.livon.domain.goodsChat.entity.GoodsChatPart;
 import com.s406.livon.domain.goodsChat.entity.GoodsChatRoom;
 import com.s406.livon.domain.goodsChat.entity.MessageType;
 import com.s406.livon.domain.goodsChat.event.GoodsChatEvent;
 import com.s406.livon.domain.goodsChat.event.GoodsChatEventPublisher;
+import com.s406.livon.domain.goodsChat.presence.GoodsChatPresenceService;
 import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageRepository;
 import com.s406.livon.domain.goodsChat.repository.GoodsChatPartRepository;
 import com.s406.livon.domain.goodsChat.repository.GoodsChatRoomRepository;
+import com.s406.livon.domain.goodsChat.search.GoodsChatSearchQuery;
 import com.s406.livon.domain.user.entity.User;
 import com.s406.livon.domain.user.repository.UserRepository;
 import com.s406.livon.global.error.handler.ChatHandler;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
 import com.s406.livon.global.error.handler.UserHandler;
 import com.s406.livon.global.web.response.code.status.ErrorStatus;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -38,6 +47,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class GoodsChatService {
 
+    private static final int MAX_SYNC_PAGE_SIZE = 200;
+
     //todo
 //    private final GoodsPostRepository goodsPostRepository;
     private final UserRepository userRepository;
@@ -47,9 +58,17 @@ public class GoodsChatService {
     private final GoodsChatEventPublisher eventPublisher;
     private final ConsultationReservationRepository consultationRepository;
     private final GoodsChatCacheManager goodsChatCacheManager;
+    private final GoodsChatCacheMetrics goodsChatCacheMetrics;
+    private final GoodsChatMembershipCache membershipCache;
     private final ParticipantRepository participantRepository;
     private final GoodsChatPartRepository goodsChatPartRepository;
-    private final com.s406.livon.domain.goodsChat.event.ChatHandler chatHandler;
+    private final GoodsChatPresenceService presenceService;
+    private final GoodsChatSequenceGenerator sequenceGenerator;
+    private final GoodsChatUserSummaryCache userSummaryCache;
+    private final GoodsChatMessageLoader messageLoader;
+    private final GoodsChatInboxReader inboxReader;
+    private final GoodsChatProperties goodsChatProperties;
+    private final GoodsChatRoomDeletionService roomDeletionService;
 
     @Transactional
     public GoodsChatRoomResponse getOrCreateGoodsChatRoom(User user, Long consultationId) {
@@ -100,6 +119,20 @@ public class GoodsChatService {
         return savedChatRoom;
     }
 
+    /**
+     * 채팅방 삭제 요청 (상담 코치만 가능)
+     * 채팅방은 바로 비활성화되고 메시지 내역은 GoodsChatRoomDeletionService 에서 나누어 삭제됩니다.
+     */
+    @Transactional
+    public void deleteChatRoom(Long chatRoomId, UUID userId) {
+        GoodsChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
+                .orElseThrow(() -> new ChatHandler(ErrorStatus.CONSULTATION_NOT_FOUND));
+        if (!chatRoom.getConsultation().getCoach().getId().equals(userId)) {
+            throw new ChatHandler(ErrorStatus.USER_NOT_COACH);
+        }
+        roomDeletionService.requestDeletion(chatRoomId);
+    }
+
     //
     private User findUserById(UUID userId) {
         return userRepository.findById(userId)
@@ -114,49 +147,171 @@ public class GoodsChatService {
 
     //
     @Transactional(readOnly = true)
-    public List<GoodsChatMessageResponse> getChatRoomMessages(Long chatRoomId, UUID userId, LocalDateTime lastSentAt) {
+    public List<GoodsChatMessageResponse> getChatRoomMessages(Long chatRoomId, UUID userId, Long lastSeq, LocalDateTime lastSentAt) {
         validateMemberInChatRoom(userId, chatRoomId);
+        sequenceGenerator.ensureInitialized(chatRoomId);
+
+        // 구버전 클라이언트(lastSentAt 커서) 호환
+        if (lastSeq == null && lastSentAt != null) {
+            lastSeq = messageRepository.resolveSeqCursor(chatRoomId, lastSentAt);
+        }
 //        StopWatch stopWatch = new StopWatch(); // (1) 스톱워치 생성
 //
 //        System.out.println(chatRoomId+" "+ lastSentAt+ " ");
-        List<GoodsChatMessage> chatMessages = fetchMessagesFromCacheOrDB(chatRoomId, lastSentAt, 20);
-        
+        List<GoodsChatMessage> chatMessages = fetchMessagesFromCacheOrDB(chatRoomId, lastSeq, 20);
+
         // N+1 방지를 위해 userId 리스트로 일괄 조회
         return mapMessagesToResponses(chatMessages);
     }
 
+    /**
+     * 재연결한 클라이언트가 놓친 메시지를 afterSeq 이후부터 오름차순으로 조회합니다.
+     * Redis 캐시 구간 안이면 캐시에서, 커서가 캐시보다 오래되었으면 DB 에서 조회하고 gap 을 표시합니다.
+     */
+    @Transactional(readOnly = true)
+    public GoodsChatMessageSyncResponse getChatRoomMessagesSince(Long chatRoomId, UUID userId, long afterSeq, int size) {
+        validateMemberInChatRoom(userId, chatRoomId);
+        int pageSize = Math.min(Math.max(size, 1), MAX_SYNC_PAGE_SIZE);
+
+        long latestSeq = sequenceGenerator.current(chatRoomId);
+        if (afterSeq >= latestSeq) {
+            return GoodsChatMessageSyncResponse.builder()
+                    .messages(new ArrayList<>())
+                    .latestSeq(latestSeq)
+                    .build();
+        }
+
+        List<GoodsChatMessage> chatMessages = goodsChatCacheManager.fetchMessagesAfterFromCache(chatRoomId, afterSeq, pageSize);
+        boolean gap = false;
+        if (chatMessages.isEmpty()) {
+            goodsChatCacheMetrics.recordMiss(chatRoomId);
+            chatMessages = messageRepository.getChatMessagesAfter(chatRoomId, afterSeq, pageSize);
+            if (!chatMessages.isEmpty()) {
+                // 저장 실패로 비어있는 순번은 tombstone 으로 남겨 다음 동기화는 캐시에서 처리
+                goodsChatCacheManager.storeTombstones(chatRoomId, afterSeq + 1,
+                        chatMessages.get(chatMessages.size() - 1).getSeq() - 1, chatMessages);
+            }
+            // 커서 다음의 실제 메시지가 캐시 구간보다 오래된 경우만 gap (저장 실패로 비어있는 순번은 gap 아님)
+            long nextSeq = chatMessages.isEmpty() ? latestSeq : chatMessages.get(0).getSeq();
+            Long oldestCachedSeq = goodsChatCacheManager.oldestCachedSeq(chatRoomId);
+            gap = oldestCachedSeq == null || oldestCachedSeq > nextSeq;
+        } else {
+            goodsChatCacheMetrics.recordHit(chatRoomId);
+        }
+
+        long lastReturnedSeq = chatMessages.isEmpty() ? afterSeq : chatMessages.get(chatMessages.size() - 1).getSeq();
+        return GoodsChatMessageSyncResponse.builder()
+                .messages(mapMessagesToResponses(chatMessages))
+                .gap(gap)
+                .hasMore(lastReturnedSeq < latestSeq)
+                .latestSeq(latestSeq)
+                .build();
+    }
+
+    /**
+     * 사용자가 참여 중인 채팅방 목록을 최근 메시지 순으로 조회합니다.
+     * 최근 메시지 / 최신 순번 / 읽음 위치는 Redis 파이프라인 한 번으로 조회하고, 캐시가 없는 방만 MongoDB 에서 조회합니다.
+     * 안 읽은 메시지 수 = 최신 순번 - max(Redis 읽음 위치, goods_chat_part.last_read_seq)
+     */
+    @Transactional(readOnly = true)
+    public List<GoodsChatRoomSummaryResponse> getGoodsChatRooms(UUID userId) {
+        List<GoodsChatPart> chatParts = partRepository.findActiveWithChatRoomByUserId(userId);
+        if (chatParts.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> chatRoomIds = chatParts.stream().map(part -> part.getGoodsChatRoom().getId()).toList();
+        Map<Long, GoodsChatInboxReader.InboxEntry> entries = inboxReader.read(userId, chatRoomIds);
+
+        return chatParts.stream()
+                .map(part -> {
+                    GoodsChatRoom chatRoom = part.getGoodsChatRoom();
+                    // Redis 읽음 위치가 유실된 경우 MySQL 에 반영된 읽음 위치 사용
+                    GoodsChatInboxReader.InboxEntry entry = entries.get(chatRoom.getId())
+                            .withPersistedReadSeq(part.getLastReadSeq());
+                    return GoodsChatRoomSummaryResponse.of(chatRoom, entry.lastMessage(), entry.latestSeq(), entry.unreadCount());
+                })
+                .sorted(Comparator.comparing(GoodsChatRoomSummaryResponse::getLastChatSentAt,
+                        Comparator.nullsLast(Comparator.reverseOrder())))
+                .toList();
+    }
+
+    /**
+     * 참여 중인 채팅방의 메시지를 검색합니다. (chatRoomId 가 없으면 참여 중인 모든 채팅방)
+     * 검색어의 bigram 으로 idx_chat_room_id_ngrams_id 인덱스를 사용하며, 결과는 최신순 커서 페이지입니다.
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     */
+    @Transactional(readOnly = true)
+    public GoodsChatSearchResponse searchMessages(UUID userId, String keyword, Long chatRoomId, String cursor, int size) {
+        GoodsChatSearchQuery searchQuery = GoodsChatSearchQuery.of(keyword);
+        if (!searchQuery.isSearchable()) {
+            throw new ChatHandler(ErrorStatus.SEARCH_KEYWORD_TOO_SHORT);
+        }
+        if (cursor != null && !ObjectId.isValid(cursor)) {
+            throw new ChatHandler(ErrorStatus.SEARCH_CURSOR_INVALID);
+        }
+
+        List<Long> chatRoomIds;
+        if (chatRoomId != null) {
+            validateMemberInChatRoom(userId, chatRoomId);
+            chatRoomIds = List.of(chatRoomId);
+        } else {
+            chatRoomIds = partRepository.findActiveWithChatRoomByUserId(userId).stream()
+                    .map(part -> part.getGoodsChatRoom().getId())
+                    .toList();
+        }
+        if (chatRoomIds.isEmpty()) {
+            return GoodsChatSearchResponse.builder()
+                    .messages(new ArrayList<>())
+                    .build();
+        }
+
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        int pageSize = Math.min(Math.max(size, 1), goodsChatProperties.getSearch().getMaxPageSize());
+        List<GoodsChatMessage> chatMessages = messageRepository.searchMessages(chatRoomIds, searchQuery, cursor, pageSize + 1);
+        boolean hasMore = chatMessages.size() > pageSize;
+        if (hasMore) {
+            chatMessages = chatMessages.subList(0, pageSize);
+        }
+
+        return GoodsChatSearchResponse.builder()
+                .messages(mapMessagesToResponses(chatMessages))
+                .nextCursor(hasMore ? chatMessages.get(chatMessages.size() - 1).getId() : null)
+                .build();
+    }
+
     private void validateMemberInChatRoom(UUID userId, Long chatRoomId) {
-        if (!partRepository.existsByUserIdAndGoodsChatRoomId(userId,chatRoomId)) {
+        if (!membershipCache.isMember(chatRoomId, userId)) {
             throw new ChatHandler(ErrorStatus.USER_NOT_SELECT_VALID);
         }
     }
 
 
     // 채팅 내역 조회
-    public List<GoodsChatMessage> fetchMessagesFromCacheOrDB(Long chatRoomId, LocalDateTime lastSentAt, int size) {
+    public List<GoodsChatMessage> fetchMessagesFromCacheOrDB(Long chatRoomId, Long lastSeq, int size) {
 
         // 1. redis 캐싱 데이터 조회
 
-        List<GoodsChatMessage> chatMessages = goodsChatCacheManager.fetchMessagesFromCache(chatRoomId, lastSentAt, size);
+        List<GoodsChatMessage> chatMessages = goodsChatCacheManager.fetchMessagesFromCache(chatRoomId, lastSeq, size);
+        if (chatMessages.size() >= size) {
+            goodsChatCacheMetrics.recordHit(chatRoomId);
+        } else {
+            goodsChatCacheMetrics.recordMiss(chatRoomId);
+        }
 
-        // 2. 데이터가 비어있는 경우, DB 에서 size 만큼 조회
+        // 2. 데이터가 비어있는 경우, DB 에서 size 만큼 조회 후 redis 저장 (동시 요청은 한 번만 조회)
         if (chatMessages.isEmpty()) {
-            chatMessages = messageRepository.getChatMessages(chatRoomId, lastSentAt, size);
-            // 2-1. redis 저장
-            goodsChatCacheManager.storeMessagesInCache(chatRoomId, chatMessages);
+            chatMessages = messageLoader.load(chatRoomId, lastSeq, size);
             System.out.println("mongodb저장 및 조회");
         }
         // 3. 데이터가 size 보다 적은 경우
         else if (chatMessages.size() < size) {
-            // 3-1. 캐싱 데이터의 마지막 보낸 시간 추출
-            lastSentAt = chatMessages.get(chatMessages.size() - 1).getSentAt();
+            // 3-1. 캐싱 데이터의 마지막 순번 추출
+            lastSeq = chatMessages.get(chatMessages.size() - 1).getSeq();
 
-            // 3-2. 부족한 개수만큼 DB 에서 조회 후 추가
-            List<GoodsChatMessage> additionalMessages = messageRepository.getChatMessages(chatRoomId, lastSentAt, size - chatMessages.size());
+            // 3-2. 부족한 개수만큼 DB 에서 조회 후 추가 (redis 저장 포함, 동시 요청은 한 번만 조회)
+            List<GoodsChatMessage> additionalMessages = messageLoader.load(chatRoomId, lastSeq, size - chatMessages.size());
             chatMessages.addAll(additionalMessages);
-
-            // 3-3. redis 저장
-            goodsChatCacheManager.storeMessagesInCache(chatRoomId, additionalMessages);
             System.out.println("사이즈가 없는만큼 mongodb저장 및 조회");
         }
         return chatMessages;
@@ -176,12 +331,14 @@ public class GoodsChatService {
             throw new ChatHandler(ErrorStatus.USER_NOT_PARTICIPANT_VALID);
         }
 
-        Set<UUID> uuidSet = chatHandler.getConnectedUsers(chatRoomId);
-        List<ChatRoomUserResponseDto> chatRoomUserResponseDtoList = new ArrayList<>();
-        for(UUID uuid : uuidSet){
-            chatRoomUserResponseDtoList.add(ChatRoomUserResponseDto.toDto(findUserById(uuid)));
+        // 3. 클러스터 전체 접속자 조회 후 사용자 정보 일괄 조회 (캐시에 없는 사용자만 DB 조회)
+        Set<UUID> uuidSet = presenceService.getOnlineUserIds(chatRoomId);
+        if (uuidSet.isEmpty()) {
+            return new ArrayList<>();
         }
-        return chatRoomUserResponseDtoList;
+        return userSummaryCache.getAll(uuidSet).values().stream()
+                .map(ChatRoomUserResponseDto::of)
+                .toList();
     }
 
     public Object getChatUsersInfo(Long chatRoomId, User user) {
@@ -214,14 +371,13 @@ public class GoodsChatService {
                 .distinct()
                 .collect(Collectors.toList());
         
-        // 2. 일괄 조회하여 Map으로 변환
-        Map<UUID, User> userMap = userRepository.findAllById(userIds).stream()
-                .collect(Collectors.toMap(User::getId, user -> user));
+        // 2. 발신자 정보 캐시에서 일괄 조회 (캐시에 없는 사용자만 DB 조회)
+        Map<UUID, GoodsChatUserSummary> userMap = userSummaryCache.getAll(userIds);
         
         // 3. 메시지를 Response로 변환
         return chatMessages.stream()
                 .map(chatMessage -> {
-                    User sender = userMap.get(chatMessage.getUserId());
+                    GoodsChatUserSummary sender = userMap.get(chatMessage.getUserId());
                     if (sender == null) {
                         throw new UserHandler(ErrorStatus.USER_NOT_FOUND);
                     }
@@ -237,20 +393,6 @@ public class GoodsChatService {
 //        }
 //    }
 //
-//    @Transactional(readOnly = true)
-//    public PageResponse<GoodsChatRoomSummaryResponse> getGoodsChatRooms(Long memberId, Pageable pageable) {
-//        Member member = findMemberById(memberId);
-//        Pageable validatePageable = PageResponse.validatePageable(pageable);
-//
-//        Page<GoodsChatRoom> chatRoomPage = chatRoomRepository.findChatRoomPageByMemberId(memberId, validatePageable);
-//
-//        List<GoodsChatRoomSummaryResponse> content = chatRoomPage.getContent().stream()
-//                .map(chatRoom -> GoodsChatRoomSummaryResponse.of(chatRoom, getOpponentMember(chatRoom, member)))
-//                .toList();
-//
-//        return PageResponse.from(chatRoomPage, content);
-//    }
-//
 //    // 채팅 참여 테이블에서 상대방 회원 정보를 찾음
 //    private Member getOpponentMember(GoodsChatRoom chatRoom, Member member) {
 //        return chatRoom.getChatParts().stream()
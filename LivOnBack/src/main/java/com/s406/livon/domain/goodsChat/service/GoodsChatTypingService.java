@@ -0,0 +1,88 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.s406.livon.domain.goodsChat.broker.GoodsChatBroadcaster;
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatTypingResponse;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import com.s406.livon.global.error.handler.ChatHandler;
+import com.s406.livon.global.web.response.code.status.ErrorStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * 입력 중 표시
+ * MongoDB / Redis 캐시를 거치지 않고 브로커(GoodsChatBroadcaster)로만 /sub/chat/goods/{roomId}/typing 에 전달합니다.
+ * (roomId, userId) 마다 입력 중 이벤트는 coalesceInterval(기본 2초)에 최대 한 번만 전달하고, 그 사이의 이벤트는 버립니다.
+ * 입력 중지 이벤트는 직전에 입력 중을 전달한 경우에만, 간격과 관계없이 바로 전달합니다. (간격당 최대 두 번)
+ * 입력 중 프레임은 GoodsChatInboundRateLimiter 의 제한 대상이 아니므로(goods-chat.rate-limit.destinations) 여기서만 묶습니다.
+ * 클라이언트는 입력 중 이벤트가 한동안 오지 않거나 해당 사용자의 메시지를 받으면 표시를 지웁니다.
+ *
+ * 지표
+ * - goods_chat.typing.events{result=forwarded|coalesced}
+ */
+@Service
+public class GoodsChatTypingService {
+
+    private final GoodsChatMembershipCache membershipCache;
+    private final GoodsChatBroadcaster goodsChatBroadcaster;
+    private final long coalesceNanos;
+    private final Cache<TypingKey, TypingState> lastForwarded;
+    private final Counter forwardedEvents;
+    private final Counter coalescedEvents;
+
+    public GoodsChatTypingService(GoodsChatMembershipCache membershipCache, GoodsChatBroadcaster goodsChatBroadcaster,
+                                  GoodsChatProperties goodsChatProperties, MeterRegistry meterRegistry) {
+        GoodsChatProperties.Typing typing = goodsChatProperties.getTyping();
+        this.membershipCache = membershipCache;
+        this.goodsChatBroadcaster = goodsChatBroadcaster;
+        this.coalesceNanos = typing.getCoalesceInterval().toNanos();
+        // 전달 후 coalesceInterval 이 지난 상태는 입력 중지 판단에만 쓰이므로 잠시 뒤 제거
+        this.lastForwarded = Caffeine.newBuilder()
+                .maximumSize(typing.getMaxTrackedUsers())
+                .expireAfterWrite(typing.getCoalesceInterval().multipliedBy(5))
+                .build();
+        this.forwardedEvents = Counter.builder("goods_chat.typing.events").tag("result", "forwarded").register(meterRegistry);
+        this.coalescedEvents = Counter.builder("goods_chat.typing.events").tag("result", "coalesced").register(meterRegistry);
+    }
+
+    // STOMP 입력 중 프레임 (/pub/chat/goods/typing)
+    public void typing(UUID userId, Long chatRoomId, boolean typing) {
+        if (!membershipCache.isMember(chatRoomId, userId)) {
+            throw new ChatHandler(ErrorStatus.USER_NOT_SEND_VALID);
+        }
+        if (!tryForward(new TypingKey(chatRoomId, userId), typing, System.nanoTime())) {
+            coalescedEvents.increment();
+            return;
+        }
+        forwardedEvents.increment();
+        goodsChatBroadcaster.send(GoodsChatBroadcaster.typingDestination(chatRoomId),
+                GoodsChatTypingResponse.of(chatRoomId, userId, typing));
+    }
+
+    private boolean tryForward(TypingKey key, boolean typing, long now) {
+        boolean[] forward = new boolean[1];
+        lastForwarded.asMap().compute(key, (k, state) -> {
+            // 표시 중이 아닌데 온 입력 중지 이벤트
+            if (!typing && (state == null || !state.typing())) {
+                return state;
+            }
+            // 입력 중 -> 입력 중지 전환은 간격 안이어도 전달 (버리면 이후 입력 중지를 보낼 계기가 없음)
+            if (typing && state != null && now - state.forwardedAtNanos() < coalesceNanos) {
+                return state;
+            }
+            forward[0] = true;
+            return new TypingState(typing, now);
+        });
+        return forward[0];
+    }
+
+    private record TypingKey(Long chatRoomId, UUID userId) {
+    }
+
+    private record TypingState(boolean typing, long forwardedAtNanos) {
+    }
+}
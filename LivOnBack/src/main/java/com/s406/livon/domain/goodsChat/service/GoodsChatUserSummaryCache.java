@@ -0,0 +1,126 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatUserSummary;
+import com.s406.livon.domain.user.repository.UserRepository;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import com.s406.livon.global.config.properties.GoodsChatProperties.BrokerMode;
+import com.s406.livon.global.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 발신자 정보 캐시 - userId 단위
+ * 채팅 내역 / 접속자 조회마다 발생하던 User(+ roles) 조회를 줄입니다.
+ * - 캐시에 없는 사용자만 한 번의 쿼리로 일괄 조회 (닉네임, 프로필 이미지, 역할 컬럼만)
+ * - 닉네임 / 프로필 이미지 변경, 회원 탈퇴 시 UserService 가 커밋 이후 무효화
+ * - 무효화마다 버전을 올리고, 조회 중 버전이 바뀌면 적재 결과를 캐시에서 제거 (GoodsChatMembershipCache 와 동일)
+ * - REDIS 브로커 모드에서는 무효화를 Redis 채널(broker.user-summary-channel)로 발행하여 모든 노드의 캐시를 함께 무효화
+ */
+@Slf4j
+@Component
+public class GoodsChatUserSummaryCache implements MessageListener {
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final GoodsChatProperties.Broker brokerProperties;
+    private final Cache<UUID, GoodsChatUserSummary> summaries;
+    private final AtomicLong evictionVersion = new AtomicLong();
+
+    public GoodsChatUserSummaryCache(UserRepository userRepository, StringRedisTemplate stringRedisTemplate,
+                                     GoodsChatProperties goodsChatProperties) {
+        GoodsChatProperties.UserSummary userSummary = goodsChatProperties.getUserSummary();
+        this.userRepository = userRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.brokerProperties = goodsChatProperties.getBroker();
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(userSummary.getMaxSize())
+                .expireAfterWrite(userSummary.getTtl())
+                .build();
+    }
+
+    /**
+     * @return userId -> 사용자 정보 (존재하지 않는 사용자는 포함되지 않습니다.)
+     */
+    public Map<UUID, GoodsChatUserSummary> getAll(Collection<UUID> userIds) {
+        long version = evictionVersion.get();
+        Map<UUID, GoodsChatUserSummary> result = summaries.getAll(userIds, this::load);
+        // 조회 중 무효화가 있었으면 변경 전 정보일 수 있으므로 제거 (다음 조회에서 다시 확인)
+        if (evictionVersion.get() != version) {
+            result.forEach((userId, summary) -> summaries.asMap().remove(userId, summary));
+        }
+        return result;
+    }
+
+    public GoodsChatUserSummary get(UUID userId) {
+        return getAll(Set.of(userId)).get(userId);
+    }
+
+    // 버전을 먼저 올려야 진행 중인 적재가 무효화 이후에 넣은 결과를 스스로 제거
+    public void evict(UUID userId) {
+        evictionVersion.incrementAndGet();
+        summaries.invalidate(userId);
+    }
+
+    // 현재 노드와 (REDIS 브로커 모드이면) 다른 모든 노드의 캐시 무효화
+    public void evictEverywhere(UUID userId) {
+        evict(userId);
+        if (brokerProperties.getMode() != BrokerMode.REDIS) {
+            return;
+        }
+        try {
+            stringRedisTemplate.convertAndSend(brokerProperties.getUserSummaryChannel(), userId.toString());
+        } catch (Exception e) {
+            // 발행에 실패해도 다른 노드의 캐시는 ttl 이후 만료
+            log.error("발신자 정보 캐시 무효화 발행 실패: userId={}, {}", userId, e.getMessage());
+        }
+    }
+
+    // 커밋 전에 무효화하면 다른 스레드가 변경 전 정보를 다시 캐싱할 수 있으므로 커밋 이후 무효화
+    public void evictAfterCommit(UUID userId) {
+        TransactionUtils.runAfterCommit(() -> evictEverywhere(userId));
+    }
+
+    // 다른 노드(발행한 노드 포함)에서 발행한 무효화 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            evict(UUID.fromString(body));
+        } catch (RuntimeException e) {
+            log.error("발신자 정보 캐시 무효화 메시지 파싱 실패: {}", body);
+        }
+    }
+
+    private Map<UUID, GoodsChatUserSummary> load(Set<? extends UUID> userIds) {
+        Map<UUID, GoodsChatUserSummary> loaded = new LinkedHashMap<>();
+        // 역할이 여러 개인 사용자는 행 순서와 관계없이 Role 선언 순서상 가장 앞의 역할 사용 (roles 에는 순서 컬럼이 없음)
+        for (GoodsChatUserSummary summary : userRepository.findChatUserSummariesByIdIn(new ArrayList<>(userIds))) {
+            loaded.merge(summary.getId(), summary, GoodsChatUserSummaryCache::preferredRole);
+        }
+        return loaded;
+    }
+
+    private static GoodsChatUserSummary preferredRole(GoodsChatUserSummary current, GoodsChatUserSummary candidate) {
+        if (current.getRole() == null) {
+            return candidate;
+        }
+        if (candidate.getRole() == null) {
+            return current;
+        }
+        return candidate.getRole().ordinal() < current.getRole().ordinal() ? candidate : current;
+    }
+}
@@ -0,0 +1,352 @@
+package com.s406.livon.domain.goodsChat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import com.s406.livon.global.config.properties.GoodsChatProperties.PersistenceMode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 메시지 write-behind 버퍼 (goods-chat.persistence.mode=write-behind)
+ * 1. append() : Redis Stream(WAL)에 기록한 뒤 메모리 링 버퍼에 적재 -> 호출자는 바로 캐시 저장/브로드캐스트
+ * 2. flusher  : batchSize 또는 flushInterval 중 먼저 도달하는 기준으로 묶어 insertMany 후 WAL 에서 삭제
+ * 3. 재시작 시 : flusher 스레드가 WAL 에 남아있는(저장되지 못한) 메시지를 먼저 MongoDB 에 반영
+ *    (MongoDB 가 아직 준비되지 않았어도 기동은 계속하고, 반영될 때까지 재시도)
+ * 메시지 ID 는 미리 발급하므로 재반영 중 중복 저장(duplicate key)은 성공으로 간주합니다.
+ * 역직렬화할 수 없는 WAL 항목과 MongoDB 가 maxFlushAttempts 번 거부한 메시지는 dead-letter Stream 으로 옮겨
+ * 한 건 때문에 전체 저장이 멈추지 않도록 합니다. (연결 장애 등 일시적인 오류는 계속 재시도)
+ */
+@Slf4j
+@Component
+public class GoodsChatWriteBehindBuffer {
+
+    private static final String PAYLOAD_FIELD = "payload";
+    private static final String REASON_FIELD = "reason";
+    private static final String WAL_ID_FIELD = "walId";
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+    private static final long RETRY_BACKOFF_MS = 1000L;
+
+    private final MongoTemplate mongoTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final GoodsChatProperties.Persistence persistenceProperties;
+    private final BlockingQueue<PendingMessage> buffer;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public GoodsChatWriteBehindBuffer(MongoTemplate mongoTemplate,
+                                      StringRedisTemplate stringRedisTemplate,
+                                      ObjectMapper objectMapper,
+                                      GoodsChatProperties goodsChatProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.persistenceProperties = goodsChatProperties.getPersistence();
+        this.buffer = new ArrayBlockingQueue<>(persistenceProperties.getBufferCapacity());
+    }
+
+    public boolean isEnabled() {
+        return persistenceProperties.getMode() == PersistenceMode.WRITE_BEHIND;
+    }
+
+    public int pendingCount() {
+        return buffer.size();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::run, "goods-chat-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("채팅 write-behind 모드 시작 (batchSize={}, flushInterval={})",
+                persistenceProperties.getBatchSize(), persistenceProperties.getFlushInterval());
+    }
+
+    // 종료 시 버퍼에 남은 메시지를 모두 저장한 뒤 종료
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * 메시지를 WAL 에 기록하고 버퍼에 적재합니다.
+     * 버퍼가 가득 찬 경우 호출 스레드에서 바로 저장합니다. (backpressure)
+     * 동기 저장이 실패하면 WAL 항목도 삭제하여, 전송되지 않은 메시지가 나중에 재반영되지 않도록 합니다.
+     */
+    public void append(GoodsChatMessage message) {
+        String walStreamKey = persistenceProperties.getWalStreamKey();
+        RecordId recordId = stringRedisTemplate.opsForStream()
+                .add(walStreamKey, Map.of(PAYLOAD_FIELD, serialize(message)));
+
+        PendingMessage pending = new PendingMessage(message, recordId);
+        if (buffer.offer(pending)) {
+            return;
+        }
+
+        log.warn("채팅 write-behind 버퍼가 가득 차 동기 저장합니다. roomId={}", message.getChatRoomId());
+        try {
+            List<BulkWriteError> rejected = insertAll(List.of(message));
+            if (!rejected.isEmpty()) {
+                throw new IllegalStateException("MongoDB 가 채팅 메시지 저장을 거부했습니다: " + rejected.get(0).getMessage());
+            }
+        } catch (RuntimeException e) {
+            stringRedisTemplate.opsForStream().delete(walStreamKey, recordId);
+            throw e;
+        }
+        acknowledge(List.of(pending));
+    }
+
+    // flusher 스레드 : WAL 재반영이 끝난 뒤 버퍼 flush 시작
+    private void run() {
+        try {
+            replayWithRetry();
+            flushLoop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // MongoDB / Redis 장애 시 재시도 (종료 중이면 WAL 에 남겨두고 다음 기동 시 재반영)
+    private void replayWithRetry() throws InterruptedException {
+        while (running) {
+            try {
+                replayWriteAheadLog();
+                return;
+            } catch (RuntimeException e) {
+                log.error("채팅 write-behind WAL 재반영 실패, 재시도합니다: {}", e.getMessage(), e);
+                Thread.sleep(RETRY_BACKOFF_MS);
+            }
+        }
+    }
+
+    private void flushLoop() throws InterruptedException {
+        int batchSize = persistenceProperties.getBatchSize();
+        long flushIntervalNanos = persistenceProperties.getFlushInterval().toNanos();
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+
+        while (running || !buffer.isEmpty()) {
+            try {
+                // 이전 flush 가 실패한 batch 가 남아있으면 그대로 다시 저장
+                if (batch.isEmpty()) {
+                    PendingMessage first = buffer.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+
+                    // 첫 메시지 기준 flushInterval 동안 batchSize 까지 모음
+                    long deadline = System.nanoTime() + flushIntervalNanos;
+                    while (batch.size() < batchSize) {
+                        buffer.drainTo(batch, batchSize - batch.size());
+                        long remaining = deadline - System.nanoTime();
+                        if (batch.size() >= batchSize || remaining <= 0) {
+                            break;
+                        }
+                        PendingMessage next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                }
+
+                flushWithRetry(batch);
+                batch.clear();
+            } catch (RuntimeException e) {
+                // dead-letter 기록 실패 등 : batch 를 유지한 채 재시도 (이미 저장된 메시지는 duplicate key 로 건너뜀)
+                log.error("채팅 write-behind flush 실패, 재시도합니다 ({}건): {}", batch.size(), e.getMessage(), e);
+                if (!running) {
+                    return;
+                }
+                Thread.sleep(RETRY_BACKOFF_MS);
+            }
+        }
+    }
+
+    /**
+     * batch 를 저장하고 WAL 에서 삭제합니다.
+     * - MongoDB 가 일부 메시지를 거부하면 나머지는 바로 확정하고, 거부된 메시지만 재시도 후 dead-letter 로 이동
+     * - 그 외 일시적이지 않은 오류가 maxFlushAttempts 번 이어지면 batch 를 반으로 나누어 원인 메시지를 찾아 이동
+     * - 연결 장애 등 일시적인 오류는 계속 재시도하고, 종료 중이면 WAL 에 남겨두고 다음 기동 시 재반영
+     */
+    private void flushWithRetry(List<PendingMessage> batch) throws InterruptedException {
+        int maxAttempts = Math.max(1, persistenceProperties.getMaxFlushAttempts());
+        List<PendingMessage> remaining = batch;
+        int attempts = 0;
+        while (true) {
+            try {
+                List<PendingMessage> attempted = remaining;
+                List<BulkWriteError> rejected = insertAll(attempted.stream().map(PendingMessage::message).toList());
+                if (rejected.isEmpty()) {
+                    acknowledge(attempted);
+                    return;
+                }
+                List<PendingMessage> rejectedMessages = rejected.stream()
+                        .map(error -> attempted.get(error.getIndex()))
+                        .toList();
+                acknowledge(attempted.stream().filter(pending -> !rejectedMessages.contains(pending)).toList());
+                remaining = rejectedMessages;
+                attempts++;
+                log.error("MongoDB 가 채팅 메시지 {}건 저장을 거부했습니다 ({}/{}): {}",
+                        remaining.size(), attempts, maxAttempts, rejected.get(0).getMessage());
+                if (attempts >= maxAttempts) {
+                    deadLetter(remaining, rejected.get(0).getMessage());
+                    return;
+                }
+            } catch (RuntimeException e) {
+                attempts++;
+                log.error("채팅 메시지 일괄 저장 실패 ({}건, {}/{}): {}", remaining.size(), attempts, maxAttempts, e.getMessage(), e);
+                if (attempts >= maxAttempts && !isTransient(e)) {
+                    if (remaining.size() == 1) {
+                        deadLetter(remaining, e.getMessage());
+                        return;
+                    }
+                    int half = remaining.size() / 2;
+                    flushWithRetry(remaining.subList(0, half));
+                    flushWithRetry(remaining.subList(half, remaining.size()));
+                    return;
+                }
+            }
+            if (!running) {
+                return;
+            }
+            Thread.sleep(RETRY_BACKOFF_MS);
+        }
+    }
+
+    // 연결 / 시간 초과 등 재시도하면 성공할 수 있는 오류
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof DataAccessResourceFailureException || e instanceof TransientDataAccessException;
+    }
+
+    /**
+     * 비순차(unordered) insertMany - 이미 저장된 메시지(duplicate key)는 성공으로 간주합니다.
+     * @return MongoDB 가 거부한 메시지의 오류 (index 는 messages 의 위치, 모두 저장되면 빈 리스트)
+     */
+    private List<BulkWriteError> insertAll(List<GoodsChatMessage> messages) {
+        try {
+            mongoTemplate.bulkOps(BulkMode.UNORDERED, GoodsChatMessage.class)
+                    .insert(messages)
+                    .execute();
+            return List.of();
+        } catch (BulkOperationException e) {
+            return e.getErrors().stream()
+                    .filter(error -> error.getCode() != DUPLICATE_KEY_ERROR_CODE)
+                    .toList();
+        }
+    }
+
+    // 저장할 수 없는 메시지를 dead-letter Stream 으로 옮기고 WAL 에서 삭제
+    private void deadLetter(List<PendingMessage> messages, String reason) {
+        for (PendingMessage pending : messages) {
+            deadLetter(pending.recordId(), serialize(pending.message()), reason);
+        }
+    }
+
+    private void deadLetter(RecordId recordId, String payload, String reason) {
+        stringRedisTemplate.opsForStream().add(persistenceProperties.getDeadLetterStreamKey(), Map.of(
+                PAYLOAD_FIELD, payload == null ? "" : payload,
+                REASON_FIELD, reason == null ? "" : reason,
+                WAL_ID_FIELD, recordId.getValue()));
+        stringRedisTemplate.opsForStream().delete(persistenceProperties.getWalStreamKey(), recordId);
+        log.error("채팅 메시지를 dead-letter 로 이동했습니다: walId={}, reason={}", recordId.getValue(), reason);
+    }
+
+    private void acknowledge(List<PendingMessage> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        RecordId[] recordIds = batch.stream().map(PendingMessage::recordId).toArray(RecordId[]::new);
+        stringRedisTemplate.opsForStream().delete(persistenceProperties.getWalStreamKey(), recordIds);
+    }
+
+    // 기동 시 WAL 에 남아있는 메시지를 batchSize 단위로 저장 (역직렬화할 수 없는 항목은 dead-letter 로 이동)
+    // 재반영 중 append 된 메시지는 버퍼에서 저장되므로 재반영 시작 시점의 마지막 항목까지만 반영
+    private void replayWriteAheadLog() throws InterruptedException {
+        String walStreamKey = persistenceProperties.getWalStreamKey();
+        List<MapRecord<String, Object, Object>> last = stringRedisTemplate.opsForStream()
+                .reverseRange(walStreamKey, Range.unbounded(), Limit.limit().count(1));
+        if (last == null || last.isEmpty()) {
+            return;
+        }
+        Range<String> replayRange = Range.closed("0-0", last.get(0).getId().getValue());
+        int replayed = 0;
+
+        while (running) {
+            List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                    .range(walStreamKey, replayRange, Limit.limit().count(persistenceProperties.getBatchSize()));
+            if (records == null || records.isEmpty()) {
+                break;
+            }
+
+            List<PendingMessage> pending = new ArrayList<>(records.size());
+            for (MapRecord<String, Object, Object> record : records) {
+                String payload = (String) record.getValue().get(PAYLOAD_FIELD);
+                try {
+                    pending.add(new PendingMessage(deserialize(payload), record.getId()));
+                } catch (RuntimeException e) {
+                    deadLetter(record.getId(), payload, e.getMessage());
+                }
+            }
+            flushWithRetry(pending);
+            replayed += pending.size();
+        }
+
+        if (replayed > 0) {
+            log.info("채팅 write-behind WAL 재반영 완료: {}건", replayed);
+        }
+    }
+
+    private String serialize(GoodsChatMessage message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("채팅 메시지 직렬화에 실패했습니다.", e);
+        }
+    }
+
+    private GoodsChatMessage deserialize(String payload) {
+        if (payload == null) {
+            throw new IllegalStateException("WAL 항목에 채팅 메시지가 없습니다.");
+        }
+        try {
+            return objectMapper.readValue(payload, GoodsChatMessage.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("WAL 채팅 메시지 역직렬화에 실패했습니다.", e);
+        }
+    }
+
+    private record PendingMessage(GoodsChatMessage message, RecordId recordId) {
+    }
+}
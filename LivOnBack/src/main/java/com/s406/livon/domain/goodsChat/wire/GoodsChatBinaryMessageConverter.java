@@ -0,0 +1,50 @@
+package com.s406.livon.domain.goodsChat.wire;
+
+import com.s406.livon.domain.goodsChat.codec.GoodsChatMessageResponseCodec;
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatMessageResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.util.Map;
+
+/**
+ * GoodsChatMessageResponse <-> 바이너리 payload 변환 (GoodsChatMessageResponseCodec)
+ * content-type 이 BINARY_MIME_TYPE 으로 지정된 경우에만 동작하므로(strict) 기본 변환은 계속 JSON 입니다.
+ * STOMP 가 WebSocket binary 프레임으로 보내도록 application/octet-stream 계열 타입을 사용합니다.
+ */
+@Component
+public class GoodsChatBinaryMessageConverter extends AbstractMessageConverter {
+
+    public static final MimeType BINARY_MIME_TYPE =
+            new MimeType("application", "octet-stream", Map.of("format", "goods-chat-v1"));
+
+    public GoodsChatBinaryMessageConverter() {
+        super(BINARY_MIME_TYPE);
+        setStrictContentTypeMatch(true);
+    }
+
+    public boolean canEncode(Object payload) {
+        return payload != null && supports(payload.getClass());
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return GoodsChatMessageResponse.class.equals(clazz);
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        if (!(message.getPayload() instanceof byte[] payload)) {
+            return null;
+        }
+        return GoodsChatMessageResponseCodec.decode(payload);
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        return GoodsChatMessageResponseCodec.encode((GoodsChatMessageResponse) payload);
+    }
+}
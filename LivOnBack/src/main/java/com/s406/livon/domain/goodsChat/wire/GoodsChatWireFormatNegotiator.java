@@ -0,0 +1,199 @@
+package com.s406.livon.domain.goodsChat.wire;
+
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.core.MessagePostProcessor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 세션별 채팅 payload 형식(JSON / 바이너리) 협상
+ * 1. CONNECT 프레임의 accept-content-type 헤더에 BINARY_MIME_TYPE 이 있으면 바이너리 세션으로 등록
+ *    (SockJS 는 텍스트 프레임만 전송할 수 있으므로 항상 JSON)
+ * 2. 브로드캐스트 시 바이너리 세션이 있으면 payload 를 한 번만 바이너리로 인코딩해 메시지 헤더로 첨부
+ * 3. clientOutboundChannel 에서 바이너리 세션으로 가는 MESSAGE 프레임만 첨부된 payload 로 교체
+ * 따라서 구독자 수와 관계없이 형식별 인코딩은 노드마다 브로드캐스트당 한 번입니다.
+ *
+ * 지표
+ * - goods_chat.wire.sessions{format=json|binary}                   : CONNECT 시 협상된 형식
+ * - goods_chat.wire.connections{transport, permessage_deflate}     : 연결 시 permessage-deflate 협상 여부
+ * - goods_chat.wire.binary_sessions                                : 현재 바이너리 세션 수
+ */
+@Slf4j
+@Component
+public class GoodsChatWireFormatNegotiator implements ChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    public static final String ACCEPT_CONTENT_TYPE_HEADER = "accept-content-type";
+    private static final String BINARY_PAYLOAD_HEADER = "goodsChatBinaryPayload";
+    private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+    private static final MessageHeaders BINARY_HEADERS =
+            new MessageHeaders(Map.of(MessageHeaders.CONTENT_TYPE, GoodsChatBinaryMessageConverter.BINARY_MIME_TYPE));
+
+    private final boolean binaryEnabled;
+    private final GoodsChatBinaryMessageConverter binaryMessageConverter;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> sockJsSessionIds = ConcurrentHashMap.newKeySet();
+    private final Set<String> binarySessionIds = ConcurrentHashMap.newKeySet();
+
+    private final Counter jsonSessions;
+    private final Counter binarySessions;
+
+    public GoodsChatWireFormatNegotiator(GoodsChatProperties goodsChatProperties,
+                                         GoodsChatBinaryMessageConverter binaryMessageConverter,
+                                         MeterRegistry meterRegistry) {
+        this.binaryEnabled = goodsChatProperties.getWire().isBinaryEnabled();
+        this.binaryMessageConverter = binaryMessageConverter;
+        this.meterRegistry = meterRegistry;
+
+        this.jsonSessions = Counter.builder("goods_chat.wire.sessions").tag("format", "json").register(meterRegistry);
+        this.binarySessions = Counter.builder("goods_chat.wire.sessions").tag("format", "binary").register(meterRegistry);
+        Gauge.builder("goods_chat.wire.binary_sessions", binarySessionIds, Set::size).register(meterRegistry);
+    }
+
+    // 바이너리로 보낼 수 있는 payload 인지 (멀티 노드 브로드캐스트는 인코딩하지 않고 여부만 전달)
+    public boolean supportsBinary(Object payload) {
+        return binaryEnabled && binaryMessageConverter.canEncode(payload);
+    }
+
+    public boolean hasBinarySessions() {
+        return !binarySessionIds.isEmpty();
+    }
+
+    // 바이너리로 보낼 수 있는 payload 면 인코딩 결과를, 아니면 null 을 반환
+    private byte[] encode(Object payload) {
+        if (!binaryEnabled) {
+            return null;
+        }
+        Message<?> message = binaryMessageConverter.toMessage(payload, BINARY_HEADERS);
+        return message != null ? (byte[]) message.getPayload() : null;
+    }
+
+    // 현재 노드에 바이너리 세션이 있을 때만 인코딩
+    public MessagePostProcessor binaryAlternativeOf(Object payload) {
+        if (binarySessionIds.isEmpty()) {
+            return null;
+        }
+        return binaryAlternative(encode(payload));
+    }
+
+    private MessagePostProcessor binaryAlternative(byte[] binaryPayload) {
+        if (binaryPayload == null || binarySessionIds.isEmpty()) {
+            return null;
+        }
+        return message -> MessageBuilder.fromMessage(message)
+                .setHeader(BINARY_PAYLOAD_HEADER, binaryPayload)
+                .build();
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        if (messageType == SimpMessageType.MESSAGE) {
+            return toSessionFormat(message);
+        }
+        if (messageType == SimpMessageType.CONNECT) {
+            negotiate(message);
+        }
+        return message;
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                boolean sockJs = session instanceof SockJsSession;
+                if (sockJs) {
+                    sockJsSessionIds.add(session.getId());
+                }
+                boolean deflate = session.getExtensions().stream()
+                        .anyMatch(extension -> PERMESSAGE_DEFLATE.equalsIgnoreCase(extension.getName()));
+                meterRegistry.counter("goods_chat.wire.connections",
+                        "transport", sockJs ? "sockjs" : "websocket",
+                        "permessage_deflate", String.valueOf(deflate)).increment();
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sockJsSessionIds.remove(session.getId());
+                binarySessionIds.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    private void negotiate(Message<?> message) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (accessor == null || sessionId == null) {
+            return;
+        }
+
+        if (binaryEnabled && !sockJsSessionIds.contains(sessionId)
+                && acceptsBinary(accessor.getNativeHeader(ACCEPT_CONTENT_TYPE_HEADER))) {
+            binarySessionIds.add(sessionId);
+            binarySessions.increment();
+            log.debug("STOMP CONNECT: 바이너리 payload 협상. SessionID: {}", sessionId);
+        } else {
+            jsonSessions.increment();
+        }
+    }
+
+    // 첨부된 바이너리 payload 가 있고 바이너리 세션으로 가는 프레임만 교체
+    private Message<?> toSessionFormat(Message<?> message) {
+        byte[] binaryPayload = message.getHeaders().get(BINARY_PAYLOAD_HEADER, byte[].class);
+        if (binaryPayload == null
+                || !binarySessionIds.contains(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()))) {
+            return message;
+        }
+        return MessageBuilder.withPayload(binaryPayload)
+                .copyHeaders(message.getHeaders())
+                .removeHeader(BINARY_PAYLOAD_HEADER)
+                .setHeader(MessageHeaders.CONTENT_TYPE, GoodsChatBinaryMessageConverter.BINARY_MIME_TYPE)
+                .build();
+    }
+
+    private static boolean acceptsBinary(List<String> acceptHeaders) {
+        if (acceptHeaders == null) {
+            return false;
+        }
+        for (String acceptHeader : acceptHeaders) {
+            try {
+                for (MimeType mimeType : MimeTypeUtils.parseMimeTypes(acceptHeader)) {
+                    if (GoodsChatBinaryMessageConverter.BINARY_MIME_TYPE.equals(mimeType)) {
+                        return true;
+                    }
+                }
+            } catch (InvalidMimeTypeException e) {
+                log.debug("잘못된 accept-content-type 헤더: {}", acceptHeader);
+            }
+        }
+        return false;
+    }
+}
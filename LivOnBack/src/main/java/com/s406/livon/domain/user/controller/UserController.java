@@ -180,6 +180,38 @@ public class UserController {
         return ResponseEntity.ok().body(ApiResponse.onSuccess(null, "프로필 이미지 변경 성공"));
     }
 
+    /**
+     * 푸시 토큰 등록 API
+     * @param token Bearer 토큰
+     * @param requestDto Expo 푸시 토큰 요청 DTO
+     * @return 성공 메시지
+     */
+    @PutMapping("/push-token")
+    @Operation(summary = "푸시 토큰 등록 API", description = "채팅 알림을 받을 기기의 Expo 푸시 토큰을 등록합니다.")
+    public ResponseEntity<?> registerPushToken(
+            @RequestHeader("Authorization") String token,
+            @RequestBody PushTokenRequestDto requestDto) {
+        UUID userId = jwtTokenProvider.getUserId(token.substring(7));
+        userService.registerPushToken(userId, requestDto.getToken());
+        return ResponseEntity.ok().body(ApiResponse.onSuccess(null, "푸시 토큰 등록 성공"));
+    }
+
+    /**
+     * 푸시 토큰 해제 API
+     * @param token Bearer 토큰
+     * @param requestDto Expo 푸시 토큰 요청 DTO
+     * @return 성공 메시지
+     */
+    @DeleteMapping("/push-token")
+    @Operation(summary = "푸시 토큰 해제 API", description = "기기의 Expo 푸시 토큰을 해제합니다.")
+    public ResponseEntity<?> unregisterPushToken(
+            @RequestHeader("Authorization") String token,
+            @RequestBody PushTokenRequestDto requestDto) {
+        UUID userId = jwtTokenProvider.getUserId(token.substring(7));
+        userService.unregisterPushToken(userId, requestDto.getToken());
+        return ResponseEntity.ok().body(ApiResponse.onSuccess(null, "푸시 토큰 해제 성공"));
+    }
+
     /**
      * 회원 탈퇴
      */
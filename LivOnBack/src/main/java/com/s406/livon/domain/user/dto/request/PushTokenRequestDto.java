@@ -0,0 +1,14 @@
+package com.s406.livon.domain.user.dto.request;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 푸시 토큰 등록 / 해제 요청 DTO
+ */
+@Getter
+@NoArgsConstructor
+public class PushTokenRequestDto {
+    /** Expo 푸시 토큰 (ExponentPushToken[...]) */
+    private String token;
+}
@@ -0,0 +1,35 @@
+package com.s406.livon.domain.user.entity;
+
+import com.s406.livon.global.util.BaseTime;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * 기기별 Expo 푸시 토큰 (ExponentPushToken[...])
+ * 한 사용자가 여러 기기를 쓸 수 있으므로 토큰 단위로 저장하고, 다른 계정으로 로그인한 기기는 소유자만 바꿉니다.
+ */
+@Entity
+@Table(name = "push_token", indexes = @Index(name = "idx_push_token_user_id", columnList = "user_id"))
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PushToken extends BaseTime {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "push_token_id")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, columnDefinition = "BINARY(16)")
+    private UUID userId;
+
+    @Column(name = "token", nullable = false, unique = true)
+    private String token;
+
+    public void changeOwner(UUID userId) {
+        this.userId = userId;
+    }
+}
@@ -0,0 +1,42 @@
+package com.s406.livon.domain.user.repository;
+
+import com.s406.livon.domain.user.entity.PushToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Expo 푸시 토큰 레포지토리
+ */
+@Repository
+public interface PushTokenRepository extends JpaRepository<PushToken, Long> {
+
+    Optional<PushToken> findByToken(String token);
+
+    // 푸시 대상 사용자들의 토큰을 한 번에 조회
+    List<PushToken> findAllByUserIdIn(Collection<UUID> userIds);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PushToken pt WHERE pt.userId = :userId AND pt.token = :token")
+    int deleteByUserIdAndToken(@Param("userId") UUID userId, @Param("token") String token);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PushToken pt WHERE pt.userId = :userId")
+    int deleteAllByUserId(@Param("userId") UUID userId);
+
+    // Expo 가 DeviceNotRegistered 로 응답한 토큰 정리
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PushToken pt WHERE pt.token IN :tokens")
+    int deleteAllByTokenIn(@Param("tokens") Collection<String> tokens);
+}
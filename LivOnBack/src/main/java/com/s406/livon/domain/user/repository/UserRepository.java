@@ -1,11 +1,14 @@
 package com.s406.livon.domain.user.repository;
 
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatUserSummary;
 import com.s406.livon.domain.user.entity.User;
 import com.s406.livon.domain.user.enums.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,4 +25,12 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      */
     @Query("SELECT u FROM User u WHERE u.id = :id AND :role MEMBER OF u.roles")
     Optional<User> findByIdAndRole(@Param("id") UUID id, @Param("role") Role role);
-}
\ No newline at end of file
+
+    /**
+     * 채팅 화면용 사용자 정보 일괄 조회 (필요한 컬럼만 DTO 로 조회, 역할이 여러 개면 사용자당 여러 행)
+     * 행 순서는 보장되지 않으므로 GoodsChatUserSummaryCache 에서 역할 하나를 결정적으로 선택합니다.
+     */
+    @Query("SELECT new com.s406.livon.domain.goodsChat.dto.response.GoodsChatUserSummary(u.id, u.nickname, u.profileImage, r) " +
+            "FROM User u LEFT JOIN u.roles r WHERE u.id IN :ids")
+    List<GoodsChatUserSummary> findChatUserSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+}
@@ -1,6 +1,7 @@
 package com.s406.livon.domain.user.service;
 
 
+import com.s406.livon.domain.goodsChat.service.GoodsChatUserSummaryCache;
 import com.s406.livon.domain.user.dto.JwtToken;
 import com.s406.livon.domain.user.dto.request.*;
 import com.s406.livon.domain.user.dto.response.HealthSurveyResponseDto;
@@ -10,10 +11,12 @@ import com.s406.livon.domain.user.dto.response.UserDto;
 import com.s406.livon.domain.user.entity.CoachInfo;
 import com.s406.livon.domain.user.entity.HealthSurvey;
 import com.s406.livon.domain.user.entity.Organizations;
+import com.s406.livon.domain.user.entity.PushToken;
 import com.s406.livon.domain.user.entity.User;
 import com.s406.livon.domain.user.repository.CoachInfoRepository;
 import com.s406.livon.domain.user.repository.HealthSurveyRepository;
 import com.s406.livon.domain.user.repository.OrganizationsRepository;
+import com.s406.livon.domain.user.repository.PushTokenRepository;
 import com.s406.livon.domain.user.repository.UserRepository;
 import com.s406.livon.global.error.handler.CoachHandler;
 import com.s406.livon.global.error.handler.TokenHandler;
@@ -50,6 +53,10 @@ public class UserService {
     private final OrganizationsRepository organizationsRepository;
     private final CoachInfoRepository coachInfoRepository;
     private final S3Service S3service;
+    private final GoodsChatUserSummaryCache goodsChatUserSummaryCache;
+    private final PushTokenRepository pushTokenRepository;
+    private static final String EXPO_PUSH_TOKEN_PREFIX = "ExponentPushToken[";
+    private static final String EXPO_PUSH_TOKEN_ALT_PREFIX = "ExpoPushToken[";
 
 
 
@@ -253,6 +260,7 @@ public class UserService {
             throw new UserHandler(ErrorStatus.USER_NICKNAME_IN_USE);
         }
         user.setNickname(nickname);
+        goodsChatUserSummaryCache.evictAfterCommit(userId);
 
         return "닉네임이 변경되었습니다";
     }
@@ -267,6 +275,38 @@ public class UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserHandler(ErrorStatus.USER_NOT_FOUND));
         user.setProfileImage(profileImageUrl);
+        goodsChatUserSummaryCache.evictAfterCommit(userId);
+    }
+
+    /**
+     * 푸시 토큰 등록
+     * 이미 다른 계정에 등록된 기기 토큰이면 현재 사용자로 소유자를 변경합니다.
+     * @param userId 사용자 식별자
+     * @param token Expo 푸시 토큰
+     */
+    @Transactional
+    public void registerPushToken(UUID userId, String token) {
+        if (token == null || !(token.startsWith(EXPO_PUSH_TOKEN_PREFIX) || token.startsWith(EXPO_PUSH_TOKEN_ALT_PREFIX))
+                || !token.endsWith("]")) {
+            throw new UserHandler(ErrorStatus.PUSH_TOKEN_INVALID);
+        }
+        pushTokenRepository.findByToken(token)
+                .ifPresentOrElse(
+                        pushToken -> pushToken.changeOwner(userId),
+                        () -> pushTokenRepository.save(PushToken.builder()
+                                .userId(userId)
+                                .token(token)
+                                .build()));
+    }
+
+    /**
+     * 푸시 토큰 해제 (해당 기기에서 더 이상 알림을 받지 않음)
+     * @param userId 사용자 식별자
+     * @param token Expo 푸시 토큰
+     */
+    @Transactional
+    public void unregisterPushToken(UUID userId, String token) {
+        pushTokenRepository.deleteByUserIdAndToken(userId, token);
     }
 
 
@@ -300,11 +340,12 @@ public class UserService {
         if (redisTemplate.opsForValue().get("RT:" + user.getId()) != null) {
             redisTemplate.delete("RT:" + user.getId());
         }
-        // FCM 토큰 제거
-//        fcmTokenRepository.deleteAllByUser(user);
+        // 푸시 토큰 제거
+        pushTokenRepository.deleteAllByUserId(userId);
 
         // 최종적으로 사용자 삭제
         userRepository.delete(user);
+        goodsChatUserSummaryCache.evictAfterCommit(userId);
     }
 
     @Transactional
@@ -0,0 +1,39 @@
+package com.s406.livon.global.config;
+
+import com.s406.livon.domain.goodsChat.broker.RedisGoodsChatBroadcaster;
+import com.s406.livon.domain.goodsChat.service.GoodsChatMembershipCache;
+import com.s406.livon.domain.goodsChat.service.GoodsChatUserSummaryCache;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+@EnableConfigurationProperties(GoodsChatProperties.class)
+public class GoodsChatConfig {
+
+    // REDIS 모드일 때 모든 노드가 브로드캐스트 채널과 참여 여부 / 발신자 정보 캐시 무효화 채널을 구독
+    @Bean
+    @ConditionalOnProperty(prefix = "goods-chat.broker", name = "mode", havingValue = "redis")
+    public RedisMessageListenerContainer goodsChatBroadcastListenerContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            RedisGoodsChatBroadcaster redisGoodsChatBroadcaster,
+            GoodsChatMembershipCache membershipCache,
+            GoodsChatUserSummaryCache userSummaryCache,
+            GoodsChatProperties goodsChatProperties
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(redisGoodsChatBroadcaster,
+                new ChannelTopic(goodsChatProperties.getBroker().getChannel()));
+        container.addMessageListener(membershipCache,
+                new ChannelTopic(goodsChatProperties.getBroker().getMembershipChannel()));
+        container.addMessageListener(userSummaryCache,
+                new ChannelTopic(goodsChatProperties.getBroker().getUserSummaryChannel()));
+        return container;
+    }
+}
@@ -1,10 +1,6 @@
 package com.s406.livon.global.config;
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
@@ -15,7 +11,7 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @RequiredArgsConstructor
@@ -47,24 +43,15 @@ public class RedisRepositoryConfig {
     return redisTemplate;
   }
 
+  // 채팅 메시지 캐시용 (값은 GoodsChatMessageCodec 바이너리)
   @Bean
-  public RedisTemplate<String, GoodsChatMessage> goodsChatCacheRedisTemplate() {
-    // LocalDateTime 직렬화를 위한 CustomSerializer 생성
-    ObjectMapper objectMapper = new ObjectMapper();
-    objectMapper.registerModule(new JavaTimeModule());
-
-    // 타입 검증을 위한 BasicPolymorphicTypeValidator
-    BasicPolymorphicTypeValidator validator = BasicPolymorphicTypeValidator.builder()
-            .allowIfSubType(GoodsChatMessage.class)
-            .build();
-    objectMapper.activateDefaultTyping(validator, ObjectMapper.DefaultTyping.NON_FINAL);
-    GenericJackson2JsonRedisSerializer customSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
-
-    // RedisTemplate 설정
-    RedisTemplate<String, GoodsChatMessage> redisTemplate = new RedisTemplate<>();
+  public RedisTemplate<String, byte[]> goodsChatPayloadRedisTemplate() {
+    RedisTemplate<String, byte[]> redisTemplate = new RedisTemplate<>();
     redisTemplate.setConnectionFactory(redisConnectionFactory());
     redisTemplate.setKeySerializer(new StringRedisSerializer());
-    redisTemplate.setValueSerializer(customSerializer);
+    redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+    redisTemplate.setHashKeySerializer(new StringRedisSerializer());
+    redisTemplate.setHashValueSerializer(RedisSerializer.byteArray());
     return redisTemplate;
   }
-}
\ No newline at end of file
+}
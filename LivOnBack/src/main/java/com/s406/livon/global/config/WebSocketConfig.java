@@ -1,26 +1,62 @@
 package com.s406.livon.global.config;
 
 import com.s406.livon.domain.goodsChat.event.ChatHandler;
+import com.s406.livon.domain.goodsChat.inbound.GoodsChatInboundRateLimiter;
+import com.s406.livon.domain.goodsChat.inbound.GoodsChatStompErrorHandler;
+import com.s406.livon.domain.goodsChat.outbound.GoodsChatOutboundMonitor;
+import com.s406.livon.domain.goodsChat.wire.GoodsChatBinaryMessageConverter;
+import com.s406.livon.domain.goodsChat.wire.GoodsChatWireFormatNegotiator;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.messaging.converter.MessageConverter;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker // WebSocket 메시지 브로커 활성화
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     private final ChatHandler chatHandler;
+    private final GoodsChatProperties goodsChatProperties;
+    private final GoodsChatOutboundMonitor outboundMonitor;
+    private final GoodsChatWireFormatNegotiator wireFormatNegotiator;
+    private final GoodsChatBinaryMessageConverter binaryMessageConverter;
+    private final GoodsChatInboundRateLimiter inboundRateLimiter;
+    private final GoodsChatStompErrorHandler stompErrorHandler;
+
+    // heart-beat 전송용 스케줄러 (브로커 설정과 순환 참조되지 않도록 지연 주입)
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy TaskScheduler messageBrokerTaskScheduler) {
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry){
         // 구독 경로 설정 - 클라이언트가 구독할 수 있는 endpoint 설정
         // 클라이언트는 이 prefix로 시작하는 주제를 구독할 수 있음
+        // 멀티 노드 fan-out 은 GoodsChatBroadcaster(goods-chat.broker.mode=redis)가 담당하고,
+        // SimpleBroker 는 각 노드의 로컬 세션 전달만 처리
+        // heart-beat 로 끊긴 연결을 감지하고, 마지막 수신 시각은 GoodsChatPresenceRegistry 가 추적
+        long heartbeatMillis = goodsChatProperties.getPresence().getHeartbeatInterval().toMillis();
+        // /queue 는 요청한 세션에만 보내는 에러 응답용 (/user/queue/errors, GoodsChatClientErrorSender)
         registry.enableSimpleBroker(
-                "/sub/chat/goods"
-        );
+                "/sub/chat/goods",
+                "/queue"
+        )
+                .setHeartbeatValue(new long[]{heartbeatMillis, heartbeatMillis})
+                .setTaskScheduler(messageBrokerTaskScheduler);
 
         // 발행 경로 설정 - 클라이언트가 메세지를 발행할 때 사용할 prefix
         // 클라이언트가 메시지를 보낼 떄는 이 prefix로 시작하는 endpoint로 메시지를 전송
@@ -38,11 +74,45 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 // sockjs 지원 추가 (websocket을 지원하지 않는 브라우저를 위한 fallback)
                 .withSockJS();
+        // 순수 WebSocket endpoint - permessage-deflate 는 컨테이너(Tomcat)가 핸드셰이크에서 협상
+        // 협상 결과는 goods_chat.wire.connections 지표로 확인 (GoodsChatWireFormatNegotiator)
         registry.addEndpoint("/ws/chat")
                 .setAllowedOriginPatterns("*");
+
+        // 수신 프레임 처리 중 GeneralException 은 에러 코드를 담은 ERROR 프레임으로 응답
+        registry.setErrorHandler(stompErrorHandler);
+    }
+
+    // content-type 이 지정된 경우에만 동작하는 바이너리 변환기를 추가 (기본 변환기 유지, 기본 형식은 JSON)
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        messageConverters.add(binaryMessageConverter);
+        return true;
     }
+
+    // 인증 / 인가(ChatHandler) 이후 SEND 프레임 속도 제한 (GoodsChatInboundRateLimiter)
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        registration.interceptors(chatHandler);
+        registration.interceptors(chatHandler, inboundRateLimiter, wireFormatNegotiator);
+    }
+
+    // 브로커 -> 세션 전송 : 전용 bounded executor + 세션별 대기 메시지 제한 (GoodsChatOutboundMonitor)
+    // 대기열을 통과한 프레임만 세션이 협상한 payload 형식으로 교체 (GoodsChatWireFormatNegotiator)
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(outboundMonitor.getExecutor());
+        registration.interceptors(outboundMonitor, wireFormatNegotiator);
+    }
+
+    // 느린 클라이언트가 전송 스레드를 오래 붙잡지 않도록 전송 시간 / 버퍼 크기 제한 (초과 시 세션 종료)
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        GoodsChatProperties.Outbound outbound = goodsChatProperties.getOutbound();
+        registration.setSendTimeLimit((int) outbound.getSendTimeLimit().toMillis())
+                .setSendBufferSizeLimit(outbound.getSendBufferSizeLimit())
+                .setMessageSizeLimit(outbound.getMessageSizeLimit())
+                .addDecoratorFactory(outboundMonitor)
+                .addDecoratorFactory(wireFormatNegotiator)
+                .addDecoratorFactory(inboundRateLimiter);
     }
 }
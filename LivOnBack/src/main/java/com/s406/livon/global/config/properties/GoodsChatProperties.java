@@ -0,0 +1,569 @@
+package com.s406.livon.global.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "goods-chat")
+public class GoodsChatProperties {
+
+    private final Broker broker = new Broker();
+    private final Cache cache = new Cache();
+    private final Persistence persistence = new Persistence();
+    private final Membership membership = new Membership();
+    private final Presence presence = new Presence();
+    private final UserSummary userSummary = new UserSummary();
+    private final Sequencer sequencer = new Sequencer();
+    private final Outbound outbound = new Outbound();
+    private final LastMessage lastMessage = new LastMessage();
+    private final ReadCursor readCursor = new ReadCursor();
+    private final Search search = new Search();
+    private final Compaction compaction = new Compaction();
+    private final Deletion deletion = new Deletion();
+    private final Wire wire = new Wire();
+    private final Moderation moderation = new Moderation();
+    private final RateLimit rateLimit = new RateLimit();
+    private final Typing typing = new Typing();
+    private final Push push = new Push();
+
+    @Getter
+    @Setter
+    public static class Broker {
+
+        /**
+         * Fan-out mode for /sub/chat/goods destinations (LOCAL: single node, REDIS: cluster via Pub/Sub).
+         */
+        private BrokerMode mode = BrokerMode.LOCAL;
+
+        /**
+         * Redis Pub/Sub channel shared by every node when running in REDIS mode.
+         */
+        private String channel = "goods_chat:broadcast";
+
+        /**
+         * Redis Pub/Sub channel on which membership cache evictions are propagated in REDIS mode.
+         */
+        private String membershipChannel = "goods_chat:membership";
+
+        /**
+         * Redis Pub/Sub channel on which sender profile cache evictions are propagated in REDIS mode.
+         */
+        private String userSummaryChannel = "goods_chat:user_summary";
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        /**
+         * Maximum number of most recent messages kept in each room's hot window.
+         */
+        private int windowSize = 300;
+
+        /**
+         * Expiration for a room with no recent activity; busier rooms scale towards maxTtl.
+         */
+        private Duration minTtl = Duration.ofMinutes(5);
+
+        /**
+         * Expiration for the busiest rooms.
+         */
+        private Duration maxTtl = Duration.ofHours(6);
+
+        /**
+         * Half-life of the per-room activity rate used to pick a TTL.
+         */
+        private Duration activityHalfLife = Duration.ofMinutes(10);
+
+        /**
+         * Activity rate (reads and writes per minute) at which the TTL is halfway between minTtl and maxTtl.
+         */
+        private double activitySaturation = 30;
+
+        /**
+         * Rooms with no activity for this long are forgotten along with their metrics.
+         */
+        private Duration activityIdleTimeout = Duration.ofHours(2);
+
+        /**
+         * Minimum interval between two TTL refreshes of a room on cache hits.
+         */
+        private Duration ttlRefreshInterval = Duration.ofMinutes(1);
+
+        /**
+         * Number of latest messages preloaded when the first subscriber of a room connects to a node.
+         */
+        private int warmUpSize = 100;
+
+        /**
+         * Delay between two samplings of per-room Redis memory usage.
+         */
+        private long memorySampleIntervalMs = 60_000;
+
+        /**
+         * Lifetime of the cross-node lease held while one node reloads a window from MongoDB.
+         */
+        private Duration loadLeaseTtl = Duration.ofSeconds(3);
+
+        /**
+         * How long a node waits for another node's reload before querying MongoDB itself.
+         */
+        private Duration loadWaitTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Interval at which a waiting node re-checks the cache.
+         */
+        private Duration loadPollInterval = Duration.ofMillis(20);
+    }
+
+    @Getter
+    @Setter
+    public static class Persistence {
+
+        /**
+         * TRANSACTIONAL saves each message in its own Mongo transaction before broadcasting,
+         * WRITE_BEHIND broadcasts first and persists asynchronously in batches.
+         */
+        private PersistenceMode mode = PersistenceMode.TRANSACTIONAL;
+
+        /**
+         * Capacity of the in-memory write-behind buffer; when full, callers persist synchronously.
+         */
+        private int bufferCapacity = 10_000;
+
+        /**
+         * Maximum number of messages written by a single insertMany.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Maximum time a buffered message waits before its batch is flushed.
+         */
+        private Duration flushInterval = Duration.ofMillis(200);
+
+        /**
+         * Redis Stream used as a write-ahead log so buffered messages survive a crash.
+         */
+        private String walStreamKey = "goods_chat:wal";
+
+        /**
+         * Redis Stream that keeps WAL entries which cannot be decoded or are rejected by MongoDB, for manual recovery.
+         */
+        private String deadLetterStreamKey = "goods_chat:wal:dead";
+
+        /**
+         * Failed attempts after which a non-transient flush failure is narrowed down and the rejected messages are dead-lettered.
+         */
+        private int maxFlushAttempts = 5;
+    }
+
+    @Getter
+    @Setter
+    public static class Membership {
+
+        /**
+         * Maximum number of (room, user) membership answers (member or non-member) kept in the cache.
+         */
+        private long maxSize = 100_000;
+
+        /**
+         * How long a confirmed membership is trusted before it is checked against the database again.
+         */
+        private Duration positiveTtl = Duration.ofMinutes(10);
+
+        /**
+         * How long a negative answer is cached; keeps joins made on another node visible quickly.
+         */
+        private Duration negativeTtl = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Presence {
+
+        /**
+         * STOMP heart-beat interval negotiated with clients (both directions).
+         */
+        private Duration heartbeatInterval = Duration.ofSeconds(10);
+
+        /**
+         * A session with no inbound frame or heart-beat for this long is treated as dead and evicted.
+         */
+        private Duration staleAfter = Duration.ofSeconds(35);
+
+        /**
+         * Delay between two runs of the stale-session reaper.
+         */
+        private long reapIntervalMs = 30_000;
+
+        /**
+         * Lifetime of a session entry in the cluster-wide Redis presence set; refreshed by its owning node.
+         */
+        private Duration sessionTtl = Duration.ofSeconds(30);
+
+        /**
+         * Delay between two refreshes of this node's presence entries in Redis.
+         */
+        private long refreshIntervalMs = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class UserSummary {
+
+        /**
+         * Maximum number of sender profiles kept in memory.
+         */
+        private long maxSize = 50_000;
+
+        /**
+         * Upper bound on staleness for profile changes made outside UserService.
+         */
+        private Duration ttl = Duration.ofMinutes(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Sequencer {
+
+        /**
+         * Number of single-threaded lanes; every room is pinned to one lane so its messages are handled in order.
+         */
+        private int lanes = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Maximum number of pending messages per lane; sends beyond it are rejected.
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * How long an after-commit enter/leave message waits for lane capacity before it is dropped and logged.
+         */
+        private Duration eventSubmitTimeout = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Outbound {
+
+        /**
+         * Maximum time a single WebSocket send may block before the session is closed.
+         */
+        private Duration sendTimeLimit = Duration.ofSeconds(5);
+
+        /**
+         * Bytes that may be buffered for a session while a send is in progress before the session is closed.
+         */
+        private int sendBufferSizeLimit = 256 * 1024;
+
+        /**
+         * Maximum size of an inbound STOMP message.
+         */
+        private int messageSizeLimit = 64 * 1024;
+
+        /**
+         * Core threads of the executor that writes broker messages to client sessions.
+         */
+        private int corePoolSize = Runtime.getRuntime().availableProcessors() * 2;
+
+        /**
+         * Maximum threads of the outbound executor; extra threads start only when the queue is full.
+         */
+        private int maxPoolSize = Runtime.getRuntime().availableProcessors() * 8;
+
+        /**
+         * Capacity of the outbound executor queue; messages beyond it are rejected.
+         */
+        private int queueCapacity = 20_000;
+
+        /**
+         * Chat messages that may wait for one session before the slow-consumer policy applies.
+         */
+        private int maxPendingPerSession = 200;
+
+        /**
+         * What to do with a session whose pending messages exceed maxPendingPerSession.
+         */
+        private SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.DROP;
+    }
+
+    @Getter
+    @Setter
+    public static class LastMessage {
+
+        /**
+         * Delay between two flushes of room last-message previews to MySQL; each room is written at most once per flush.
+         */
+        private long flushIntervalMs = 5_000;
+
+        /**
+         * Maximum number of rooms updated by a single JDBC batch.
+         */
+        private int batchSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class ReadCursor {
+
+        /**
+         * Delay between two flushes of advanced read cursors from Redis-backed receipts to goods_chat_part.
+         */
+        private long flushIntervalMs = 5_000;
+
+        /**
+         * Maximum number of cursors updated by a single JDBC batch.
+         */
+        private int batchSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Search {
+
+        /**
+         * Upper bound for the page size a client may request from the message search API.
+         */
+        private int maxPageSize = 50;
+
+        /**
+         * Number of legacy messages given search tokens per backfill run.
+         */
+        private int backfillBatchSize = 1_000;
+
+        /**
+         * Delay between two backfill runs; backfilling stops once no message is missing tokens.
+         */
+        private long backfillIntervalMs = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Compaction {
+
+        /**
+         * Whether idle rooms are packed into compressed message buckets.
+         */
+        private boolean enabled = false;
+
+        /**
+         * A room whose last message is older than this is considered cold and gets compacted.
+         */
+        private Duration idleAfter = Duration.ofDays(30);
+
+        /**
+         * Maximum number of consecutive messages stored in one bucket document.
+         */
+        private int bucketSize = 500;
+
+        /**
+         * Number of cold rooms examined per compaction run.
+         */
+        private int roomsPerRun = 50;
+
+        /**
+         * Delay between two compaction runs.
+         */
+        private long intervalMs = 3_600_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Deletion {
+
+        /**
+         * Maximum number of documents or rows removed by one delete statement.
+         */
+        private int batchSize = 1_000;
+
+        /**
+         * Cluster-wide cap on deleted documents and rows per second, shared by every node.
+         */
+        private long maxDeletesPerSecond = 5_000;
+
+        /**
+         * Upper bound on the time one run spends deleting; unfinished rooms resume in the next run.
+         */
+        private Duration maxRunDuration = Duration.ofSeconds(20);
+
+        /**
+         * Delay between two deletion runs.
+         */
+        private long intervalMs = 30_000;
+
+        /**
+         * Rooms whose last message is older than this are scheduled for deletion; unset disables retention.
+         */
+        private Duration retention;
+
+        /**
+         * Number of expired rooms scheduled per retention scan.
+         */
+        private int retentionScanSize = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Wire {
+
+        /**
+         * Allow WebSocket sessions to negotiate the binary chat payload via the accept-content-type CONNECT header.
+         */
+        private boolean binaryEnabled = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Moderation {
+
+        /**
+         * Apply banned-word and personal-information masking to messages sent by users.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Banned-word dictionary; file: locations are reloaded when their modification time changes.
+         */
+        private String dictionaryLocation = "classpath:moderation/banned-words.txt";
+
+        /**
+         * Delay between two checks of the dictionary for changes.
+         */
+        private long reloadIntervalMs = 60_000;
+
+        /**
+         * Mask phone numbers and e-mail addresses in addition to dictionary terms.
+         */
+        private boolean maskPersonalInfo = true;
+    }
+
+    @Getter
+    @Setter
+    public static class RateLimit {
+
+        /**
+         * Apply token-bucket limits to STOMP SEND frames.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Where per-user buckets live (LOCAL: node memory, REDIS: shared by every node).
+         */
+        private RateLimitMode mode = RateLimitMode.LOCAL;
+
+        /**
+         * SEND destinations that consume tokens; read receipts and typing events are not limited.
+         */
+        private List<String> destinations = List.of("/pub/chat/goods/message");
+
+        /**
+         * SEND frames one session may send back to back.
+         */
+        private long sessionBurst = 20;
+
+        /**
+         * SEND frames per second added back to a session's bucket.
+         */
+        private double sessionRefillPerSecond = 5;
+
+        /**
+         * SEND frames one user may send back to back across all of their sessions.
+         */
+        private long userBurst = 40;
+
+        /**
+         * SEND frames per second added back to a user's bucket.
+         */
+        private double userRefillPerSecond = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Typing {
+
+        /**
+         * Minimum gap between two typing events forwarded for the same user and room.
+         */
+        private Duration coalesceInterval = Duration.ofSeconds(2);
+
+        /**
+         * Maximum number of (room, user) pairs whose last forwarded typing event is remembered.
+         */
+        private long maxTrackedUsers = 100_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Push {
+
+        /**
+         * Whether room members without a live session are notified of new messages through Expo push.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between two runs of the background push dispatcher.
+         */
+        private long flushIntervalMs = 1_000;
+
+        /**
+         * How long messages for one user are collected before they are sent as a single notification.
+         */
+        private Duration coalesceWindow = Duration.ofSeconds(5);
+
+        /**
+         * Maximum number of messages waiting for the dispatcher; further messages are not notified.
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * Notifications per Expo push request (capped at 100 by Expo).
+         */
+        private int batchSize = 100;
+
+        /**
+         * Maximum number of Expo push requests in flight at once.
+         */
+        private int maxConcurrentRequests = 4;
+
+        /**
+         * Timeout of one Expo push request.
+         */
+        private Duration requestTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Retries of one Expo push request after a 429, a 5xx or a timeout.
+         */
+        private int maxRetries = 2;
+
+        /**
+         * Maximum number of characters of the message shown in the notification.
+         */
+        private int previewLength = 100;
+    }
+
+    public enum BrokerMode {
+        LOCAL,
+        REDIS
+    }
+
+    public enum PersistenceMode {
+        TRANSACTIONAL,
+        WRITE_BEHIND
+    }
+
+    public enum RateLimitMode {
+        LOCAL,
+        REDIS
+    }
+
+    public enum SlowConsumerPolicy {
+        DROP,
+        DISCONNECT
+    }
+}
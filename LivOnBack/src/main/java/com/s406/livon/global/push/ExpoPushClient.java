@@ -0,0 +1,50 @@
+package com.s406.livon.global.push;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Expo batch push API 클라이언트 (WebClientConfig.expoWebClient)
+ * 한 요청에 최대 MAX_BATCH_SIZE 건까지 보낼 수 있으며, 호출 측이 구독하기 전에는 요청하지 않습니다.
+ */
+@Component
+public class ExpoPushClient {
+
+    public static final int MAX_BATCH_SIZE = 100;
+    private static final String SEND_PATH = "/--/api/v2/push/send";
+
+    private final WebClient expoWebClient;
+
+    public ExpoPushClient(@Qualifier("expoWebClient") WebClient expoWebClient) {
+        this.expoWebClient = expoWebClient;
+    }
+
+    public Mono<List<ExpoPushTicket>> send(List<ExpoPushMessage> messages) {
+        if (messages.size() > MAX_BATCH_SIZE) {
+            return Mono.error(new IllegalArgumentException("Expo push 요청은 최대 " + MAX_BATCH_SIZE + "건입니다: " + messages.size()));
+        }
+        return expoWebClient.post()
+                .uri(SEND_PATH)
+                .bodyValue(messages)
+                .retrieve()
+                .bodyToMono(SendResponse.class)
+                .map(response -> response.data() == null ? List.<ExpoPushTicket>of() : response.data());
+    }
+
+    // 요청 한도 초과(429), 서버 오류(5xx), 응답 시간 초과는 재시도 대상
+    public static boolean isRetryable(Throwable throwable) {
+        if (throwable instanceof WebClientResponseException e) {
+            return e.getStatusCode().value() == 429 || e.getStatusCode().is5xxServerError();
+        }
+        return throwable instanceof TimeoutException;
+    }
+
+    record SendResponse(List<ExpoPushTicket> data) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.s406.livon.global.push;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Expo push API 메시지 (https://docs.expo.dev/push-notifications/sending-notifications/)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ExpoPushMessage(String to, String title, String body, Map<String, Object> data, String sound) {
+
+    public static ExpoPushMessage of(String to, String title, String body, Map<String, Object> data) {
+        return new ExpoPushMessage(to, title, body, data, "default");
+    }
+}
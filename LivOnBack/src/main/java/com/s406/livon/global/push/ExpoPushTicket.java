@@ -0,0 +1,22 @@
+package com.s406.livon.global.push;
+
+import java.util.Map;
+
+/**
+ * Expo push API 전송 결과 (요청 메시지와 같은 순서로 반환)
+ * - status  : ok | error
+ * - details : error 인 경우 {"error": "DeviceNotRegistered" ...}
+ */
+public record ExpoPushTicket(String status, String id, String message, Map<String, Object> details) {
+
+    private static final String DEVICE_NOT_REGISTERED = "DeviceNotRegistered";
+
+    public boolean isOk() {
+        return "ok".equals(status);
+    }
+
+    // 앱이 삭제되었거나 알림 권한이 해제된 토큰
+    public boolean isDeviceNotRegistered() {
+        return details != null && DEVICE_NOT_REGISTERED.equals(details.get("error"));
+    }
+}
@@ -39,6 +39,7 @@ public enum ErrorStatus implements BaseErrorCode {
     USER_INVALID_CREDENTIALS(HttpStatus.BAD_REQUEST, "USER4003", "로그인 정보가 일치하지 않습니다."),
     USER_NOT_MATCH(HttpStatus.UNAUTHORIZED, "USER4005", "접근 권한이 없습니다."),
     FCM_NOT_FOUND(HttpStatus.BAD_REQUEST, "USER4010", "해당 유저의 FCM토큰이 없습니다"),
+    PUSH_TOKEN_INVALID(HttpStatus.BAD_REQUEST, "USER4011", "유효하지 않은 푸시 토큰입니다"),
     USER_NOT_FOUND_HEALTH(HttpStatus.INTERNAL_SERVER_ERROR,"USER4007","유저 생체 데이터를 찾을수 없습니다"),
     USER_NOT_FOUND_ORGANIZATIONS(HttpStatus.INTERNAL_SERVER_ERROR,"USER4008","회사를 찾을수 없습니다"),
     // password 응답
@@ -67,6 +68,11 @@ public enum ErrorStatus implements BaseErrorCode {
     USER_NOT_SELECT_VALID(HttpStatus.BAD_REQUEST, "CHAT4001", "해당유저는 채팅 조회 권한이 없습니다."),
     CONSULTATION_NOT_FOUND(HttpStatus.BAD_REQUEST, "CHAT4002", "해당 코칭을 찾을수 없어 채팅방에 입장 불가합니다."),
     USER_NOT_PARTICIPANT_VALID(HttpStatus.BAD_REQUEST, "CHAT4003", "해당유저는 채팅 참여 권한이 없습니다."),
+    SEARCH_KEYWORD_TOO_SHORT(HttpStatus.BAD_REQUEST, "CHAT4004", "검색어에는 두 글자 이상인 단어가 포함되어야 합니다."),
+    SEARCH_CURSOR_INVALID(HttpStatus.BAD_REQUEST, "CHAT4005", "검색 커서가 올바르지 않습니다."),
+    CHAT_RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "CHAT4006", "메시지를 너무 빠르게 보내고 있습니다. 잠시 후 다시 시도해주세요."),
+    CHAT_REQUEST_INVALID(HttpStatus.BAD_REQUEST, "CHAT4007", "채팅 요청 형식이 올바르지 않습니다."),
+    CHAT_SEQUENCER_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "CHAT5000", "채팅 요청이 많아 메시지를 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
 
     // AI 관련
     AI_SUMMARY_NOT_FOUND(HttpStatus.NOT_FOUND, "AI4000", "생성된 AI 요약이 존재하지 않습니다."),
@@ -0,0 +1,150 @@
+package com.s406.livon;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.s406.livon.domain.goodsChat.broker.GoodsChatBroadcaster;
+import com.s406.livon.domain.goodsChat.broker.RedisGoodsChatBroadcaster;
+import com.s406.livon.domain.goodsChat.wire.GoodsChatBinaryMessageConverter;
+import com.s406.livon.domain.goodsChat.wire.GoodsChatWireFormatNegotiator;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * 로컬 Redis(localhost:6379) 하나에 두 개의 애플리케이션 컨텍스트(노드)를 붙여
+ * 한 노드에서 발행한 채팅 메시지가 다른 노드의 로컬 브로커까지 전달되는지 검증합니다.
+ */
+public class GoodsChatBrokerRelayTest {
+
+    private AnnotationConfigApplicationContext nodeA;
+    private AnnotationConfigApplicationContext nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new AnnotationConfigApplicationContext(NodeConfig.class);
+        nodeB = new AnnotationConfigApplicationContext(NodeConfig.class);
+
+        await().atMost(Duration.ofSeconds(5)).until(() ->
+                nodeA.getBean(RedisMessageListenerContainer.class).isListening()
+                        && nodeB.getBean(RedisMessageListenerContainer.class).isListening());
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    @DisplayName("노드 A 에서 발행한 메시지를 노드 A, B 의 구독자가 모두 한 번씩 받는다")
+    void relayAcrossNodes() {
+        Long roomId = 42L;
+
+        nodeA.getBean(GoodsChatBroadcaster.class).sendToRoom(roomId, Map.of("message", "안녕하세요", "roomId", roomId));
+
+        List<Message<?>> receivedByA = nodeA.getBean(NodeConfig.class).received;
+        List<Message<?>> receivedByB = nodeB.getBean(NodeConfig.class).received;
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(receivedByA).hasSize(1);
+            assertThat(receivedByB).hasSize(1);
+        });
+
+        Message<?> delivered = receivedByB.get(0);
+        assertThat(SimpMessageHeaderAccessor.getDestination(delivered.getHeaders()))
+                .isEqualTo(GoodsChatBroadcaster.roomDestination(roomId));
+        assertThat(new String((byte[]) delivered.getPayload(), StandardCharsets.UTF_8))
+                .contains("\"message\":\"안녕하세요\"");
+    }
+
+    @Configuration
+    static class NodeConfig {
+
+        final List<Message<?>> received = new CopyOnWriteArrayList<>();
+
+        @Bean
+        public LettuceConnectionFactory redisConnectionFactory() {
+            return new LettuceConnectionFactory("localhost", 6379);
+        }
+
+        @Bean
+        public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+            return new StringRedisTemplate(redisConnectionFactory);
+        }
+
+        @Bean
+        public ObjectMapper objectMapper() {
+            return new ObjectMapper()
+                    .registerModule(new JavaTimeModule())
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        }
+
+        @Bean
+        public GoodsChatProperties goodsChatProperties() {
+            GoodsChatProperties properties = new GoodsChatProperties();
+            properties.getBroker().setMode(GoodsChatProperties.BrokerMode.REDIS);
+            properties.getBroker().setChannel("goods_chat:broadcast:test");
+            return properties;
+        }
+
+        // 로컬 SimpleBroker 대신 전달된 메시지를 기록하는 채널
+        @Bean
+        public SimpMessagingTemplate brokerMessagingTemplate() {
+            SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> received.add(message));
+            template.setMessageConverter(new MappingJackson2MessageConverter());
+            return template;
+        }
+
+        @Bean
+        public GoodsChatWireFormatNegotiator wireFormatNegotiator(GoodsChatProperties goodsChatProperties) {
+            return new GoodsChatWireFormatNegotiator(goodsChatProperties, new GoodsChatBinaryMessageConverter(),
+                    new SimpleMeterRegistry());
+        }
+
+        @Bean
+        public RedisGoodsChatBroadcaster redisGoodsChatBroadcaster(StringRedisTemplate stringRedisTemplate,
+                                                                   ObjectMapper objectMapper,
+                                                                   SimpMessagingTemplate brokerMessagingTemplate,
+                                                                   GoodsChatProperties goodsChatProperties,
+                                                                   GoodsChatWireFormatNegotiator wireFormatNegotiator) {
+            return new RedisGoodsChatBroadcaster(stringRedisTemplate, objectMapper, brokerMessagingTemplate,
+                    goodsChatProperties, wireFormatNegotiator);
+        }
+
+        @Bean
+        public RedisMessageListenerContainer goodsChatBroadcastListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                                 RedisGoodsChatBroadcaster redisGoodsChatBroadcaster,
+                                                                                 GoodsChatProperties goodsChatProperties) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(redisConnectionFactory);
+            container.addMessageListener(redisGoodsChatBroadcaster,
+                    new ChannelTopic(goodsChatProperties.getBroker().getChannel()));
+            return container;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessageBucket;
+import com.s406.livon.domain.goodsChat.entity.MessageType;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageBucketRepository;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageRepository;
+import com.s406.livon.domain.goodsChat.service.GoodsChatBucketCompactor;
+import com.s406.livon.domain.user.enums.Role;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 오래된 채팅방(10개 x 1만 건)을 bucket 으로 압축하기 전후의
+ * 인덱스 크기 / 문서 수와 전체 내역 페이지 조회 시간을 비교하고, 조회 결과가 같은지 확인합니다.
+ * (인덱스 크기는 collStats.totalIndexSize, WiredTiger 는 삭제된 공간을 바로 반환하지 않으므로 문서 수도 함께 출력)
+ */
+@SpringBootTest
+public class GoodsChatBucketCompactionBenchmarkTest {
+
+    private static final long FIRST_ROOM_ID = 920_001L;
+    private static final int ROOM_COUNT = 10;
+    private static final int MESSAGES_PER_ROOM = 10_000;
+    private static final int PAGE_SIZE = 20;
+    private static final UUID[] USERS = {
+            UUID.fromString("b525bb98-6090-4faf-9e6e-8ec895c9fbd9"), UUID.randomUUID()
+    };
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private GoodsChatMessageRepository messageRepository;
+
+    @Autowired
+    private GoodsChatMessageBucketRepository bucketRepository;
+
+    @Autowired
+    private GoodsChatBucketCompactor compactor;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        for (Long roomId : roomIds()) {
+            messageRepository.deleteAllByChatRoomId(roomId);
+            bucketRepository.deleteAllByChatRoomId(roomId);
+            stringRedisTemplate.delete("goods_chat_seq::" + roomId);
+        }
+    }
+
+    @Test
+    @DisplayName("압축 전후 전체 내역 조회 결과가 같고, 메시지 문서는 bucket 문서로 대체된다")
+    void compactsColdRooms() {
+        // GIVEN: 60일 전에 대화가 끝난 채팅방
+        LocalDateTime base = LocalDateTime.now().minusDays(60);
+        for (Long roomId : roomIds()) {
+            insertMessages(roomId, base);
+        }
+
+        Stats before = stats();
+        long[] beforeElapsed = new long[ROOM_COUNT * (MESSAGES_PER_ROOM / PAGE_SIZE)];
+        List<List<Long>> beforeSeqs = readAll(beforeElapsed);
+
+        // WHEN: 30일 이상 유휴 상태인 방 압축
+        LocalDateTime idleBefore = LocalDateTime.now().minusDays(30);
+        long compactStart = System.nanoTime();
+        int compacted = 0;
+        for (Long roomId : roomIds()) {
+            compacted += compactor.compactRoom(roomId, idleBefore);
+        }
+        long compactMillis = (System.nanoTime() - compactStart) / 1_000_000;
+
+        Stats after = stats();
+        long[] afterElapsed = new long[beforeElapsed.length];
+        List<List<Long>> afterSeqs = readAll(afterElapsed);
+
+        // THEN
+        System.out.printf("[compaction] %d messages in %dms%n", compacted, compactMillis);
+        System.out.printf("[before    ] %s%n[after     ] %s%n", before, after);
+        System.out.printf("[read page ] before p50=%.3fms p99=%.3fms, after p50=%.3fms p99=%.3fms%n",
+                p(beforeElapsed, 0.5), p(beforeElapsed, 0.99), p(afterElapsed, 0.5), p(afterElapsed, 0.99));
+
+        assertThat(compacted).isEqualTo(ROOM_COUNT * MESSAGES_PER_ROOM);
+        assertThat(afterSeqs).isEqualTo(beforeSeqs);
+        assertThat(after.messageCount()).isEqualTo(before.messageCount() - (long) ROOM_COUNT * MESSAGES_PER_ROOM);
+        for (Long roomId : roomIds()) {
+            assertThat(messageRepository.findMaxSeq(roomId)).isEqualTo(MESSAGES_PER_ROOM);
+            assertThat(messageRepository.getChatMessagesAfter(roomId, MESSAGES_PER_ROOM - 5, PAGE_SIZE))
+                    .extracting(GoodsChatMessage::getSeq)
+                    .containsExactly(9_996L, 9_997L, 9_998L, 9_999L, 10_000L);
+        }
+        // 채팅방 목록 미리보기: 압축된 방도 마지막 메시지가 조회됨
+        assertThat(messageRepository.findLatestMessages(roomIds()))
+                .extracting(GoodsChatMessage::getSeq)
+                .hasSize(ROOM_COUNT)
+                .containsOnly((long) MESSAGES_PER_ROOM);
+    }
+
+    // 방마다 최신 페이지부터 가장 오래된 페이지까지 순번 커서로 조회
+    private List<List<Long>> readAll(long[] elapsed) {
+        List<List<Long>> seqs = new ArrayList<>();
+        int page = 0;
+        for (Long roomId : roomIds()) {
+            List<Long> roomSeqs = new ArrayList<>(MESSAGES_PER_ROOM);
+            Long lastSeq = null;
+            while (true) {
+                long start = System.nanoTime();
+                List<GoodsChatMessage> messages = messageRepository.getChatMessages(roomId, lastSeq, PAGE_SIZE);
+                if (messages.isEmpty()) {
+                    break;
+                }
+                elapsed[page++] = System.nanoTime() - start;
+                messages.forEach(message -> roomSeqs.add(message.getSeq()));
+                lastSeq = messages.get(messages.size() - 1).getSeq();
+            }
+            seqs.add(roomSeqs);
+        }
+        return seqs;
+    }
+
+    private void insertMessages(Long roomId, LocalDateTime base) {
+        List<GoodsChatMessage> messages = new ArrayList<>(MESSAGES_PER_ROOM);
+        for (int seq = 1; seq <= MESSAGES_PER_ROOM; seq++) {
+            messages.add(GoodsChatMessage.builder()
+                    .chatRoomId(roomId)
+                    .seq((long) seq)
+                    .userId(USERS[seq % USERS.length])
+                    .content("오늘 식단 기록 확인 부탁드려요 " + seq)
+                    .sentAt(base.plusSeconds(seq))
+                    .role(seq % 2 == 0 ? Role.MEMBER : Role.COACH)
+                    .messageType(MessageType.TALK)
+                    .build());
+        }
+        mongoTemplate.bulkOps(BulkMode.UNORDERED, GoodsChatMessage.class).insert(messages).execute();
+        // 순번 카운터가 초기화된 상태로 시작
+        stringRedisTemplate.opsForValue().set("goods_chat_seq::" + roomId, String.valueOf(MESSAGES_PER_ROOM));
+    }
+
+    private Stats stats() {
+        Document messageStats = collStats(mongoTemplate.getCollectionName(GoodsChatMessage.class));
+        Document bucketStats = collStats(mongoTemplate.getCollectionName(GoodsChatMessageBucket.class));
+        return new Stats(
+                ((Number) messageStats.get("count")).longValue(),
+                ((Number) messageStats.get("totalIndexSize")).longValue(),
+                ((Number) bucketStats.get("count")).longValue(),
+                ((Number) bucketStats.get("totalIndexSize")).longValue());
+    }
+
+    private Document collStats(String collection) {
+        if (!mongoTemplate.collectionExists(collection)) {
+            return new Document("count", 0).append("totalIndexSize", 0);
+        }
+        return mongoTemplate.executeCommand(new Document("collStats", collection));
+    }
+
+    private static double p(long[] elapsed, double percentile) {
+        long[] sorted = Arrays.stream(elapsed).filter(value -> value > 0).sorted().toArray();
+        return sorted[(int) Math.ceil(sorted.length * percentile) - 1] / 1_000_000.0;
+    }
+
+    private static List<Long> roomIds() {
+        List<Long> roomIds = new ArrayList<>(ROOM_COUNT);
+        for (long roomId = FIRST_ROOM_ID; roomId < FIRST_ROOM_ID + ROOM_COUNT; roomId++) {
+            roomIds.add(roomId);
+        }
+        return roomIds;
+    }
+
+    private record Stats(long messageCount, long messageIndexBytes, long bucketCount, long bucketIndexBytes) {
+
+        @Override
+        public String toString() {
+            return String.format("messages=%d (index %.1fKB), buckets=%d (index %.1fKB)",
+                    messageCount, messageIndexBytes / 1024.0, bucketCount, bucketIndexBytes / 1024.0);
+        }
+    }
+}
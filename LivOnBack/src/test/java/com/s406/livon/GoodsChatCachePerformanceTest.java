@@ -12,7 +12,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.util.StopWatch;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 
@@ -31,14 +30,14 @@ public class GoodsChatCachePerformanceTest {
     private static final Long TEST_CHAT_ROOM_ID = 3L; // ★★★ 테스트할 채팅방 ID
     private static final int TEST_PAGE_SIZE = 20;
     // ★★★ GoodsChatCacheManager에서 사용하는 캐시 키와 동일해야 합니다.
-    private static final String CACHE_KEY = "goods_chat_message::" + TEST_CHAT_ROOM_ID; 
+    private static final String CACHE_KEY = "goods_chat_window::" + TEST_CHAT_ROOM_ID; 
     // --- ---
 
     @Test
     @DisplayName("캐시 로직 테스트: 1. Cache Miss (DB Hit), 2. Cache Hit")
     void testCacheMissAndCacheHit() {
         // GIVEN: 테스트할 파라미터 준비 (첫 페이지)
-        LocalDateTime lastSentAt = null;
+        Long lastSeq = null;
 
         // --- SETUP: 캐시를 강제로 삭제 ---
         log.info("--- [Test Start] 캐시 삭제 시도: {} ---", CACHE_KEY);
@@ -54,7 +53,7 @@ public class GoodsChatCachePerformanceTest {
         StopWatch sw1 = new StopWatch();
         sw1.start();
         List<GoodsChatMessage> fromDb = goodsChatService.fetchMessagesFromCacheOrDB(
-                TEST_CHAT_ROOM_ID, lastSentAt, TEST_PAGE_SIZE
+                TEST_CHAT_ROOM_ID, lastSeq, TEST_PAGE_SIZE
         );
         sw1.stop();
         log.info("--- 1. Cache Miss (DB Hit) 결과 ---");
@@ -67,7 +66,7 @@ public class GoodsChatCachePerformanceTest {
         StopWatch sw2 = new StopWatch();
         sw2.start();
         List<GoodsChatMessage> fromCache = goodsChatService.fetchMessagesFromCacheOrDB(
-                TEST_CHAT_ROOM_ID, lastSentAt, TEST_PAGE_SIZE
+                TEST_CHAT_ROOM_ID, lastSeq, TEST_PAGE_SIZE
         );
         sw2.stop();
         log.info("--- 2. Cache Hit 결과 ---");
@@ -0,0 +1,120 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.entity.MessageType;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageRepository;
+import com.s406.livon.domain.goodsChat.service.GoodsChatCacheManager;
+import com.s406.livon.domain.goodsChat.service.GoodsChatService;
+import com.s406.livon.domain.user.enums.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * 캐시가 만료된 순간 500개의 동시 조회가 들어와도
+ * MongoDB 조회는 소수(single-flight)로 제한되는지 검증합니다.
+ */
+@SpringBootTest
+public class GoodsChatCacheStampedeTest {
+
+    private static final Long ROOM_ID = 900_201L;
+    private static final int MESSAGE_COUNT = 100;
+    private static final int READER_COUNT = 500;
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_DB_QUERIES = 5;
+    private static final UUID USER_ID = UUID.fromString("b525bb98-6090-4faf-9e6e-8ec895c9fbd9");
+
+    @Autowired
+    private GoodsChatService goodsChatService;
+
+    @Autowired
+    private GoodsChatCacheManager goodsChatCacheManager;
+
+    @SpyBean
+    private GoodsChatMessageRepository messageRepository;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        messageRepository.deleteAllByChatRoomId(ROOM_ID);
+        goodsChatCacheManager.evictMessagesFromCache(ROOM_ID);
+    }
+
+    @Test
+    @DisplayName("캐시 만료 직후 500개 동시 조회 시 MongoDB 조회 횟수가 제한된다")
+    void coalescesConcurrentMisses() throws InterruptedException {
+        // GIVEN: 메시지 100건 저장, 캐시는 비어있는 상태 (만료 직후)
+        List<GoodsChatMessage> messages = new ArrayList<>();
+        for (long seq = 1; seq <= MESSAGE_COUNT; seq++) {
+            messages.add(GoodsChatMessage.builder()
+                    .chatRoomId(ROOM_ID)
+                    .seq(seq)
+                    .userId(USER_ID)
+                    .content("stampede 테스트 " + seq)
+                    .sentAt(LocalDateTime.now())
+                    .role(Role.MEMBER)
+                    .messageType(MessageType.TALK)
+                    .build());
+        }
+        messageRepository.saveAll(messages);
+        goodsChatCacheManager.evictMessagesFromCache(ROOM_ID);
+        long queriesBefore = countGetChatMessages();
+
+        // WHEN: 500개 스레드가 동시에 최신 페이지 조회
+        ExecutorService executorService = Executors.newFixedThreadPool(READER_COUNT);
+        CountDownLatch ready = new CountDownLatch(READER_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(READER_COUNT);
+        AtomicInteger fullPages = new AtomicInteger();
+
+        for (int i = 0; i < READER_COUNT; i++) {
+            executorService.submit(() -> {
+                try {
+                    ready.countDown();
+                    start.await();
+                    List<GoodsChatMessage> page = goodsChatService.fetchMessagesFromCacheOrDB(ROOM_ID, null, PAGE_SIZE);
+                    if (page.size() == PAGE_SIZE && page.get(0).getSeq() == MESSAGE_COUNT) {
+                        fullPages.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        ready.await();
+        start.countDown();
+        assertThat(done.await(1, TimeUnit.MINUTES)).isTrue();
+        executorService.shutdown();
+
+        // THEN: 모든 요청이 최신 페이지를 받고, MongoDB 조회는 소수로 제한
+        long dbQueries = countGetChatMessages() - queriesBefore;
+        System.out.printf("[stampede] readers=%d, mongo queries=%d%n", READER_COUNT, dbQueries);
+        assertThat(fullPages.get()).isEqualTo(READER_COUNT);
+        assertThat(dbQueries).isBetween(1L, (long) MAX_DB_QUERIES);
+    }
+
+    private long countGetChatMessages() {
+        return mockingDetails(messageRepository).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("getChatMessages"))
+                .count();
+    }
+}
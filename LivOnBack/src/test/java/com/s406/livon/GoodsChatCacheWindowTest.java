@@ -0,0 +1,155 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.entity.MessageType;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageRepository;
+import com.s406.livon.domain.goodsChat.service.GoodsChatCacheManager;
+import com.s406.livon.domain.goodsChat.service.GoodsChatService;
+import com.s406.livon.domain.user.enums.Role;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅방 캐시가 최근 windowSize 개만 유지하고(ZSET / Hash 함께 trim),
+ * 캐시 적중 시 TTL 을 갱신하며, 지표(window_size, ttl_seconds, requests{hit|miss})를 기록하는지 확인합니다.
+ */
+@SpringBootTest(properties = {
+        "goods-chat.cache.window-size=" + GoodsChatCacheWindowTest.WINDOW_SIZE,
+        "goods-chat.cache.ttl-refresh-interval=0s"
+})
+public class GoodsChatCacheWindowTest {
+
+    static final int WINDOW_SIZE = 50;
+    private static final Long ROOM_ID = 900_301L;
+    private static final String WINDOW_KEY = "goods_chat_window::" + ROOM_ID;
+    private static final String PAYLOAD_KEY = "goods_chat_message_payload::" + ROOM_ID;
+    private static final UUID USER_ID = UUID.fromString("b525bb98-6090-4faf-9e6e-8ec895c9fbd9");
+
+    @Autowired
+    private GoodsChatCacheManager goodsChatCacheManager;
+
+    @Autowired
+    private GoodsChatService goodsChatService;
+
+    @Autowired
+    private GoodsChatMessageRepository messageRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("goodsChatPayloadRedisTemplate")
+    private RedisTemplate<String, byte[]> redisTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        messageRepository.deleteAllByChatRoomId(ROOM_ID);
+        goodsChatCacheManager.evictMessagesFromCache(ROOM_ID);
+    }
+
+    @Test
+    @DisplayName("windowSize 를 넘게 저장하면 오래된 순번부터 ZSET 과 Hash 에서 함께 제거된다")
+    void trimsWindowToConfiguredSize() {
+        goodsChatCacheManager.storeMessagesInCache(ROOM_ID, messages(1, 80));
+
+        assertThat(goodsChatCacheManager.windowSize(ROOM_ID)).isEqualTo(WINDOW_SIZE);
+        assertThat(redisTemplate.opsForHash().size(PAYLOAD_KEY)).isEqualTo(WINDOW_SIZE);
+        // 남은 구간은 31 ~ 80
+        assertThat(redisTemplate.opsForZSet().range(WINDOW_KEY, 0, 0)).extracting(String::new).containsExactly("31");
+        assertThat(redisTemplate.opsForHash().hasKey(PAYLOAD_KEY, "30")).isFalse();
+        assertThat(gauge("goods_chat.cache.window_size")).isEqualTo(WINDOW_SIZE);
+
+        // 한 건씩 추가해도 크기는 그대로
+        goodsChatCacheManager.storeMessageInCache(ROOM_ID, messages(81, 81).get(0));
+        assertThat(goodsChatCacheManager.windowSize(ROOM_ID)).isEqualTo(WINDOW_SIZE);
+        assertThat(redisTemplate.opsForHash().size(PAYLOAD_KEY)).isEqualTo(WINDOW_SIZE);
+        assertThat(goodsChatCacheManager.fetchMessagesFromCache(ROOM_ID, null, WINDOW_SIZE))
+                .extracting(GoodsChatMessage::getSeq)
+                .startsWith(81L, 80L)
+                .endsWith(32L);
+    }
+
+    @Test
+    @DisplayName("저장 시 두 키에 TTL 을 적용하고 캐시 적중 시 TTL 을 다시 늘린다")
+    void refreshesTtlOnHit() {
+        goodsChatCacheManager.storeMessagesInCache(ROOM_ID, messages(1, 10));
+        long storedTtl = redisTemplate.getExpire(WINDOW_KEY, TimeUnit.SECONDS);
+        assertThat(storedTtl).isPositive();
+        assertThat(redisTemplate.getExpire(PAYLOAD_KEY, TimeUnit.SECONDS)).isPositive();
+        assertThat(gauge("goods_chat.cache.ttl_seconds")).isBetween((double) storedTtl, (double) storedTtl + 1);
+
+        // 만료 직전 상태로 만든 뒤 조회
+        redisTemplate.expire(WINDOW_KEY, Duration.ofSeconds(5));
+        redisTemplate.expire(PAYLOAD_KEY, Duration.ofSeconds(5));
+        assertThat(goodsChatCacheManager.fetchMessagesFromCache(ROOM_ID, null, 10)).hasSize(10);
+
+        assertThat(redisTemplate.getExpire(WINDOW_KEY, TimeUnit.SECONDS)).isGreaterThan(5);
+        assertThat(redisTemplate.getExpire(PAYLOAD_KEY, TimeUnit.SECONDS)).isGreaterThan(5);
+    }
+
+    @Test
+    @DisplayName("캐시가 비어 있으면 miss, DB 에서 채운 뒤 다시 조회하면 hit 로 집계한다")
+    void countsHitsAndMisses() {
+        messageRepository.saveAll(messages(1, 40));
+        // 같은 방의 지표는 테스트 간에 누적되므로 증가분으로 비교
+        double hitsBefore = requests("hit");
+        double missesBefore = requests("miss");
+
+        List<GoodsChatMessage> fromDb = goodsChatService.fetchMessagesFromCacheOrDB(ROOM_ID, null, 20);
+        assertThat(fromDb).hasSize(20);
+        assertThat(requests("miss") - missesBefore).isEqualTo(1);
+        assertThat(requests("hit") - hitsBefore).isZero();
+
+        List<GoodsChatMessage> fromCache = goodsChatService.fetchMessagesFromCacheOrDB(ROOM_ID, null, 20);
+        assertThat(fromCache).extracting(GoodsChatMessage::getSeq)
+                .containsExactlyElementsOf(fromDb.stream().map(GoodsChatMessage::getSeq).toList());
+        assertThat(requests("miss") - missesBefore).isEqualTo(1);
+        assertThat(requests("hit") - hitsBefore).isEqualTo(1);
+    }
+
+    private double requests(String result) {
+        Counter counter = meterRegistry.find("goods_chat.cache.requests")
+                .tag("roomId", String.valueOf(ROOM_ID))
+                .tag("result", result)
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("roomId", String.valueOf(ROOM_ID)).gauge().value();
+    }
+
+    private static List<GoodsChatMessage> messages(long fromSeq, long toSeq) {
+        List<GoodsChatMessage> messages = new ArrayList<>();
+        for (long seq = fromSeq; seq <= toSeq; seq++) {
+            messages.add(GoodsChatMessage.builder()
+                    .chatRoomId(ROOM_ID)
+                    .seq(seq)
+                    .userId(USER_ID)
+                    .content("캐시 구간 테스트 " + seq)
+                    .sentAt(LocalDateTime.now())
+                    .role(Role.MEMBER)
+                    .messageType(MessageType.TALK)
+                    .build());
+        }
+        return messages;
+    }
+}
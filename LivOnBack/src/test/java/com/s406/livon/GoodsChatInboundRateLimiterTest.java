@@ -0,0 +1,176 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.inbound.GoodsChatInboundRateLimiter;
+import com.s406.livon.domain.goodsChat.inbound.GoodsChatStompErrorHandler;
+import com.s406.livon.domain.user.entity.User;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import com.s406.livon.global.error.handler.ChatHandler;
+import com.s406.livon.global.web.response.code.status.ErrorStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * SEND 프레임이 세션 / 사용자 버킷 한도를 넘으면 거부되고, 거부 사유가 ERROR 프레임으로 전달되는지 확인합니다.
+ */
+public class GoodsChatInboundRateLimiterTest {
+
+    private static final int SESSION_BURST = 3;
+    private static final int USER_BURST = 5;
+
+    private SimpleMeterRegistry meterRegistry;
+    private GoodsChatInboundRateLimiter rateLimiter;
+    private User user;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        GoodsChatProperties properties = new GoodsChatProperties();
+        properties.getRateLimit().setSessionBurst(SESSION_BURST);
+        properties.getRateLimit().setUserBurst(USER_BURST);
+        // 테스트 중에는 다시 채워지지 않도록 충전 속도를 매우 느리게 설정
+        properties.getRateLimit().setSessionRefillPerSecond(0.001);
+        properties.getRateLimit().setUserRefillPerSecond(0.001);
+
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new GoodsChatInboundRateLimiter(properties, mock(StringRedisTemplate.class), meterRegistry);
+        user = User.builder().id(UUID.randomUUID()).build();
+        connect("session-1");
+        connect("session-2");
+    }
+
+    @Test
+    @DisplayName("세션 버킷을 모두 쓰면 그 세션의 SEND 프레임만 거부한다")
+    void limitsPerSession() {
+        for (int i = 0; i < SESSION_BURST; i++) {
+            assertThat(rateLimiter.preSend(send("session-1"), null)).isNotNull();
+        }
+        assertRateLimited(send("session-1"));
+
+        // 다른 세션은 자신의 버킷을 사용
+        assertThat(rateLimiter.preSend(send("session-2"), null)).isNotNull();
+        assertThat(rejections("session")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 세션들은 사용자 버킷을 공유한다")
+    void limitsPerUserAcrossSessions() {
+        for (int i = 0; i < SESSION_BURST; i++) {
+            rateLimiter.preSend(send("session-1"), null);
+        }
+        for (int i = 0; i < USER_BURST - SESSION_BURST; i++) {
+            assertThat(rateLimiter.preSend(send("session-2"), null)).isNotNull();
+        }
+        assertRateLimited(send("session-2"));
+        assertThat(rejections("user")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("SEND 가 아닌 프레임은 제한하지 않는다")
+    void ignoresNonSendFrames() {
+        for (int i = 0; i < SESSION_BURST * 10; i++) {
+            assertThat(rateLimiter.preSend(frame(StompCommand.SUBSCRIBE, "session-1"), null)).isNotNull();
+        }
+        assertThat(rateLimiter.preSend(send("session-1"), null)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("메시지 전송이 아닌 destination(읽음, 입력 중)의 SEND 프레임은 제한하지 않는다")
+    void ignoresUnlimitedDestinations() {
+        for (String destination : List.of("/pub/chat/goods/read", "/pub/chat/goods/typing")) {
+            for (int i = 0; i < USER_BURST * 10; i++) {
+                assertThat(rateLimiter.preSend(frame(StompCommand.SEND, "session-1", destination), null)).isNotNull();
+            }
+        }
+        assertThat(rateLimiter.preSend(send("session-1"), null)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("종료된 세션의 버킷은 다시 만들지 않고 사용자 버킷만 적용한다")
+    void doesNotRecreateClosedSessionBuckets() throws Exception {
+        disconnect("session-1");
+
+        for (int i = 0; i < USER_BURST; i++) {
+            assertThat(rateLimiter.preSend(send("session-1"), null)).isNotNull();
+        }
+        assertRateLimited(send("session-1"));
+        assertThat(rejections("session")).isZero();
+        assertThat(rejections("user")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("속도 제한 예외는 에러 코드와 receipt-id 를 담은 ERROR 프레임으로 변환된다")
+    void rateLimitBecomesErrorFrame() {
+        StompHeaderAccessor clientAccessor = StompHeaderAccessor.create(StompCommand.SEND);
+        clientAccessor.setReceipt("receipt-7");
+        Message<byte[]> clientMessage = MessageBuilder.createMessage(new byte[0], clientAccessor.getMessageHeaders());
+        Throwable wrapped = new MessageDeliveryException(clientMessage, new ChatHandler(ErrorStatus.CHAT_RATE_LIMITED));
+
+        Message<byte[]> error = new GoodsChatStompErrorHandler().handleClientMessageProcessingError(clientMessage, wrapped);
+
+        StompHeaderAccessor errorAccessor = MessageHeaderAccessor.getAccessor(error, StompHeaderAccessor.class);
+        assertThat(errorAccessor.getCommand()).isEqualTo(StompCommand.ERROR);
+        assertThat(errorAccessor.getMessage()).isEqualTo(ErrorStatus.CHAT_RATE_LIMITED.getCode());
+        assertThat(errorAccessor.getReceiptId()).isEqualTo("receipt-7");
+        assertThat(new String(error.getPayload(), StandardCharsets.UTF_8))
+                .isEqualTo(ErrorStatus.CHAT_RATE_LIMITED.getMessage());
+    }
+
+    private void assertRateLimited(Message<?> message) {
+        assertThatThrownBy(() -> rateLimiter.preSend(message, null))
+                .isInstanceOfSatisfying(ChatHandler.class, e ->
+                        assertThat(e.getErrorReason().getCode()).isEqualTo(ErrorStatus.CHAT_RATE_LIMITED.getCode()));
+    }
+
+    private double rejections(String scope) {
+        return meterRegistry.get("goods_chat.inbound.rate_limited").tag("scope", scope).counter().count();
+    }
+
+    private void connect(String sessionId) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(sessionId);
+        rateLimiter.decorate(mock(WebSocketHandler.class)).afterConnectionEstablished(session);
+    }
+
+    private void disconnect(String sessionId) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(sessionId);
+        rateLimiter.decorate(mock(WebSocketHandler.class)).afterConnectionClosed(session, CloseStatus.NORMAL);
+    }
+
+    private Message<?> send(String sessionId) {
+        return frame(StompCommand.SEND, sessionId);
+    }
+
+    private Message<?> frame(StompCommand command, String sessionId) {
+        return frame(command, sessionId, "/pub/chat/goods/message");
+    }
+
+    private Message<?> frame(StompCommand command, String sessionId, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination(destination);
+        accessor.setUser(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,155 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.entity.MessageType;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageRepository;
+import com.s406.livon.domain.goodsChat.service.GoodsChatCacheManager;
+import com.s406.livon.domain.goodsChat.service.GoodsChatInboxReader;
+import com.s406.livon.domain.goodsChat.service.GoodsChatReadCursorStore;
+import com.s406.livon.domain.user.enums.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅방 50개에 참여한 사용자의 채팅 목록 조회(Redis 파이프라인 + 미캐시 방 MongoDB aggregation)가
+ * p99 20ms 이내인지 측정하고, 캐시가 순번 카운터보다 뒤처진 방은 MongoDB 의 최근 메시지를 사용하는지 확인합니다.
+ */
+@SpringBootTest
+public class GoodsChatInboxPerformanceTest {
+
+    private static final long FIRST_ROOM_ID = 900_301L;
+    private static final int ROOM_COUNT = 50;
+    private static final int UNCACHED_ROOM_COUNT = 10;
+    private static final int MESSAGES_PER_ROOM = 30;
+    private static final long LAST_READ_SEQ = 25L;
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURE_ROUNDS = 500;
+    private static final long P99_LIMIT_NANOS = 20_000_000L;
+    private static final UUID USER_ID = UUID.fromString("b525bb98-6090-4faf-9e6e-8ec895c9fbd9");
+
+    @Autowired
+    private GoodsChatInboxReader inboxReader;
+
+    @Autowired
+    private GoodsChatReadCursorStore readCursorStore;
+
+    @Autowired
+    private GoodsChatCacheManager goodsChatCacheManager;
+
+    @Autowired
+    private GoodsChatMessageRepository messageRepository;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        for (Long roomId : roomIds()) {
+            messageRepository.deleteAllByChatRoomId(roomId);
+            goodsChatCacheManager.evictMessagesFromCache(roomId);
+        }
+        for (Long roomId : roomIds()) {
+            stringRedisTemplate.delete("goods_chat_seq::" + roomId);
+        }
+        stringRedisTemplate.delete("goods_chat_read::" + USER_ID);
+    }
+
+    @Test
+    @DisplayName("채팅방 50개 목록 조회 p99 20ms 이내, 최근 메시지와 안 읽은 수가 정확하다")
+    void readsFiftyRoomsWithinBudget() {
+        // GIVEN: 방마다 메시지 30건, 40개 방은 캐시에 있고 10개 방은 캐시 만료 상태, 25번까지 읽음
+        List<Long> roomIds = roomIds();
+        for (int i = 0; i < ROOM_COUNT; i++) {
+            Long roomId = roomIds.get(i);
+            List<GoodsChatMessage> messages = messageRepository.saveAll(createMessages(roomId));
+            if (i >= UNCACHED_ROOM_COUNT) {
+                goodsChatCacheManager.storeMessagesInCache(roomId, messages);
+            }
+            stringRedisTemplate.opsForValue().set("goods_chat_seq::" + roomId, String.valueOf(MESSAGES_PER_ROOM));
+            readCursorStore.markRead(USER_ID, roomId, LAST_READ_SEQ);
+        }
+
+        // THEN: 결과 검증
+        Map<Long, GoodsChatInboxReader.InboxEntry> entries = inboxReader.read(USER_ID, roomIds);
+        assertThat(entries).hasSize(ROOM_COUNT);
+        for (GoodsChatInboxReader.InboxEntry entry : entries.values()) {
+            assertThat(entry.lastMessage().getSeq()).isEqualTo(MESSAGES_PER_ROOM);
+            assertThat(entry.unreadCount()).isEqualTo(MESSAGES_PER_ROOM - LAST_READ_SEQ);
+        }
+
+        // WHEN: 반복 조회 시간 측정
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            inboxReader.read(USER_ID, roomIds);
+        }
+        long[] elapsed = new long[MEASURE_ROUNDS];
+        for (int round = 0; round < MEASURE_ROUNDS; round++) {
+            long start = System.nanoTime();
+            inboxReader.read(USER_ID, roomIds);
+            elapsed[round] = System.nanoTime() - start;
+        }
+        Arrays.sort(elapsed);
+        long p50 = elapsed[MEASURE_ROUNDS / 2];
+        long p99 = elapsed[(int) Math.ceil(MEASURE_ROUNDS * 0.99) - 1];
+        System.out.printf("[inbox] rooms=%d (uncached=%d), p50=%.2fms, p99=%.2fms%n",
+                ROOM_COUNT, UNCACHED_ROOM_COUNT, p50 / 1_000_000.0, p99 / 1_000_000.0);
+
+        assertThat(p99).isLessThan(P99_LIMIT_NANOS);
+    }
+
+    @Test
+    @DisplayName("캐시의 마지막 항목이 순번 카운터보다 뒤처진 방은 MongoDB 의 최근 메시지를 사용한다")
+    void fallsBackToDbWhenCacheLagsCounter() {
+        // GIVEN: 30번까지 저장되었지만 캐시에는 29번까지만 반영 (마지막 메시지의 캐시 저장 실패)
+        Long roomId = FIRST_ROOM_ID;
+        List<GoodsChatMessage> messages = messageRepository.saveAll(createMessages(roomId));
+        goodsChatCacheManager.storeMessagesInCache(roomId, messages.subList(0, MESSAGES_PER_ROOM - 1));
+        stringRedisTemplate.opsForValue().set("goods_chat_seq::" + roomId, String.valueOf(MESSAGES_PER_ROOM));
+
+        // WHEN
+        GoodsChatInboxReader.InboxEntry entry = inboxReader.read(USER_ID, List.of(roomId)).get(roomId);
+
+        // THEN
+        assertThat(entry.lastMessage().getSeq()).isEqualTo(MESSAGES_PER_ROOM);
+        assertThat(entry.lastMessage().getContent()).isEqualTo("inbox 테스트 " + MESSAGES_PER_ROOM);
+    }
+
+    private List<Long> roomIds() {
+        List<Long> roomIds = new ArrayList<>(ROOM_COUNT);
+        for (long roomId = FIRST_ROOM_ID; roomId < FIRST_ROOM_ID + ROOM_COUNT; roomId++) {
+            roomIds.add(roomId);
+        }
+        return roomIds;
+    }
+
+    private List<GoodsChatMessage> createMessages(Long roomId) {
+        List<GoodsChatMessage> messages = new ArrayList<>(MESSAGES_PER_ROOM);
+        LocalDateTime base = LocalDateTime.now().minusMinutes(MESSAGES_PER_ROOM);
+        for (long seq = 1; seq <= MESSAGES_PER_ROOM; seq++) {
+            messages.add(GoodsChatMessage.builder()
+                    .chatRoomId(roomId)
+                    .seq(seq)
+                    .userId(USER_ID)
+                    .content("inbox 테스트 " + seq)
+                    .sentAt(base.plusMinutes(seq))
+                    .role(Role.MEMBER)
+                    .messageType(MessageType.TALK)
+                    .build());
+        }
+        return messages;
+    }
+}
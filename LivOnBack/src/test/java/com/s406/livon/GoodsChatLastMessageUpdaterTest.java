@@ -0,0 +1,92 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.entity.MessageType;
+import com.s406.livon.domain.goodsChat.service.GoodsChatLastMessageUpdater;
+import com.s406.livon.domain.user.enums.Role;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 메시지가 아무리 많아도 채팅방 최근 메시지는 flush 주기마다 방당 한 번, 하나의 batch 로 반영되는지 확인합니다.
+ */
+public class GoodsChatLastMessageUpdaterTest {
+
+    private static final int ROOM_COUNT = 3;
+    private static final int MESSAGES_PER_ROOM = 1_000;
+
+    @Test
+    @DisplayName("방마다 가장 최근 메시지만 한 번의 batch UPDATE 로 반영한다")
+    @SuppressWarnings("unchecked")
+    void coalescesPerRoom() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        GoodsChatLastMessageUpdater updater = new GoodsChatLastMessageUpdater(jdbcTemplate, new GoodsChatProperties());
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+        // 순서가 뒤섞여 도착해도 순번이 가장 큰 메시지가 남아야 함
+        for (long seq = MESSAGES_PER_ROOM; seq >= 1; seq--) {
+            for (long roomId = 1; roomId <= ROOM_COUNT; roomId++) {
+                updater.record(message(roomId, seq, base.plusSeconds(seq)));
+            }
+        }
+        assertThat(updater.pendingCount()).isEqualTo(ROOM_COUNT);
+
+        updater.flush();
+
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(sqlCaptor.capture(), captor.capture());
+        // goods_chat_room 은 @MapsId 로 consultation 과 키를 공유하므로 키 컬럼은 consultation_id
+        assertThat(sqlCaptor.getValue())
+                .contains("UPDATE goods_chat_room")
+                .containsPattern("WHERE\\s+consultation_id\\s*=\\s*\\?")
+                .doesNotContainPattern("WHERE\\s+id\\s*=");
+        List<Object[]> rows = captor.getValue();
+        assertThat(rows).hasSize(ROOM_COUNT);
+        for (Object[] row : rows) {
+            assertThat(row[0]).isEqualTo("message " + MESSAGES_PER_ROOM);
+            assertThat(row[1]).isEqualTo(Timestamp.valueOf(base.plusSeconds(MESSAGES_PER_ROOM)));
+        }
+        assertThat(updater.pendingCount()).isZero();
+
+        // 새 메시지가 없으면 다음 주기에는 쓰지 않음
+        updater.flush();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("메시지가 없으면 MySQL 에 쓰지 않는다")
+    void skipsEmptyFlush() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        new GoodsChatLastMessageUpdater(jdbcTemplate, new GoodsChatProperties()).flush();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private GoodsChatMessage message(Long roomId, long seq, LocalDateTime sentAt) {
+        return GoodsChatMessage.builder()
+                .chatRoomId(roomId)
+                .seq(seq)
+                .userId(UUID.randomUUID())
+                .content("message " + seq)
+                .sentAt(sentAt)
+                .role(Role.MEMBER)
+                .messageType(MessageType.TALK)
+                .build();
+    }
+}
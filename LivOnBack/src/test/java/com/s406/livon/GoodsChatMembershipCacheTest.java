@@ -0,0 +1,163 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.entity.GoodsChatPart;
+import com.s406.livon.domain.goodsChat.entity.GoodsChatRoom;
+import com.s406.livon.domain.goodsChat.event.GoodsChatPartEntityListener;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatPartRepository;
+import com.s406.livon.domain.goodsChat.service.GoodsChatMembershipCache;
+import com.s406.livon.domain.user.entity.User;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import com.s406.livon.global.config.properties.GoodsChatProperties.BrokerMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 참여 여부 캐시가 참여자 / 비참여자 응답을 캐싱하고,
+ * 커밋 이후 / 다른 노드의 무효화 메시지로 제거되며, 무효화와 겹친 적재가 이전 상태를 다시 캐싱하지 않는지 확인합니다.
+ */
+public class GoodsChatMembershipCacheTest {
+
+    private static final Long ROOM_ID = 1L;
+    private static final String MEMBERSHIP_CHANNEL = "goods_chat:membership";
+
+    private GoodsChatProperties properties;
+    private GoodsChatPartRepository partRepository;
+    private StringRedisTemplate stringRedisTemplate;
+    private GoodsChatMembershipCache membershipCache;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        properties = new GoodsChatProperties();
+        partRepository = mock(GoodsChatPartRepository.class);
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+        membershipCache = new GoodsChatMembershipCache(partRepository, stringRedisTemplate, properties);
+        userId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("비참여자 응답도 캐싱하고, 무효화하면 다시 DB 를 조회한다")
+    void cachesNegativeAnswerUntilEvicted() {
+        when(partRepository.existsInActiveRoom(userId, ROOM_ID)).thenReturn(false, true);
+
+        assertThat(membershipCache.isMember(ROOM_ID, userId)).isFalse();
+        assertThat(membershipCache.isMember(ROOM_ID, userId)).isFalse();
+        verify(partRepository, times(1)).existsInActiveRoom(userId, ROOM_ID);
+
+        membershipCache.evict(ROOM_ID, userId);
+        assertThat(membershipCache.isMember(ROOM_ID, userId)).isTrue();
+        assertThat(membershipCache.isMember(ROOM_ID, userId)).isTrue();
+        verify(partRepository, times(2)).existsInActiveRoom(userId, ROOM_ID);
+    }
+
+    @Test
+    @DisplayName("참여 변경은 트랜잭션이 커밋된 뒤에만 캐시에서 제거된다")
+    void evictsOnlyAfterCommit() {
+        when(partRepository.existsInActiveRoom(userId, ROOM_ID)).thenReturn(false, true);
+        assertThat(membershipCache.isMember(ROOM_ID, userId)).isFalse();
+
+        @SuppressWarnings("unchecked")
+        ObjectProvider<GoodsChatMembershipCache> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(membershipCache);
+        GoodsChatPartEntityListener listener = new GoodsChatPartEntityListener(provider);
+
+        TransactionSynchronizationManager.initSynchronization();
+        listener.evictMembership(part());
+
+        // 커밋 전에는 이전 응답 유지
+        assertThat(membershipCache.isMember(ROOM_ID, userId)).isFalse();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(membershipCache.isMember(ROOM_ID, userId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("REDIS 브로커 모드에서는 무효화를 발행하고, 수신한 노드의 캐시도 제거된다")
+    void propagatesEvictionToOtherNodes() {
+        properties.getBroker().setMode(BrokerMode.REDIS);
+        GoodsChatMembershipCache otherNode = new GoodsChatMembershipCache(partRepository, stringRedisTemplate, properties);
+        when(partRepository.existsInActiveRoom(userId, ROOM_ID)).thenReturn(false, false, true);
+        assertThat(membershipCache.isMember(ROOM_ID, userId)).isFalse();
+        assertThat(otherNode.isMember(ROOM_ID, userId)).isFalse();
+
+        membershipCache.evictEverywhere(ROOM_ID, userId);
+
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(eq(MEMBERSHIP_CHANNEL), body.capture());
+        otherNode.onMessage(new DefaultMessage(MEMBERSHIP_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getValue().getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(otherNode.isMember(ROOM_ID, userId)).isTrue();
+        verify(partRepository, times(3)).existsInActiveRoom(userId, ROOM_ID);
+    }
+
+    @Test
+    @DisplayName("LOCAL 모드에서는 무효화를 발행하지 않는다")
+    void doesNotPublishInLocalMode() {
+        membershipCache.evictEverywhere(ROOM_ID, userId);
+        verify(stringRedisTemplate, never()).convertAndSend(any(), any());
+    }
+
+    @Test
+    @DisplayName("커밋 전에 DB 를 읽은 적재가 무효화와 겹쳐도 이전 비참여자 응답이 남지 않는다")
+    void evictionDuringLoadDropsStaleAnswer() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // 첫 조회는 커밋 전 상태(비참여)를 읽은 채 대기, 이후 조회는 커밋된 상태(참여)
+        when(partRepository.existsInActiveRoom(userId, ROOM_ID)).thenAnswer(invocation -> {
+            if (loading.getCount() > 0) {
+                loading.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return false;
+            }
+            return true;
+        });
+
+        CompletableFuture<Boolean> staleLoad = CompletableFuture.supplyAsync(() -> membershipCache.isMember(ROOM_ID, userId));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        // DB 조회가 끝나기 전에 커밋 이후 무효화 실행
+        membershipCache.evict(ROOM_ID, userId);
+        release.countDown();
+
+        assertThat(staleLoad.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(membershipCache.isMember(ROOM_ID, userId)).isTrue();
+    }
+
+    private GoodsChatPart part() {
+        return GoodsChatPart.builder()
+                .goodsChatRoom(GoodsChatRoom.builder().id(ROOM_ID).build())
+                .user(User.builder().id(userId).build())
+                .isActive(true)
+                .build();
+    }
+}
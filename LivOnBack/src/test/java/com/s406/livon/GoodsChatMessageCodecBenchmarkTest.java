@@ -0,0 +1,132 @@
+package com.s406.livon;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.s406.livon.domain.goodsChat.codec.GoodsChatMessageBucketCodec;
+import com.s406.livon.domain.goodsChat.codec.GoodsChatMessageCodec;
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.entity.MessageType;
+import com.s406.livon.domain.user.enums.Role;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기존 캐시 직렬화(Jackson + default typing)와 GoodsChatMessageCodec 의
+ * 메시지당 바이트 수 / 인코딩 / 디코딩 시간 비교 (워밍업 후 반복 측정)
+ */
+public class GoodsChatMessageCodecBenchmarkTest {
+
+    private static final Long ROOM_ID = 1L;
+    private static final int MESSAGE_COUNT = 1_000;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURE_ROUNDS = 50;
+
+    @Test
+    @DisplayName("바이너리 코덱 왕복 변환 시 모든 필드가 보존된다")
+    void roundTrip() {
+        for (GoodsChatMessage message : createMessages()) {
+            GoodsChatMessage decoded = GoodsChatMessageCodec.decode(ROOM_ID, GoodsChatMessageCodec.encode(message));
+            assertThat(decoded).usingRecursiveComparison().isEqualTo(message);
+        }
+    }
+
+    @Test
+    @DisplayName("bucket 코덱은 순서와 필드를 보존하고 메시지별 코덱보다 작다")
+    void bucketRoundTrip() {
+        List<GoodsChatMessage> messages = createMessages();
+
+        byte[] payload = GoodsChatMessageBucketCodec.encode(messages);
+        List<GoodsChatMessage> decoded = GoodsChatMessageBucketCodec.decode(ROOM_ID, payload);
+
+        assertThat(decoded).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(messages);
+        long codecBytes = messages.stream().mapToLong(message -> GoodsChatMessageCodec.encode(message).length).sum();
+        System.out.printf("[bucket    ] codec=%d bytes, bucket=%d bytes (%.1f%%)%n",
+                codecBytes, payload.length, 100.0 * payload.length / codecBytes);
+        assertThat((long) payload.length).isLessThan(codecBytes);
+    }
+
+    @Test
+    @DisplayName("Jackson 직렬화 대비 메시지당 바이트 수 / 인코딩 / 디코딩 시간 비교")
+    void compareWithJackson() {
+        List<GoodsChatMessage> messages = createMessages();
+        GenericJackson2JsonRedisSerializer jackson = legacySerializer();
+
+        long jacksonBytes = messages.stream().mapToLong(message -> jackson.serialize(message).length).sum();
+        long codecBytes = messages.stream().mapToLong(message -> GoodsChatMessageCodec.encode(message).length).sum();
+
+        List<byte[]> jacksonEncoded = messages.stream().map(jackson::serialize).toList();
+        List<byte[]> codecEncoded = messages.stream().map(GoodsChatMessageCodec::encode).toList();
+
+        double jacksonEncodeNs = measure(messages, jackson::serialize);
+        double codecEncodeNs = measure(messages, GoodsChatMessageCodec::encode);
+        double jacksonDecodeNs = measure(jacksonEncoded, jackson::deserialize);
+        double codecDecodeNs = measure(codecEncoded, bytes -> GoodsChatMessageCodec.decode(ROOM_ID, bytes));
+
+        System.out.printf("[bytes/msg ] jackson=%.1f codec=%.1f (%.1f%%)%n",
+                (double) jacksonBytes / MESSAGE_COUNT, (double) codecBytes / MESSAGE_COUNT, 100.0 * codecBytes / jacksonBytes);
+        System.out.printf("[encode ns ] jackson=%.0f codec=%.0f%n", jacksonEncodeNs, codecEncodeNs);
+        System.out.printf("[decode ns ] jackson=%.0f codec=%.0f%n", jacksonDecodeNs, codecDecodeNs);
+
+        assertThat(codecBytes).isLessThan(jacksonBytes / 2);
+    }
+
+    // 메시지 1건당 평균 소요 시간(ns)
+    private <T> double measure(List<T> inputs, Function<T, ?> operation) {
+        Object sink = null;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (T input : inputs) {
+                sink = operation.apply(input);
+            }
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURE_ROUNDS; round++) {
+            for (T input : inputs) {
+                sink = operation.apply(input);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(sink).isNotNull();
+        return (double) elapsed / ((long) MEASURE_ROUNDS * inputs.size());
+    }
+
+    // 기존 goodsChatCacheRedisTemplate 과 동일한 설정
+    private GenericJackson2JsonRedisSerializer legacySerializer() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        BasicPolymorphicTypeValidator validator = BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType(GoodsChatMessage.class)
+                .build();
+        objectMapper.activateDefaultTyping(validator, ObjectMapper.DefaultTyping.NON_FINAL);
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+
+    private List<GoodsChatMessage> createMessages() {
+        List<GoodsChatMessage> messages = new ArrayList<>(MESSAGE_COUNT);
+        LocalDateTime base = LocalDateTime.now();
+        UUID[] users = {UUID.randomUUID(), UUID.randomUUID()};
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            messages.add(GoodsChatMessage.builder()
+                    .id(new ObjectId().toHexString())
+                    .chatRoomId(ROOM_ID)
+                    .seq((long) i + 1)
+                    .userId(users[i % users.length])
+                    .content("오늘 식단 기록 확인 부탁드려요 " + i)
+                    .sentAt(base.plusNanos(i * 1_000_123L))
+                    .role(i % 2 == 0 ? Role.MEMBER : Role.COACH)
+                    .messageType(MessageType.TALK)
+                    .build());
+        }
+        return messages;
+    }
+}
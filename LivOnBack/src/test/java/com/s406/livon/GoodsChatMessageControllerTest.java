@@ -0,0 +1,192 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.controller.GoodsChatMessageController;
+import com.s406.livon.domain.goodsChat.inbound.GoodsChatClientErrorSender;
+import com.s406.livon.domain.goodsChat.service.GoodsChatMessageService;
+import com.s406.livon.domain.goodsChat.service.GoodsChatReadService;
+import com.s406.livon.domain.goodsChat.service.GoodsChatSequencer;
+import com.s406.livon.domain.goodsChat.service.GoodsChatTypingService;
+import com.s406.livon.domain.user.entity.User;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import com.s406.livon.global.error.handler.ChatHandler;
+import com.s406.livon.global.web.response.code.status.ErrorStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * /pub/chat/goods/** SEND 프레임을 실제 @MessageMapping 처리 경로(SimpAnnotationMethodMessageHandler)로 전달하여
+ * 요청 검증 실패, lane 에서의 처리 실패, 읽음 / 입력 중 처리 실패가 요청한 세션의 /user/queue/errors 로 전달되는지 확인합니다.
+ */
+public class GoodsChatMessageControllerTest {
+
+    private static final String SESSION_ID = "session-1";
+    private static final String EMAIL = "member@livon.com";
+
+    private GoodsChatMessageService messageService;
+    private GoodsChatReadService readService;
+    private GoodsChatTypingService typingService;
+    private GoodsChatSequencer sequencer;
+    private MessageChannel brokerChannel;
+    private SimpAnnotationMethodMessageHandler messageHandler;
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        messageService = mock(GoodsChatMessageService.class);
+        readService = mock(GoodsChatReadService.class);
+        typingService = mock(GoodsChatTypingService.class);
+        GoodsChatProperties properties = new GoodsChatProperties();
+        properties.getSequencer().setLanes(1);
+        sequencer = new GoodsChatSequencer(properties, new SimpleMeterRegistry());
+
+        // 브로커로 보내는 메시지를 기록 (SimpleBroker 로 전달되기 직전)
+        brokerChannel = mock(MessageChannel.class);
+        when(brokerChannel.send(any())).thenReturn(true);
+        SimpMessagingTemplate brokerTemplate = new SimpMessagingTemplate(brokerChannel);
+        brokerTemplate.setMessageConverter(new MappingJackson2MessageConverter());
+
+        GoodsChatMessageController controller = new GoodsChatMessageController(messageService, sequencer, readService,
+                typingService, new GoodsChatClientErrorSender(brokerTemplate));
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.getBeanFactory().registerSingleton("goodsChatMessageController", controller);
+        context.refresh();
+
+        messageHandler = new SimpAnnotationMethodMessageHandler(mock(SubscribableChannel.class),
+                mock(MessageChannel.class), brokerTemplate);
+        messageHandler.setDestinationPrefixes(List.of("/pub"));
+        messageHandler.setMessageConverter(new MappingJackson2MessageConverter());
+        messageHandler.setApplicationContext(context);
+        messageHandler.afterPropertiesSet();
+
+        User user = User.builder().id(UUID.randomUUID()).email(EMAIL).build();
+        authentication = new UsernamePasswordAuthenticationToken(user, null, List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        sequencer.shutdown();
+    }
+
+    @Test
+    @DisplayName("roomId 가 없는 메시지는 lane 에 제출하지 않고 요청한 세션에 CHAT4007 을 전달한다")
+    void rejectsMessageWithoutRoomId() {
+        messageHandler.handleMessage(send("/pub/chat/goods/message", "{\"message\":\"안녕하세요\"}"));
+
+        assertErrorSentToSession(ErrorStatus.CHAT_REQUEST_INVALID.getCode());
+        verifyNoInteractions(messageService);
+    }
+
+    @Test
+    @DisplayName("lane 에서 메시지 처리에 실패하면 요청한 세션에 에러 코드를 전달한다")
+    void reportsLaneFailureToSession() {
+        doThrow(new ChatHandler(ErrorStatus.USER_NOT_SEND_VALID)).when(messageService).sendMessage(any(), any());
+
+        messageHandler.handleMessage(send("/pub/chat/goods/message", "{\"roomId\":1,\"message\":\"안녕하세요\"}"));
+
+        ArgumentCaptor<Message<?>> sent = messageCaptor();
+        verify(brokerChannel, timeout(5_000)).send(sent.capture());
+        assertErrorMessage(sent.getValue(), ErrorStatus.USER_NOT_SEND_VALID.getCode());
+    }
+
+    @Test
+    @DisplayName("seq 가 없는 읽음 프레임은 처리하지 않고 요청한 세션에 CHAT4007 을 전달한다")
+    void rejectsReadWithoutSeq() {
+        messageHandler.handleMessage(send("/pub/chat/goods/read", "{\"roomId\":1}"));
+
+        assertErrorSentToSession(ErrorStatus.CHAT_REQUEST_INVALID.getCode());
+        verifyNoInteractions(readService);
+    }
+
+    @Test
+    @DisplayName("참여하지 않은 방의 읽음 처리 실패는 요청한 세션에 에러 코드를 전달한다")
+    void reportsReadFailureToSession() {
+        doThrow(new ChatHandler(ErrorStatus.USER_NOT_SELECT_VALID)).when(readService).markRead(any(), any(), anyLong());
+
+        messageHandler.handleMessage(send("/pub/chat/goods/read", "{\"roomId\":1,\"seq\":10}"));
+
+        assertErrorSentToSession(ErrorStatus.USER_NOT_SELECT_VALID.getCode());
+    }
+
+    @Test
+    @DisplayName("roomId 가 없는 입력 중 프레임은 전달하지 않고 요청한 세션에 CHAT4007 을 전달한다")
+    void rejectsTypingWithoutRoomId() {
+        messageHandler.handleMessage(send("/pub/chat/goods/typing", "{\"typing\":true}"));
+
+        assertErrorSentToSession(ErrorStatus.CHAT_REQUEST_INVALID.getCode());
+        verifyNoInteractions(typingService);
+    }
+
+    @Test
+    @DisplayName("참여하지 않은 방의 입력 중 표시 실패는 요청한 세션에 에러 코드를 전달한다")
+    void reportsTypingFailureToSession() {
+        doThrow(new ChatHandler(ErrorStatus.USER_NOT_SEND_VALID)).when(typingService).typing(any(), any(), anyBoolean());
+
+        messageHandler.handleMessage(send("/pub/chat/goods/typing", "{\"roomId\":1,\"typing\":true}"));
+
+        assertErrorSentToSession(ErrorStatus.USER_NOT_SEND_VALID.getCode());
+    }
+
+    private Message<byte[]> send(String destination, String json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        accessor.setSessionId(SESSION_ID);
+        accessor.setSessionAttributes(new HashMap<>());
+        accessor.setUser(authentication);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(json.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+
+    private void assertErrorSentToSession(String code) {
+        ArgumentCaptor<Message<?>> sent = messageCaptor();
+        verify(brokerChannel).send(sent.capture());
+        assertErrorMessage(sent.getValue(), code);
+    }
+
+    private static void assertErrorMessage(Message<?> message, String code) {
+        // /user/{사용자}/queue/errors 로 보내고, 세션 헤더로 요청한 세션에만 전달 (UserDestinationMessageHandler 가 해석)
+        assertThat(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))
+                .startsWith("/user/").endsWith(GoodsChatClientErrorSender.ERROR_DESTINATION);
+        assertThat(SimpMessageHeaderAccessor.getSessionId(message.getHeaders())).isEqualTo(SESSION_ID);
+        String body = new String((byte[]) message.getPayload(), StandardCharsets.UTF_8);
+        assertThat(body).contains("\"isSuccess\":false").contains("\"code\":\"" + code + "\"");
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ArgumentCaptor<Message<?>> messageCaptor() {
+        return (ArgumentCaptor) ArgumentCaptor.forClass(Message.class);
+    }
+}
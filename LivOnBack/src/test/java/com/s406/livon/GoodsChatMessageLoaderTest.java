@@ -0,0 +1,99 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageRepository;
+import com.s406.livon.domain.goodsChat.service.GoodsChatCacheManager;
+import com.s406.livon.domain.goodsChat.service.GoodsChatMessageLoader;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 다른 노드가 lease 를 가진 채 캐시를 채우는 동안 대기하는 요청이
+ * 요청한 구간 전체가 캐시에 있을 때만 캐시 결과를 사용하고, 일부만 있으면 DB 에서 조회하는지 확인합니다.
+ */
+public class GoodsChatMessageLoaderTest {
+
+    private static final Long ROOM_ID = 1L;
+    private static final int PAGE_SIZE = 20;
+
+    private GoodsChatMessageRepository messageRepository;
+    private GoodsChatCacheManager cacheManager;
+    private GoodsChatMessageLoader loader;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        messageRepository = mock(GoodsChatMessageRepository.class);
+        cacheManager = mock(GoodsChatCacheManager.class);
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        // 다른 노드가 lease 를 계속 가지고 있는 상태
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        when(stringRedisTemplate.hasKey(anyString())).thenReturn(true);
+
+        GoodsChatProperties properties = new GoodsChatProperties();
+        properties.getCache().setLoadWaitTimeout(Duration.ofMillis(200));
+        properties.getCache().setLoadPollInterval(Duration.ofMillis(10));
+        loader = new GoodsChatMessageLoader(messageRepository, cacheManager, stringRedisTemplate, properties);
+    }
+
+    @Test
+    @DisplayName("캐시에 일부만 채워졌으면 대기 시간이 지난 뒤 DB 에서 조회한다")
+    void ignoresPartialCachedPage() {
+        when(cacheManager.fetchMessagesFromCache(ROOM_ID, 100L, PAGE_SIZE)).thenReturn(messages(99, 95));
+        when(messageRepository.getChatMessages(ROOM_ID, 100L, PAGE_SIZE)).thenReturn(messages(99, 80));
+
+        assertThat(loader.load(ROOM_ID, 100L, PAGE_SIZE)).extracting(GoodsChatMessage::getSeq)
+                .containsExactlyElementsOf(seqs(99, 80));
+        verify(messageRepository).getChatMessages(ROOM_ID, 100L, PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("size 개가 모두 캐시에 있으면 DB 를 조회하지 않는다")
+    void acceptsFullCachedPage() {
+        when(cacheManager.fetchMessagesFromCache(ROOM_ID, 100L, PAGE_SIZE)).thenReturn(messages(99, 80));
+
+        assertThat(loader.load(ROOM_ID, 100L, PAGE_SIZE)).hasSize(PAGE_SIZE);
+        verify(messageRepository, never()).getChatMessages(anyLong(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("채팅방의 첫 메시지까지 캐시에 있으면 size 보다 적어도 DB 를 조회하지 않는다")
+    void acceptsCachedPageReachingStartOfHistory() {
+        when(cacheManager.fetchMessagesFromCache(eq(ROOM_ID), eq(6L), eq(PAGE_SIZE))).thenReturn(messages(5, 1));
+
+        assertThat(loader.load(ROOM_ID, 6L, PAGE_SIZE)).extracting(GoodsChatMessage::getSeq)
+                .containsExactlyElementsOf(seqs(5, 1));
+        verify(messageRepository, never()).getChatMessages(anyLong(), any(), anyInt());
+    }
+
+    private static List<GoodsChatMessage> messages(long fromSeq, long toSeq) {
+        return seqs(fromSeq, toSeq).stream()
+                .map(seq -> GoodsChatMessage.builder().chatRoomId(ROOM_ID).seq(seq).build())
+                .toList();
+    }
+
+    private static List<Long> seqs(long fromSeq, long toSeq) {
+        return LongStream.iterate(fromSeq, seq -> seq - 1).limit(fromSeq - toSeq + 1).boxed().toList();
+    }
+}
@@ -0,0 +1,126 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.moderation.GoodsChatModerationFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 금칙어 10,000 개 사전에서 메시지당 검열 비용(ns) / 할당 바이트 측정 (워밍업 후 반복 측정)
+ */
+public class GoodsChatModerationBenchmarkTest {
+
+    private static final int TERM_COUNT = 10_000;
+    private static final int MESSAGE_COUNT = 1_000;
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURE_ROUNDS = 200;
+    private static final String HANGUL = "가나다라마바사아자차카타파하오늘식단운동코치회원물단백질";
+
+    @Test
+    @DisplayName("금칙어 10,000 개 사전의 메시지당 검열 비용")
+    void moderationCostPerMessage() {
+        Random random = new Random(406);
+        GoodsChatModerationFilter filter = GoodsChatModerationFilter.compile(
+                Map.of("banned_word", createTerms(random)), true, new SimpleMeterRegistry());
+        List<String> messages = createMessages(random);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            moderateAll(filter, messages);
+        }
+
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        int masked = 0;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            masked = moderateAll(filter, messages);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        long totalMessages = (long) MESSAGE_COUNT * MEASURE_ROUNDS;
+        double nsPerMessage = (double) elapsed / totalMessages;
+        System.out.printf("[moderation] terms=%d ns/msg=%.0f bytes/msg=%.1f masked=%d/%d%n",
+                TERM_COUNT, nsPerMessage, (double) allocated / totalMessages, masked, MESSAGE_COUNT);
+
+        // 메시지당 수 μs 이내 (전송 경로의 MongoDB / Redis 왕복과 비교해 무시할 수준)
+        assertThat(nsPerMessage).isLessThan(20_000);
+    }
+
+    @Test
+    @DisplayName("치환할 부분이 없는 메시지는 할당 없이 검사한다")
+    void cleanMessagesDoNotAllocate() {
+        GoodsChatModerationFilter filter = GoodsChatModerationFilter.compile(
+                Map.of("banned_word", createTerms(new Random(406))), true, new SimpleMeterRegistry());
+        // 사전 문자(HANGUL)를 쓰지 않는 메시지
+        String clean = "점심은 샐러드 먹었어요. 저녁 7시에 걷기 할게요!";
+        assertThat(filter.apply(clean)).isSameAs(clean);
+
+        for (int i = 0; i < 10_000; i++) {
+            filter.apply(clean);
+        }
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            filter.apply(clean);
+        }
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        System.out.printf("[moderation] clean bytes/msg=%.3f%n", allocated / 100_000.0);
+        assertThat(allocated / 100_000.0).isLessThan(1.0);
+    }
+
+    private int moderateAll(GoodsChatModerationFilter filter, List<String> messages) {
+        int masked = 0;
+        for (String message : messages) {
+            if (filter.apply(message) != message) {
+                masked++;
+            }
+        }
+        return masked;
+    }
+
+    private static List<String> createTerms(Random random) {
+        Set<String> terms = new HashSet<>(TERM_COUNT * 2);
+        while (terms.size() < TERM_COUNT) {
+            terms.add(randomHangul(random, 3 + random.nextInt(4)));
+        }
+        return new ArrayList<>(terms);
+    }
+
+    // 평균 40 자 안팎의 메시지, 일부에 전화번호 / 이메일 포함
+    private static List<String> createMessages(Random random) {
+        List<String> messages = new ArrayList<>(MESSAGE_COUNT);
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            StringBuilder message = new StringBuilder();
+            int words = 4 + random.nextInt(8);
+            for (int w = 0; w < words; w++) {
+                message.append(randomHangul(random, 1 + random.nextInt(4))).append(' ');
+            }
+            if (i % 50 == 0) {
+                message.append("010-").append(1000 + random.nextInt(9000)).append('-').append(1000 + random.nextInt(9000));
+            } else if (i % 50 == 1) {
+                message.append("member").append(i).append("@example.com");
+            }
+            messages.add(message.toString());
+        }
+        return messages;
+    }
+
+    private static String randomHangul(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(HANGUL.charAt(random.nextInt(HANGUL.length())));
+        }
+        return builder.toString();
+    }
+}
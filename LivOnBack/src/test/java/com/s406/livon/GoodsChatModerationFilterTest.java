@@ -0,0 +1,76 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.moderation.GoodsChatModerationFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 금칙어 / 전화번호 / 이메일이 같은 길이로 치환되고 규칙별로 집계되는지 확인합니다.
+ */
+public class GoodsChatModerationFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GoodsChatModerationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Map<String, List<String>> termsByRule = new LinkedHashMap<>();
+        termsByRule.put("profanity", List.of("바보", "멍청이", "he", "she", "hers"));
+        termsByRule.put("external_contact", List.of("카톡", "Kakao"));
+        filter = GoodsChatModerationFilter.compile(termsByRule, true, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("겹치는 금칙어를 포함해 모든 금칙어를 대소문자 구분 없이 치환한다")
+    void masksOverlappingTerms() {
+        assertThat(filter.apply("너 바보 멍청이야")).isEqualTo("너 ** ***야");
+        assertThat(filter.apply("ushers")).isEqualTo("u*****");
+        assertThat(filter.apply("KAKAO 카톡 주세요")).isEqualTo("***** ** 주세요");
+
+        assertThat(hits("profanity")).isEqualTo(5);
+        assertThat(hits("external_contact")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("전화번호와 이메일을 치환한다")
+    void masksPersonalInfo() {
+        assertThat(filter.apply("010-1234-5678로 연락주세요")).isEqualTo("*************로 연락주세요");
+        assertThat(filter.apply("번호 01012345678")).isEqualTo("번호 ***********");
+        assertThat(filter.apply("02 123 4567 로 전화")).isEqualTo("*********** 로 전화");
+        assertThat(filter.apply("메일은 hong.gil-dong@example.co.kr.")).isEqualTo("메일은 ***************************.");
+
+        assertThat(hits(GoodsChatModerationFilter.PHONE_NUMBER_RULE)).isEqualTo(3);
+        assertThat(hits(GoodsChatModerationFilter.EMAIL_RULE)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("전화번호 앞뒤로 구분자 하나를 두고 숫자가 이어져도 전화번호만 치환한다")
+    void masksPhoneNumberFollowedByDigits() {
+        assertThat(filter.apply("010-1234-5678 3시에 연락")).isEqualTo("************* 3시에 연락");
+        assertThat(filter.apply("2024 010-1234-5678")).isEqualTo("2024 *************");
+        assertThat(filter.apply("010123456789")).isEqualTo("010123456789");
+
+        assertThat(hits(GoodsChatModerationFilter.PHONE_NUMBER_RULE)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("치환할 부분이 없으면 입력 문자열을 그대로 반환한다")
+    void returnsSameInstanceWhenClean() {
+        for (String message : List.of("오늘 식단 공유드려요", "물 2L, 단백질 120g", "3 4 5 세트", "a@b", "x@y.c", "")) {
+            assertThat(filter.apply(message)).isSameAs(message);
+        }
+    }
+
+    private double hits(String rule) {
+        return meterRegistry.get("goods_chat.moderation.hits").tag("rule", rule).counter().count();
+    }
+}
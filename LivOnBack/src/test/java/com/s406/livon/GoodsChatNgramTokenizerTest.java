@@ -0,0 +1,48 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.search.GoodsChatNgramTokenizer;
+import com.s406.livon.domain.goodsChat.search.GoodsChatSearchQuery;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 조사 / 어미가 붙은 한국어 메시지도 검색어의 bigram 을 모두 포함하는지 확인합니다.
+ */
+public class GoodsChatNgramTokenizerTest {
+
+    @Test
+    @DisplayName("단어마다 bigram 을 만들고 중복은 제거한다")
+    void tokenizesWordsIntoBigrams() {
+        assertThat(GoodsChatNgramTokenizer.tokenize("상담 상담이, OK!"))
+                .containsExactly("상담", "담이", "ok");
+    }
+
+    @Test
+    @DisplayName("검색어의 bigram 은 조사가 붙은 메시지의 bigram 에 모두 포함된다")
+    void queryTokensAreContainedInMessageTokens() {
+        GoodsChatSearchQuery searchQuery = GoodsChatSearchQuery.of("상담 일정");
+
+        assertThat(GoodsChatNgramTokenizer.tokenize("다음 상담은 일정이 어떻게 되나요?"))
+                .containsAll(searchQuery.ngrams());
+        assertThat(searchQuery.words()).containsExactly("상담", "일정");
+    }
+
+    @Test
+    @DisplayName("두 글자 이상인 단어가 없으면 검색할 수 없다")
+    void rejectsSingleCharacterKeyword() {
+        assertThat(GoodsChatSearchQuery.of("밥 a").isSearchable()).isFalse();
+        assertThat(GoodsChatSearchQuery.of("  ").isSearchable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("긴 메시지도 토큰 수는 MAX_TOKENS 를 넘지 않는다")
+    void capsTokenCount() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 2_000; i++) {
+            content.append((char) ('가' + i)).append((char) ('가' + i + 1)).append(' ');
+        }
+        assertThat(GoodsChatNgramTokenizer.tokenize(content.toString())).hasSize(GoodsChatNgramTokenizer.MAX_TOKENS);
+    }
+}
@@ -0,0 +1,100 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.outbound.GoodsChatOutboundMonitor;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import com.s406.livon.global.config.properties.GoodsChatProperties.SlowConsumerPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 세션별 대기 메시지가 한도를 넘으면 느린 구독자 정책(DROP / DISCONNECT)이 적용되는지 확인합니다.
+ */
+public class GoodsChatOutboundMonitorTest {
+
+    private static final String SESSION_ID = "slow-session";
+    private static final int MAX_PENDING = 5;
+
+    @Test
+    @DisplayName("DROP 정책: 한도를 넘는 메시지는 버리고, 전송이 끝나 자리가 나면 다시 전달한다")
+    void dropsMessagesBeyondPendingLimit() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GoodsChatOutboundMonitor monitor = createMonitor(SlowConsumerPolicy.DROP, meterRegistry);
+        connect(monitor);
+
+        List<Message<?>> queued = new ArrayList<>();
+        for (int i = 0; i < MAX_PENDING; i++) {
+            Message<?> accepted = monitor.preSend(chatMessage(), null);
+            assertThat(accepted).isNotNull();
+            queued.add(accepted);
+        }
+        assertThat(monitor.preSend(chatMessage(), null)).isNull();
+        assertThat(meterRegistry.get("goods_chat.outbound.dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("goods_chat.outbound.max_session_pending").gauge().value()).isEqualTo(MAX_PENDING);
+
+        // 채팅 메시지가 아닌 프레임(heart-beat 등)은 한도와 무관하게 전달
+        assertThat(monitor.preSend(frame(SimpMessageType.HEARTBEAT), null)).isNotNull();
+
+        monitor.afterMessageHandled(queued.get(0), null, null, null);
+        assertThat(monitor.preSend(chatMessage(), null)).isNotNull();
+        assertThat(meterRegistry.get("goods_chat.outbound.lag").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DISCONNECT 정책: 한도를 넘으면 세션을 한 번만 종료한다")
+    void disconnectsSlowConsumerOnce() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GoodsChatOutboundMonitor monitor = createMonitor(SlowConsumerPolicy.DISCONNECT, meterRegistry);
+        WebSocketSession session = connect(monitor);
+
+        for (int i = 0; i < MAX_PENDING; i++) {
+            monitor.preSend(chatMessage(), null);
+        }
+        assertThat(monitor.preSend(chatMessage(), null)).isNull();
+        assertThat(monitor.preSend(chatMessage(), null)).isNull();
+
+        verify(session, times(1)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(meterRegistry.get("goods_chat.outbound.forced_disconnects")
+                .tag("reason", "pending_limit").counter().count()).isEqualTo(1);
+    }
+
+    private GoodsChatOutboundMonitor createMonitor(SlowConsumerPolicy policy, SimpleMeterRegistry meterRegistry) {
+        GoodsChatProperties properties = new GoodsChatProperties();
+        properties.getOutbound().setMaxPendingPerSession(MAX_PENDING);
+        properties.getOutbound().setSlowConsumerPolicy(policy);
+        return new GoodsChatOutboundMonitor(properties, meterRegistry);
+    }
+
+    private WebSocketSession connect(GoodsChatOutboundMonitor monitor) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(SESSION_ID);
+        monitor.decorate(mock(WebSocketHandler.class)).afterConnectionEstablished(session);
+        return session;
+    }
+
+    private Message<?> chatMessage() {
+        return frame(SimpMessageType.MESSAGE);
+    }
+
+    private Message<?> frame(SimpMessageType type) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(SESSION_ID);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,133 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.entity.MessageType;
+import com.s406.livon.domain.goodsChat.presence.GoodsChatPresenceService;
+import com.s406.livon.domain.goodsChat.push.GoodsChatPushDispatcher;
+import com.s406.livon.domain.goodsChat.push.RedisGoodsChatPendingPushStore;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatPartRepository;
+import com.s406.livon.domain.user.entity.PushToken;
+import com.s406.livon.domain.user.entity.User;
+import com.s406.livon.domain.user.repository.PushTokenRepository;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import com.s406.livon.global.push.ExpoPushClient;
+import com.s406.livon.global.push.ExpoPushMessage;
+import com.s406.livon.global.push.ExpoPushTicket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 로컬 Redis(localhost:6379) 를 공유하는 두 노드가 각자 받은 메시지를 사용자별 알림 하나로 합산해
+ * 한 노드에서만 한 번 전송하는지 확인합니다.
+ */
+public class GoodsChatPendingPushStoreTest {
+
+    private static final long ROOM_ID = 1L;
+    private static final long OTHER_ROOM_ID = 2L;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate stringRedisTemplate;
+    private GoodsChatPartRepository partRepository;
+    private ExpoPushClient expoPushClient;
+    private GoodsChatPushDispatcher nodeA;
+    private GoodsChatPushDispatcher nodeB;
+    private User sender;
+    private UUID offline;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+
+        GoodsChatProperties properties = new GoodsChatProperties();
+        properties.getPush().setCoalesceWindow(Duration.ofMillis(300));
+
+        partRepository = mock(GoodsChatPartRepository.class);
+        GoodsChatPresenceService presenceService = mock(GoodsChatPresenceService.class);
+        PushTokenRepository pushTokenRepository = mock(PushTokenRepository.class);
+        expoPushClient = mock(ExpoPushClient.class);
+        sender = User.builder().id(UUID.randomUUID()).nickname("sender").build();
+        offline = UUID.randomUUID();
+        stringRedisTemplate.delete(List.of("goods_chat_push::" + offline));
+        stringRedisTemplate.opsForZSet().remove("goods_chat_push_due", offline.toString());
+
+        when(partRepository.findActiveUserIdsByChatRoomId(any())).thenReturn(List.of(sender.getId(), offline));
+        when(presenceService.getOnlineUserIds(any())).thenReturn(Set.of());
+        when(pushTokenRepository.findAllByUserIdIn(anyCollection())).thenAnswer(invocation ->
+                ((Collection<UUID>) invocation.getArgument(0)).stream()
+                        .map(userId -> PushToken.builder().userId(userId).token("token-" + userId).build())
+                        .toList());
+        when(expoPushClient.send(any())).thenAnswer(invocation -> Mono.just(
+                ((List<ExpoPushMessage>) invocation.getArgument(0)).stream()
+                        .map(message -> new ExpoPushTicket("ok", "id", null, null))
+                        .toList()));
+
+        nodeA = new GoodsChatPushDispatcher(properties, partRepository, presenceService, pushTokenRepository,
+                expoPushClient, new RedisGoodsChatPendingPushStore(stringRedisTemplate), new SimpleMeterRegistry());
+        nodeB = new GoodsChatPushDispatcher(properties, partRepository, presenceService, pushTokenRepository,
+                expoPushClient, new RedisGoodsChatPendingPushStore(stringRedisTemplate), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("여러 노드에서 받은 메시지를 사용자별 알림 하나로 묶어 한 번만 전송")
+    void coalescesAcrossNodes() throws InterruptedException {
+        nodeA.enqueue(message(ROOM_ID, "from A"), sender);
+        nodeB.enqueue(message(ROOM_ID, "from B 1"), sender);
+        nodeB.enqueue(message(OTHER_ROOM_ID, "from B 2"), sender);
+        nodeA.flush();
+        nodeB.flush();
+        verify(expoPushClient, times(0)).send(any());
+
+        Thread.sleep(400);
+        nodeA.flush();
+        nodeB.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ExpoPushMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(expoPushClient, times(1)).send(captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+        ExpoPushMessage notification = captor.getValue().get(0);
+        assertThat(notification.to()).isEqualTo("token-" + offline);
+        assertThat(notification.title()).isEqualTo("새 메시지 3개");
+        assertThat(notification.body()).isEqualTo("sender: from B 2");
+        // 여러 채팅방의 메시지가 묶였으므로 이동할 채팅방은 없음
+        assertThat(notification.data()).isEqualTo(Map.of("count", 3));
+    }
+
+    private GoodsChatMessage message(long chatRoomId, String content) {
+        return GoodsChatMessage.builder()
+                .chatRoomId(chatRoomId)
+                .userId(sender.getId())
+                .content(content)
+                .messageType(MessageType.TALK)
+                .build();
+    }
+}
@@ -0,0 +1,173 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.broker.GoodsChatBroadcaster;
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatPresenceResponse;
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatPresenceResponse.Status;
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatUserSummary;
+import com.s406.livon.domain.goodsChat.presence.GoodsChatPresenceRegistry;
+import com.s406.livon.domain.goodsChat.presence.GoodsChatPresenceService;
+import com.s406.livon.domain.goodsChat.presence.GoodsChatPresenceStore;
+import com.s406.livon.domain.goodsChat.service.GoodsChatUserSummaryCache;
+import com.s406.livon.domain.user.enums.Role;
+import com.s406.livon.domain.user.repository.UserRepository;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 로컬 Redis(localhost:6379) 를 공유하는 두 노드에서
+ * 접속 현황이 heart-beat(만료 시각 갱신)로 유지되고 갱신이 멈춘 세션은 만료되며,
+ * 사용자 단위로 ONLINE / OFFLINE 이벤트가 한 번씩 전달되는지 확인합니다.
+ */
+public class GoodsChatPresenceServiceTest {
+
+    private static final Long ROOM_ID = 900_601L;
+    private static final String PRESENCE_KEY = "goods_chat_presence::" + ROOM_ID;
+    private static final String PRESENCE_DESTINATION = "/sub/chat/goods/" + ROOM_ID + "/presence";
+    private static final Duration SESSION_TTL = Duration.ofMillis(300);
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate stringRedisTemplate;
+    private GoodsChatProperties properties;
+    private Node nodeA;
+    private Node nodeB;
+    private UUID alice;
+    private UUID bob;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        stringRedisTemplate.delete(PRESENCE_KEY);
+
+        properties = new GoodsChatProperties();
+        properties.getPresence().setSessionTtl(SESSION_TTL);
+        nodeA = new Node();
+        nodeB = new Node();
+        alice = UUID.randomUUID();
+        bob = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stringRedisTemplate.delete(PRESENCE_KEY);
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("사용자의 첫 세션에서만 ONLINE, 마지막 세션이 끊길 때만 OFFLINE 을 전달한다")
+    void publishesOnlineAndOfflineOncePerUser() {
+        nodeA.connect("a-1", alice);
+        nodeB.connect("b-1", alice);
+
+        assertThat(nodeA.service.subscribe("a-1", ROOM_ID, alice)).isTrue();
+        nodeB.service.subscribe("b-1", ROOM_ID, alice);
+        assertThat(events(nodeA)).containsExactly(Status.ONLINE);
+        assertThat(events(nodeB)).isEmpty();
+
+        // 다른 노드에 세션이 남아있으면 OFFLINE 아님
+        nodeA.service.disconnect("a-1");
+        assertThat(events(nodeA)).isEmpty();
+        assertThat(nodeB.service.getOnlineUserIds(ROOM_ID)).containsExactly(alice);
+
+        nodeB.service.disconnect("b-1");
+        assertThat(events(nodeB)).containsExactly(Status.OFFLINE);
+        assertThat(nodeA.service.getOnlineUserIds(ROOM_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("만료 시각을 갱신하는 세션은 유지되고, 갱신이 멈춘 노드의 세션은 만료되어 OFFLINE 이 전달된다")
+    void expiresSessionsWithoutHeartbeat() throws InterruptedException {
+        nodeA.connect("a-1", alice);
+        nodeB.connect("b-1", bob);
+        nodeA.service.subscribe("a-1", ROOM_ID, alice);
+        nodeB.service.subscribe("b-1", ROOM_ID, bob);
+        clearInvocations(nodeA.broadcaster, nodeB.broadcaster);
+
+        // node A 는 비정상 종료(갱신 중단), node B 만 TTL 안에 계속 갱신
+        for (int i = 0; i < 4; i++) {
+            Thread.sleep(SESSION_TTL.toMillis() / 2);
+            nodeB.service.refresh();
+        }
+
+        assertThat(nodeB.service.getOnlineUserIds(ROOM_ID)).containsExactly(bob);
+        ArgumentCaptor<GoodsChatPresenceResponse> event = ArgumentCaptor.forClass(GoodsChatPresenceResponse.class);
+        verify(nodeB.broadcaster, times(1)).send(any(), event.capture());
+        assertThat(event.getValue().getUserId()).isEqualTo(alice);
+        assertThat(event.getValue().getStatus()).isEqualTo(Status.OFFLINE);
+
+        // 이미 정리된 세션은 다시 OFFLINE 을 전달하지 않음
+        nodeB.service.refresh();
+        verify(nodeB.broadcaster, times(1)).send(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("여러 노드의 접속자를 한 번의 사용자 조회로 변환한다")
+    void resolvesOnlineUsersWithOneBatchedLookup() {
+        UUID carol = UUID.randomUUID();
+        nodeA.connect("a-1", alice);
+        nodeA.connect("a-2", bob);
+        nodeB.connect("b-1", carol);
+        nodeB.connect("b-2", alice);
+        nodeA.service.subscribe("a-1", ROOM_ID, alice);
+        nodeA.service.subscribe("a-2", ROOM_ID, bob);
+        nodeB.service.subscribe("b-1", ROOM_ID, carol);
+        nodeB.service.subscribe("b-2", ROOM_ID, alice);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findChatUserSummariesByIdIn(anyCollection())).thenAnswer(invocation ->
+                ((Collection<UUID>) invocation.getArgument(0)).stream()
+                        .map(userId -> new GoodsChatUserSummary(userId, "user", null, Role.MEMBER))
+                        .toList());
+        GoodsChatUserSummaryCache userSummaryCache = new GoodsChatUserSummaryCache(userRepository, stringRedisTemplate, properties);
+
+        assertThat(userSummaryCache.getAll(nodeA.service.getOnlineUserIds(ROOM_ID)))
+                .containsOnlyKeys(alice, bob, carol);
+        verify(userRepository, times(1)).findChatUserSummariesByIdIn(anyCollection());
+        verify(userRepository, never()).findById(any());
+    }
+
+    private List<Status> events(Node node) {
+        ArgumentCaptor<GoodsChatPresenceResponse> captor = ArgumentCaptor.forClass(GoodsChatPresenceResponse.class);
+        verify(node.broadcaster, atLeast(0)).send(eq(PRESENCE_DESTINATION), captor.capture());
+        clearInvocations(node.broadcaster);
+        return captor.getAllValues().stream().map(GoodsChatPresenceResponse::getStatus).toList();
+    }
+
+    // 노드마다 로컬 세션 현황은 따로, 클러스터 접속 현황(Redis)은 공유
+    private class Node {
+
+        private final GoodsChatPresenceRegistry registry = new GoodsChatPresenceRegistry();
+        private final GoodsChatBroadcaster broadcaster = mock(GoodsChatBroadcaster.class);
+        private final GoodsChatPresenceService service = new GoodsChatPresenceService(registry,
+                new GoodsChatPresenceStore(stringRedisTemplate, properties), broadcaster);
+
+        private void connect(String sessionId, UUID userId) {
+            registry.connect(sessionId, userId);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.presence.GoodsChatPresenceRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CONNECT -> SUBSCRIBE -> DISCONNECT 를 대량으로 반복해도
+ * 세션 / 채팅방 맵이 비워지고 힙 사용량이 늘어나지 않는지 확인합니다.
+ */
+public class GoodsChatPresenceSoakTest {
+
+    private static final int CYCLES = 1_000_000;
+    private static final int ROOM_COUNT = 500;
+    private static final int USER_COUNT = 1_000;
+    private static final long MAX_HEAP_GROWTH_BYTES = 16L * 1024 * 1024;
+
+    @Test
+    @DisplayName("연결/구독/해제 100만 회 반복 후 맵이 비워지고 메모리가 일정하게 유지된다")
+    void connectSubscribeDisconnectSoak() {
+        GoodsChatPresenceRegistry registry = new GoodsChatPresenceRegistry();
+        UUID[] users = new UUID[USER_COUNT];
+        for (int i = 0; i < USER_COUNT; i++) {
+            users[i] = UUID.randomUUID();
+        }
+
+        // 워밍업 후 기준 힙 사용량 측정
+        runCycles(registry, users, 0, CYCLES / 10);
+        long baseline = usedHeapAfterGc();
+
+        runCycles(registry, users, CYCLES / 10, CYCLES);
+        long after = usedHeapAfterGc();
+
+        System.out.printf("[presence soak] baseline=%,d bytes, after=%,d bytes, growth=%,d bytes%n",
+                baseline, after, after - baseline);
+
+        assertThat(registry.sessionCount()).isZero();
+        assertThat(registry.roomCount()).isZero();
+        assertThat(after - baseline).isLessThan(MAX_HEAP_GROWTH_BYTES);
+    }
+
+    @Test
+    @DisplayName("DISCONNECT 없이 끊긴 세션은 reaper 가 정리한다")
+    void staleSessionsAreReaped() throws InterruptedException {
+        GoodsChatPresenceRegistry registry = new GoodsChatPresenceRegistry();
+        UUID userId = UUID.randomUUID();
+
+        for (int i = 0; i < 1_000; i++) {
+            String sessionId = "stale-" + i;
+            registry.connect(sessionId, userId);
+            registry.subscribe(sessionId, (long) (i % 10));
+        }
+        registry.connect("alive", userId);
+        registry.subscribe("alive", 1L);
+        // heart-beat 0,0 세션은 프레임이 없어도 연결 종료 전까지 유지
+        UUID idleUserId = UUID.randomUUID();
+        registry.connect("no-heartbeat", idleUserId, false);
+        registry.subscribe("no-heartbeat", 2L);
+
+        Thread.sleep(50);
+        registry.touch("alive");
+
+        assertThat(registry.reapStaleSessions(Duration.ofMillis(25))).hasSize(1_000);
+        assertThat(registry.sessionCount()).isEqualTo(2);
+        assertThat(registry.roomCount()).isEqualTo(2);
+        assertThat(registry.getConnectedUsers(1L)).containsExactly(userId);
+        assertThat(registry.getConnectedUsers(2L)).containsExactly(idleUserId);
+    }
+
+    private void runCycles(GoodsChatPresenceRegistry registry, UUID[] users, int from, int to) {
+        for (int i = from; i < to; i++) {
+            String sessionId = "session-" + i;
+            registry.connect(sessionId, users[i % USER_COUNT]);
+            registry.subscribe(sessionId, (long) (i % ROOM_COUNT));
+            registry.touch(sessionId);
+            registry.disconnect(sessionId);
+        }
+    }
+
+    private long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
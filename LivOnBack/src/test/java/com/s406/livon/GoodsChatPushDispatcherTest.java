@@ -0,0 +1,184 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.entity.MessageType;
+import com.s406.livon.domain.goodsChat.presence.GoodsChatPresenceService;
+import com.s406.livon.domain.goodsChat.push.GoodsChatPushDispatcher;
+import com.s406.livon.domain.goodsChat.push.LocalGoodsChatPendingPushStore;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatPartRepository;
+import com.s406.livon.domain.user.entity.PushToken;
+import com.s406.livon.domain.user.entity.User;
+import com.s406.livon.domain.user.repository.PushTokenRepository;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import com.s406.livon.global.push.ExpoPushClient;
+import com.s406.livon.global.push.ExpoPushMessage;
+import com.s406.livon.global.push.ExpoPushTicket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 접속 중이지 않은 참여자에게만 사용자별로 묶인 알림이 Expo 로 최대 100건씩 전송되는지 확인합니다.
+ */
+public class GoodsChatPushDispatcherTest {
+
+    private static final long ROOM_ID = 1L;
+
+    private GoodsChatPartRepository partRepository;
+    private GoodsChatPresenceService presenceService;
+    private PushTokenRepository pushTokenRepository;
+    private ExpoPushClient expoPushClient;
+    private SimpleMeterRegistry meterRegistry;
+    private GoodsChatPushDispatcher dispatcher;
+    private User sender;
+
+    @BeforeEach
+    void setUp() {
+        GoodsChatProperties properties = new GoodsChatProperties();
+        // flush 한 번에 바로 전송
+        properties.getPush().setCoalesceWindow(Duration.ZERO);
+
+        partRepository = mock(GoodsChatPartRepository.class);
+        presenceService = mock(GoodsChatPresenceService.class);
+        pushTokenRepository = mock(PushTokenRepository.class);
+        expoPushClient = mock(ExpoPushClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new GoodsChatPushDispatcher(properties, partRepository, presenceService, pushTokenRepository,
+                expoPushClient, new LocalGoodsChatPendingPushStore(), meterRegistry);
+        sender = User.builder().id(UUID.randomUUID()).nickname("sender").build();
+
+        // 토큰은 사용자 ID 로 만들고, Expo 는 모두 성공으로 응답
+        when(pushTokenRepository.findAllByUserIdIn(anyCollection())).thenAnswer(invocation ->
+                ((Collection<UUID>) invocation.getArgument(0)).stream()
+                        .map(userId -> PushToken.builder().userId(userId).token(token(userId)).build())
+                        .toList());
+        when(expoPushClient.send(any())).thenAnswer(invocation -> Mono.just(
+                ((List<ExpoPushMessage>) invocation.getArgument(0)).stream()
+                        .map(message -> new ExpoPushTicket("ok", "id", null, null))
+                        .toList()));
+    }
+
+    @Test
+    @DisplayName("오프라인 참여자에게만 메시지 수를 묶어 한 번 전송")
+    void coalescesPerOfflineMember() {
+        UUID online = UUID.randomUUID();
+        UUID offline = UUID.randomUUID();
+        when(partRepository.findActiveUserIdsByChatRoomId(ROOM_ID)).thenReturn(List.of(sender.getId(), online, offline));
+        when(presenceService.getOnlineUserIds(ROOM_ID)).thenReturn(Set.of(online));
+
+        for (int i = 1; i <= 3; i++) {
+            dispatcher.enqueue(message("message " + i), sender);
+        }
+        // 전송 경로에서는 조회 / 전송하지 않음
+        verifyNoInteractions(partRepository, presenceService, pushTokenRepository, expoPushClient);
+
+        dispatcher.flush();
+
+        List<ExpoPushMessage> sent = captureSent(1);
+        assertThat(sent).hasSize(1);
+        ExpoPushMessage notification = sent.get(0);
+        assertThat(notification.to()).isEqualTo(token(offline));
+        assertThat(notification.title()).isEqualTo("새 메시지 3개");
+        assertThat(notification.body()).isEqualTo("sender: message 3");
+        assertThat(notification.data()).isEqualTo(Map.of("count", 3, "chatRoomId", ROOM_ID));
+        assertThat(meterRegistry.get("goods_chat.push.notifications").tag("result", "sent").counter().count()).isEqualTo(1);
+
+        // 이미 보낸 알림은 다시 보내지 않음
+        dispatcher.flush();
+        verify(expoPushClient, times(1)).send(any());
+    }
+
+    @Test
+    @DisplayName("요청당 최대 100건으로 나누어 전송")
+    void splitsIntoBatchesOfHundred() {
+        List<UUID> members = new ArrayList<>(IntStream.range(0, 250).mapToObj(i -> UUID.randomUUID()).toList());
+        when(partRepository.findActiveUserIdsByChatRoomId(ROOM_ID)).thenReturn(members);
+        when(presenceService.getOnlineUserIds(ROOM_ID)).thenReturn(Set.of());
+
+        dispatcher.enqueue(message("hello"), sender);
+        dispatcher.flush();
+
+        List<List<ExpoPushMessage>> batches = captureBatches(3);
+        assertThat(batches).extracting(List::size).containsExactly(100, 100, 50);
+        assertThat(batches.get(0).get(0).title()).isEqualTo("sender");
+        assertThat(batches.get(0).get(0).body()).isEqualTo("hello");
+    }
+
+    @Test
+    @DisplayName("DeviceNotRegistered 토큰은 다음 flush 에서 삭제")
+    void deletesUnregisteredTokens() {
+        UUID offline = UUID.randomUUID();
+        when(partRepository.findActiveUserIdsByChatRoomId(ROOM_ID)).thenReturn(List.of(offline));
+        when(presenceService.getOnlineUserIds(ROOM_ID)).thenReturn(Set.of());
+        doReturn(Mono.just(List.of(
+                new ExpoPushTicket("error", null, "not registered", Map.of("error", "DeviceNotRegistered")))))
+                .when(expoPushClient).send(any());
+
+        dispatcher.enqueue(message("hello"), sender);
+        dispatcher.flush();
+        verify(pushTokenRepository, never()).deleteAllByTokenIn(any());
+
+        dispatcher.flush();
+        verify(pushTokenRepository).deleteAllByTokenIn(Set.of(token(offline)));
+    }
+
+    @Test
+    @DisplayName("입장 / 퇴장 메시지는 알리지 않음")
+    void ignoresEventMessages() {
+        dispatcher.enqueue(GoodsChatMessage.builder()
+                .chatRoomId(ROOM_ID)
+                .content("sender님이 채팅방에 입장하셨습니다.")
+                .messageType(MessageType.ENTER)
+                .build(), sender);
+        dispatcher.flush();
+
+        verifyNoInteractions(partRepository, expoPushClient);
+    }
+
+    private GoodsChatMessage message(String content) {
+        return GoodsChatMessage.builder()
+                .chatRoomId(ROOM_ID)
+                .userId(sender.getId())
+                .content(content)
+                .messageType(MessageType.TALK)
+                .build();
+    }
+
+    private List<ExpoPushMessage> captureSent(int requests) {
+        return captureBatches(requests).stream().flatMap(List::stream).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<ExpoPushMessage>> captureBatches(int requests) {
+        ArgumentCaptor<List<ExpoPushMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(expoPushClient, times(requests)).send(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static String token(UUID userId) {
+        return "ExponentPushToken[" + userId + "]";
+    }
+}
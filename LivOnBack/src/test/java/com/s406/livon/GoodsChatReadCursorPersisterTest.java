@@ -0,0 +1,103 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.service.GoodsChatReadCursorPersister;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 읽음 처리가 아무리 많아도 (사용자, 채팅방)별 가장 큰 읽음 위치만 하나의 batch 로 반영되고,
+ * 반영에 실패하면 다음 주기에 재시도하는지 확인합니다.
+ */
+public class GoodsChatReadCursorPersisterTest {
+
+    private static final int ROOM_COUNT = 4;
+    private static final int READS_PER_ROOM = 500;
+
+    @Test
+    @DisplayName("(사용자, 채팅방)마다 가장 큰 읽음 위치만 한 번의 batch UPDATE 로 반영한다")
+    @SuppressWarnings("unchecked")
+    void coalescesPerUserAndRoom() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        GoodsChatReadCursorPersister persister = new GoodsChatReadCursorPersister(jdbcTemplate, new GoodsChatProperties());
+        UUID userId = UUID.randomUUID();
+
+        // 순서가 뒤섞여 도착해도 가장 큰 읽음 위치가 남아야 함
+        for (long seq = READS_PER_ROOM; seq >= 1; seq--) {
+            for (long roomId = 1; roomId <= ROOM_COUNT; roomId++) {
+                persister.record(userId, roomId, seq);
+            }
+        }
+        assertThat(persister.pendingCount()).isEqualTo(ROOM_COUNT);
+
+        persister.flush();
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), captor.capture());
+        List<Object[]> rows = captor.getValue();
+        assertThat(rows).hasSize(ROOM_COUNT);
+        byte[] userIdBytes = ByteBuffer.allocate(16)
+                .putLong(userId.getMostSignificantBits())
+                .putLong(userId.getLeastSignificantBits())
+                .array();
+        for (Object[] row : rows) {
+            assertThat(row[0]).isEqualTo((long) READS_PER_ROOM);
+            assertThat((byte[]) row[1]).isEqualTo(userIdBytes);
+            assertThat(row[3]).isEqualTo((long) READS_PER_ROOM);
+        }
+        assertThat(persister.pendingCount()).isZero();
+
+        // 읽음 처리가 없으면 다음 주기에는 쓰지 않음
+        persister.flush();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("반영에 실패한 읽음 위치는 다음 주기에 그 사이 더 큰 값으로 다시 반영한다")
+    @SuppressWarnings("unchecked")
+    void retriesFailedBatch() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[]{1});
+        GoodsChatReadCursorPersister persister = new GoodsChatReadCursorPersister(jdbcTemplate, new GoodsChatProperties());
+        UUID userId = UUID.randomUUID();
+
+        persister.record(userId, 1L, 10L);
+        persister.flush();
+        assertThat(persister.pendingCount()).isEqualTo(1);
+
+        persister.record(userId, 1L, 12L);
+        persister.flush();
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+        assertThat(captor.getValue().get(0)[0]).isEqualTo(12L);
+        assertThat(persister.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("읽음 처리가 없으면 MySQL 에 쓰지 않는다")
+    void skipsEmptyFlush() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        new GoodsChatReadCursorPersister(jdbcTemplate, new GoodsChatProperties()).flush();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
@@ -0,0 +1,56 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.service.GoodsChatCacheMetrics;
+import com.s406.livon.domain.goodsChat.service.GoodsChatRoomActivityTracker;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅방 활동량에 따라 캐시 TTL 이 minTtl ~ maxTtl 사이에서 늘어나는지 확인합니다.
+ */
+public class GoodsChatRoomActivityTrackerTest {
+
+    private static final Long QUIET_ROOM_ID = 1L;
+    private static final Long BUSY_ROOM_ID = 2L;
+
+    @Test
+    @DisplayName("활동이 많은 방일수록 TTL 이 길어지고 maxTtl 을 넘지 않는다")
+    void ttlScalesWithActivity() {
+        GoodsChatProperties properties = new GoodsChatProperties();
+        GoodsChatProperties.Cache cache = properties.getCache();
+        GoodsChatRoomActivityTracker tracker =
+                new GoodsChatRoomActivityTracker(properties, new GoodsChatCacheMetrics(new SimpleMeterRegistry()));
+
+        for (int i = 0; i < 10_000; i++) {
+            tracker.recordRead(BUSY_ROOM_ID);
+        }
+        tracker.recordWrite(QUIET_ROOM_ID);
+
+        Duration quietTtl = tracker.ttlFor(QUIET_ROOM_ID);
+        Duration busyTtl = tracker.ttlFor(BUSY_ROOM_ID);
+
+        assertThat(tracker.ttlFor(3L)).isEqualTo(cache.getMinTtl());
+        assertThat(quietTtl).isGreaterThanOrEqualTo(cache.getMinTtl()).isLessThan(busyTtl);
+        assertThat(busyTtl).isLessThanOrEqualTo(cache.getMaxTtl());
+        assertThat(tracker.activeRoomIds()).containsExactlyInAnyOrder(QUIET_ROOM_ID, BUSY_ROOM_ID);
+    }
+
+    @Test
+    @DisplayName("TTL 갱신은 방마다 ttlRefreshInterval 에 한 번만 허용된다")
+    void ttlRefreshIsRateLimited() {
+        GoodsChatProperties properties = new GoodsChatProperties();
+        properties.getCache().setTtlRefreshInterval(Duration.ZERO);
+        GoodsChatRoomActivityTracker tracker =
+                new GoodsChatRoomActivityTracker(properties, new GoodsChatCacheMetrics(new SimpleMeterRegistry()));
+        assertThat(tracker.tryAcquireTtlRefresh(BUSY_ROOM_ID)).isTrue();
+
+        properties.getCache().setTtlRefreshInterval(Duration.ofHours(1));
+        assertThat(tracker.tryAcquireTtlRefresh(BUSY_ROOM_ID)).isFalse();
+    }
+}
@@ -0,0 +1,213 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.entity.GoodsChatDeletionPhase;
+import com.s406.livon.domain.goodsChat.entity.GoodsChatDeletionTask;
+import com.s406.livon.domain.goodsChat.presence.GoodsChatPresenceStore;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatDeletionTaskRepository;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageRepository;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatPartRepository;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatRoomRepository;
+import com.s406.livon.domain.goodsChat.service.GoodsChatCacheManager;
+import com.s406.livon.domain.goodsChat.service.GoodsChatMembershipCache;
+import com.s406.livon.domain.goodsChat.service.GoodsChatReadCursorStore;
+import com.s406.livon.domain.goodsChat.service.GoodsChatRoomDeletionService;
+import com.s406.livon.domain.goodsChat.service.GoodsChatSequenceGenerator;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RedissonClient;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 채팅방 삭제가 단계별 batch 로 진행되고, 배치마다 체크포인트를 저장하며, 저장된 단계부터 이어서 삭제되는지 확인합니다.
+ * 삭제 요청은 트랜잭션 안에서 채팅방을 비활성화하고 커밋 이후 참여 여부 캐시를 무효화해야 합니다.
+ */
+public class GoodsChatRoomDeletionServiceTest {
+
+    private static final Long ROOM_ID = 42L;
+    private static final int BATCH_SIZE = 1_000;
+    private static final List<UUID> USER_IDS = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+    private GoodsChatDeletionTaskRepository taskRepository;
+    private GoodsChatPartRepository partRepository;
+    private GoodsChatMessageRepository messageRepository;
+    private GoodsChatReadCursorStore readCursorStore;
+    private GoodsChatCacheManager cacheManager;
+    private JdbcTemplate jdbcTemplate;
+    private RRateLimiter rateLimiter;
+    private GoodsChatRoomRepository chatRoomRepository;
+    private GoodsChatMembershipCache membershipCache;
+    private PlatformTransactionManager transactionManager;
+    private GoodsChatProperties properties;
+    private GoodsChatRoomDeletionService deletionService;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(GoodsChatDeletionTaskRepository.class);
+        partRepository = mock(GoodsChatPartRepository.class);
+        messageRepository = mock(GoodsChatMessageRepository.class);
+        readCursorStore = mock(GoodsChatReadCursorStore.class);
+        cacheManager = mock(GoodsChatCacheManager.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        rateLimiter = mock(RRateLimiter.class);
+        chatRoomRepository = mock(GoodsChatRoomRepository.class);
+        membershipCache = mock(GoodsChatMembershipCache.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        RLock lock = mock(RLock.class);
+        when(redissonClient.getLock(anyString())).thenReturn(lock);
+        when(lock.tryLock()).thenReturn(true);
+        when(redissonClient.getRateLimiter(anyString())).thenReturn(rateLimiter);
+        when(rateLimiter.tryAcquire(anyLong(), anyLong(), any(TimeUnit.class))).thenReturn(true);
+        when(partRepository.findUserIdsByChatRoomId(ROOM_ID)).thenReturn(USER_IDS);
+
+        properties = new GoodsChatProperties();
+        properties.getDeletion().setBatchSize(BATCH_SIZE);
+
+        deletionService = new GoodsChatRoomDeletionService(taskRepository, chatRoomRepository,
+                partRepository, messageRepository, cacheManager, mock(GoodsChatSequenceGenerator.class),
+                mock(GoodsChatPresenceStore.class), readCursorStore, membershipCache,
+                jdbcTemplate, redissonClient, transactionManager, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("메시지 -> bucket -> Redis -> 참여자 -> 채팅방 순서로 batch 단위로 삭제한다")
+    void deletesInBoundedBatches() {
+        GoodsChatDeletionTask task = GoodsChatDeletionTask.builder().chatRoomId(ROOM_ID).build();
+        givenTasks(task);
+        when(messageRepository.deleteMessageBatch(ROOM_ID, BATCH_SIZE)).thenReturn(1_000L, 1_000L, 300L);
+        when(messageRepository.deleteBucketBatch(ROOM_ID, BATCH_SIZE)).thenReturn(0L);
+        when(jdbcTemplate.update(startsWith("DELETE FROM goods_chat_part"), eq(ROOM_ID), eq(BATCH_SIZE))).thenReturn(2);
+
+        deletionService.run();
+
+        assertThat(task.isCompleted()).isTrue();
+        assertThat(task.getDeletedCount()).isEqualTo(2_302L);
+        verify(messageRepository, times(3)).deleteMessageBatch(ROOM_ID, BATCH_SIZE);
+        verify(rateLimiter, times(5)).tryAcquire(eq((long) BATCH_SIZE), anyLong(), any(TimeUnit.class));
+        verify(readCursorStore).removeRoom(USER_IDS, ROOM_ID);
+        USER_IDS.forEach(userId -> verify(membershipCache).evictEverywhere(ROOM_ID, userId));
+        verify(cacheManager).evictMessagesFromCache(ROOM_ID);
+        verify(jdbcTemplate).update(startsWith("DELETE FROM goods_chat_room"), eq(ROOM_ID));
+        // 배치(단계)마다 체크포인트 저장: 메시지 3 + bucket 1 + Redis 1 + 참여자 1 + 채팅방 1
+        verify(taskRepository, times(7)).save(task);
+    }
+
+    @Test
+    @DisplayName("저장된 단계부터 이어서 삭제한다")
+    void resumesFromCheckpoint() {
+        GoodsChatDeletionTask task = GoodsChatDeletionTask.builder()
+                .chatRoomId(ROOM_ID)
+                .phase(GoodsChatDeletionPhase.PARTS)
+                .deletedCount(5_000L)
+                .build();
+        givenTasks(task);
+        when(jdbcTemplate.update(startsWith("DELETE FROM goods_chat_part"), eq(ROOM_ID), eq(BATCH_SIZE))).thenReturn(2);
+
+        deletionService.run();
+
+        assertThat(task.isCompleted()).isTrue();
+        assertThat(task.getDeletedCount()).isEqualTo(5_002L);
+        verifyNoInteractions(messageRepository, readCursorStore, cacheManager);
+    }
+
+    @Test
+    @DisplayName("삭제 속도 한도에 걸리면 삭제하지 않고 다음 실행으로 넘긴다")
+    void stopsWhenRateLimited() {
+        GoodsChatDeletionTask task = GoodsChatDeletionTask.builder().chatRoomId(ROOM_ID).build();
+        givenTasks(task);
+        when(rateLimiter.tryAcquire(anyLong(), anyLong(), any(TimeUnit.class))).thenReturn(false);
+
+        deletionService.run();
+
+        assertThat(task.getPhase()).isEqualTo(GoodsChatDeletionPhase.MESSAGES);
+        verify(messageRepository, never()).deleteMessageBatch(any(), anyInt());
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("retention 검사는 MongoDB 의 마지막 메시지 시각으로 삭제 대상을 고른다")
+    void schedulesRoomsByLatestMessage() {
+        properties.getDeletion().setRetention(Duration.ofDays(30));
+        Long expiredRoomId = 1L;
+        Long activeRoomId = 2L;
+        Long emptyRoomId = 3L;
+        List<Long> roomIds = List.of(expiredRoomId, activeRoomId, emptyRoomId);
+        when(chatRoomRepository.findIdleRoomIds(any(), eq(0L), any())).thenReturn(roomIds);
+        when(messageRepository.findLatestMessages(roomIds)).thenReturn(List.of(
+                message(expiredRoomId, LocalDateTime.now().minusDays(60)),
+                message(activeRoomId, LocalDateTime.now().minusMinutes(5))));
+        givenTasks();
+
+        deletionService.run();
+
+        verify(jdbcTemplate).update(startsWith("UPDATE goods_chat_room"), eq(expiredRoomId));
+        verify(jdbcTemplate, never()).update(startsWith("UPDATE goods_chat_room"), eq(activeRoomId));
+        verify(jdbcTemplate, never()).update(startsWith("UPDATE goods_chat_room"), eq(emptyRoomId));
+        verify(taskRepository, times(1)).save(any());
+    }
+
+    @Test
+    @DisplayName("삭제 요청은 채팅방을 비활성화하고, 참여자들의 참여 여부 캐시를 커밋 이후 무효화하도록 등록한다")
+    void deactivatesRoomAndEvictsMembershipAfterCommit() {
+        deletionService.requestDeletion(ROOM_ID);
+
+        verify(jdbcTemplate).update(startsWith("UPDATE goods_chat_room SET is_active = false"), eq(ROOM_ID));
+        verify(taskRepository).save(any());
+        USER_IDS.forEach(userId -> verify(membershipCache).evictAfterCommit(ROOM_ID, userId));
+    }
+
+    @Test
+    @DisplayName("retention 검사에서 요청한 삭제도 트랜잭션 안에서 비활성화와 작업 저장을 함께 반영한다")
+    void schedulesExpiredRoomsInTransaction() {
+        properties.getDeletion().setRetention(Duration.ofDays(30));
+        List<Long> roomIds = List.of(ROOM_ID);
+        when(chatRoomRepository.findIdleRoomIds(any(), eq(0L), any())).thenReturn(roomIds);
+        when(messageRepository.findLatestMessages(roomIds))
+                .thenReturn(List.of(message(ROOM_ID, LocalDateTime.now().minusDays(60))));
+        givenTasks();
+
+        deletionService.run();
+
+        verify(transactionManager).getTransaction(any(TransactionDefinition.class));
+        verify(transactionManager).commit(any());
+        verify(taskRepository, times(1)).save(any());
+    }
+
+    private static GoodsChatMessage message(Long chatRoomId, LocalDateTime sentAt) {
+        return GoodsChatMessage.builder().chatRoomId(chatRoomId).seq(1L).sentAt(sentAt).build();
+    }
+
+    private void givenTasks(GoodsChatDeletionTask... tasks) {
+        when(taskRepository.findByPhaseNotOrderByCreatedDateAsc(eq(GoodsChatDeletionPhase.COMPLETED), any()))
+                .thenReturn(List.of(tasks));
+    }
+}
@@ -0,0 +1,187 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.entity.MessageType;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageRepository;
+import com.s406.livon.domain.goodsChat.search.GoodsChatSearchQuery;
+import com.s406.livon.domain.user.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.util.StopWatch;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 1,000만 건(채팅방 200개 x 5만 건) 메시지에서 bigram 인덱스 검색과 $regex 전체 탐색을 비교합니다.
+ * 데이터 생성에 시간이 오래 걸리므로 -Dgoods-chat.search.benchmark=true 로 실행할 때만 동작하며,
+ * 생성한 데이터는 다음 실행에 재사용하도록 남겨둡니다. (GoodsChatDataGeneratorTest 와 같은 방식으로 배치 삽입)
+ *
+ * ./gradlew test --tests "com.s406.livon.GoodsChatSearchPerformanceTest" -Dgoods-chat.search.benchmark=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "goods-chat.search.benchmark", matches = "true")
+public class GoodsChatSearchPerformanceTest {
+
+    private static final long FIRST_ROOM_ID = 910_001L;
+    private static final int ROOM_COUNT = 200;
+    private static final int MESSAGES_PER_ROOM = 50_000;
+    private static final int BATCH_SIZE = 10_000;
+    // 사용자가 참여한 채팅방 수 (검색 범위)
+    private static final int MEMBER_ROOM_COUNT = 20;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURE_ROUNDS = 200;
+    private static final long P99_LIMIT_NANOS = 50_000_000L;
+    private static final UUID USER_ID = UUID.fromString("b525bb98-6090-4faf-9e6e-8ec895c9fbd9");
+
+    private static final String[] PHRASES = {
+            "오늘 식단 기록 올렸어요", "운동 루틴 확인 부탁드립니다", "물 섭취량을 늘려보세요",
+            "수면 시간이 부족했어요", "다음 상담 일정은 언제인가요", "체중이 조금 줄었습니다",
+            "점심은 샐러드로 먹었어요", "스트레칭 영상 공유드려요", "혈압 수치가 안정적이에요",
+            "간식을 줄이는 중입니다", "걷기 만 보 달성했어요", "코치님 감사합니다"
+    };
+    // 전체의 약 0.1% 에만 등장하는 검색어
+    private static final String RARE_PHRASE = "환불 문의드립니다";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private GoodsChatMessageRepository messageRepository;
+
+    @BeforeEach
+    void generateIfMissing() {
+        List<Long> roomIds = roomIds(ROOM_COUNT);
+        long existing = mongoTemplate.count(new Query(Criteria.where("chat_room_id").in(roomIds)), GoodsChatMessage.class);
+        if (existing >= (long) ROOM_COUNT * MESSAGES_PER_ROOM) {
+            return;
+        }
+        roomIds.forEach(messageRepository::deleteAllByChatRoomId);
+
+        System.out.println("MongoDB 검색용 데이터 " + ROOM_COUNT * MESSAGES_PER_ROOM + "건 생성 시작...");
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.now().minusSeconds(MESSAGES_PER_ROOM);
+        for (Long roomId : roomIds) {
+            List<GoodsChatMessage> batchList = new ArrayList<>(BATCH_SIZE);
+            for (int seq = 1; seq <= MESSAGES_PER_ROOM; seq++) {
+                String content = random.nextInt(1_000) == 0
+                        ? RARE_PHRASE
+                        : PHRASES[random.nextInt(PHRASES.length)] + " " + seq;
+                batchList.add(GoodsChatMessage.builder()
+                        .chatRoomId(roomId)
+                        .seq((long) seq)
+                        .userId(USER_ID)
+                        .content(content)
+                        .sentAt(base.plusSeconds(seq))
+                        .role(Role.MEMBER)
+                        .messageType(MessageType.TALK)
+                        .build());
+
+                // bulk insert 도 저장 전 콜백을 거치므로 검색 토큰이 함께 저장됨
+                if (batchList.size() == BATCH_SIZE) {
+                    mongoTemplate.bulkOps(BulkMode.UNORDERED, GoodsChatMessage.class).insert(batchList).execute();
+                    batchList.clear();
+                }
+            }
+            if (!batchList.isEmpty()) {
+                mongoTemplate.bulkOps(BulkMode.UNORDERED, GoodsChatMessage.class).insert(batchList).execute();
+            }
+        }
+
+        stopWatch.stop();
+        System.out.println("생성 완료. 총 소요 시간: " + stopWatch.getTotalTimeMillis() + "ms");
+    }
+
+    @Test
+    @DisplayName("드문 검색어: 참여 채팅방 20개 범위 bigram 검색 p99 50ms 이내, $regex 결과와 동일")
+    void searchesRareKeyword() {
+        benchmark("환불 문의", roomIds(MEMBER_ROOM_COUNT));
+    }
+
+    @Test
+    @DisplayName("흔한 검색어: 채팅방 1개 범위 bigram 검색 p99 50ms 이내, $regex 결과와 동일")
+    void searchesCommonKeyword() {
+        benchmark("상담 일정", roomIds(1));
+    }
+
+    private void benchmark(String keyword, List<Long> roomIds) {
+        GoodsChatSearchQuery searchQuery = GoodsChatSearchQuery.of(keyword);
+
+        // 결과 검증: 인덱스 검색과 $regex 전체 탐색의 첫 페이지가 같아야 함
+        List<String> indexed = messageRepository.searchMessages(roomIds, searchQuery, null, PAGE_SIZE).stream()
+                .map(GoodsChatMessage::getId)
+                .toList();
+        List<String> scanned = regexSearch(roomIds, searchQuery).stream()
+                .map(GoodsChatMessage::getId)
+                .toList();
+        assertThat(indexed).isNotEmpty().isEqualTo(scanned);
+
+        long[] ngram = measure(() -> messageRepository.searchMessages(roomIds, searchQuery, null, PAGE_SIZE));
+        long[] regex = measure(() -> regexSearch(roomIds, searchQuery));
+        System.out.printf("[search] keyword=\"%s\", rooms=%d, ngram p50=%.2fms p99=%.2fms, regex p50=%.2fms p99=%.2fms%n",
+                keyword, roomIds.size(), p(ngram, 0.5) / 1_000_000.0, p(ngram, 0.99) / 1_000_000.0,
+                p(regex, 0.5) / 1_000_000.0, p(regex, 0.99) / 1_000_000.0);
+
+        assertThat(p(ngram, 0.99)).isLessThan(P99_LIMIT_NANOS);
+    }
+
+    // 기준: 검색 토큰 없이 content $regex 로만 조회
+    private List<GoodsChatMessage> regexSearch(List<Long> roomIds, GoodsChatSearchQuery searchQuery) {
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(Criteria.where("chat_room_id").in(roomIds));
+        for (String word : searchQuery.words()) {
+            criteria.add(Criteria.where("content").regex(Pattern.compile(Pattern.quote(word))));
+        }
+        Query query = new Query(new Criteria().andOperator(criteria));
+        query.with(Sort.by(Sort.Direction.DESC, "_id"));
+        query.limit(PAGE_SIZE);
+        return mongoTemplate.find(query, GoodsChatMessage.class);
+    }
+
+    private long[] measure(Supplier<List<GoodsChatMessage>> search) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            search.get();
+        }
+        long[] elapsed = new long[MEASURE_ROUNDS];
+        for (int round = 0; round < MEASURE_ROUNDS; round++) {
+            long start = System.nanoTime();
+            search.get();
+            elapsed[round] = System.nanoTime() - start;
+        }
+        Arrays.sort(elapsed);
+        return elapsed;
+    }
+
+    private static long p(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(sorted.length * percentile) - 1];
+    }
+
+    private static List<Long> roomIds(int count) {
+        List<Long> roomIds = new ArrayList<>(count);
+        for (long roomId = FIRST_ROOM_ID; roomId < FIRST_ROOM_ID + count; roomId++) {
+            roomIds.add(roomId);
+        }
+        return roomIds;
+    }
+}
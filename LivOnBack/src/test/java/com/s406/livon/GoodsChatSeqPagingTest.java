@@ -0,0 +1,158 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.entity.MessageType;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageRepository;
+import com.s406.livon.domain.goodsChat.service.GoodsChatCacheManager;
+import com.s406.livon.domain.goodsChat.service.GoodsChatService;
+import com.s406.livon.domain.user.enums.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 밀리초에 전송된 메시지가 많아도 Redis / MongoDB 경계를 넘나드는 페이지 조회에서
+ * 누락이나 중복 없이 순번 순서대로 조회되는지 검증합니다.
+ */
+@SpringBootTest
+public class GoodsChatSeqPagingTest {
+
+    private static final Long ROOM_ID = 900_101L;
+    private static final int MESSAGE_COUNT = 100;
+    private static final int CACHED_COUNT = 30;
+    private static final int PAGE_SIZE = 20;
+    private static final UUID USER_ID = UUID.fromString("b525bb98-6090-4faf-9e6e-8ec895c9fbd9");
+
+    @Autowired
+    private GoodsChatService goodsChatService;
+
+    @Autowired
+    private GoodsChatMessageRepository messageRepository;
+
+    @Autowired
+    private GoodsChatCacheManager goodsChatCacheManager;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        messageRepository.deleteAllByChatRoomId(ROOM_ID);
+        goodsChatCacheManager.evictMessagesFromCache(ROOM_ID);
+    }
+
+    @Test
+    @DisplayName("동일 sentAt 메시지를 캐시/DB 경계에서 누락·중복 없이 페이지 조회한다")
+    void pagesAcrossTiersWithoutGapsOrDuplicates() {
+        // GIVEN: 모두 같은 시각에 보낸 메시지 100건, 최근 30건만 캐시에 저장
+        saveMessagesAndCacheLatest();
+
+        // WHEN: 최신 페이지부터 끝까지 조회
+        List<Long> fetchedSeqs = new ArrayList<>();
+        Long lastSeq = null;
+        while (true) {
+            List<GoodsChatMessage> page = goodsChatService.fetchMessagesFromCacheOrDB(ROOM_ID, lastSeq, PAGE_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(message -> fetchedSeqs.add(message.getSeq()));
+            lastSeq = page.get(page.size() - 1).getSeq();
+        }
+
+        // THEN: 100 -> 1 까지 정확히 한 번씩
+        assertThat(fetchedSeqs).containsExactlyElementsOf(
+                LongStream.iterate(MESSAGE_COUNT, seq -> seq - 1).limit(MESSAGE_COUNT).boxed().toList());
+    }
+
+    @Test
+    @DisplayName("재연결 동기화: 캐시 구간 안의 커서는 캐시에서, 오래된 커서는 DB 에서 오름차순으로 조회한다")
+    void syncsForwardFromCacheOrDb() {
+        saveMessagesAndCacheLatest();
+
+        // 캐시 구간(71 ~ 100) 안의 커서
+        List<GoodsChatMessage> fromCache = goodsChatCacheManager.fetchMessagesAfterFromCache(ROOM_ID, 90, 50);
+        assertThat(fromCache).extracting(GoodsChatMessage::getSeq)
+                .containsExactlyElementsOf(LongStream.rangeClosed(91, 100).boxed().toList());
+
+        // 캐시보다 오래된 커서 -> 캐시는 비어있고(gap) DB 에서 이어서 조회
+        assertThat(goodsChatCacheManager.fetchMessagesAfterFromCache(ROOM_ID, 10, 20)).isEmpty();
+        List<GoodsChatMessage> fromDb = messageRepository.getChatMessagesAfter(ROOM_ID, 10, 20);
+        assertThat(fromDb).extracting(GoodsChatMessage::getSeq)
+                .containsExactlyElementsOf(LongStream.rangeClosed(11, 30).boxed().toList());
+    }
+
+    @Test
+    @DisplayName("저장에 실패해 비어있는 순번은 DB 확인 후 tombstone 으로 남아 캐시 조회가 끊기지 않는다")
+    void skipsConfirmedMissingSeqsInCache() {
+        // GIVEN: 85, 95 번은 순번만 발급되고 저장 실패, 최근 30개 순번 구간(71 ~ 100)만 캐시에 저장
+        List<Long> missingSeqs = List.of(85L, 95L);
+        List<GoodsChatMessage> saved = messageRepository.saveAll(messages(missingSeqs));
+        goodsChatCacheManager.storeMessagesInCache(ROOM_ID,
+                saved.stream().filter(message -> message.getSeq() > MESSAGE_COUNT - CACHED_COUNT).toList());
+        List<Long> expectedSeqs = LongStream.iterate(MESSAGE_COUNT, seq -> seq - 1).limit(MESSAGE_COUNT)
+                .filter(seq -> !missingSeqs.contains(seq))
+                .boxed().toList();
+
+        // 첫 조회는 95 번에서 끊겨 DB 로 이어서 조회
+        assertThat(goodsChatCacheManager.fetchMessagesFromCache(ROOM_ID, null, PAGE_SIZE))
+                .extracting(GoodsChatMessage::getSeq).containsExactly(100L, 99L, 98L, 97L, 96L);
+        List<GoodsChatMessage> firstPage = goodsChatService.fetchMessagesFromCacheOrDB(ROOM_ID, null, PAGE_SIZE);
+        assertThat(firstPage).extracting(GoodsChatMessage::getSeq)
+                .containsExactlyElementsOf(expectedSeqs.subList(0, PAGE_SIZE));
+
+        // WHEN / THEN: 이후 조회는 빈 순번을 건너뛰고 캐시에서만 처리
+        assertThat(goodsChatCacheManager.fetchMessagesFromCache(ROOM_ID, null, PAGE_SIZE))
+                .extracting(GoodsChatMessage::getSeq)
+                .containsExactlyElementsOf(expectedSeqs.subList(0, PAGE_SIZE));
+        assertThat(goodsChatCacheManager.fetchMessagesAfterFromCache(ROOM_ID, 80, 50))
+                .extracting(GoodsChatMessage::getSeq)
+                .containsExactlyElementsOf(LongStream.rangeClosed(81, MESSAGE_COUNT)
+                        .filter(seq -> !missingSeqs.contains(seq)).boxed().toList());
+        assertThat(goodsChatCacheManager.oldestCachedSeq(ROOM_ID)).isEqualTo(MESSAGE_COUNT - CACHED_COUNT + 1);
+    }
+
+    @Test
+    @DisplayName("캐시 구간 밖의 순번은 tombstone 으로 저장하지 않는다")
+    void ignoresTombstonesOutsideCachedRange() {
+        saveMessagesAndCacheLatest();
+
+        goodsChatCacheManager.storeTombstones(ROOM_ID, 10, 20, List.of());
+
+        assertThat(goodsChatCacheManager.oldestCachedSeq(ROOM_ID)).isEqualTo(MESSAGE_COUNT - CACHED_COUNT + 1);
+        assertThat(goodsChatCacheManager.fetchMessagesAfterFromCache(ROOM_ID, 9, 20)).isEmpty();
+    }
+
+    private void saveMessagesAndCacheLatest() {
+        List<GoodsChatMessage> saved = messageRepository.saveAll(messages(List.of()));
+        goodsChatCacheManager.storeMessagesInCache(ROOM_ID, saved.subList(MESSAGE_COUNT - CACHED_COUNT, MESSAGE_COUNT));
+    }
+
+    private static List<GoodsChatMessage> messages(List<Long> missingSeqs) {
+        LocalDateTime sentAt = LocalDateTime.now();
+        List<GoodsChatMessage> messages = new ArrayList<>();
+        for (long seq = 1; seq <= MESSAGE_COUNT; seq++) {
+            if (missingSeqs.contains(seq)) {
+                continue;
+            }
+            messages.add(GoodsChatMessage.builder()
+                    .chatRoomId(ROOM_ID)
+                    .seq(seq)
+                    .userId(USER_ID)
+                    .content("seq 페이징 테스트 " + seq)
+                    .sentAt(sentAt)
+                    .role(Role.MEMBER)
+                    .messageType(MessageType.TALK)
+                    .build());
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,199 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.service.GoodsChatSequencer;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import com.s406.livon.global.error.handler.ChatHandler;
+import com.s406.livon.global.web.response.code.status.ErrorStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 여러 스레드가 동시에 같은 채팅방들로 메시지를 보내도
+ * 방마다 제출 순서대로, 한 번에 하나씩 처리되는지 검증하고 lane 수에 따른 처리량을 측정합니다.
+ */
+public class GoodsChatSequencerTest {
+
+    private static final int SENDER_COUNT = 32;
+    private static final int ROOM_COUNT = 64;
+    private static final int MESSAGES_PER_SENDER = 5_000;
+    private static final long SIMULATED_WORK_NANOS = 50_000L;
+    private static final int BENCHMARK_MESSAGES = 20_000;
+
+    @Test
+    @DisplayName("동시 전송 폭주 상황에서도 채팅방별 처리 순서가 제출 순서와 같다")
+    void preservesPerRoomOrderUnderSendStorm() throws InterruptedException {
+        GoodsChatSequencer sequencer = createSequencer(8);
+
+        // 방마다 제출 시 발급한 번호(ticket) 와 처리된 번호를 비교
+        AtomicLong[] tickets = new AtomicLong[ROOM_COUNT];
+        long[] lastProcessed = new long[ROOM_COUNT];
+        AtomicInteger[] inFlight = new AtomicInteger[ROOM_COUNT];
+        for (int room = 0; room < ROOM_COUNT; room++) {
+            tickets[room] = new AtomicLong();
+            inFlight[room] = new AtomicInteger();
+        }
+        AtomicInteger violations = new AtomicInteger();
+        CountDownLatch processed = new CountDownLatch(SENDER_COUNT * MESSAGES_PER_SENDER);
+
+        ExecutorService senders = Executors.newFixedThreadPool(SENDER_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int sender = 0; sender < SENDER_COUNT; sender++) {
+            int seed = sender;
+            senders.submit(() -> {
+                start.await();
+                for (int i = 0; i < MESSAGES_PER_SENDER; i++) {
+                    int room = (seed * 31 + i) % ROOM_COUNT;
+                    // 번호 발급과 제출을 원자적으로 수행하여 "제출 순서" 를 확정
+                    synchronized (tickets[room]) {
+                        long ticket = tickets[room].incrementAndGet();
+                        sequencer.submit((long) room, () -> {
+                            if (inFlight[room].incrementAndGet() != 1 || lastProcessed[room] + 1 != ticket) {
+                                violations.incrementAndGet();
+                            }
+                            lastProcessed[room] = ticket;
+                            inFlight[room].decrementAndGet();
+                            processed.countDown();
+                        });
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+
+        assertThat(processed.await(1, TimeUnit.MINUTES)).isTrue();
+        senders.shutdown();
+        sequencer.shutdown();
+
+        assertThat(violations.get()).isZero();
+        for (int room = 0; room < ROOM_COUNT; room++) {
+            assertThat(lastProcessed[room]).isEqualTo(tickets[room].get());
+        }
+    }
+
+    @Test
+    @DisplayName("lane 수에 따른 초당 메시지 처리량 비교")
+    void throughputByLaneCount() throws InterruptedException {
+        Map<Integer, Double> throughputByLanes = new ConcurrentHashMap<>();
+        for (int lanes : List.of(1, 2, 4, 8, 16)) {
+            throughputByLanes.put(lanes, measureThroughput(lanes));
+            System.out.printf("[sequencer] lanes=%2d, messages/sec=%.0f%n", lanes, throughputByLanes.get(lanes));
+        }
+
+        // 메시지당 작업이 I/O 대기(park)이므로 lane 이 늘수록 처리량이 늘어야 함
+        assertThat(throughputByLanes.get(8)).isGreaterThan(throughputByLanes.get(1) * 2);
+    }
+
+    private double measureThroughput(int laneCount) throws InterruptedException {
+        GoodsChatSequencer sequencer = createSequencer(laneCount);
+        CountDownLatch processed = new CountDownLatch(BENCHMARK_MESSAGES);
+        List<Long> roomIds = new ArrayList<>(ROOM_COUNT);
+        for (long roomId = 1; roomId <= ROOM_COUNT; roomId++) {
+            roomIds.add(roomId);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_MESSAGES; i++) {
+            sequencer.submit(roomIds.get(i % ROOM_COUNT), () -> {
+                // MongoDB 저장 / 캐시 / 브로드캐스트 대기 시간 모사
+                LockSupport.parkNanos(SIMULATED_WORK_NANOS);
+                processed.countDown();
+            });
+        }
+        assertThat(processed.await(2, TimeUnit.MINUTES)).isTrue();
+        long elapsed = System.nanoTime() - start;
+        sequencer.shutdown();
+
+        return BENCHMARK_MESSAGES / (elapsed / 1_000_000_000.0);
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 submit 은 거절하고, submitWaiting 은 자리가 날 때까지 기다렸다가 순서대로 실행한다")
+    void waitsForLaneCapacity() throws Exception {
+        GoodsChatProperties properties = new GoodsChatProperties();
+        properties.getSequencer().setLanes(1);
+        properties.getSequencer().setQueueCapacity(1);
+        GoodsChatSequencer sequencer = new GoodsChatSequencer(properties, new SimpleMeterRegistry());
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+
+        // lane 스레드는 1번 작업에서 대기, 대기열은 2번 작업으로 가득 찬 상태
+        sequencer.submit(1L, () -> {
+            running.countDown();
+            awaitQuietly(release);
+            executed.add(1);
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        sequencer.submit(1L, () -> executed.add(2));
+
+        assertThatThrownBy(() -> sequencer.submit(1L, () -> executed.add(-1)))
+                .isInstanceOf(ChatHandler.class);
+        assertThat(sequencer.submitWaiting(1L, () -> executed.add(-1), Duration.ofMillis(50))).isFalse();
+
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return sequencer.submitWaiting(1L, () -> executed.add(3), Duration.ofSeconds(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        release.countDown();
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isTrue();
+        sequencer.shutdown();
+        assertThat(executed).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("작업이 실패하면 onFailure 로 예외를 전달하고 다음 작업을 계속 처리한다")
+    void reportsTaskFailure() throws InterruptedException {
+        GoodsChatSequencer sequencer = createSequencer(1);
+        List<Exception> failures = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch next = new CountDownLatch(1);
+
+        sequencer.submit(1L, () -> {
+            throw new ChatHandler(ErrorStatus.USER_NOT_SEND_VALID);
+        }, failures::add);
+        sequencer.submit(1L, next::countDown);
+
+        assertThat(next.await(5, TimeUnit.SECONDS)).isTrue();
+        sequencer.shutdown();
+        assertThat(failures).singleElement().isInstanceOf(ChatHandler.class);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private GoodsChatSequencer createSequencer(int lanes) {
+        GoodsChatProperties properties = new GoodsChatProperties();
+        properties.getSequencer().setLanes(lanes);
+        properties.getSequencer().setQueueCapacity(BENCHMARK_MESSAGES + SENDER_COUNT * MESSAGES_PER_SENDER);
+        return new GoodsChatSequencer(properties, new SimpleMeterRegistry());
+    }
+}
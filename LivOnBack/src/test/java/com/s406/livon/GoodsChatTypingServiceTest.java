@@ -0,0 +1,124 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.broker.GoodsChatBroadcaster;
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatTypingResponse;
+import com.s406.livon.domain.goodsChat.service.GoodsChatMembershipCache;
+import com.s406.livon.domain.goodsChat.service.GoodsChatTypingService;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import com.s406.livon.global.error.handler.ChatHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 입력 중 이벤트가 (채팅방, 사용자)마다 coalesceInterval 에 한 번만 브로커로 전달되는지 확인합니다.
+ */
+public class GoodsChatTypingServiceTest {
+
+    private static final long ROOM_ID = 1L;
+    private static final Duration COALESCE_INTERVAL = Duration.ofMillis(200);
+
+    private GoodsChatMembershipCache membershipCache;
+    private GoodsChatBroadcaster broadcaster;
+    private SimpleMeterRegistry meterRegistry;
+    private GoodsChatTypingService typingService;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        GoodsChatProperties properties = new GoodsChatProperties();
+        properties.getTyping().setCoalesceInterval(COALESCE_INTERVAL);
+
+        membershipCache = mock(GoodsChatMembershipCache.class);
+        broadcaster = mock(GoodsChatBroadcaster.class);
+        meterRegistry = new SimpleMeterRegistry();
+        typingService = new GoodsChatTypingService(membershipCache, broadcaster, properties, meterRegistry);
+        userId = UUID.randomUUID();
+        when(membershipCache.isMember(eq(ROOM_ID), any())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("간격 안의 연속 입력 이벤트는 한 번만 전달")
+    void coalescesBurstWithinInterval() {
+        for (int i = 0; i < 50; i++) {
+            typingService.typing(userId, ROOM_ID, true);
+        }
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(broadcaster, times(1)).send(eq(GoodsChatBroadcaster.typingDestination(ROOM_ID)), payload.capture());
+        GoodsChatTypingResponse response = (GoodsChatTypingResponse) payload.getValue();
+        assertThat(response.getChatRoomId()).isEqualTo(ROOM_ID);
+        assertThat(response.getUserId()).isEqualTo(userId);
+        assertThat(response.isTyping()).isTrue();
+        assertThat(count("forwarded")).isEqualTo(1);
+        assertThat(count("coalesced")).isEqualTo(49);
+    }
+
+    @Test
+    @DisplayName("입력 중지는 입력 중을 전달한 뒤에만, 간격 안이어도 바로 전달")
+    void forwardsStopRightAfterStart() throws InterruptedException {
+        // 표시 중이 아닌 사용자의 입력 중지는 버림
+        typingService.typing(userId, ROOM_ID, false);
+        verify(broadcaster, never()).send(anyString(), any());
+
+        typingService.typing(userId, ROOM_ID, true);
+        typingService.typing(userId, ROOM_ID, false);
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(broadcaster, times(2)).send(anyString(), payload.capture());
+        assertThat(((GoodsChatTypingResponse) payload.getValue()).isTyping()).isFalse();
+
+        // 이미 입력 중지를 전달했으므로 다시 보내지 않음
+        typingService.typing(userId, ROOM_ID, false);
+        Thread.sleep(COALESCE_INTERVAL.toMillis() + 50);
+        typingService.typing(userId, ROOM_ID, false);
+        verify(broadcaster, times(2)).send(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("입력 중지 직후의 입력 중은 간격이 지난 뒤에 다시 전달")
+    void forwardsStartAgainAfterInterval() throws InterruptedException {
+        typingService.typing(userId, ROOM_ID, true);
+        typingService.typing(userId, ROOM_ID, false);
+        typingService.typing(userId, ROOM_ID, true);
+        verify(broadcaster, times(2)).send(anyString(), any());
+
+        Thread.sleep(COALESCE_INTERVAL.toMillis() + 50);
+        typingService.typing(userId, ROOM_ID, true);
+        verify(broadcaster, times(3)).send(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("사용자마다 따로 묶고, 채팅방 참여자가 아니면 거부")
+    void coalescesPerUserAndRejectsNonMembers() {
+        UUID otherUserId = UUID.randomUUID();
+        typingService.typing(userId, ROOM_ID, true);
+        typingService.typing(otherUserId, ROOM_ID, true);
+        verify(broadcaster, times(2)).send(eq(GoodsChatBroadcaster.typingDestination(ROOM_ID)), any());
+
+        UUID outsiderId = UUID.randomUUID();
+        when(membershipCache.isMember(ROOM_ID, outsiderId)).thenReturn(false);
+        assertThatThrownBy(() -> typingService.typing(outsiderId, ROOM_ID, true))
+                .isInstanceOf(ChatHandler.class);
+        verify(broadcaster, times(2)).send(anyString(), any());
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("goods_chat.typing.events").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,116 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatUserSummary;
+import com.s406.livon.domain.goodsChat.service.GoodsChatUserSummaryCache;
+import com.s406.livon.domain.user.enums.Role;
+import com.s406.livon.domain.user.repository.UserRepository;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import com.s406.livon.global.config.properties.GoodsChatProperties.BrokerMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 발신자 정보 캐시가 채워진 뒤에는 채팅 페이지 조회 시 사용자 조회 쿼리가 발생하지 않고,
+ * 무효화가 다른 노드에도 전달되는지 확인합니다.
+ */
+public class GoodsChatUserSummaryCacheTest {
+
+    private final UUID coachId = UUID.randomUUID();
+    private final UUID memberId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("캐시 적중 시 UserRepository 를 다시 조회하지 않고, 무효화 후에는 다시 조회한다")
+    void loadsOnceUntilEvicted() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findChatUserSummariesByIdIn(anyCollection())).thenReturn(List.of(
+                new GoodsChatUserSummary(coachId, "coach", "coach.png", Role.COACH),
+                new GoodsChatUserSummary(coachId, "coach", "coach.png", Role.MEMBER),
+                new GoodsChatUserSummary(memberId, "member", null, Role.MEMBER)));
+        GoodsChatUserSummaryCache cache = new GoodsChatUserSummaryCache(userRepository, mock(StringRedisTemplate.class), new GoodsChatProperties());
+
+        for (int page = 0; page < 10; page++) {
+            assertThat(cache.getAll(Set.of(coachId, memberId))).containsOnlyKeys(coachId, memberId);
+        }
+        verify(userRepository, times(1)).findChatUserSummariesByIdIn(anyCollection());
+        assertThat(cache.get(coachId).getRole()).isEqualTo(Role.COACH);
+
+        cache.evict(memberId);
+        cache.getAll(Set.of(coachId, memberId));
+        verify(userRepository, times(2)).findChatUserSummariesByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("역할이 여러 개인 사용자는 행 순서와 관계없이 같은 역할을 사용한다")
+    void picksSameRoleRegardlessOfRowOrder() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findChatUserSummariesByIdIn(anyCollection())).thenReturn(
+                List.of(
+                        new GoodsChatUserSummary(coachId, "coach", "coach.png", Role.MEMBER),
+                        new GoodsChatUserSummary(coachId, "coach", "coach.png", Role.COACH)),
+                List.of(
+                        new GoodsChatUserSummary(coachId, "coach", "coach.png", Role.COACH),
+                        new GoodsChatUserSummary(coachId, "coach", "coach.png", Role.MEMBER)));
+        GoodsChatUserSummaryCache cache = new GoodsChatUserSummaryCache(userRepository, mock(StringRedisTemplate.class), new GoodsChatProperties());
+
+        assertThat(cache.get(coachId).getRole()).isEqualTo(Role.COACH);
+        cache.evict(coachId);
+        assertThat(cache.get(coachId).getRole()).isEqualTo(Role.COACH);
+    }
+
+    @Test
+    @DisplayName("REDIS 브로커 모드에서는 무효화를 발행하고, 수신한 노드의 캐시도 제거된다")
+    void propagatesEvictionToOtherNodes() {
+        GoodsChatProperties properties = new GoodsChatProperties();
+        properties.getBroker().setMode(BrokerMode.REDIS);
+        String channel = properties.getBroker().getUserSummaryChannel();
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findChatUserSummariesByIdIn(anyCollection())).thenReturn(
+                List.of(new GoodsChatUserSummary(memberId, "before", null, Role.MEMBER)),
+                List.of(new GoodsChatUserSummary(memberId, "before", null, Role.MEMBER)),
+                List.of(new GoodsChatUserSummary(memberId, "after", null, Role.MEMBER)));
+        GoodsChatUserSummaryCache cache = new GoodsChatUserSummaryCache(userRepository, stringRedisTemplate, properties);
+        GoodsChatUserSummaryCache otherNode = new GoodsChatUserSummaryCache(userRepository, stringRedisTemplate, properties);
+        assertThat(cache.get(memberId).getNickname()).isEqualTo("before");
+        assertThat(otherNode.get(memberId).getNickname()).isEqualTo("before");
+
+        cache.evictEverywhere(memberId);
+
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(eq(channel), body.capture());
+        otherNode.onMessage(new DefaultMessage(channel.getBytes(StandardCharsets.UTF_8),
+                body.getValue().getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(otherNode.get(memberId).getNickname()).isEqualTo("after");
+        verify(userRepository, times(3)).findChatUserSummariesByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("LOCAL 모드에서는 무효화를 발행하지 않는다")
+    void doesNotPublishInLocalMode() {
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        GoodsChatUserSummaryCache cache = new GoodsChatUserSummaryCache(mock(UserRepository.class), stringRedisTemplate,
+                new GoodsChatProperties());
+
+        cache.evictEverywhere(memberId);
+        verify(stringRedisTemplate, never()).convertAndSend(any(), any());
+    }
+}
@@ -0,0 +1,286 @@
+package com.s406.livon;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.s406.livon.domain.goodsChat.codec.GoodsChatMessageResponseCodec;
+import com.s406.livon.domain.goodsChat.dto.response.GoodsChatMessageResponse;
+import com.s406.livon.domain.goodsChat.wire.GoodsChatBinaryMessageConverter;
+import com.s406.livon.domain.goodsChat.wire.GoodsChatWireFormatNegotiator;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.core.MessagePostProcessor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.sockjs.frame.Jackson2SockJsMessageCodec;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.Deflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 세션별 payload 형식 협상과, 형식별 1,000 회 fan-out 전송 시 wire 바이트 수 / 서버 CPU 시간 비교
+ * - json          : 기존 JSON 텍스트 프레임
+ * - json+sockjs   : SockJS fallback 프레이밍(a["..."] + JSON 이스케이프)
+ * - json+deflate  : permessage-deflate (세션별 압축 컨텍스트 유지)
+ * - binary        : GoodsChatMessageResponseCodec 바이너리 프레임
+ * - binary+deflate
+ */
+public class GoodsChatWireFormatTest {
+
+    private static final String DESTINATION = "/sub/chat/goods/1";
+    private static final String BINARY_ACCEPT = GoodsChatBinaryMessageConverter.BINARY_MIME_TYPE.toString();
+    private static final int BROADCASTS = 10;
+    private static final int SUBSCRIBERS = 100; // BROADCASTS * SUBSCRIBERS = 1,000 회 전송
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURE_ROUNDS = 50;
+
+    private GoodsChatWireFormatNegotiator negotiator;
+    private MappingJackson2MessageConverter jsonConverter;
+
+    @BeforeEach
+    void setUp() {
+        negotiator = new GoodsChatWireFormatNegotiator(new GoodsChatProperties(), new GoodsChatBinaryMessageConverter(),
+                new SimpleMeterRegistry());
+        jsonConverter = new MappingJackson2MessageConverter();
+        jsonConverter.setObjectMapper(new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+    }
+
+    @Test
+    @DisplayName("바이너리 코덱 왕복 변환 시 모든 필드가 보존된다")
+    void roundTrip() {
+        for (GoodsChatMessageResponse response : createResponses()) {
+            GoodsChatMessageResponse decoded =
+                    GoodsChatMessageResponseCodec.decode(GoodsChatMessageResponseCodec.encode(response));
+            assertThat(decoded).usingRecursiveComparison().isEqualTo(response);
+        }
+    }
+
+    @Test
+    @DisplayName("바이너리를 협상한 WebSocket 세션만 바이너리 payload 를 받고, SockJS 세션은 JSON 을 유지한다")
+    void deliversNegotiatedFormatPerSession() throws Exception {
+        connect("binary", false, BINARY_ACCEPT);
+        connect("json", false, null);
+        connect("sockjs", true, BINARY_ACCEPT);
+
+        GoodsChatMessageResponse response = createResponses().get(0);
+        Message<?> broadcast = broadcast(response);
+
+        Message<?> binary = negotiator.preSend(deliver(broadcast, "binary"), null);
+        assertThat(binary.getHeaders().get(MessageHeaders.CONTENT_TYPE))
+                .isEqualTo(GoodsChatBinaryMessageConverter.BINARY_MIME_TYPE);
+        assertThat(GoodsChatMessageResponseCodec.decode((byte[]) binary.getPayload()))
+                .usingRecursiveComparison().isEqualTo(response);
+
+        for (String sessionId : List.of("json", "sockjs")) {
+            Message<?> json = negotiator.preSend(deliver(broadcast, sessionId), null);
+            assertThat(new String((byte[]) json.getPayload(), StandardCharsets.UTF_8))
+                    .contains("\"message\":\"" + response.getMessage() + "\"");
+            assertThat(MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(
+                    (MimeType) json.getHeaders().get(MessageHeaders.CONTENT_TYPE))).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("바이너리 세션이 없으면 브로드캐스트 시 바이너리로 인코딩하지 않는다")
+    void skipsBinaryEncodingWithoutBinarySessions() throws Exception {
+        connect("json", false, null);
+
+        assertThat(negotiator.binaryAlternativeOf(createResponses().get(0))).isNull();
+        assertThat(negotiator.binaryAlternativeOf("not a chat message")).isNull();
+    }
+
+    @Test
+    @DisplayName("멀티 노드 브로드캐스트: 수신 노드가 JSON payload 에서 다시 읽은 메시지로 같은 바이너리를 만든다")
+    void reencodesFromRelayedJson() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        assertThat(negotiator.supportsBinary("not a chat message")).isFalse();
+        for (GoodsChatMessageResponse response : createResponses()) {
+            assertThat(negotiator.supportsBinary(response)).isTrue();
+            GoodsChatMessageResponse relayed = objectMapper.convertValue(
+                    objectMapper.valueToTree(response), GoodsChatMessageResponse.class);
+            assertThat(GoodsChatMessageResponseCodec.encode(relayed))
+                    .isEqualTo(GoodsChatMessageResponseCodec.encode(response));
+        }
+    }
+
+    @Test
+    @DisplayName("형식별 1,000 회 fan-out 전송의 wire 바이트 수 / 서버 CPU 시간 비교")
+    void compareWireFormats() throws Exception {
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            connect("binary-" + i, false, BINARY_ACCEPT);
+            connect("json-" + i, false, null);
+        }
+        List<GoodsChatMessageResponse> responses = createResponses();
+
+        long[] json = measure(responses, "json-", false, false);
+        long[] sockJs = measure(responses, "json-", false, true);
+        long[] jsonDeflate = measure(responses, "json-", true, false);
+        long[] binary = measure(responses, "binary-", false, false);
+        long[] binaryDeflate = measure(responses, "binary-", true, false);
+
+        System.out.printf("[wire      ] format=%-14s bytes/1k=%8d cpu us/1k=%8.1f%n", "json", json[0], json[1] / 1_000.0);
+        System.out.printf("[wire      ] format=%-14s bytes/1k=%8d cpu us/1k=%8.1f%n", "json+sockjs", sockJs[0], sockJs[1] / 1_000.0);
+        System.out.printf("[wire      ] format=%-14s bytes/1k=%8d cpu us/1k=%8.1f%n", "json+deflate", jsonDeflate[0], jsonDeflate[1] / 1_000.0);
+        System.out.printf("[wire      ] format=%-14s bytes/1k=%8d cpu us/1k=%8.1f%n", "binary", binary[0], binary[1] / 1_000.0);
+        System.out.printf("[wire      ] format=%-14s bytes/1k=%8d cpu us/1k=%8.1f%n", "binary+deflate", binaryDeflate[0], binaryDeflate[1] / 1_000.0);
+
+        assertThat(binary[0]).isLessThan(json[0]);
+        assertThat(json[0]).isLessThan(sockJs[0]);
+        assertThat(jsonDeflate[0]).isLessThan(json[0]);
+    }
+
+    // {1,000 회 전송 wire 바이트 수, 1,000 회 전송 평균 CPU ns}
+    private long[] measure(List<GoodsChatMessageResponse> responses, String sessionPrefix, boolean deflate, boolean sockJs) {
+        long bytes = fanOut(responses, sessionPrefix, deflate, sockJs);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            fanOut(responses, sessionPrefix, deflate, sockJs);
+        }
+
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        long start = threadMXBean.getCurrentThreadCpuTime();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            fanOut(responses, sessionPrefix, deflate, sockJs);
+        }
+        long cpuNanos = threadMXBean.getCurrentThreadCpuTime() - start;
+        return new long[]{bytes, cpuNanos / MEASURE_ROUNDS};
+    }
+
+    // 브로드캐스트당 한 번 변환 + 구독자별 형식 교체 / STOMP 프레임 인코딩 / (선택) 세션별 압축
+    private long fanOut(List<GoodsChatMessageResponse> responses, String sessionPrefix, boolean deflate, boolean sockJs) {
+        StompEncoder encoder = new StompEncoder();
+        Jackson2SockJsMessageCodec sockJsCodec = new Jackson2SockJsMessageCodec();
+        List<Deflater> deflaters = new ArrayList<>(SUBSCRIBERS);
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            deflaters.add(deflate ? new Deflater(Deflater.DEFAULT_COMPRESSION, true) : null);
+        }
+        byte[] buffer = new byte[64 * 1024];
+
+        long bytes = 0;
+        for (GoodsChatMessageResponse response : responses) {
+            Message<?> broadcast = broadcast(response);
+            for (int i = 0; i < SUBSCRIBERS; i++) {
+                String sessionId = sessionPrefix + i;
+                Message<?> delivered = negotiator.preSend(deliver(broadcast, sessionId), null);
+                byte[] frame = encodeFrame(encoder, delivered, sessionId);
+                if (sockJs) {
+                    bytes += sockJsCodec.encode(new String(frame, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8).length;
+                } else if (deflate) {
+                    bytes += deflate(deflaters.get(i), frame, buffer);
+                } else {
+                    bytes += frame.length;
+                }
+            }
+        }
+        deflaters.stream().filter(deflater -> deflater != null).forEach(Deflater::end);
+        return bytes;
+    }
+
+    private Message<?> broadcast(GoodsChatMessageResponse response) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(DESTINATION);
+        Message<?> message = jsonConverter.toMessage(response, accessor.getMessageHeaders());
+        MessagePostProcessor binaryAlternative = negotiator.binaryAlternativeOf(response);
+        return binaryAlternative != null ? binaryAlternative.postProcessMessage(message) : message;
+    }
+
+    // SimpleBroker 가 구독자별로 메시지를 복사하는 방식과 동일
+    private static Message<?> deliver(Message<?> broadcast, String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId("sub-0");
+        accessor.copyHeadersIfAbsent(broadcast.getHeaders());
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(broadcast.getPayload(), accessor.getMessageHeaders());
+    }
+
+    private static byte[] encodeFrame(StompEncoder encoder, Message<?> message, String sessionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setDestination(DESTINATION);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setMessageId(sessionId);
+        accessor.setContentType((MimeType) message.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+        return encoder.encode(accessor.getMessageHeaders(), (byte[]) message.getPayload());
+    }
+
+    // permessage-deflate : 세션별 컨텍스트 유지 + SYNC_FLUSH, 프레임 끝의 00 00 ff ff 는 전송하지 않음
+    private static int deflate(Deflater deflater, byte[] frame, byte[] buffer) {
+        deflater.setInput(frame);
+        int total = 0;
+        int written;
+        do {
+            written = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+            total += written;
+        } while (written == buffer.length);
+        return total - 4;
+    }
+
+    private void connect(String sessionId, boolean sockJs, String accept) throws Exception {
+        WebSocketSession session = mock(sockJs ? SockJsSession.class : WebSocketSession.class);
+        when(session.getId()).thenReturn(sessionId);
+        when(session.getExtensions()).thenReturn(List.of(new WebSocketExtension("permessage-deflate")));
+        negotiator.decorate(mock(WebSocketHandler.class)).afterConnectionEstablished(session);
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId(sessionId);
+        if (accept != null) {
+            accessor.setNativeHeader(GoodsChatWireFormatNegotiator.ACCEPT_CONTENT_TYPE_HEADER, accept);
+        }
+        negotiator.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), null);
+    }
+
+    private static List<GoodsChatMessageResponse> createResponses() {
+        UUID coachId = UUID.randomUUID();
+        UUID memberId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+        List<GoodsChatMessageResponse> responses = new ArrayList<>(BROADCASTS);
+        for (int i = 0; i < BROADCASTS; i++) {
+            boolean coach = i % 2 == 0;
+            responses.add(GoodsChatMessageResponse.builder()
+                    .chatMessageId(new ObjectId().toHexString())
+                    .roomId(1L)
+                    .seq((long) i + 1)
+                    .senderId(coach ? coachId : memberId)
+                    .senderNickname(coach ? "김코치" : "회원" + i)
+                    .senderRole(coach ? "ROLE_CONSULTANT" : "ROLE_CLIENT")
+                    .message(coach ? "오늘 식단은 단백질 위주로 구성해 보세요. 물도 2L 이상 드시고요!" : "네 알겠습니다 " + i)
+                    .messageType("TEXT")
+                    .senderImageUrl("https://cdn.livon.example/profile/" + (coach ? coachId : memberId) + ".png")
+                    .sentAt(base.plusSeconds(i * 7L).plusNanos(123_000_000L))
+                    .build());
+        }
+        return responses;
+    }
+}
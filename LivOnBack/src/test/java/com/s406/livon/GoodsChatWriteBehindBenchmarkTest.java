@@ -0,0 +1,130 @@
+package com.s406.livon;
+
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.entity.MessageType;
+import com.s406.livon.domain.goodsChat.repository.GoodsChatMessageRepository;
+import com.s406.livon.domain.goodsChat.service.GoodsChatCacheManager;
+import com.s406.livon.domain.goodsChat.service.GoodsChatSequenceGenerator;
+import com.s406.livon.domain.goodsChat.service.GoodsChatWriteBehindBuffer;
+import com.s406.livon.domain.user.enums.Role;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StopWatch;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * 기존 트랜잭션 저장 경로와 write-behind 경로의 처리량 비교
+ * (브로드캐스트는 두 경로가 동일하므로 저장 + 캐시 구간만 측정)
+ */
+@SpringBootTest(properties = "goods-chat.persistence.mode=write-behind")
+public class GoodsChatWriteBehindBenchmarkTest {
+
+    private static final Long TRANSACTIONAL_ROOM_ID = 900_001L;
+    private static final Long WRITE_BEHIND_ROOM_ID = 900_002L;
+    private static final int MESSAGE_COUNT = 5_000;
+    private static final UUID USER_ID = UUID.fromString("b525bb98-6090-4faf-9e6e-8ec895c9fbd9");
+
+    @Autowired
+    private GoodsChatMessageRepository messageRepository;
+
+    @Autowired
+    private GoodsChatCacheManager goodsChatCacheManager;
+
+    @Autowired
+    private GoodsChatWriteBehindBuffer writeBehindBuffer;
+
+    @Autowired
+    private GoodsChatSequenceGenerator sequenceGenerator;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    @Qualifier("mongoTransactionTemplate")
+    private TransactionTemplate mongoTransactionTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        messageRepository.deleteAllByChatRoomId(TRANSACTIONAL_ROOM_ID);
+        messageRepository.deleteAllByChatRoomId(WRITE_BEHIND_ROOM_ID);
+        goodsChatCacheManager.evictMessagesFromCache(TRANSACTIONAL_ROOM_ID);
+        goodsChatCacheManager.evictMessagesFromCache(WRITE_BEHIND_ROOM_ID);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 저장 vs write-behind 처리량 비교")
+    void compareThroughput() {
+        // 1. 기존 경로: 메시지마다 MongoDB 트랜잭션 커밋 후 캐시 저장
+        StopWatch transactional = new StopWatch();
+        transactional.start();
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            GoodsChatMessage message = createMessage(TRANSACTIONAL_ROOM_ID, i)
+                    .seq(sequenceGenerator.next(TRANSACTIONAL_ROOM_ID))
+                    .build();
+            mongoTransactionTemplate.executeWithoutResult(status -> {
+                GoodsChatMessage saved = messageRepository.save(message);
+                goodsChatCacheManager.storeMessageInCache(saved.getChatRoomId(), saved);
+            });
+        }
+        transactional.stop();
+
+        // 2. write-behind 경로: 순번 발급 + WAL 기록 + 캐시 저장 (MongoDB 는 백그라운드 저장)
+        StopWatch writeBehind = new StopWatch();
+        writeBehind.start();
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            GoodsChatMessage message = createMessage(WRITE_BEHIND_ROOM_ID, i)
+                    .id(new ObjectId().toHexString())
+                    .seq(sequenceGenerator.next(WRITE_BEHIND_ROOM_ID))
+                    .build();
+            writeBehindBuffer.append(message);
+            goodsChatCacheManager.storeMessageInCache(message.getChatRoomId(), message);
+        }
+        writeBehind.stop();
+
+        // 3. 버퍼가 모두 비워질 때까지 대기 후 저장 건수 검증
+        StopWatch drain = new StopWatch();
+        drain.start();
+        await().atMost(Duration.ofMinutes(1)).until(() -> writeBehindBuffer.pendingCount() == 0);
+        await().atMost(Duration.ofSeconds(10)).until(() ->
+                mongoTemplate.count(new Query(Criteria.where("chat_room_id").is(WRITE_BEHIND_ROOM_ID)), GoodsChatMessage.class) == MESSAGE_COUNT);
+        drain.stop();
+
+        System.out.printf("[transactional] %d건 %dms (%.0f msg/s)%n", MESSAGE_COUNT,
+                transactional.getTotalTimeMillis(), throughput(transactional));
+        System.out.printf("[write-behind ] %d건 %dms (%.0f msg/s), 백그라운드 저장 완료까지 추가 %dms%n", MESSAGE_COUNT,
+                writeBehind.getTotalTimeMillis(), throughput(writeBehind), drain.getTotalTimeMillis());
+
+        assertThat(messageRepository.getChatMessages(WRITE_BEHIND_ROOM_ID, null, MESSAGE_COUNT)).hasSize(MESSAGE_COUNT);
+    }
+
+    private GoodsChatMessage.GoodsChatMessageBuilder createMessage(Long chatRoomId, int index) {
+        return GoodsChatMessage.builder()
+                .chatRoomId(chatRoomId)
+                .userId(USER_ID)
+                .content("write-behind 벤치마크 메시지 " + index)
+                .sentAt(LocalDateTime.now())
+                .role(Role.MEMBER)
+                .messageType(MessageType.TALK);
+    }
+
+    private double throughput(StopWatch stopWatch) {
+        return MESSAGE_COUNT / Math.max(stopWatch.getTotalTimeSeconds(), 0.001);
+    }
+}
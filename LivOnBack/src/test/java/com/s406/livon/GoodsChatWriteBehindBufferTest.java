@@ -0,0 +1,192 @@
+package com.s406.livon;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.s406.livon.domain.goodsChat.document.GoodsChatMessage;
+import com.s406.livon.domain.goodsChat.entity.MessageType;
+import com.s406.livon.domain.goodsChat.service.GoodsChatWriteBehindBuffer;
+import com.mongodb.bulk.BulkWriteError;
+import com.s406.livon.global.config.properties.GoodsChatProperties;
+import com.s406.livon.global.config.properties.GoodsChatProperties.PersistenceMode;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 버퍼가 가득 차 동기 저장이 실패하면 WAL 항목도 삭제되어 전송되지 않은 메시지가 재반영되지 않는지,
+ * 역직렬화할 수 없는 WAL 항목과 MongoDB 가 거부한 메시지는 dead-letter 로 옮기고 저장을 계속하는지 확인합니다.
+ */
+public class GoodsChatWriteBehindBufferTest {
+
+    private static final String WAL_KEY = "goods_chat:wal";
+    private static final String DEAD_LETTER_KEY = "goods_chat:wal:dead";
+    private static final int VALIDATION_ERROR_CODE = 121;
+
+    @Test
+    @DisplayName("동기 저장이 실패하면 WAL 항목을 삭제하고 예외를 전달한다")
+    @SuppressWarnings("unchecked")
+    void removesWalEntryWhenFallbackFails() {
+        GoodsChatProperties properties = new GoodsChatProperties();
+        properties.getPersistence().setBufferCapacity(1);
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        StreamOperations<String, Object, Object> streamOperations = mock(StreamOperations.class);
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        RecordId buffered = RecordId.of("1-0");
+        RecordId overflowed = RecordId.of("2-0");
+        when(streamOperations.add(eq(WAL_KEY), anyMap())).thenReturn(buffered, overflowed);
+        when(mongoTemplate.bulkOps(any(), any(Class.class)))
+                .thenThrow(new DataAccessResourceFailureException("mongo down"));
+
+        // flusher 를 시작하지 않으므로 첫 메시지가 버퍼를 채움
+        GoodsChatWriteBehindBuffer buffer = new GoodsChatWriteBehindBuffer(mongoTemplate, redisTemplate,
+                new ObjectMapper().registerModule(new JavaTimeModule()), properties);
+        buffer.append(message(1));
+        assertThat(buffer.pendingCount()).isEqualTo(1);
+
+        assertThatThrownBy(() -> buffer.append(message(2)))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        verify(streamOperations).delete(WAL_KEY, overflowed);
+        verify(streamOperations, never()).delete(anyString(), eq(buffered));
+    }
+
+    @Test
+    @DisplayName("재반영 중 역직렬화할 수 없는 WAL 항목은 dead-letter 로 옮기고 나머지를 저장한다")
+    @SuppressWarnings("unchecked")
+    void deadLettersUndecodableWalEntry() throws Exception {
+        GoodsChatProperties properties = writeBehindProperties();
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations bulkOperations = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(), any(Class.class))).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        StreamOperations<String, Object, Object> streamOperations = mock(StreamOperations.class);
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        MapRecord<String, Object, Object> corrupt = walRecord("1-0", "{not json");
+        MapRecord<String, Object, Object> valid = walRecord("2-0", objectMapper.writeValueAsString(message(2)));
+        when(streamOperations.reverseRange(eq(WAL_KEY), any(), any())).thenReturn(List.of(valid));
+        when(streamOperations.range(eq(WAL_KEY), any(), any())).thenReturn(List.of(corrupt, valid), List.of());
+
+        GoodsChatWriteBehindBuffer buffer = new GoodsChatWriteBehindBuffer(mongoTemplate, redisTemplate, objectMapper, properties);
+        buffer.start();
+        try {
+            verify(streamOperations, timeout(5_000)).add(eq(DEAD_LETTER_KEY), argThat(fields -> "1-0".equals(fields.get("walId"))));
+            verify(streamOperations, timeout(5_000)).delete(WAL_KEY, RecordId.of("1-0"));
+            verify(streamOperations, timeout(5_000)).delete(WAL_KEY, RecordId.of("2-0"));
+        } finally {
+            buffer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("MongoDB 가 거부한 메시지만 재시도 후 dead-letter 로 옮기고 이후 메시지는 계속 저장한다")
+    @SuppressWarnings("unchecked")
+    void deadLettersRejectedDocumentAndKeepsFlushing() throws Exception {
+        GoodsChatProperties properties = writeBehindProperties();
+
+        // seq 2 메시지는 항상 검증 오류로 거부
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations bulkOperations = mock(BulkOperations.class);
+        AtomicReference<List<GoodsChatMessage>> inserted = new AtomicReference<>();
+        when(mongoTemplate.bulkOps(any(), any(Class.class))).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenAnswer(invocation -> {
+            inserted.set(invocation.getArgument(0));
+            return bulkOperations;
+        });
+        when(bulkOperations.execute()).thenAnswer(invocation -> {
+            List<GoodsChatMessage> messages = inserted.get();
+            for (int index = 0; index < messages.size(); index++) {
+                if (messages.get(index).getSeq() == 2L) {
+                    BulkOperationException rejected = mock(BulkOperationException.class);
+                    when(rejected.getErrors()).thenReturn(List.of(new BulkWriteError(
+                            VALIDATION_ERROR_CODE, "Document failed validation", new BsonDocument(), index)));
+                    throw rejected;
+                }
+            }
+            return null;
+        });
+
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        StreamOperations<String, Object, Object> streamOperations = mock(StreamOperations.class);
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        when(streamOperations.reverseRange(eq(WAL_KEY), any(), any())).thenReturn(List.of());
+        when(streamOperations.add(eq(WAL_KEY), anyMap()))
+                .thenReturn(RecordId.of("1-0"), RecordId.of("2-0"), RecordId.of("3-0"), RecordId.of("4-0"));
+
+        // flusher 시작 전에 적재하여 세 메시지가 한 batch 로 저장되도록 함
+        GoodsChatWriteBehindBuffer buffer = new GoodsChatWriteBehindBuffer(mongoTemplate, redisTemplate,
+                new ObjectMapper().registerModule(new JavaTimeModule()), properties);
+        buffer.append(message(1));
+        buffer.append(message(2));
+        buffer.append(message(3));
+        buffer.start();
+        try {
+            verify(streamOperations, timeout(5_000)).delete(WAL_KEY, RecordId.of("1-0"), RecordId.of("3-0"));
+            verify(streamOperations, timeout(5_000)).add(eq(DEAD_LETTER_KEY), argThat(fields -> "2-0".equals(fields.get("walId"))));
+            verify(streamOperations, timeout(5_000)).delete(WAL_KEY, RecordId.of("2-0"));
+
+            // flusher 는 멈추지 않고 다음 메시지를 저장
+            buffer.append(message(4));
+            verify(streamOperations, timeout(5_000)).delete(WAL_KEY, RecordId.of("4-0"));
+        } finally {
+            buffer.stop();
+        }
+    }
+
+    private static GoodsChatProperties writeBehindProperties() {
+        GoodsChatProperties properties = new GoodsChatProperties();
+        properties.getPersistence().setMode(PersistenceMode.WRITE_BEHIND);
+        properties.getPersistence().setFlushInterval(Duration.ofMillis(50));
+        properties.getPersistence().setMaxFlushAttempts(2);
+        return properties;
+    }
+
+    private static MapRecord<String, Object, Object> walRecord(String id, String payload) {
+        return MapRecord.<String, Object, Object>create(WAL_KEY, Map.of("payload", payload)).withId(RecordId.of(id));
+    }
+
+    private GoodsChatMessage message(long seq) {
+        return GoodsChatMessage.builder()
+                .id(UUID.randomUUID().toString())
+                .chatRoomId(1L)
+                .seq(seq)
+                .userId(UUID.randomUUID())
+                .content("message " + seq)
+                .sentAt(LocalDateTime.now())
+                .messageType(MessageType.TALK)
+                .build();
+    }
+}